@@ -8,6 +8,8 @@ public enum TransportType {
     TRANSPORT(5),
     SPIRIT_TREE(6),
     FAIRY_RING(15),
+    // Usable from anywhere; the cost is fixed rather than added to the distance travelled
+    TELEPORT(10),
     ;
 
     private final int additionalCost;
@@ -0,0 +1,32 @@
+package com.pathfinder.lambda;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Represents a single world coordinate within a request
+ */
+@Getter
+@Setter
+public class Coordinate {
+    private int x;
+    private int y;
+    private int z;
+
+    /**
+     * @return {@link WorldPoint} at this coordinate
+     */
+    public WorldPoint toWorldPoint() {
+        return new WorldPoint(x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "Coordinate{" +
+                "x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
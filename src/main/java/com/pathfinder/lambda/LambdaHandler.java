@@ -2,11 +2,35 @@ package com.pathfinder.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.pathfinder.enums.Diary;
 import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
 import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.ReachableSet;
+import com.pathfinder.pathfinding.SearchSeed;
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.pathfinding.SuspendedSearchRegistry;
+import com.pathfinder.pathfinding.WavefrontSearch;
+import com.pathfinder.pathfinding.cache.CachedRoute;
+import com.pathfinder.pathfinding.cache.RouteCache;
+import com.pathfinder.pathfinding.cache.RouteCacheKey;
+import com.pathfinder.pathfinding.cache.SubpathRouteCache;
+import com.pathfinder.pathfinding.replanning.ReplanningSession;
+import com.pathfinder.pathfinding.replanning.ReplanningSessionRegistry;
+import com.pathfinder.pathfinding.route.MultiStopPlanner;
+import com.pathfinder.pathfinding.route.MultiStopRoute;
+import com.pathfinder.pathfinding.route.RejoinPlanner;
+import com.pathfinder.pathfinding.route.RejoinResult;
+import com.pathfinder.pathfinding.transports.TransportHandler;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
 import net.runelite.api.coords.WorldPoint;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Handler for processing requests in an AWS Lambda function.
@@ -14,6 +38,68 @@ import java.util.*;
  * and returns the path as a JSON string.
  */
 public class LambdaHandler implements RequestHandler<Request, Response> {
+    /**
+     * Replanning sessions, kept for as long as the Lambda container stays warm. A session of a route across the map
+     * holds about 10 MB and one that has searched the whole map up to 35 MB, so together they are held to 64 MB.
+     */
+    private static final ReplanningSessionRegistry SESSIONS =
+            new ReplanningSessionRegistry(8, 64L * 1024 * 1024, 10 * 60 * 1000);
+
+    /**
+     * Completed routes, reused for identical requests while the Lambda container stays warm.
+     */
+    private static final RouteCache ROUTE_CACHE = new RouteCache(1024);
+
+    /**
+     * Completed routes, reused for any request whose start and destination lie along one of them.
+     */
+    private static final SubpathRouteCache SUBPATH_CACHE = new SubpathRouteCache(256 * 1024);
+
+    /**
+     * Searches that ran out of time, kept briefly for a follow-up request to resume; each holds its whole search
+     * state, so only a few are kept.
+     */
+    private static final SuspendedSearchRegistry SUSPENDED_SEARCHES = new SuspendedSearchRegistry(4, 60 * 1000);
+
+    /**
+     * Time left at the end of a search to build the response before the invocation times out.
+     */
+    private static final long RESPONSE_MARGIN_MILLIS = 500;
+
+    /**
+     * Environment variable giving the lowest suboptimality any route search runs with, so that searches can be made
+     * cheaper for every request while the service is under load; unset for exact searches unless requested.
+     */
+    private static final String MIN_SUBOPTIMALITY_ENV = "PATHFINDER_MIN_SUBOPTIMALITY";
+
+    /**
+     * Environment variables giving the quotas of every route search, so that no single query can exhaust the memory
+     * of the container; unset for the defaults below.
+     */
+    private static final String MAX_EXPANDED_NODES_ENV = "PATHFINDER_MAX_EXPANDED_NODES";
+    private static final String MAX_OPEN_NODES_ENV = "PATHFINDER_MAX_OPEN_NODES";
+    private static final String MAX_RETAINED_BYTES_ENV = "PATHFINDER_MAX_RETAINED_BYTES";
+
+    /**
+     * Default quota on the bytes a route search holds in nodes; a search of the whole map holds about 60 MB.
+     */
+    private static final long DEFAULT_MAX_RETAINED_BYTES = 128L * 1024 * 1024;
+
+    /**
+     * Highest cost bound of a reachable set; a bound of 1000 already covers about 660,000 tiles.
+     */
+    private static final int MAX_REACHABLE_COST = 1000;
+
+    /**
+     * Highest number of tiles a reachable set may return costs for, keeping the response within a few megabytes.
+     */
+    private static final int MAX_REACHABLE_COSTS = 250_000;
+
+    /**
+     * Highest number of stops of a multi-stop route, each pair of which is searched.
+     */
+    private static final int MAX_STOPS = 16;
+
     /**
      * Handles incoming request and processes it to generate a path in JSON format
      *
@@ -31,22 +117,476 @@ public class LambdaHandler implements RequestHandler<Request, Response> {
         // Player properties
         boolean fairyRingsUnlocked = request.isFairyRingsUnlocked();
         boolean spiritTreesUnlocked = request.isSpiritTreesUnlocked();
-//        Map<Skill, Integer> skillLevels = request.skillLevels;
-//        Set<Quest> questsCompleted = request.questsCompleted;
-//        Set<Diary> diariesCompleted = request.diariesCompleted;
+        Map<Skill, Integer> skillLevels = request.getSkillLevels();
+        Set<Quest> questsCompleted = request.getQuestsCompleted();
+        Set<Diary> diariesCompleted = request.getDiariesCompleted();
         PlayerProperties playerProperties = new PlayerProperties(
                 fairyRingsUnlocked,
-                spiritTreesUnlocked
-//                skillLevels,
-//                questsCompleted,
-//                diariesCompleted,
+                spiritTreesUnlocked,
+                skillLevels,
+                questsCompleted,
+                diariesCompleted
         );
 
-        List<WorldPoint> path = Pathfinder.generatePath(startWP, destinationWP, playerProperties);
+        if (request.getStops() != null && !request.getStops().isEmpty()) {
+            return handleMultiStopRequest(request, playerProperties);
+        }
+
+        if (request.getMaxCost() != null) {
+            return handleReachableRequest(request, startWP, playerProperties);
+        }
+
+        if (request.isRegisterSession() || request.getSessionId() != null) {
+            return handleSessionRequest(request, startWP, destinationWP, playerProperties);
+        }
+
+        SearchOptions options = new SearchOptions();
+        options.setUseTeleports(request.isUseTeleports());
+        options.setGuided(request.isGuided());
+        options.setBidirectional(request.isBidirectional());
+        try {
+            double suboptimality = request.getSuboptimality() == null ? 1 : request.getSuboptimality();
+            options.setSuboptimality(Math.max(suboptimality, getMinSuboptimality()));
+            options.setDeadlineMillis(getDeadlineMillis(request, context));
+            setQuotas(request, options);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(e.getMessage());
+        }
+        if (request.getPreviousPath() != null && !request.getPreviousPath().isEmpty()) {
+            return handleRejoinRequest(request, startWP, destinationWP, playerProperties, options);
+        }
+        if (request.getAdditionalStarts() != null && !request.getAdditionalStarts().isEmpty()) {
+            return handleMultiSourceRequest(request, startWP, destinationWP, playerProperties, options);
+        }
+        return new Response(searchRoute(request, startWP, destinationWP, playerProperties, options));
+    }
+
+    /**
+     * Finds a route from the source to the destination, reusing a cached route or resuming a suspended search
+     * where the request allows
+     *
+     * @param request          Incoming request object with the optional continuation token
+     * @param startWP          The tile to start from
+     * @param destinationWP    The destination
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @param options          Per-request options for the search
+     * @return JSON representation of the path, its cost and lower bound, and how the search ended
+     */
+    private Map<String, Object> searchRoute(Request request, WorldPoint startWP, WorldPoint destinationWP,
+                                            PlayerProperties playerProperties, SearchOptions options) {
+        long[] capabilityMask = TransportHandler.loadGraph().getRequirementLayout().compile(playerProperties);
+        RouteCacheKey cacheKey = RouteCacheKey.of(startWP, List.of(destinationWP), options, capabilityMask);
+        CachedRoute route = reusableRoute(ROUTE_CACHE.get(cacheKey), options);
+        if (route == null) {
+            route = reusableRoute(SUBPATH_CACHE.get(cacheKey), options);
+        }
+        boolean cached = route != null;
+        int lowerBound = cached ? route.getLowerBound() : -1;
+        boolean resumed = false;
+        boolean timedOut = false;
+        boolean truncated = false;
+        String continuationToken = null;
+        if (!cached) {
+            long generation = ROUTE_CACHE.getGeneration();
+            long subpathGeneration = SUBPATH_CACHE.getGeneration();
+            // A search is only resumed for the same suboptimality and quotas, as it keeps the ones it started with;
+            // the deadline is the only option taken from the resuming request
+            List<Object> resumeKey = List.of(cacheKey, options.getSuboptimality(), options.getMaxExpandedNodes(),
+                    options.getMaxOpenNodes(), options.getMaxRetainedBytes());
+            Pathfinder pathfinder = request.getContinuationToken() == null
+                    ? null : SUSPENDED_SEARCHES.take(request.getContinuationToken(), resumeKey);
+            resumed = pathfinder != null;
+            if (resumed) {
+                pathfinder.resume(options.getDeadlineMillis());
+            } else {
+                PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+                pathfinder = new Pathfinder(config, startWP, List.of(destinationWP), options);
+                pathfinder.run();
+            }
+            timedOut = pathfinder.isSuspended();
+            truncated = pathfinder.isTruncated();
+            if (timedOut && request.isResumable()) {
+                continuationToken = SUSPENDED_SEARCHES.suspend(pathfinder, resumeKey);
+            }
+
+            lowerBound = pathfinder.getLowerBound();
+            route = CachedRoute.of(pathfinder.getPath(), pathfinder.getPathCosts(), lowerBound);
+            // Only complete routes are deterministic; partial ones depend on the deadline. Routes of a weighted
+            // search are only cached if proven cheapest, as requests with any ratio share the cache
+            if (pathfinder.isTargetReached()
+                    && (options.getSuboptimality() == 1 || lowerBound == pathfinder.getCost())) {
+                ROUTE_CACHE.put(cacheKey, route, generation);
+                SUBPATH_CACHE.put(cacheKey, route, subpathGeneration);
+            }
+        }
+
+        Map<String, Object> pathMap = getPathMap(route.getPath());
+        pathMap.put("cost", route.getCost());
+        pathMap.put("lowerBound", lowerBound);
+        pathMap.put("cached", cached);
+        if (request.getContinuationToken() != null) {
+            pathMap.put("resumed", resumed);
+        }
+        // The path of a search that ran out of time leads to the closest point found so far
+        pathMap.put("timedOut", timedOut);
+        // Likewise for a search that exceeded a quota
+        pathMap.put("truncated", truncated);
+        if (continuationToken != null) {
+            pathMap.put("continuationToken", continuationToken);
+        }
+        return pathMap;
+    }
+
+    /**
+     * Checks whether a cached route can answer a search: a weighted search must report a proven lower bound, so it
+     * only reuses routes proven cheapest
+     *
+     * @param route   The cached route, or {@code null} if none was found
+     * @param options Per-request options for the search
+     * @return The route, or {@code null} if there is none the search can reuse
+     */
+    private static CachedRoute reusableRoute(CachedRoute route, SearchOptions options) {
+        return route == null || (options.getSuboptimality() > 1 && !route.isProvenCheapest()) ? null : route;
+    }
+
+    /**
+     * Reads the lowest suboptimality from {@value #MIN_SUBOPTIMALITY_ENV}, ignoring a missing or malformed value
+     *
+     * @return The lowest suboptimality any route search runs with
+     */
+    private static double getMinSuboptimality() {
+        String value = System.getenv(MIN_SUBOPTIMALITY_ENV);
+        if (value == null || value.isEmpty()) {
+            return 1;
+        }
+        try {
+            double minSuboptimality = Double.parseDouble(value);
+            return minSuboptimality >= 1 && !Double.isInfinite(minSuboptimality) ? minSuboptimality : 1;
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring " + MIN_SUBOPTIMALITY_ENV + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Works out when the search for a request must stop: after the request's timeout, if any, and early enough to
+     * respond before the invocation itself times out
+     *
+     * @param request Incoming request object with the optional timeout
+     * @param context Context of the invocation, or {@code null} if not run by Lambda
+     * @return Time to stop at, in milliseconds since the epoch, or {@link Long#MAX_VALUE} for no deadline
+     * @throws IllegalArgumentException if the request's timeout is not positive
+     */
+    private static long getDeadlineMillis(Request request, Context context) {
+        long budgetMillis = Long.MAX_VALUE;
+        if (request.getTimeoutMillis() != null) {
+            if (request.getTimeoutMillis() <= 0) {
+                throw new IllegalArgumentException("Timeout must be positive: " + request.getTimeoutMillis());
+            }
+            budgetMillis = request.getTimeoutMillis();
+        }
+        if (context != null) {
+            long remainingMillis = context.getRemainingTimeInMillis() - RESPONSE_MARGIN_MILLIS;
+            budgetMillis = Math.min(budgetMillis, Math.max(remainingMillis, 0));
+        }
+        return budgetMillis == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + budgetMillis;
+    }
+
+    /**
+     * Sets the quotas of a search: those of the service, lowered to any the request gives
+     *
+     * @param request Incoming request object with the optional quotas
+     * @param options Per-request options for the search
+     * @throws IllegalArgumentException if a quota of the request is not positive
+     */
+    private static void setQuotas(Request request, SearchOptions options) {
+        options.setMaxExpandedNodes((int) getQuota(MAX_EXPANDED_NODES_ENV, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                request.getMaxExpandedNodes()));
+        options.setMaxOpenNodes((int) getQuota(MAX_OPEN_NODES_ENV, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                request.getMaxOpenNodes()));
+        options.setMaxRetainedBytes(getQuota(MAX_RETAINED_BYTES_ENV, DEFAULT_MAX_RETAINED_BYTES, Long.MAX_VALUE,
+                request.getMaxRetainedBytes()));
+    }
+
+    /**
+     * Reads a quota of the service from an environment variable, ignoring a missing or malformed value, and lowers
+     * it to the quota of the request
+     *
+     * @param name         Name of the environment variable
+     * @param defaultValue Quota if the variable is unset or malformed
+     * @param maxValue     Highest quota the search can take
+     * @param requested    Quota of the request, or {@code null} if none
+     * @return The quota of the search
+     * @throws IllegalArgumentException if the quota of the request is not positive
+     */
+    private static long getQuota(String name, long defaultValue, long maxValue, Number requested) {
+        long quota = defaultValue;
+        String value = System.getenv(name);
+        if (value != null && !value.isEmpty()) {
+            try {
+                long configured = Long.parseLong(value);
+                if (configured > 0) {
+                    quota = configured;
+                } else {
+                    System.err.println("Ignoring " + name + ": not positive");
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring " + name + ": " + e.getMessage());
+            }
+        }
+        if (requested != null) {
+            if (requested.longValue() <= 0) {
+                throw new IllegalArgumentException("Quotas must be positive: " + requested);
+            }
+            quota = Math.min(quota, requested.longValue());
+        }
+        return Math.min(quota, maxValue);
+    }
+
+    /**
+     * Builds the response to a request that cannot be answered.
+     *
+     * @param message Why the request cannot be answered
+     * @return JSON representation of the error
+     */
+    private static Response errorResponse(String message) {
+        Map<String, Object> errorMap = new HashMap<>();
+        errorMap.put("error", message);
+        return new Response(errorMap);
+    }
+
+    /**
+     * Empties the route caches and drops suspended searches; to be called whenever collision or transport data
+     * changes.
+     */
+    public static void invalidateRouteCache() {
+        ROUTE_CACHE.invalidateAll();
+        SUBPATH_CACHE.invalidateAll();
+        SUSPENDED_SEARCHES.clear();
+    }
+
+    /**
+     * Plans a route through every stop of the request in the cheapest order; requests with more than
+     * {@value #MAX_STOPS} stops are rejected
+     *
+     * @param request          Incoming request object containing the stops to visit
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @return JSON representation of the stitched path, visiting order, total cost and number of stops reached
+     */
+    private Response handleMultiStopRequest(Request request, PlayerProperties playerProperties) {
+        if (request.getStops().size() > MAX_STOPS) {
+            return errorResponse("At most " + MAX_STOPS + " stops are planned: " + request.getStops().size());
+        }
+
+        List<WorldPoint> stops = new ArrayList<>(request.getStops().size());
+        for (Coordinate stop : request.getStops()) {
+            stops.add(stop.toWorldPoint());
+        }
+
+        PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+        MultiStopRoute route = new MultiStopPlanner(config).plan(stops);
+
+        Map<String, Object> pathMap = getPathMap(route.getPath());
+        List<Integer> order = new ArrayList<>(route.getOrder().length);
+        for (int stop : route.getOrder()) {
+            order.add(stop);
+        }
+        pathMap.put("order", order);
+        pathMap.put("cost", route.getCost());
+        pathMap.put("complete", route.isComplete());
+        pathMap.put("stopsReached", route.getStopsReached());
+        return new Response(pathMap);
+    }
+
+    /**
+     * Finds every tile reachable from the source within the request's cost bound, walking and taking transports.
+     * Teleports usable from anywhere are not taken, so a request asking for them is rejected, as is a cost bound
+     * above {@value #MAX_REACHABLE_COST} or a request for the costs of more than {@value #MAX_REACHABLE_COSTS} tiles
+     *
+     * @param request          Incoming request object containing the cost bound
+     * @param startWP          The tile to start from
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @return JSON representation of the reachable tiles of each region: the region coordinates, one 64-bit mask per
+     * plane row as base64 of little-endian words, and the cost of each tile in row order if requested
+     */
+    private Response handleReachableRequest(Request request, WorldPoint startWP, PlayerProperties playerProperties) {
+        int maxCost = request.getMaxCost();
+        if (maxCost < 0 || maxCost > MAX_REACHABLE_COST) {
+            return errorResponse("Cost bound must be between 0 and " + MAX_REACHABLE_COST + ": " + maxCost);
+        }
+        if (request.isUseTeleports()) {
+            return errorResponse("Teleports are not taken by reachable set requests");
+        }
+
+        PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+        // Large fills are expanded in parallel when there are cores to spare
+        ForkJoinPool pool = Runtime.getRuntime().availableProcessors() > 1 ? ForkJoinPool.commonPool() : null;
+        ReachableSet reachable = new WavefrontSearch(config, pool).reachable(
+                new int[]{WorldPointUtil.packWorldPoint(startWP)}, maxCost, request.isIncludeCosts());
+        if (reachable.hasCosts() && reachable.getSize() > MAX_REACHABLE_COSTS) {
+            return errorResponse("Costs of " + reachable.getSize() + " tiles requested, at most "
+                    + MAX_REACHABLE_COSTS + " are returned; lower the cost bound or leave out costs");
+        }
+
+        List<Map<String, Object>> regions = new ArrayList<>();
+        reachable.forEachRegion((regionX, regionY, rows, costs) -> {
+            ByteBuffer buffer = ByteBuffer.allocate(8 * rows.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asLongBuffer().put(rows);
+            Map<String, Object> regionMap = new HashMap<>();
+            regionMap.put("x", regionX);
+            regionMap.put("y", regionY);
+            regionMap.put("rows", Base64.getEncoder().encodeToString(buffer.array()));
+            if (costs != null) {
+                regionMap.put("costs", costs);
+            }
+            regions.add(regionMap);
+        });
+
+        Map<String, Object> reachableMap = new HashMap<>();
+        reachableMap.put("regions", regions);
+        reachableMap.put("size", reachable.getSize());
+        reachableMap.put("maxCost", reachable.getMaxCost());
+        return new Response(reachableMap);
+    }
+
+    /**
+     * Finds the cheapest route from the source or any of the request's additional starts in a single search
+     *
+     * @param request          Incoming request object containing the additional starts
+     * @param startWP          The player's current position, starting at no cost
+     * @param destinationWP    The destination
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @param options          Per-request options for the search
+     * @return JSON representation of the path, its cost including the initial cost, the start it begins at, and
+     * whether the search ran out of time or exceeded a quota
+     */
+    private Response handleMultiSourceRequest(Request request, WorldPoint startWP, WorldPoint destinationWP,
+                                              PlayerProperties playerProperties, SearchOptions options) {
+        List<SearchSeed> seeds = new ArrayList<>();
+        seeds.add(new SearchSeed(startWP, 0));
+        for (SeedCoordinate start : request.getAdditionalStarts()) {
+            if (start.getCost() < 0) {
+                return errorResponse("Initial cost of an additional start must not be negative: " + start.getCost());
+            }
+            seeds.add(new SearchSeed(start.toWorldPoint(), start.getCost()));
+        }
+
+        PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+        Pathfinder pathfinder = new Pathfinder(config, seeds, List.of(destinationWP), options);
+        pathfinder.run();
+
+        // 0 is the source, 1 onwards the additional starts in request order
+        SearchSeed seed = pathfinder.getSeed();
+        Map<String, Object> pathMap = getPathMap(pathfinder.getPath());
+        pathMap.put("cost", pathfinder.getCost());
+        pathMap.put("seedIndex", seed == null ? -1 : seeds.indexOf(seed));
+        // As for a single route, the path of a search that ran out of time or exceeded a quota leads to the closest
+        // point found so far
+        pathMap.put("timedOut", pathfinder.isSuspended());
+        pathMap.put("truncated", pathfinder.isTruncated());
+        return new Response(pathMap);
+    }
+
+    /**
+     * Reconnects the player to a previously returned path with a small local search, falling back to the search
+     * the request would run without a previous path if no point of the remaining path is nearby
+     *
+     * @param request          Incoming request object containing the previous path
+     * @param startWP          The player's current position
+     * @param destinationWP    The destination, only used for the fallback search
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @param options          Per-request options for the fallback search
+     * @return JSON representation of the spliced path and the index at which it rejoins the previous path
+     */
+    private Response handleRejoinRequest(Request request, WorldPoint startWP, WorldPoint destinationWP,
+                                         PlayerProperties playerProperties, SearchOptions options) {
+        List<WorldPoint> previousPath = toWorldPoints(request.getPreviousPath());
+        int progressIndex = request.getProgressIndex() == null ? -1 : request.getProgressIndex();
+
+        PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+        RejoinResult rejoin = new RejoinPlanner(config).rejoin(previousPath, progressIndex, startWP);
+
+        Map<String, Object> pathMap;
+        if (rejoin.isRejoined()) {
+            pathMap = getPathMap(rejoin.getPath());
+        } else {
+            pathMap = searchRoute(request, startWP, destinationWP, playerProperties, options);
+        }
+        pathMap.put("rejoined", rejoin.isRejoined());
+        pathMap.put("rejoinIndex", rejoin.getJoinIndex());
+        return new Response(pathMap);
+    }
+
+    /**
+     * Registers a replanning session, or applies obstacle changes to an existing one and repairs its route
+     *
+     * @param request          Incoming request object containing the session and obstacle changes
+     * @param startWP          The player's current position
+     * @param destinationWP    The destination, only used when registering a session
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @return JSON representation of the session's path, cost and identifier, and whether the repair was truncated
+     * at its expansion limit, leaving no path until a later request carries it on
+     */
+    private Response handleSessionRequest(Request request, WorldPoint startWP, WorldPoint destinationWP,
+                                          PlayerProperties playerProperties) {
+        ReplanningSession session;
+        List<WorldPoint> path;
+        if (request.isRegisterSession()) {
+            PathfinderConfig config = Pathfinder.createConfig(playerProperties);
+            session = SESSIONS.register(config, startWP, destinationWP);
+            path = session.replan(null, List.of(), List.of(), List.of(), List.of());
+        } else {
+            session = SESSIONS.get(request.getSessionId());
+            if (session == null) {
+                return errorResponse("Unknown or expired session: " + request.getSessionId());
+            }
+
+            path = session.replan(
+                    startWP,
+                    toWorldPoints(request.getBlockedTiles()),
+                    toWorldPoints(request.getClearedTiles()),
+                    toTransportPoints(request.getBlockedTransports()),
+                    toTransportPoints(request.getClearedTransports())
+            );
+        }
+
+        if (request.isEndSession()) {
+            SESSIONS.remove(session.getId());
+        }
+
         Map<String, Object> pathMap = getPathMap(path);
+        pathMap.put("sessionId", session.getId());
+        pathMap.put("cost", session.getCost());
+        pathMap.put("truncated", session.isTruncated());
         return new Response(pathMap);
     }
 
+    /**
+     * Converts request coordinates into {@link WorldPoint}s, treating a missing list as empty
+     */
+    private static List<WorldPoint> toWorldPoints(List<Coordinate> coordinates) {
+        List<WorldPoint> worldPoints = new ArrayList<>();
+        if (coordinates != null) {
+            for (Coordinate coordinate : coordinates) {
+                worldPoints.add(coordinate.toWorldPoint());
+            }
+        }
+        return worldPoints;
+    }
+
+    /**
+     * Converts request transports into origin and destination pairs, treating a missing list as empty
+     */
+    private static List<WorldPoint[]> toTransportPoints(List<TransportEdge> transports) {
+        List<WorldPoint[]> transportPoints = new ArrayList<>();
+        if (transports != null) {
+            for (TransportEdge transport : transports) {
+                transportPoints.add(transport.toWorldPoints());
+            }
+        }
+        return transportPoints;
+    }
+
     public Map<String, Object> getPathMap(List<WorldPoint> path) {
         Map<String, Object> responseMap = new HashMap<>();
         List<Map<String, Integer>> pathList = new ArrayList<>();
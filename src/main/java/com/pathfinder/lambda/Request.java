@@ -1,7 +1,14 @@
 package com.pathfinder.lambda;
 
+import com.pathfinder.enums.Diary;
 import lombok.Getter;
 import lombok.Setter;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents connected nodes in a path
@@ -17,12 +24,61 @@ public class Request {
     private int destinationY;
     private int destinationZ;
 
-    // TODO: Make these dynamic
+    // Multi-stop route of at most 16 stops; when present the source and destination fields are ignored
+    private List<Coordinate> stops;
+
+    // Replanning session; registerSession starts one, later requests pass its sessionId with obstacle changes
+    // and the player's current position as the source
+    private boolean registerSession;
+    private String sessionId;
+    private boolean endSession;
+    private List<Coordinate> blockedTiles;
+    private List<Coordinate> clearedTiles;
+    private List<TransportEdge> blockedTransports;
+    private List<TransportEdge> clearedTransports;
+
+    // Off-route rejoin; the source is the player's current position, progressIndex optionally the index
+    // in previousPath the player last reached
+    private List<Coordinate> previousPath;
+    private Integer progressIndex;
+
+    // Alternative starting points besides the source, e.g. where a home teleport arrives, with their initial costs
+    private List<SeedCoordinate> additionalStarts;
+
+    // Reachable set; when present, every tile reachable from the source within this cost (at most 1000) is returned
+    // instead of a path, with the cost of each if includeCosts is set. Teleports are never taken, so useTeleports
+    // must be left unset
+    private Integer maxCost;
+    private boolean includeCosts;
+
     private boolean fairyRingsUnlocked;
     private boolean spiritTreesUnlocked;
-//    Map<Skill, Integer> skillLevels = new HashMap<>();
-//    Set<Quest> questsCompleted = new HashSet<>();
-//    Set<Diary> diariesCompleted = new HashSet<>();
+    // Whether teleports usable from anywhere, such as spells, may be taken
+    private boolean useTeleports;
+    // Whether to run an A* search guided towards the destination, using any precomputed lower bounds, rather than
+    // the default search; the route is equally cheap
+    private boolean guided;
+    // Whether a point-to-point search may run forwards and backwards at once on two threads
+    private boolean bidirectional;
+    // Optional; highest ratio allowed between the cost of the route returned and that of the cheapest route,
+    // at least 1, trading route quality for a faster search
+    private Double suboptimality;
+    // Optional; time the search may take in milliseconds, capped by the time left for the invocation. A search that
+    // runs out returns the path to the closest point found so far; with resumable set it is kept for a while, and a
+    // follow-up request for the same route passing the continuationToken of the response carries on from there
+    private Integer timeoutMillis;
+    private boolean resumable;
+    private String continuationToken;
+    // Optional; lower the service's quotas on the nodes the search may expand, hold queued and hold in memory. A
+    // search that exceeds one returns the path to the closest point found so far, flagged as truncated
+    private Integer maxExpandedNodes;
+    private Integer maxOpenNodes;
+    private Long maxRetainedBytes;
+
+    // Optional; when omitted, requirements of that kind are assumed to be met
+    private Map<Skill, Integer> skillLevels;
+    private Set<Quest> questsCompleted;
+    private Set<Diary> diariesCompleted;
 
     @Override
     public String toString() {
@@ -33,11 +89,34 @@ public class Request {
                 ", destinationX=" + destinationX +
                 ", destinationY=" + destinationY +
                 ", destinationZ=" + destinationZ +
+                ", stops=" + stops +
+                ", registerSession=" + registerSession +
+                ", sessionId=" + sessionId +
+                ", endSession=" + endSession +
+                ", blockedTiles=" + blockedTiles +
+                ", clearedTiles=" + clearedTiles +
+                ", blockedTransports=" + blockedTransports +
+                ", clearedTransports=" + clearedTransports +
+                ", previousPath=" + (previousPath == null ? null : previousPath.size() + " points") +
+                ", progressIndex=" + progressIndex +
+                ", additionalStarts=" + additionalStarts +
+                ", maxCost=" + maxCost +
+                ", includeCosts=" + includeCosts +
                 ", fairyRingsUnlocked=" + fairyRingsUnlocked +
                 ", spiritTreesUnlocked=" + spiritTreesUnlocked +
-//                ", skillLevels=" + skillLevels +
-//                ", questsCompleted=" + questsCompleted +
-//                ", diariesCompleted=" + diariesCompleted +
+                ", useTeleports=" + useTeleports +
+                ", guided=" + guided +
+                ", bidirectional=" + bidirectional +
+                ", suboptimality=" + suboptimality +
+                ", timeoutMillis=" + timeoutMillis +
+                ", resumable=" + resumable +
+                ", continuationToken=" + continuationToken +
+                ", maxExpandedNodes=" + maxExpandedNodes +
+                ", maxOpenNodes=" + maxOpenNodes +
+                ", maxRetainedBytes=" + maxRetainedBytes +
+                ", skillLevels=" + skillLevels +
+                ", questsCompleted=" + questsCompleted +
+                ", diariesCompleted=" + diariesCompleted +
                 '}';
     }
 }
@@ -0,0 +1,23 @@
+package com.pathfinder.lambda;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Represents an alternative starting coordinate within a request, with the cost of getting there
+ */
+@Getter
+@Setter
+public class SeedCoordinate extends Coordinate {
+    private int cost;
+
+    @Override
+    public String toString() {
+        return "SeedCoordinate{" +
+                "x=" + getX() +
+                ", y=" + getY() +
+                ", z=" + getZ() +
+                ", cost=" + cost +
+                '}';
+    }
+}
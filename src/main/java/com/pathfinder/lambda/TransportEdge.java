@@ -0,0 +1,30 @@
+package com.pathfinder.lambda;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Identifies a transport within a request by its origin and destination
+ */
+@Getter
+@Setter
+public class TransportEdge {
+    private Coordinate origin;
+    private Coordinate destination;
+
+    /**
+     * @return Origin and destination as a two-element {@link WorldPoint} array
+     */
+    public WorldPoint[] toWorldPoints() {
+        return new WorldPoint[]{origin.toWorldPoint(), destination.toWorldPoint()};
+    }
+
+    @Override
+    public String toString() {
+        return "TransportEdge{" +
+                "origin=" + origin +
+                ", destination=" + destination +
+                '}';
+    }
+}
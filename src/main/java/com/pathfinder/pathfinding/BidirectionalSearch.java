@@ -0,0 +1,325 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds a cheapest route between two tiles by running a forward {@link WavefrontSearch} from the start and a reverse
+ * one from the target until they meet.
+ * <p>
+ * Given an executor, the reverse search runs on one of its threads while the forward search runs on the calling
+ * thread; otherwise, or if the executor has no thread to spare, the calling thread advances whichever search has the
+ * cheaper next level. Every edge either search takes onto a tile the other has reached completes a route, and the
+ * cheapest of them is kept in a shared best cost. Both searches stop once the costs of their next levels add up to at
+ * least the best cost: every route not yet found must pass a tile neither search has reached, so costs at least as
+ * much. The route returned is therefore as cheap as that of
+ * {@link com.pathfinder.pathfinding.precompute.GraphSearch}, though ties may be broken differently.
+ * <p>
+ * Edges and costs are those of {@link CollisionMap#forEachNeighbor}; teleports usable from anywhere and the
+ * restrictions of {@link SearchOptions} are not applied. A search is not thread-safe.
+ */
+public class BidirectionalSearch {
+    /**
+     * The tiles of a route with the cost of reaching each.
+     */
+    @Getter
+    public static class Route {
+        /**
+         * 32-bit integer representations of the tiles, from the start to the target.
+         */
+        private final int[] tiles;
+
+        /**
+         * Cost of reaching each tile from the start.
+         */
+        private final int[] costs;
+
+        Route(int[] tiles, int[] costs) {
+            this.tiles = tiles;
+            this.costs = costs;
+        }
+
+        /**
+         * @return Cost of the route
+         */
+        public int getCost() {
+            return costs[costs.length - 1];
+        }
+    }
+
+    private final PathfinderConfig config;
+    private final Executor executor;
+    private final WavefrontSearch forward;
+    private final WavefrontSearch backward;
+
+    /**
+     * Cost of the cheapest route found so far, {@link Integer#MAX_VALUE} if none.
+     */
+    private final AtomicInteger bestCost = new AtomicInteger();
+
+    /**
+     * Tile the cheapest route found so far meets at, with the cost of its parts before and after the tile; guarded by
+     * {@code this}.
+     */
+    private int meetingPoint;
+    private int meetingForwardCost;
+    private int meetingBackwardCost;
+
+    /**
+     * Whether the search was abandoned, so the reverse search should stop too.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Exception the reverse search failed with on the executor, if any.
+     */
+    private volatile RuntimeException backwardFailure;
+
+    /**
+     * Constructs a {@code BidirectionalSearch}.
+     *
+     * @param config   Pathfinding configuration providing the map and the transports that may be used
+     * @param executor Executor to run the reverse search in, or {@code null} to run both on the calling thread
+     */
+    public BidirectionalSearch(PathfinderConfig config, Executor executor) {
+        this.config = config;
+        this.executor = executor;
+        this.forward = new WavefrontSearch(config, null, false);
+        this.backward = new WavefrontSearch(config, null, true);
+        forward.linkOpposite(backward, (packedPoint, cost, oppositeCost) -> meet(packedPoint, cost, oppositeCost));
+        backward.linkOpposite(forward, (packedPoint, cost, oppositeCost) -> meet(packedPoint, oppositeCost, cost));
+    }
+
+    /**
+     * Finds a cheapest route between two tiles.
+     *
+     * @param packedStart  32-bit integer representation of the start
+     * @param packedTarget 32-bit integer representation of the target
+     * @return The route, or {@code null} if the target cannot be reached
+     */
+    public Route search(int packedStart, int packedTarget) {
+        if (packedStart == packedTarget) {
+            return new Route(new int[]{packedStart}, new int[]{0});
+        }
+
+        bestCost.set(Integer.MAX_VALUE);
+        stopped = false;
+        backwardFailure = null;
+        forward.start(new int[]{packedStart});
+        backward.start(new int[]{packedTarget});
+
+        final CountDownLatch backwardDone = new CountDownLatch(1);
+        boolean parallel = false;
+        if (executor != null) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        advanceUntilProven(backward);
+                    } catch (RuntimeException e) {
+                        backwardFailure = e;
+                    } finally {
+                        backwardDone.countDown();
+                    }
+                });
+                parallel = true;
+            } catch (RejectedExecutionException e) {
+                // Every thread is busy; run both searches here rather than wait for one
+            }
+        }
+
+        if (parallel) {
+            try {
+                advanceUntilProven(forward);
+                backwardDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } finally {
+                stopped = true;
+            }
+            if (backwardFailure != null) {
+                throw backwardFailure;
+            }
+        } else {
+            while (!isProven()) {
+                final WavefrontSearch side = forward.getNextCost() <= backward.getNextCost() ? forward : backward;
+                side.advance(Integer.MAX_VALUE, null);
+            }
+        }
+
+        return bestCost.get() == Integer.MAX_VALUE ? null : traceRoute(packedStart, packedTarget);
+    }
+
+    /**
+     * Advances one of the searches until the best route is proven cheapest, the search has no tiles left or the
+     * search is abandoned. A search without tiles left leaves the proof to the other one.
+     */
+    private void advanceUntilProven(WavefrontSearch side) {
+        while (!stopped && !isProven() && side.getNextCost() != Integer.MAX_VALUE) {
+            side.advance(Integer.MAX_VALUE, null);
+        }
+    }
+
+    /**
+     * Checks whether no route cheaper than the best can be left to find. Both searches must have reached their seed,
+     * so that an edge onto it is found by either.
+     */
+    private boolean isProven() {
+        final int nextForward = forward.getNextCost();
+        final int nextBackward = backward.getNextCost();
+        return nextForward > 0 && nextBackward > 0 && (long) nextForward + nextBackward >= bestCost.get();
+    }
+
+    /**
+     * Keeps a route if it is the cheapest found so far.
+     */
+    private synchronized void meet(int packedPoint, int forwardCost, int backwardCost) {
+        final int cost = forwardCost + backwardCost;
+        if (cost < bestCost.get()) {
+            meetingPoint = packedPoint;
+            meetingForwardCost = forwardCost;
+            meetingBackwardCost = backwardCost;
+            bestCost.set(cost);
+        }
+    }
+
+    /**
+     * Builds the best route by following the costs of the forward search back from the meeting point to the start,
+     * and those of the reverse search on to the target. The meeting point itself may have been reached over the edge
+     * that completed the route rather than by the search, so edges are matched by the cost along the route.
+     */
+    private synchronized Route traceRoute(int packedStart, int packedTarget) {
+        final int cost = bestCost.get();
+        int[] tiles = new int[256];
+        int[] costs = new int[256];
+        int length = 0;
+
+        // The part before the meeting point, backwards
+        final int[] edge = new int[2];
+        int packedTile = meetingPoint;
+        int tileCost = meetingForwardCost;
+        while (true) {
+            if (length == tiles.length) {
+                tiles = Arrays.copyOf(tiles, 2 * length);
+                costs = Arrays.copyOf(costs, 2 * length);
+            }
+            tiles[length] = packedTile;
+            costs[length] = tileCost;
+            length++;
+            if (tileCost == 0) {
+                break;
+            }
+            findEdge(forward, packedTile, tileCost, true, edge);
+            packedTile = edge[0];
+            tileCost = edge[1];
+        }
+        if (packedTile != packedStart) {
+            throw new IllegalStateException("Route does not lead back to the start");
+        }
+        reverse(tiles, length);
+        reverse(costs, length);
+
+        // The part after the meeting point
+        packedTile = meetingPoint;
+        tileCost = meetingBackwardCost;
+        while (tileCost > 0) {
+            findEdge(backward, packedTile, tileCost, false, edge);
+            packedTile = edge[0];
+            tileCost = edge[1];
+            if (length == tiles.length) {
+                tiles = Arrays.copyOf(tiles, 2 * length);
+                costs = Arrays.copyOf(costs, 2 * length);
+            }
+            tiles[length] = packedTile;
+            costs[length] = cost - tileCost;
+            length++;
+        }
+        if (packedTile != packedTarget) {
+            throw new IllegalStateException("Route does not lead on to the target");
+        }
+        return new Route(Arrays.copyOf(tiles, length), Arrays.copyOf(costs, length));
+    }
+
+    /**
+     * Finds the edge a search reached a tile over: from a predecessor for the forward search, or from a successor
+     * for the reverse one, reached at the cost of the tile less that of the edge.
+     *
+     * @param edge Receives the tile the edge comes from and the cost it was reached at
+     * @throws IllegalStateException if there is no such edge
+     */
+    private void findEdge(WavefrontSearch side, int packedTile, int tileCost, boolean predecessor, int[] edge) {
+        edge[0] = -1;
+        final EdgeVisitor visitor = (packedOther, edgeCost, transport) -> {
+            // Like the searches, take no transport to be free
+            final int otherCost = tileCost - Math.max(edgeCost, 1);
+            if (edge[0] == -1 && otherCost >= 0 && side.getCost(packedOther) == otherCost) {
+                edge[0] = packedOther;
+                edge[1] = otherCost;
+            }
+        };
+        if (predecessor) {
+            config.getMap().forEachPredecessor(packedTile, config, visitor);
+        } else {
+            config.getMap().forEachNeighbor(packedTile, config, visitor);
+        }
+        if (edge[0] == -1) {
+            throw new IllegalStateException("No edge reaches " + WorldPointUtil.unpackWorldPoint(packedTile)
+                    + " at cost " + tileCost);
+        }
+    }
+
+    private static void reverse(int[] values, int length) {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            final int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    /**
+     * Returns the executor every bidirectional search shares to run its reverse search in, creating it on first use.
+     * It has one thread per available processor and queues nothing, so a search started while every thread is busy
+     * runs on its calling thread alone.
+     *
+     * @return The shared executor, or {@code null} if there is only one processor
+     */
+    public static Executor sharedExecutor() {
+        if (Runtime.getRuntime().availableProcessors() <= 1) {
+            return null;
+        }
+        Executor shared = Shared.instance;
+        if (shared == null) {
+            synchronized (Shared.class) {
+                shared = Shared.instance;
+                if (shared == null) {
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(0,
+                            Runtime.getRuntime().availableProcessors(), 60, TimeUnit.SECONDS,
+                            new SynchronousQueue<>(), runnable -> {
+                                Thread thread = new Thread(runnable, "bidirectional-search");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    shared = executor;
+                    Shared.instance = shared;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Holder for the executor created by {@link #sharedExecutor()}.
+     */
+    private static class Shared {
+        private static volatile Executor instance;
+    }
+}
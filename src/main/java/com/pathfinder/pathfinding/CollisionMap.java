@@ -1,9 +1,11 @@
 package com.pathfinder.pathfinding;
 
 
+import com.pathfinder.pathfinding.node.NetworkNode;
 import com.pathfinder.pathfinding.node.Node;
 import com.pathfinder.pathfinding.node.TransportNode;
 import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.pathfinding.transports.TransportNetwork;
 import com.pathfinder.util.WorldPointUtil;
 
 import java.util.ArrayList;
@@ -143,12 +145,23 @@ public class CollisionMap {
         List<Transport> transports = config.getTransportsPacked().getOrDefault(node.packedWP, List.of());
 
         for (Transport transport : transports) {
-            if (visited.get(transport.getDestination())) {
+            if (!config.isUsable(transport) || visited.get(transport.getDestination())) {
                 continue;
             }
             neighbors.add(new TransportNode(transport.getDestination(), node, transport.getTransportType().getAdditionalCost()));
         }
 
+        // Only the cheapest destination of each network is queued now; see NetworkNode
+        for (TransportNetwork.Stop stop : config.getNetworkStopsPacked().getOrDefault(node.packedWP, List.of())) {
+            if (!config.isUsable(stop.getNetwork().getRequirementMask())) {
+                continue;
+            }
+            NetworkNode networkNode = nextNetworkNode(stop.getNetwork(), stop.getIndex(), 0, node, visited, config);
+            if (networkNode != null) {
+                neighbors.add(networkNode);
+            }
+        }
+
         if (isBlocked(x, y, z)) {
             // Region is fully blocked; allow movement to adjacent non-blocked tiles.
             for (int i = 0; i < ORDINAL_VALUES.length; i++) {
@@ -178,14 +191,220 @@ public class CollisionMap {
             } else if (Math.abs(d.x + d.y) == 1 && isBlocked(x + d.x, y + d.y, z)) {
                 List<Transport> neighborTransports = config.getTransportsPacked().getOrDefault(neighborPacked, List.of());
                 for (Transport transport : neighborTransports) {
-                    if (visited.get(transport.getOrigin())) {
+                    if (!config.isUsable(transport) || visited.get(transport.getOrigin())) {
                         continue;
                     }
                     neighbors.add(new Node(transport.getOrigin(), node));
                 }
+                if (!hasUsableTransport(neighborPacked, config) && hasUsableNetworkStop(neighborPacked, config)) {
+                    neighbors.add(new Node(neighborPacked, node));
+                }
             }
         }
 
         return neighbors;
     }
+
+    /**
+     * Finds the cheapest destination of a network stop, starting from a given rank, that can be travelled to.
+     *
+     * @param network  The network to travel through
+     * @param origin   Index of the stop departed from
+     * @param rank     Rank of the first destination to consider, see {@link TransportNetwork#getDestination(int, int)}
+     * @param previous The node at the stop departed from
+     * @param visited  Tracker of visited tiles; visited destinations are skipped
+     * @param config   Pathfinding configuration
+     * @return A node for the destination, or {@code null} if no destinations remain
+     */
+    public NetworkNode nextNetworkNode(TransportNetwork network, int origin, int rank, Node previous,
+                                       VisitedTiles visited, PathfinderConfig config) {
+        for (int r = rank; r < network.size() - 1; r++) {
+            int destination = network.getDestination(origin, r);
+            if (!visited.get(network.getPackedStop(destination)) && config.isUsable(network.getArrivalMask(destination))) {
+                return new NetworkNode(network, origin, r, previous);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Enumerates every outgoing edge of a tile, ignoring visited state.
+     * <p>
+     * Produces exactly the moves {@link #getNeighbors(Node, VisitedTiles, PathfinderConfig)} can make, with the
+     * same costs, in a fixed order: transports first, then the eight {@link OrdinalDirection}s. Unlike
+     * {@code getNeighbors} it keeps no per-call state, so it may be called re-entrantly from a visitor.
+     *
+     * @param packedPoint 32-bit integer representation of the tile
+     * @param config      Pathfinding configuration providing the transports
+     * @param visitor     Receives each edge
+     */
+    public void forEachNeighbor(int packedPoint, PathfinderConfig config, EdgeVisitor visitor) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        for (Transport transport : config.getTransportsPacked().getOrDefault(packedPoint, List.of())) {
+            if (config.isUsable(transport)) {
+                visitor.visit(transport.getPackedDestination(), transport.getCost(), transport);
+            }
+        }
+
+        for (TransportNetwork.Stop stop : config.getNetworkStopsPacked().getOrDefault(packedPoint, List.of())) {
+            TransportNetwork network = stop.getNetwork();
+            if (!config.isUsable(network.getRequirementMask())) {
+                continue;
+            }
+            for (int to = 0; to < network.size(); to++) {
+                if (to != stop.getIndex() && config.isUsable(network.getArrivalMask(to))) {
+                    visitor.visit(network.getPackedStop(to), network.getCost(stop.getIndex(), to),
+                            network.toTransport(stop.getIndex(), to));
+                }
+            }
+        }
+
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+            if (canStep(x, y, z, i, config)) {
+                visitor.visit(packedPointFromOrdinal(packedPoint, ORDINAL_VALUES[i]), 1, null);
+            }
+        }
+    }
+
+    /**
+     * Enumerates every incoming edge of a tile, i.e. the edges {@link #forEachNeighbor} would report from other
+     * tiles towards this one, in a fixed order: transports first, then the eight {@link OrdinalDirection}s.
+     *
+     * @param packedPoint 32-bit integer representation of the tile
+     * @param config      Pathfinding configuration providing the transports
+     * @param visitor     Receives each edge, with the tile it starts from
+     */
+    public void forEachPredecessor(int packedPoint, PathfinderConfig config, EdgeVisitor visitor) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        for (Transport transport : config.getTransportsByDestinationPacked().getOrDefault(packedPoint, List.of())) {
+            if (config.isUsable(transport)) {
+                visitor.visit(transport.getPackedOrigin(), transport.getCost(), transport);
+            }
+        }
+
+        for (TransportNetwork.Stop stop : config.getNetworkStopsPacked().getOrDefault(packedPoint, List.of())) {
+            TransportNetwork network = stop.getNetwork();
+            if (!config.isUsable(network.getRequirementMask())
+                    || !config.isUsable(network.getArrivalMask(stop.getIndex()))) {
+                continue;
+            }
+            for (int from = 0; from < network.size(); from++) {
+                if (from != stop.getIndex()) {
+                    visitor.visit(network.getPackedStop(from), network.getCost(from, stop.getIndex()),
+                            network.toTransport(from, stop.getIndex()));
+                }
+            }
+        }
+
+        for (int i = 0; i < ORDINAL_VALUES.length; i++) {
+            OrdinalDirection d = ORDINAL_VALUES[i];
+            if (canStep(x - d.x, y - d.y, z, i, config)) {
+                visitor.visit(WorldPointUtil.packWorldPoint(x - d.x, y - d.y, z), 1, null);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a single walking step can be made from a tile, using the same rules as
+     * {@link #getNeighbors(Node, VisitedTiles, PathfinderConfig)}.
+     *
+     * @param x              Starting X coordinate.
+     * @param y              Starting Y coordinate.
+     * @param z              Plane.
+     * @param directionIndex Index of the direction in {@link OrdinalDirection#values()}.
+     * @param config         Pathfinding configuration providing the transports.
+     * @return True if the step is possible.
+     */
+    private boolean canStep(int x, int y, int z, int directionIndex, PathfinderConfig config) {
+        if (canWalk(x, y, z, directionIndex)) {
+            return true;
+        }
+
+        OrdinalDirection d = ORDINAL_VALUES[directionIndex];
+        return Math.abs(d.x + d.y) == 1 && isEnterable(x + d.x, y + d.y, z, config);
+    }
+
+    /**
+     * Checks whether a single walking step can be made from a tile by the collision data alone, i.e. without
+     * entering a blocked tile through a transport starting there.
+     *
+     * @param x              Starting X coordinate.
+     * @param y              Starting Y coordinate.
+     * @param z              Plane.
+     * @param directionIndex Index of the direction in {@link OrdinalDirection#values()}.
+     * @return True if the step is possible.
+     */
+    public boolean canWalk(int x, int y, int z, int directionIndex) {
+        OrdinalDirection d = ORDINAL_VALUES[directionIndex];
+        if (isBlocked(x, y, z)) {
+            return !isBlocked(x + d.x, y + d.y, z);
+        }
+
+        switch (d) {
+            case WEST:
+                return w(x, y, z);
+            case EAST:
+                return e(x, y, z);
+            case SOUTH:
+                return s(x, y, z);
+            case NORTH:
+                return n(x, y, z);
+            default:
+                return diagonal(x, y, z, d);
+        }
+    }
+
+    /**
+     * Checks whether a blocked tile may still be entered from the tiles next to it in a cardinal direction, as a
+     * usable transport or network stop starts there (e.g. a door).
+     *
+     * @param x      X coordinate.
+     * @param y      Y coordinate.
+     * @param z      Plane.
+     * @param config Pathfinding configuration providing the transports.
+     * @return True if the tile is blocked and can be entered.
+     */
+    public boolean isEnterable(int x, int y, int z, PathfinderConfig config) {
+        final int packedPoint = WorldPointUtil.packWorldPoint(x, y, z);
+        return isBlocked(x, y, z)
+                && (hasUsableTransport(packedPoint, config) || hasUsableNetworkStop(packedPoint, config));
+    }
+
+    /**
+     * Checks whether any transport the player can use starts at a tile.
+     *
+     * @param packedPoint 32-bit integer representation of the tile
+     * @param config      Pathfinding configuration providing the transports
+     * @return True if a usable transport starts at the tile.
+     */
+    private static boolean hasUsableTransport(int packedPoint, PathfinderConfig config) {
+        for (Transport transport : config.getTransportsPacked().getOrDefault(packedPoint, List.of())) {
+            if (config.isUsable(transport)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a stop of a network the player can use is at a tile.
+     *
+     * @param packedPoint 32-bit integer representation of the tile
+     * @param config      Pathfinding configuration providing the networks
+     * @return True if a usable network stop is at the tile.
+     */
+    private static boolean hasUsableNetworkStop(int packedPoint, PathfinderConfig config) {
+        for (TransportNetwork.Stop stop : config.getNetworkStopsPacked().getOrDefault(packedPoint, List.of())) {
+            if (config.isUsable(stop.getNetwork().getRequirementMask())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
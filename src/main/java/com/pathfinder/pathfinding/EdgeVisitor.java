@@ -0,0 +1,20 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.transports.Transport;
+
+/**
+ * Callback receiving the edges of a tile when the graph is enumerated with
+ * {@link CollisionMap#forEachNeighbor(int, PathfinderConfig, EdgeVisitor)} or
+ * {@link CollisionMap#forEachPredecessor(int, PathfinderConfig, EdgeVisitor)}.
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+    /**
+     * Visits a single edge.
+     *
+     * @param packedPoint 32-bit integer representation of the tile at the other end of the edge
+     * @param cost        Cost of travelling along the edge
+     * @param transport   The transport used by the edge, or {@code null} if the edge is walked
+     */
+    void visit(int packedPoint, int cost, Transport transport);
+}
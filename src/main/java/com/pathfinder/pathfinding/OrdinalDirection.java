@@ -1,9 +1,12 @@
 package com.pathfinder.pathfinding;
 
+import lombok.Getter;
+
 /**
  * Enum representing the eight possible ordinal directions on a 2D grid.
  * Each direction is defined by a change in the X and Y coordinates.
  */
+@Getter
 public enum OrdinalDirection {
     WEST(-1, 0),
     EAST(1, 0),
@@ -1,28 +1,64 @@
 package com.pathfinder.pathfinding;
 
+import com.pathfinder.pathfinding.node.NetworkNode;
+import com.pathfinder.pathfinding.heuristic.ChebyshevHeuristic;
+import com.pathfinder.pathfinding.heuristic.Heuristic;
+import com.pathfinder.pathfinding.heuristic.LandmarkHeuristic;
+import com.pathfinder.pathfinding.heuristic.TeleportAwareHeuristic;
 import com.pathfinder.pathfinding.node.Node;
+import com.pathfinder.pathfinding.node.SeedNode;
+import com.pathfinder.pathfinding.node.StraightNode;
+import com.pathfinder.pathfinding.node.TeleportNode;
 import com.pathfinder.pathfinding.node.TransportNode;
-import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.pathfinding.precompute.ArcFlags;
+import com.pathfinder.pathfinding.precompute.DeadEnds;
+import com.pathfinder.pathfinding.precompute.EdgeMoves;
+import com.pathfinder.pathfinding.precompute.EmptyRectangles;
+import com.pathfinder.pathfinding.precompute.Landmarks;
+import com.pathfinder.pathfinding.precompute.PathDatabase;
+import com.pathfinder.pathfinding.precompute.ShortestPathTrees;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.pathfinding.transports.Teleport;
+import com.pathfinder.pathfinding.transports.TransportGraph;
 import com.pathfinder.pathfinding.transports.TransportHandler;
+import com.pathfinder.util.PrimitiveMinHeap;
 import com.pathfinder.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Implements a pathfinding algorithm capable of traversing a grid-based map using collision logic.
  * <p>
  * The pathfinding process is executed via the {@link #run()} method, which performs a
- * best-first search using a combination of frontier and priority queues.
+ * best-first search using a combination of frontier and priority queues, or an A* search guided by a
+ * {@link TeleportAwareHeuristic} if {@link SearchOptions#isGuided()} is set.
  */
 public class Pathfinder implements Runnable {
     /**
-     * Starting point of the pathfinding search.
+     * Estimated bytes held per node by the default search: the node and its queue entry.
+     */
+    private static final int BREADTH_FIRST_NODE_BYTES = 32;
+
+    /**
+     * Estimated bytes held per node by the guided search: the node, its list entry and its queue entries.
+     */
+    private static final int GUIDED_NODE_BYTES = 48;
+
+    /**
+     * Starting point of the pathfinding search; the first of {@link #seeds}.
      */
     @Getter
     private final WorldPoint start;
 
+    /**
+     * Every starting point of the search, with the cost already spent reaching it.
+     */
+    @Getter
+    private final List<SearchSeed> seeds;
+
     /**
      * List of target destinationWP points.
      */
@@ -39,6 +75,17 @@ public class Pathfinder implements Runnable {
      */
     private final PathfinderConfig config;
 
+    /**
+     * Per-request options for this search.
+     */
+    private final SearchOptions options;
+
+    /**
+     * Packed 32-bit integer representations of the starting points, used to enforce
+     * {@link SearchOptions#getMaxRadius()}.
+     */
+    private final int[] seedsPacked;
+
     /**
      * The map providing collision data.
      */
@@ -64,6 +111,21 @@ public class Pathfinder implements Runnable {
      */
     private final VisitedTiles visited;
 
+    /**
+     * Usable teleports not yet queued, as they cannot be cast at the wilderness level of any node taken so far.
+     */
+    private final List<Teleport> deferredTeleports = new ArrayList<>();
+
+    /**
+     * Precomputed dead ends the search skips, or {@code null} to skip none.
+     */
+    private DeadEnds deadEnds;
+
+    /**
+     * The {@link #deadEnds} containing a starting point or target, which are not skipped.
+     */
+    private BitSet openDeadEnds;
+
     /**
      * The computed path as a list of {@link WorldPoint} objects.
      */
@@ -79,6 +141,62 @@ public class Pathfinder implements Runnable {
      */
     private Node bestLastNode;
 
+    /**
+     * Whether the search reached one of its targets, rather than stopping at the closest approximation.
+     */
+    @Getter
+    private boolean targetReached = false;
+
+    /**
+     * Proven lower bound on the cost of the cheapest route to a target, or {@code -1} if no target was reached or
+     * the search proves none. Precomputed routes, the bidirectional search and the guided search prove one, equal to
+     * the cost of the route found unless {@link SearchOptions#getSuboptimality()} allowed a dearer route. The default
+     * search proves none, as it expands walking nodes in the order they are found rather than by cost.
+     */
+    @Getter
+    private int lowerBound = -1;
+
+    /**
+     * Number of nodes taken from the queues and expanded by the search.
+     */
+    @Getter
+    private int expandedNodes = 0;
+
+    /**
+     * Whether the search stopped at one of the quotas of its {@link SearchOptions}, such as
+     * {@link SearchOptions#getMaxExpandedNodes()}, rather than finishing; the path then leads to the closest
+     * approximation found so far.
+     */
+    @Getter
+    private boolean truncated = false;
+
+    /**
+     * Time the search stops at, in milliseconds since the epoch.
+     */
+    private long deadlineMillis;
+
+    /**
+     * Whether the search stopped at its deadline with its state kept, so that it can be {@link #resume(long) resumed}.
+     */
+    @Getter
+    private boolean suspended = false;
+
+    /**
+     * Whether the search in progress skips tiles or edges, see {@link #startSearch(boolean)}.
+     */
+    private boolean pruned;
+
+    /**
+     * The guided search in progress, or {@code null} if the default search runs.
+     */
+    private GuidedSearch guidedSearch;
+
+    /**
+     * Distance and heuristic to the targets of the closest approximation the default search has found.
+     */
+    private int bestDistance;
+    private long bestHeuristic;
+
     /**
      * Constructs a new {@code Pathfinder} with the given configuration, start, and targets.
      *
@@ -87,9 +205,45 @@ public class Pathfinder implements Runnable {
      * @param targets One or more target world points
      */
     public Pathfinder(PathfinderConfig config, WorldPoint start, List<WorldPoint> targets) {
+        this(config, start, targets, new SearchOptions());
+    }
+
+    /**
+     * Constructs a new {@code Pathfinder} with the given configuration, start, targets and search options.
+     *
+     * @param config  Pathfinding configuration
+     * @param start   The starting world point
+     * @param targets One or more target world points
+     * @param options Per-request options for this search
+     */
+    public Pathfinder(PathfinderConfig config, WorldPoint start, List<WorldPoint> targets, SearchOptions options) {
+        this(config, List.of(new SearchSeed(start, 0)), targets, options);
+    }
+
+    /**
+     * Constructs a new {@code Pathfinder} searching from several starting points at once, each with the cost already
+     * spent reaching it. The cheapest route from any of them is found in a single search; see {@link #getSeed()}.
+     *
+     * @param config  Pathfinding configuration
+     * @param seeds   One or more starting points with their initial costs
+     * @param targets One or more target world points
+     * @param options Per-request options for this search
+     */
+    public Pathfinder(PathfinderConfig config, List<SearchSeed> seeds, List<WorldPoint> targets,
+                      SearchOptions options) {
+        if (seeds.isEmpty()) {
+            throw new IllegalArgumentException("At least one starting point is required");
+        }
+
         this.config = config;
+        this.options = options;
         this.map = config.getMap();
-        this.start = start;
+        this.seeds = List.copyOf(seeds);
+        this.start = seeds.get(0).getPoint();
+        this.seedsPacked = new int[seeds.size()];
+        for (int i = 0; i < seedsPacked.length; i++) {
+            seedsPacked[i] = WorldPointUtil.packWorldPoint(seeds.get(i).getPoint());
+        }
         this.targets = targets;
         visited = new VisitedTiles(map);
         Set<Integer> targetsPacked = new HashSet<>();
@@ -119,6 +273,43 @@ public class Pathfinder implements Runnable {
         return path;
     }
 
+    /**
+     * Returns the cumulative cost of the current best path (or closest node if incomplete).
+     *
+     * @return Cost of the current best path, or {@code 0} if no path has been found
+     */
+    public int getCost() {
+        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
+        return lastNode == null ? 0 : lastNode.cost;
+    }
+
+    /**
+     * Returns the starting point the current best path (or closest node if incomplete) begins at.
+     *
+     * @return The seed of the current best path, or {@code null} if no path has been found
+     */
+    public SearchSeed getSeed() {
+        Node node = bestLastNode; // For thread safety, read bestLastNode once
+        if (node == null) {
+            return null;
+        }
+
+        while (node.previous != null) {
+            node = node.previous;
+        }
+        return seeds.get(((SeedNode) node).getSeedIndex());
+    }
+
+    /**
+     * Returns the cumulative cost at every point of the current best path, aligned with {@link #getPath()}.
+     *
+     * @return Cumulative costs of the current best path, or an empty array if no path has been found
+     */
+    public int[] getPathCosts() {
+        Node lastNode = bestLastNode; // For thread safety, read bestLastNode once
+        return lastNode == null ? new int[0] : lastNode.getPathCosts();
+    }
+
     /**
      * Expands the neighbors of a given node and queues them for further evaluation.
      *
@@ -128,6 +319,12 @@ public class Pathfinder implements Runnable {
     private Node addNeighbors(Node node) {
         List<Node> nodes = map.getNeighbors(node, visited, config);
         for (Node neighbor : nodes) {
+            if (neighbor instanceof NetworkNode) {
+                // Checked once taken from the queue, see admitQueuedNode
+                pending.add(neighbor);
+                continue;
+            }
+
             if (config.isDisableWilderness() && config.disableWilderness(targetInWilderness)) {
                 continue;
             }
@@ -140,6 +337,10 @@ public class Pathfinder implements Runnable {
                 continue;
             }
 
+            if (isOutsideRadius(neighbor.packedWP) || isInSkippedDeadEnd(neighbor.packedWP)) {
+                continue;
+            }
+
             visited.set(neighbor.packedWP);
             if (neighbor instanceof TransportNode) {
                 pending.add(neighbor);
@@ -151,37 +352,478 @@ public class Pathfinder implements Runnable {
         return null;
     }
 
+    /**
+     * Queues a {@link TeleportNode} from the given node for every deferred teleport that can be cast there.
+     * <p>
+     * Teleports cost the same from anywhere, so each is only queued from the first (cheapest) node it can be cast
+     * at; for most searches that is the start, and the deferred list is empty from then on.
+     *
+     * @param node The node taken from the queue
+     */
+    private void addTeleports(Node node) {
+        int wildernessLevel = PathfinderConfig.getWildernessLevel(node.packedWP);
+        for (Iterator<Teleport> iterator = deferredTeleports.iterator(); iterator.hasNext(); ) {
+            Teleport teleport = iterator.next();
+            if (teleport.getMaxWildernessLevel() >= wildernessLevel) {
+                // Checked once taken from the queue, see admitQueuedNode
+                pending.add(new TeleportNode(teleport, node));
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Determines whether a tile lies beyond {@link SearchOptions#getMaxRadius()} of every starting point.
+     *
+     * @param packedWP 32-bit integer representation of the tile
+     * @return {@code true} if the search may not visit the tile
+     */
+    private boolean isOutsideRadius(int packedWP) {
+        if (options.getMaxRadius() == Integer.MAX_VALUE) {
+            return false;
+        }
+
+        for (int seedPacked : seedsPacked) {
+            if (WorldPointUtil.distanceBetween(seedPacked, packedWP) <= options.getMaxRadius()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a tile lies in one of the {@link #deadEnds} skipped by the search.
+     *
+     * @param packedWP 32-bit integer representation of the tile
+     * @return {@code true} if the search need not visit the tile
+     */
+    private boolean isInSkippedDeadEnd(int packedWP) {
+        return deadEnds != null && deadEnds.isSkipped(packedWP, openDeadEnds);
+    }
+
+    /**
+     * Determines whether a node taken from {@link #pending} must be checked by {@link #admitQueuedNode(TransportNode)}
+     * before being expanded, as its destination was not checked or marked visited when it was queued.
+     */
+    private static boolean isCheckedWhenTaken(Node node) {
+        return node instanceof NetworkNode || node instanceof TeleportNode || node instanceof SeedNode;
+    }
+
+    /**
+     * Admits a {@link NetworkNode}, {@link TeleportNode} or {@link SeedNode} taken from {@link #pending}, queueing the
+     * next destination of a network node's network in its place. Applies the same checks {@link #addNeighbors(Node)} applies to other
+     * neighbors, as the destination may have been reached more cheaply since the node was queued.
+     *
+     * @param node The network, teleport or seed node taken from the queue
+     * @return {@code true} if the node should be expanded
+     */
+    private boolean admitQueuedNode(TransportNode node) {
+        if (node instanceof NetworkNode) {
+            NetworkNode networkNode = (NetworkNode) node;
+            NetworkNode next = map.nextNetworkNode(networkNode.getNetwork(), networkNode.getOrigin(),
+                    networkNode.getRank() + 1, node.previous, visited, config);
+            if (next != null) {
+                pending.add(next);
+            }
+        }
+
+        if (visited.get(node.packedWP)) {
+            return false;
+        }
+
+        if (config.isDisableWilderness() && config.disableWilderness(targetInWilderness)) {
+            return false;
+        }
+
+        if (!targetsPacked.contains(node.packedWP) && node.previous != null) {
+            if (config.isAvoidWilderness() && config.avoidWilderness(node.previous.packedWP, node.packedWP, targetInWilderness)) {
+                return false;
+            }
+
+            if (isOutsideRadius(node.packedWP) || isInSkippedDeadEnd(node.packedWP)) {
+                return false;
+            }
+        }
+
+        visited.set(node.packedWP);
+        return true;
+    }
+
     /**
      * Executes the pathfinding search.
      * <p>
      * The search terminates early if:
      * - A target is reached.
-     * - The best candidate (by heuristic) is found before a timeout.
+     * - Its deadline passes: {@link SearchOptions#getDeadlineMillis()}, or
+     *   {@link PathfinderConfig#getCalculationCutoffMillis()} after the start if that is earlier. The path then leads
+     *   to the closest approximation found so far, and the search is {@link #isSuspended() suspended}.
+     * - It exceeds a quota of its {@link SearchOptions}. The path then leads to the closest approximation found so
+     *   far, and the search is {@link #isTruncated() truncated}.
      */
     @Override
     public void run() {
-        boundary.addFirst(new Node(start, null));
+        deadlineMillis = deadlineFrom(options.getDeadlineMillis());
+        if (runPrecomputed() || runBidirectional()) {
+            // Precomputed moves follow exact cheapest routes, and the bidirectional search proves its route cheapest
+            lowerBound = getCost();
+            finishSearch();
+            return;
+        }
+        startSearch(true);
+        continueSearch();
+    }
+
+    /**
+     * Continues a search suspended at its deadline from where it stopped, with every tile it reached or queued kept,
+     * until it finishes or the new deadline passes, which suspends it again.
+     *
+     * @param deadlineMillis Time to stop at, in milliseconds since the epoch; at most
+     *                       {@link PathfinderConfig#getCalculationCutoffMillis()} from now
+     * @throws IllegalStateException if the search is not suspended
+     */
+    public void resume(long deadlineMillis) {
+        if (!suspended) {
+            throw new IllegalStateException("Only a suspended search can be resumed");
+        }
+        suspended = false;
+        this.deadlineMillis = deadlineFrom(deadlineMillis);
+        continueSearch();
+    }
+
+    /**
+     * @return The earlier of a deadline and {@link PathfinderConfig#getCalculationCutoffMillis()} from now
+     */
+    private long deadlineFrom(long deadlineMillis) {
+        return Math.min(deadlineMillis, System.currentTimeMillis() + config.getCalculationCutoffMillis());
+    }
+
+    /**
+     * @return {@code true} if the deadline of the search has passed
+     */
+    private boolean isPastDeadline() {
+        return System.currentTimeMillis() > deadlineMillis;
+    }
+
+    /**
+     * Checks the search against the quotas of its {@link SearchOptions}.
+     *
+     * @param openNodes     Number of nodes queued and not yet expanded
+     * @param retainedBytes Estimated bytes held by the nodes of the search
+     * @return {@code true} if the search must stop
+     */
+    private boolean isOverQuota(int openNodes, long retainedBytes) {
+        return expandedNodes >= options.getMaxExpandedNodes() || openNodes > options.getMaxOpenNodes()
+                || retainedBytes > options.getMaxRetainedBytes();
+    }
+
+    /**
+     * Advances the search in progress until it finishes, or suspends it if its deadline passes first.
+     */
+    private void continueSearch() {
+        while (advanceSearch()) {
+            if (!pruned || targetReached || truncated || isPastDeadline()) {
+                finishSearch();
+                return;
+            }
+            // A pruned search only finds routes to the targets; the closest approximation needs a full search
+            resetSearch();
+            bestLastNode = null;
+            pathNeedsUpdate = false;
+            startSearch(false);
+        }
+        suspended = true;
+    }
+
+    /**
+     * Clears the state of a finished search.
+     */
+    private void finishSearch() {
+        resetSearch();
+    }
+
+    /**
+     * Starts the guided or default search from the starting points.
+     * <p>
+     * Pruning skips the {@link DeadEnds} containing neither a starting point nor a target, and, for the guided
+     * search, edges excluded by the {@link ArcFlags} and the tiles inside {@link EmptyRectangles}, where the
+     * precomputed data holds for the search. None of them are needed to find a cheapest route to a target, but the
+     * closest approximation of an unreachable target may lie among them.
+     *
+     * @param prune Whether precomputed data may be used to skip tiles and edges
+     */
+    private void startSearch(boolean prune) {
+        if (options.isUseTeleports()) {
+            for (Teleport teleport : config.getTeleports()) {
+                if (config.isUsable(teleport.getRequirementMask())) {
+                    deferredTeleports.add(teleport);
+                }
+            }
+        }
+
+        deadEnds = prune ? getDeadEnds() : null;
+        openDeadEnds = deadEnds == null ? null : deadEnds.regionsContaining(endpointsPacked());
+        pruned = deadEnds != null;
+        if (options.isGuided() || options.getSuboptimality() > 1) {
+            ArcFlags arcFlags = prune ? getArcFlags() : null;
+            long[] targetMask = arcFlags == null ? null : arcFlags.targetMask(targets);
+            EmptyRectangles rectangles = prune ? getEmptyRectangles() : null;
+            guidedSearch = new GuidedSearch(targetMask == null ? null : arcFlags, targetMask, rectangles);
+            pruned |= targetMask != null || rectangles != null;
+        } else {
+            startBreadthFirst();
+        }
+    }
+
+    /**
+     * Advances the search in progress until a target is reached, no tiles are left, a quota is exceeded or the
+     * deadline passes.
+     *
+     * @return {@code false} if the deadline passed first
+     */
+    private boolean advanceSearch() {
+        return guidedSearch != null ? guidedSearch.advance() : advanceBreadthFirst();
+    }
+
+    /**
+     * Clears the state of a search, so that another can be run.
+     */
+    private void resetSearch() {
+        boundary.clear();
+        visited.clear();
+        pending.clear();
+        deferredTeleports.clear();
+        deadEnds = null;
+        openDeadEnds = null;
+        guidedSearch = null;
+    }
+
+    /**
+     * @return 32-bit integer representations of the starting points and targets
+     */
+    private int[] endpointsPacked() {
+        int[] endpoints = Arrays.copyOf(seedsPacked, seedsPacked.length + targetsPacked.size());
+        int i = seedsPacked.length;
+        for (int targetPacked : targetsPacked) {
+            endpoints[i++] = targetPacked;
+        }
+        return endpoints;
+    }
+
+    /**
+     * @return {@code true} if the search runs from a single start with no initial cost to a single target, with no
+     * teleports, radius or wilderness restrictions
+     */
+    private boolean isPlainPointToPoint() {
+        return seeds.size() == 1 && seeds.get(0).getInitialCost() == 0 && targetsPacked.size() == 1
+                && !options.isUseTeleports() && options.getMaxRadius() == Integer.MAX_VALUE
+                && !config.isAvoidWilderness() && !config.isDisableWilderness();
+    }
+
+    /**
+     * Looks the route up in precomputed data rather than searching for it, where the data holds for this search: a
+     * single start with no initial cost and a single target, capabilities matching those the data was computed with,
+     * and no teleports, radius or wilderness restrictions. The {@link ShortestPathTrees} of the target or start are
+     * tried first, then the {@link PathDatabase}.
+     *
+     * @return {@code true} if the route was found, {@code false} if a search is needed
+     */
+    private boolean runPrecomputed() {
+        if (!isPlainPointToPoint()) {
+            return false;
+        }
+        final int packedStart = seedsPacked[0];
+        final int packedTarget = targetsPacked.iterator().next();
+
+        final ShortestPathTrees trees = options.isUseShortestPathTrees() ? ShortestPathTrees.shared(config) : null;
+        if (trees != null && trees.isApplicable(config)) {
+            final int toEndpoint = trees.endpointOf(packedTarget);
+            if (toEndpoint >= 0 && followMoves(trees.getTileIndex(), packedTarget,
+                    tile -> trees.getReverseMove(toEndpoint, tile))) {
+                return true;
+            }
+
+            final int fromEndpoint = trees.endpointOf(packedStart);
+            if (fromEndpoint >= 0 && followIncomingMoves(trees.getTileIndex(), packedStart, packedTarget,
+                    tile -> trees.getForwardMove(fromEndpoint, tile))) {
+                return true;
+            }
+        }
+
+        final PathDatabase pathDatabase = options.isUsePathDatabase() ? PathDatabase.shared(config) : null;
+        if (pathDatabase != null && pathDatabase.isApplicable(config)) {
+            final int destination = pathDatabase.destinationOf(packedTarget);
+            return destination >= 0 && followMoves(pathDatabase.getTileIndex(), packedTarget,
+                    tile -> pathDatabase.getFirstMove(destination, tile));
+        }
+        return false;
+    }
+
+    /**
+     * Runs a {@link BidirectionalSearch} if {@link SearchOptions#isBidirectional()} is set and the search is plain
+     * point to point, with the reverse search on the {@link BidirectionalSearch#sharedExecutor() shared executor}
+     * where a thread is free.
+     *
+     * @return {@code true} if the route was found, {@code false} if a search is needed, including when the target
+     * cannot be reached, so that the search finds the closest approximation
+     */
+    private boolean runBidirectional() {
+        if (!options.isBidirectional() || !isPlainPointToPoint()) {
+            return false;
+        }
+
+        final BidirectionalSearch.Route route = new BidirectionalSearch(config, BidirectionalSearch.sharedExecutor())
+                .search(seedsPacked[0], targetsPacked.iterator().next());
+        if (route == null) {
+            return false;
+        }
+
+        final int[] tiles = route.getTiles();
+        final int[] costs = route.getCosts();
+        Node node = new SeedNode(seeds.get(0).getPoint(), 0, 0);
+        for (int i = 1; i < tiles.length; i++) {
+            node = new Node(tiles[i], node,
+                    costs[i] - costs[i - 1] - WorldPointUtil.distanceBetween(node.packedWP, tiles[i]));
+        }
+        bestLastNode = node;
+        pathNeedsUpdate = true;
+        targetReached = true;
+        return true;
+    }
 
-        int bestDistance = Integer.MAX_VALUE;
-        long bestHeuristic = Integer.MAX_VALUE;
-        long cutoffDurationMillis = 30000;
-        long cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
+    /**
+     * Builds the route by following precomputed outgoing {@link EdgeMoves} from the start until the target.
+     *
+     * @param tileIndex    Index of the tiles the moves are stored for
+     * @param packedTarget 32-bit integer representation of the target
+     * @param moves        Move of each tile, by tile index
+     * @return {@code false} if a tile without a move was reached
+     */
+    private boolean followMoves(TileIndex tileIndex, int packedTarget, IntUnaryOperator moves) {
+        final Node[] node = {new SeedNode(seeds.get(0).getPoint(), 0, 0)};
+        for (int steps = 0; node[0].packedWP != packedTarget; steps++) {
+            int tile = tileIndex.indexOf(node[0].packedWP);
+            final int move = tile < 0 ? EdgeMoves.NO_MOVE : moves.applyAsInt(tile);
+            if (move == EdgeMoves.NO_MOVE || steps == tileIndex.size()) {
+                return false;
+            }
 
+            final Node previous = node[0];
+            if (!EdgeMoves.follow(config, previous.packedWP, move, false, (neighbor, cost, transport) ->
+                    node[0] = new Node(neighbor, previous,
+                            cost - WorldPointUtil.distanceBetween(previous.packedWP, neighbor)))) {
+                return false;
+            }
+        }
+
+        bestLastNode = node[0];
+        pathNeedsUpdate = true;
+        targetReached = true;
+        return true;
+    }
+
+    /**
+     * Builds the route by following precomputed incoming {@link EdgeMoves} back from the target until the start.
+     *
+     * @param tileIndex    Index of the tiles the moves are stored for
+     * @param packedStart  32-bit integer representation of the start
+     * @param packedTarget 32-bit integer representation of the target
+     * @param moves        Move of each tile, by tile index
+     * @return {@code false} if a tile without a move was reached
+     */
+    private boolean followIncomingMoves(TileIndex tileIndex, int packedStart, int packedTarget,
+                                        IntUnaryOperator moves) {
+        // Tiles of the route from the target backwards, and the cost of the edge into each
+        int[] tiles = new int[256];
+        int[] costs = new int[256];
+        int length = 0;
+        final int[] edge = new int[2]; // Tile the edge starts from, and its cost
+        for (int packedTile = packedTarget; packedTile != packedStart; packedTile = edge[0]) {
+            int tile = tileIndex.indexOf(packedTile);
+            int move = tile < 0 ? EdgeMoves.NO_MOVE : moves.applyAsInt(tile);
+            if (move == EdgeMoves.NO_MOVE || length == tileIndex.size()
+                    || !EdgeMoves.follow(config, packedTile, move, true, (predecessor, cost, transport) -> {
+                        edge[0] = predecessor;
+                        edge[1] = cost;
+                    })) {
+                return false;
+            }
+
+            if (length == tiles.length) {
+                tiles = Arrays.copyOf(tiles, length * 2);
+                costs = Arrays.copyOf(costs, length * 2);
+            }
+            tiles[length] = packedTile;
+            costs[length] = edge[1];
+            length++;
+        }
+
+        Node node = new SeedNode(seeds.get(0).getPoint(), 0, 0);
+        for (int i = length - 1; i >= 0; i--) {
+            node = new Node(tiles[i], node, costs[i] - WorldPointUtil.distanceBetween(node.packedWP, tiles[i]));
+        }
+        bestLastNode = node;
+        pathNeedsUpdate = true;
+        targetReached = true;
+        return true;
+    }
+
+    /**
+     * Starts the default search: walking nodes are expanded in the order they are found, while transport nodes wait
+     * in a priority queue until the walking frontier has caught up with their cost.
+     */
+    private void startBreadthFirst() {
+        // Seeds with an initial cost wait in the priority queue until the search has caught up with them
+        for (int i = 0; i < seeds.size(); i++) {
+            SearchSeed seed = seeds.get(i);
+            SeedNode seedNode = new SeedNode(seed.getPoint(), seed.getInitialCost(), i);
+            if (seed.getInitialCost() > 0) {
+                pending.add(seedNode);
+            } else if (!visited.get(seedNode.packedWP)) {
+                visited.set(seedNode.packedWP);
+                boundary.addLast(seedNode);
+            }
+        }
+
+        bestDistance = Integer.MAX_VALUE;
+        bestHeuristic = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Advances the default search until a target is reached, no nodes are left, a quota is exceeded or the deadline
+     * passes. Every node expanded is taken to be held, as the nodes queued may lead back through any of them.
+     *
+     * @return {@code false} if the deadline passed first
+     */
+    private boolean advanceBreadthFirst() {
         while ((!boundary.isEmpty() || !pending.isEmpty())) {
+            if (isPastDeadline()) {
+                return false;
+            }
+            final int openNodes = boundary.size() + pending.size();
+            if (isOverQuota(openNodes, (long) (expandedNodes + openNodes) * BREADTH_FIRST_NODE_BYTES)) {
+                truncated = true;
+                return true;
+            }
+
             Node node = boundary.peekFirst();
             Node p = pending.peek();
 
             if (p != null && (node == null || p.cost < node.cost)) {
-                boundary.addFirst(p);
                 pending.poll();
+                if (isCheckedWhenTaken(p) && !admitQueuedNode((TransportNode) p)) {
+                    continue;
+                }
+                boundary.addFirst(p);
             }
 
             node = boundary.removeFirst();
+            expandedNodes++;
 
             if (targetsPacked.contains(node.packedWP)) {
                 bestLastNode = node;
                 pathNeedsUpdate = true;
-                break;
+                targetReached = true;
+                return true;
             }
 
             int distance = Integer.MAX_VALUE;
@@ -203,24 +845,301 @@ public class Pathfinder implements Runnable {
                 pathNeedsUpdate = true;
                 bestDistance = distance;
                 bestHeuristic = heuristic;
-                cutoffTimeMillis = System.currentTimeMillis() + cutoffDurationMillis;
             }
 
-            if (System.currentTimeMillis() > cutoffTimeMillis) {
-                break;
+            if (!deferredTeleports.isEmpty()) {
+                addTeleports(node);
             }
 
             // Check if target was found without processing the queue to find it
             if ((p = addNeighbors(node)) != null) {
                 bestLastNode = p;
                 pathNeedsUpdate = true;
-                break;
+                targetReached = true;
+                return true;
             }
         }
+        return true;
+    }
 
-        boundary.clear();
-        visited.clear();
-        pending.clear();
+    /**
+     * An A* search ordered by cost plus the estimate of a {@link TeleportAwareHeuristic}, expanding each tile
+     * once, when it is taken from the queue. Routes without teleports are estimated with precomputed
+     * {@link Landmarks} if available, or else by Chebyshev distance. As the heuristic is consistent, the route found is as cheap as the one
+     * the default search finds, while far fewer tiles are expanded on long routes.
+     * <p>
+     * Where precomputed {@link ArcFlags} hold for the search, edges that lie on no cheapest route into a target's
+     * partition are skipped. Such a search only finds routes to the targets, so if none is reached {@link #run()}
+     * runs it again without arc flags for the closest approximation.
+     * <p>
+     * Where {@link EmptyRectangles} are given, a tile of a rectangle without a starting point or target is expanded by
+     * walking straight to every tile of the rectangle's perimeter, so the tiles inside it are never expanded.
+     * <p>
+     * With a {@link SearchOptions#getSuboptimality()} {@code w} above {@code 1}, the queue is ordered by cost plus
+     * {@code w} times the estimate, so the route found costs at most {@code w} times the cheapest. Tiles are still
+     * expanded once, but a second queue ordered by cost plus estimate also keeps the tiles reached more cheaply after
+     * they were expanded. Of the tiles in it at their lowest cost and not expanded since, one lies on a cheapest route
+     * at its cheapest cost, so the lowest of their totals is a lower bound on the cost of the cheapest route, kept in
+     * {@link #lowerBound}.
+     * <p>
+     * The state of the search lives in its fields, so that it can stop at the deadline and be advanced again later.
+     */
+    private final class GuidedSearch {
+        private final ArcFlags arcFlags;
+        private final long[] targetMask;
+        private final EmptyRectangles rectangles;
+        private final Heuristic heuristic;
+        private final double weight;
+        private final List<Node> nodes = new ArrayList<>(4096);
+        private final PrimitiveMinHeap open = new PrimitiveMinHeap(4096);
+
+        /**
+         * Nodes ordered by cost plus unweighted estimate, for the lower bound of a weighted search; else {@code null}.
+         */
+        private final PrimitiveMinHeap bounds;
+
+        /**
+         * Indices of the nodes expanded, kept by a weighted search only.
+         */
+        private final BitSet expanded;
+
+        private final TileCostMap queuedCost = new TileCostMap(map, Integer.MAX_VALUE);
+        private final BitSet endpointRectangles;
+
+        /**
+         * Cheapest cost each deferred teleport has been cast at; tiles are not taken in order of cost here.
+         */
+        private final int[] teleportCastCost;
+        private int highestCastCost;
+
+        private int bestEstimate = Integer.MAX_VALUE;
+
+        /**
+         * Starts a guided search, queueing the starting points.
+         *
+         * @param arcFlags   Arc flags to skip edges with, or {@code null}
+         * @param targetMask Mask of the targets' partitions, or {@code null} to skip nothing
+         * @param rectangles Empty rectangles to cross in straight lines, or {@code null}
+         */
+        private GuidedSearch(ArcFlags arcFlags, long[] targetMask, EmptyRectangles rectangles) {
+            this.arcFlags = arcFlags;
+            this.targetMask = targetMask;
+            this.rectangles = rectangles;
+            Landmarks landmarks = Landmarks.shared(config);
+            Heuristic direct = landmarks == null
+                    ? new ChebyshevHeuristic(targets) : new LandmarkHeuristic(landmarks, targets);
+            this.heuristic = new TeleportAwareHeuristic(config, direct, options.isUseTeleports());
+            this.weight = options.getSuboptimality();
+            this.bounds = weight > 1 ? new PrimitiveMinHeap(4096) : null;
+            this.expanded = weight > 1 ? new BitSet() : null;
+            this.endpointRectangles = rectangles == null ? null : rectangles.rectanglesContaining(endpointsPacked());
+            this.teleportCastCost = new int[deferredTeleports.size()];
+            Arrays.fill(teleportCastCost, Integer.MAX_VALUE);
+            this.highestCastCost = deferredTeleports.isEmpty() ? 0 : Integer.MAX_VALUE;
+
+            for (int i = 0; i < seeds.size(); i++) {
+                SearchSeed seed = seeds.get(i);
+                Node seedNode = new SeedNode(seed.getPoint(), seed.getInitialCost(), i);
+                if (seedNode.cost < queuedCost.get(seedNode.packedWP)) {
+                    queuedCost.set(seedNode.packedWP, seedNode.cost);
+                    queue(seedNode);
+                }
+            }
+        }
+
+        /**
+         * Advances the search until a target is reached, no nodes are left, a quota is exceeded or the deadline
+         * passes. Every node created is held until the search ends.
+         *
+         * @return {@code false} if the deadline passed first
+         */
+        private boolean advance() {
+            while (!open.isEmpty()) {
+                if (isPastDeadline()) {
+                    return false;
+                }
+                if (isOverQuota(open.size(), (long) nodes.size() * GUIDED_NODE_BYTES)) {
+                    truncated = true;
+                    return true;
+                }
+
+                final int index = open.poll();
+                final Node node = nodes.get(index);
+                if (visited.get(node.packedWP)) {
+                    continue;
+                }
+                visited.set(node.packedWP);
+                if (expanded != null) {
+                    expanded.set(index);
+                }
+                expandedNodes++;
+
+                if (targetsPacked.contains(node.packedWP)) {
+                    bestLastNode = node;
+                    pathNeedsUpdate = true;
+                    targetReached = true;
+                    // With a consistent heuristic, the route to the first target expanded is a cheapest one
+                    lowerBound = bounds == null ? node.cost : lowestBound(node.cost);
+                    return true;
+                }
+
+                int estimate = heuristic.estimate(node.packedWP);
+                if (estimate < bestEstimate) {
+                    bestLastNode = node;
+                    pathNeedsUpdate = true;
+                    bestEstimate = estimate;
+                }
+
+                expand(node);
+            }
+            return true;
+        }
+
+        private void expand(Node node) {
+            if (node.cost < highestCastCost) {
+                int wildernessLevel = PathfinderConfig.getWildernessLevel(node.packedWP);
+                highestCastCost = 0;
+                for (int i = 0; i < teleportCastCost.length; i++) {
+                    Teleport teleport = deferredTeleports.get(i);
+                    if (node.cost < teleportCastCost[i] && teleport.getMaxWildernessLevel() >= wildernessLevel) {
+                        teleportCastCost[i] = node.cost;
+                        queueNeighbor(new TeleportNode(teleport, node));
+                    }
+                    highestCastCost = Math.max(highestCastCost, teleportCastCost[i]);
+                }
+            }
+
+            final int rectangle = rectangles == null ? 0 : rectangles.getRectangle(node.packedWP);
+            final boolean crossRectangle = rectangle != 0 && !endpointRectangles.get(rectangle);
+            // A tile reached from within the rectangle was already queued from there, at no greater cost
+            if (crossRectangle && (node.previous == null || !rectangles.contains(rectangle, node.previous.packedWP))) {
+                rectangles.forEachPerimeterTile(rectangle, tile -> {
+                    if (node.cost + WorldPointUtil.distanceBetween(node.packedWP, tile) < queuedCost.get(tile)) {
+                        queueNeighbor(new StraightNode(tile, node));
+                    }
+                });
+            }
+
+            final int tileIndex = targetMask == null ? -1 : arcFlags.getTileIndex().indexOf(node.packedWP);
+            map.forEachNeighbor(node.packedWP, config, (neighbor, cost, transport) -> {
+                if (crossRectangle && rectangles.contains(rectangle, neighbor)) {
+                    return;
+                }
+                if (targetMask != null && !arcFlags.allows(node.packedWP, tileIndex, neighbor, transport, targetMask)) {
+                    return;
+                }
+                queueNeighbor(new Node(neighbor, node, cost - WorldPointUtil.distanceBetween(node.packedWP, neighbor)));
+            });
+        }
+
+        /**
+         * Queues a neighbor, applying the same checks as {@link #addNeighbors(Node)}, unless its tile is already
+         * expanded or queued at no greater cost. A weighted search keeps a tile it expanded but now reached more
+         * cheaply for its lower bound only.
+         */
+        private void queueNeighbor(Node neighbor) {
+            if (bounds == null && visited.get(neighbor.packedWP)
+                    || neighbor.cost >= queuedCost.get(neighbor.packedWP)) {
+                return;
+            }
+
+            if (config.isDisableWilderness() && config.disableWilderness(targetInWilderness)) {
+                return;
+            }
+
+            if (!targetsPacked.contains(neighbor.packedWP)) {
+                if (config.isAvoidWilderness()
+                        && config.avoidWilderness(neighbor.previous.packedWP, neighbor.packedWP, targetInWilderness)) {
+                    return;
+                }
+
+                if (isOutsideRadius(neighbor.packedWP) || isInSkippedDeadEnd(neighbor.packedWP)) {
+                    return;
+                }
+            }
+
+            queuedCost.set(neighbor.packedWP, neighbor.cost);
+            if (visited.get(neighbor.packedWP)) {
+                bounds.add((long) neighbor.cost + heuristic.estimate(neighbor.packedWP), nodes.size());
+                nodes.add(neighbor);
+            } else {
+                queue(neighbor);
+            }
+        }
+
+        /**
+         * Adds a node to the A* queue, ordered by cost plus weighted estimate and then by highest cost, so that ties
+         * are broken towards the target, and to the queue of lower bounds if there is one.
+         */
+        private void queue(Node node) {
+            final int estimate = heuristic.estimate(node.packedWP);
+            long estimatedTotal = (long) node.cost
+                    + (weight == 1 ? estimate : (long) Math.min(weight * estimate, Integer.MAX_VALUE));
+            open.add((estimatedTotal << 32) | (Integer.MAX_VALUE - node.cost), nodes.size());
+            if (bounds != null) {
+                bounds.add((long) node.cost + estimate, nodes.size());
+            }
+            nodes.add(node);
+        }
+
+        /**
+         * Finds the lowest cost plus estimate of the nodes a weighted search has queued at the cost their tile is
+         * queued at and not yet expanded, dropping the others from the queue of lower bounds.
+         *
+         * @param cost Cost of the route found, which the bound never exceeds
+         * @return Lower bound on the cost of the cheapest route to a target
+         */
+        private int lowestBound(int cost) {
+            while (!bounds.isEmpty() && bounds.peekKey() < cost) {
+                final int index = bounds.peekValue();
+                final Node node = nodes.get(index);
+                if (!expanded.get(index) && node.cost == queuedCost.get(node.packedWP)) {
+                    return (int) bounds.peekKey();
+                }
+                bounds.poll();
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Returns the shared {@link ArcFlags} if they hold for this search: they were computed for the same
+     * capabilities, and the search takes no teleports and is not restricted by radius or wilderness.
+     *
+     * @return The arc flags, or {@code null} if none may be used
+     */
+    private ArcFlags getArcFlags() {
+        if (!options.isUseArcFlags() || options.isUseTeleports() || options.getMaxRadius() != Integer.MAX_VALUE
+                || config.isAvoidWilderness() || config.isDisableWilderness()) {
+            return null;
+        }
+
+        ArcFlags arcFlags = ArcFlags.shared(config);
+        return arcFlags != null && arcFlags.isApplicable(config) ? arcFlags : null;
+    }
+
+    /**
+     * Returns the shared {@link EmptyRectangles} unless disabled by {@link SearchOptions#isUseEmptyRectangles()}.
+     * Rectangles hold for any capabilities, but not for a limited radius: a straight walk between two tiles within
+     * the radius of different starting points may leave it.
+     *
+     * @return The empty rectangles, or {@code null} if none may be used
+     */
+    private EmptyRectangles getEmptyRectangles() {
+        if (!options.isUseEmptyRectangles() || options.getMaxRadius() != Integer.MAX_VALUE) {
+            return null;
+        }
+        return EmptyRectangles.shared(config);
+    }
+
+    /**
+     * Returns the shared {@link DeadEnds} unless disabled by {@link SearchOptions#isUseDeadEnds()}. Dead ends hold
+     * for any capabilities and search restrictions, as they were computed with every transport and teleport.
+     *
+     * @return The dead ends, or {@code null} if none may be used
+     */
+    private DeadEnds getDeadEnds() {
+        return options.isUseDeadEnds() ? DeadEnds.shared(config) : null;
     }
 
     /**
@@ -232,18 +1151,30 @@ public class Pathfinder implements Runnable {
      * @return A list of {@link WorldPoint} representing the path
      */
     public static List<WorldPoint> generatePath(WorldPoint startWP, WorldPoint endWP, PlayerProperties playerProperties) {
-        TransportHandler.setPlayerProperties(playerProperties);
-        SplitFlagMap map = SplitFlagMap.fromResources();
-        Map<WorldPoint, List<Transport>> transports = TransportHandler.loadAllFromResources();
-        PathfinderConfig pathfinderConfig = new PathfinderConfig(map, transports);
+        PathfinderConfig pathfinderConfig = createConfig(playerProperties);
 
         System.out.println("Start WP: " + startWP);
         System.out.println("End WP: " + endWP);
         System.out.println("FAIRY RINGS: " + playerProperties.isFairyRingsUnlocked());
         System.out.println("SPIRIT TREES: " + playerProperties.isSpiritTreesUnlocked());
         Pathfinder pathfinder = new Pathfinder(pathfinderConfig, startWP, List.of(endWP));
-        pathfinderConfig.refreshTransportData();
         pathfinder.run();
         return pathfinder.getPath();
     }
+
+    /**
+     * Loads the collision map and transports usable with the given player properties, and builds a ready-to-use
+     * {@link PathfinderConfig} from them.
+     * <p>
+     * The returned config is read-only once built, so it can be shared by several {@code Pathfinder}s running on
+     * different threads.
+     *
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @return A {@link PathfinderConfig} ready for searching
+     */
+    public static PathfinderConfig createConfig(PlayerProperties playerProperties) {
+        SplitFlagMap map = SplitFlagMap.fromResources();
+        TransportGraph transports = TransportHandler.loadGraph();
+        return new PathfinderConfig(map, transports, playerProperties);
+    }
 }
@@ -1,13 +1,15 @@
 package com.pathfinder.pathfinding;
 
+import com.pathfinder.pathfinding.transports.Teleport;
 import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
+import com.pathfinder.pathfinding.transports.TransportGraph;
+import com.pathfinder.pathfinding.transports.TransportNetwork;
 import com.pathfinder.util.PrimitiveIntHashMap;
 import com.pathfinder.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,21 +30,16 @@ public class PathfinderConfig {
     private final ThreadLocal<CollisionMap> map;
 
     /**
-     * All {@link Transport}s originating from {@link WorldPoint} key.
-     */
-    private final Map<WorldPoint, List<Transport>> allTransports;
-
-    /**
-     * Shallow copy of {@link #allTransports}.
+     * Immutable transports, shared with every other config.
      */
     @Getter
-    private final Map<WorldPoint, List<Transport>> transports;
+    private final TransportGraph transportGraph;
 
     /**
-     * Custom hash map that maps a 32-bit integer representation of a {@link WorldPoint} to a list of {@link Transport}s.
+     * The player's capabilities, compiled with the {@link TransportGraph#getRequirementLayout()} of
+     * {@link #transportGraph}.
      */
-    @Getter
-    private final PrimitiveIntHashMap<List<Transport>> transportsPacked;
+    private final long[] capabilityMask;
 
     /**
      * The maximum time (in milliseconds) the pathfinder will search before aborting.
@@ -63,16 +60,17 @@ public class PathfinderConfig {
     private boolean disableWilderness;
 
     /**
-     * Constructs a {@code PathfinderConfig} using the specified collision map.
+     * Constructs a {@code PathfinderConfig} using the specified collision map and transports.
      *
-     * @param mapData    The shared collision data for the world
+     * @param mapData          The shared collision data for the world
+     * @param transportGraph   The transports of the world
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
      */
-    public PathfinderConfig(SplitFlagMap mapData, Map<WorldPoint, List<Transport>> transports) {
+    public PathfinderConfig(SplitFlagMap mapData, TransportGraph transportGraph, PlayerProperties playerProperties) {
         this.mapData = mapData;
         this.map = ThreadLocal.withInitial(() -> new CollisionMap(this.mapData));
-        this.allTransports = transports;
-        this.transports = new HashMap<>(allTransports.size());
-        this.transportsPacked = new PrimitiveIntHashMap<>(allTransports.size());
+        this.transportGraph = transportGraph;
+        this.capabilityMask = transportGraph.getRequirementLayout().compile(playerProperties);
     }
 
     /**
@@ -85,26 +83,69 @@ public class PathfinderConfig {
     }
 
     /**
-     * Refreshes the internal transport caches from {@link #allTransports}.
-     * <p>
-     * This method creates fresh copies of transport lists for each origin {@link WorldPoint} and stores them in:
-     * <ul>
-     *     <li>{@link #transports} — a direct {@link WorldPoint}-keyed map</li>
-     *     <li>{@link #transportsPacked} — an integer-keyed map using packed {@link WorldPoint}s via
-     *     {@link WorldPointUtil#packWorldPoint(WorldPoint)}</li>
-     * </ul>
-     * <p>
-     * Intended to be called when transport data is updated or initialised.
-     */
-    public void refreshTransportData() {
-        for (Map.Entry<WorldPoint, List<Transport>> entry : allTransports.entrySet()) {
-            List<Transport> usableTransports = new ArrayList<>(entry.getValue().size());
-            usableTransports.addAll(entry.getValue());
-
-            WorldPoint point = entry.getKey();
-            transports.put(point, usableTransports);
-            transportsPacked.put(WorldPointUtil.packWorldPoint(point), usableTransports);
-        }
+     * Checks whether the player can use a transport.
+     *
+     * @param transport A transport of {@link #transportGraph}
+     * @return {@code true} if the player meets every requirement of the transport
+     */
+    public boolean isUsable(Transport transport) {
+        return transport.isUsable(capabilityMask);
+    }
+
+    /**
+     * Checks whether the player meets a set of compiled requirements, e.g. those of a {@link TransportNetwork}.
+     *
+     * @param requirementMask Requirements compiled with the layout of {@link #transportGraph}
+     * @return {@code true} if the player meets every requirement
+     */
+    public boolean isUsable(long[] requirementMask) {
+        return RequirementLayout.isMet(requirementMask, capabilityMask);
+    }
+
+    /**
+     * @return All {@link Transport}s keyed by origin {@link WorldPoint}, including those the player cannot use
+     */
+    public Map<WorldPoint, List<Transport>> getTransports() {
+        return transportGraph.getTransports();
+    }
+
+    /**
+     * @return Custom hash map that maps a 32-bit integer representation of a {@link WorldPoint} to a list of
+     * {@link Transport}s starting there, including those the player cannot use
+     */
+    public PrimitiveIntHashMap<List<Transport>> getTransportsPacked() {
+        return transportGraph.getTransportsPacked();
+    }
+
+    /**
+     * @return Custom hash map that maps a 32-bit integer representation of a destination {@link WorldPoint} to the
+     * list of {@link Transport}s arriving there. Used when the graph is traversed backwards.
+     */
+    public PrimitiveIntHashMap<List<Transport>> getTransportsByDestinationPacked() {
+        return transportGraph.getTransportsByDestinationPacked();
+    }
+
+    /**
+     * @return The player's capabilities, compiled with the {@link TransportGraph#getRequirementLayout()} of
+     * {@link #transportGraph}; must not be modified
+     */
+    public long[] getCapabilityMask() {
+        return capabilityMask;
+    }
+
+    /**
+     * @return Custom hash map that maps a 32-bit integer representation of a {@link WorldPoint} to the
+     * {@link TransportNetwork} stops there, including those the player cannot use
+     */
+    public PrimitiveIntHashMap<List<TransportNetwork.Stop>> getNetworkStopsPacked() {
+        return transportGraph.getNetworkStopsPacked();
+    }
+
+    /**
+     * @return Teleports usable from any tile, including those the player cannot use
+     */
+    public List<Teleport> getTeleports() {
+        return transportGraph.getTeleports();
     }
 
     /**
@@ -135,6 +176,22 @@ public class PathfinderConfig {
                 || WorldPointUtil.distanceToArea(packedPoint, UNDERGROUND_WILDY.getWorldArea()) == 0;
     }
 
+    /**
+     * Determines the wilderness level at a 32-bit integer representation of a {@link WorldPoint}.
+     *
+     * @param packedPoint 32-bit integer representation of a {@link WorldPoint} to be checked
+     * @return The wilderness level, or {@code 0} if the point is not in the wilderness
+     */
+    public static int getWildernessLevel(int packedPoint) {
+        if (!isInWilderness(packedPoint)) {
+            return 0;
+        }
+
+        int y = WorldPointUtil.unpackWorldY(packedPoint);
+        int level = y >= UNDERGROUND_WILDY.getWorldArea().getY() ? (y - 9920) / 8 + 1 : (y - 3520) / 8 + 1;
+        return Math.max(level, 1);
+    }
+
     /**
      * Determines whether the pathfinder should avoid entering the wilderness.
      *
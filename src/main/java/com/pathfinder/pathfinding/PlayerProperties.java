@@ -1,51 +1,72 @@
 package com.pathfinder.pathfinding;
 
+import com.pathfinder.enums.Diary;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
 
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties of a player that determine which transports they can use.
+ * <p>
+ * Skill levels, quests and diaries are optional: when one of them is {@code null}, every requirement of that kind is
+ * assumed to be met.
+ */
 @AllArgsConstructor
 @Getter
 @Setter
 public class PlayerProperties {
     private boolean fairyRingsUnlocked;
     private boolean spiritTreesUnlocked;
+    private Map<Skill, Integer> skillLevels;
+    private Set<Quest> questsCompleted;
+    private Set<Diary> diariesCompleted;
+
+    /**
+     * Constructs {@code PlayerProperties} with unknown skill levels, quests and diaries.
+     *
+     * @param fairyRingsUnlocked  Whether the player can use fairy rings
+     * @param spiritTreesUnlocked Whether the player can use spirit trees
+     */
+    public PlayerProperties(boolean fairyRingsUnlocked, boolean spiritTreesUnlocked) {
+        this(fairyRingsUnlocked, spiritTreesUnlocked, null, null, null);
+    }
+
+    /**
+     * Get the level of a skill.
+     *
+     * @param skill The skill to get the level of.
+     * @return The level of the skill, or 1 if not found.
+     */
+    public int getSkillLevel(Skill skill) {
+        if (skillLevels == null || !skillLevels.containsKey(skill)) {
+            return 1;
+        }
+
+        return skillLevels.get(skill);
+    }
+
+    /**
+     * Get the completion state of a quest.
+     *
+     * @param quest The quest to get the completion state of.
+     * @return {@code true} if the quest is completed, {@code false} otherwise.
+     */
+    public boolean getQuestCompleted(Quest quest) {
+        return questsCompleted != null && questsCompleted.contains(quest);
+    }
 
-//    private Map<Skill, Integer> skillLevels;
-//    private Set<Quest> questsCompleted;
-//    private Set<Diary> diariesCompleted;
-
-//    /**
-//     * Get the level of a skill.
-//     *
-//     * @param skill The skill to get the level of.
-//     * @return The level of the skill, or 1 if not found.
-//     */
-//    public int getSkillLevel(Skill skill) {
-//        if (!skillLevels.containsKey(skill)) {
-//            return 1;
-//        }
-//
-//        return skillLevels.get(skill);
-//    }
-//
-//    /**
-//     * Get the completion state of a quest.
-//     *
-//     * @param quest The quest to get the completion state of.
-//     * @return {@code true} if the quest is completed, {@code false} otherwise.
-//     */
-//    public boolean getQuestCompleted(Quest quest) {
-//        return questsCompleted.contains(quest);
-//    }
-//
-//    /**
-//     * Get the completion state of a diary.
-//     *
-//     * @param diary The diary to get the completion state of.
-//     * @return {@code true} if the diary is completed, {@code false} otherwise.
-//     */
-//    public boolean getDiaryCompleted(Diary diary) {
-//        return diariesCompleted.contains(diary);
-//    }
+    /**
+     * Get the completion state of a diary.
+     *
+     * @param diary The diary to get the completion state of.
+     * @return {@code true} if the diary is completed, {@code false} otherwise.
+     */
+    public boolean getDiaryCompleted(Diary diary) {
+        return diariesCompleted != null && diariesCompleted.contains(diary);
+    }
 }
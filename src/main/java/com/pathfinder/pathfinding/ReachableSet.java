@@ -0,0 +1,135 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * The tiles reachable within a cost bound, as found by {@link WavefrontSearch#reachable}.
+ * <p>
+ * Tiles are stored like {@link VisitedTiles}: per region, one 64-bit mask per plane row, row
+ * {@code y + plane * REGION_SIZE}, bit {@code x}. If costs were kept, each region also stores the cost of each of its
+ * tiles in row order, so the cost of a tile is found from a per-row offset and a bit count. No per-tile objects are
+ * created either way.
+ */
+public class ReachableSet {
+    /**
+     * Receives the tiles of each region with any.
+     */
+    public interface RegionVisitor {
+        /**
+         * @param regionX Region X coordinate, the world X coordinate of its first column divided by 64
+         * @param regionY Region Y coordinate, the world Y coordinate of its first row divided by 64
+         * @param rows    One mask per plane row of the tiles reached; must not be modified
+         * @param costs   Cost of each tile reached in row order, lowest bit first, or {@code null} if costs were not
+         *                kept; must not be modified
+         */
+        void visit(int regionX, int regionY, long[] rows, int[] costs);
+    }
+
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+
+    /**
+     * Per region, one mask per plane row of the tiles reached; {@code null} for regions without any.
+     */
+    private final long[][] regionRows;
+
+    /**
+     * Per region, the cost of each tile reached in row order; {@code null} if costs were not kept.
+     */
+    private final int[][] regionCosts;
+
+    /**
+     * Per region, the number of tiles reached before each row; {@code null} if costs were not kept.
+     */
+    private final int[][] regionRowOffsets;
+
+    /**
+     * Highest cost of the tiles in the set.
+     */
+    @Getter
+    private final int maxCost;
+
+    /**
+     * Number of tiles in the set.
+     */
+    @Getter
+    private final int size;
+
+    ReachableSet(long[][] regionRows, int[][] regionCosts, int[][] regionRowOffsets, int maxCost, int size) {
+        this.regionExtents = SplitFlagMap.getRegionExtents();
+        this.widthInclusive = regionExtents.getWidth() + 1;
+        this.regionRows = regionRows;
+        this.regionCosts = regionCosts;
+        this.regionRowOffsets = regionRowOffsets;
+        this.maxCost = maxCost;
+        this.size = size;
+    }
+
+    /**
+     * @return {@code true} if the cost of each tile was kept
+     */
+    public boolean hasCosts() {
+        return regionCosts != null;
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return {@code true} if the tile can be reached within the cost bound
+     */
+    public boolean contains(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final long[] rows = getRows(x, y);
+        final int row = y % REGION_SIZE + plane * REGION_SIZE;
+        return rows != null && row < rows.length && (rows[row] & 1L << (x % REGION_SIZE)) != 0;
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return Cost of the cheapest route to the tile, or {@code -1} if it cannot be reached within the cost bound
+     * @throws IllegalStateException if costs were not kept
+     */
+    public int getCost(int packedPoint) {
+        if (regionCosts == null) {
+            throw new IllegalStateException("Costs were not kept for this reachable set");
+        }
+        if (!contains(packedPoint)) {
+            return -1;
+        }
+
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int region = getRegionIndex(x, y);
+        final int row = y % REGION_SIZE + WorldPointUtil.unpackWorldPlane(packedPoint) * REGION_SIZE;
+        final long before = regionRows[region][row] & ((1L << (x % REGION_SIZE)) - 1);
+        return regionCosts[region][regionRowOffsets[region][row] + Long.bitCount(before)];
+    }
+
+    /**
+     * Enumerates the regions with any tiles in the set, in region index order.
+     *
+     * @param visitor Receives the tiles of each region
+     */
+    public void forEachRegion(RegionVisitor visitor) {
+        for (int region = 0; region < regionRows.length; region++) {
+            if (regionRows[region] != null) {
+                visitor.visit(region % widthInclusive + regionExtents.getMinX(),
+                        region / widthInclusive + regionExtents.getMinY(), regionRows[region],
+                        regionCosts == null ? null : regionCosts[region]);
+            }
+        }
+    }
+
+    private long[] getRows(int x, int y) {
+        final int region = getRegionIndex(x, y);
+        return region < 0 || region >= regionRows.length ? null : regionRows[region];
+    }
+
+    private int getRegionIndex(int x, int y) {
+        return (x / REGION_SIZE - regionExtents.getMinX()) + (y / REGION_SIZE - regionExtents.getMinY()) * widthInclusive;
+    }
+}
@@ -0,0 +1,152 @@
+package com.pathfinder.pathfinding;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Per-request options controlling how a {@link Pathfinder} search is run.
+ * <p>
+ * The defaults reproduce an unrestricted search.
+ */
+@Getter
+@Setter
+public class SearchOptions {
+    /**
+     * Maximum Chebyshev distance from the start of any tile the search may visit.
+     * Used to keep local searches (e.g. rejoining a previous path) small.
+     */
+    private int maxRadius = Integer.MAX_VALUE;
+
+    /**
+     * Whether teleports usable from anywhere, such as spells, may be taken.
+     * Off by default, as the items they need (e.g. runes) are not modelled.
+     */
+    private boolean useTeleports = false;
+
+    /**
+     * Whether to run an A* search guided by a
+     * {@link com.pathfinder.pathfinding.heuristic.TeleportAwareHeuristic} instead of the default search.
+     * The route found is equally cheap, but ties between equally cheap routes may be broken differently.
+     */
+    private boolean guided = false;
+
+    /**
+     * Whether a guided search may skip edges using precomputed
+     * {@link com.pathfinder.pathfinding.precompute.ArcFlags}, where they hold for the search.
+     */
+    private boolean useArcFlags = true;
+
+    /**
+     * Whether a route to a destination of the precomputed
+     * {@link com.pathfinder.pathfinding.precompute.PathDatabase} may be looked up rather than searched for, where the
+     * database holds for the search.
+     */
+    private boolean usePathDatabase = true;
+
+    /**
+     * Whether a route from or to an endpoint of the precomputed
+     * {@link com.pathfinder.pathfinding.precompute.ShortestPathTrees} may be looked up rather than searched for, where
+     * the trees hold for the search.
+     */
+    private boolean useShortestPathTrees = true;
+
+    /**
+     * Whether a search may skip the precomputed {@link com.pathfinder.pathfinding.precompute.DeadEnds} containing
+     * neither its start nor a target.
+     */
+    private boolean useDeadEnds = true;
+
+    /**
+     * Whether a guided search may cross the precomputed
+     * {@link com.pathfinder.pathfinding.precompute.EmptyRectangles} in straight lines rather than tile by tile.
+     */
+    private boolean useEmptyRectangles = true;
+
+    /**
+     * Whether a search from a single start to a single target, with no teleports, radius or wilderness restrictions,
+     * may run as a {@link BidirectionalSearch}, with its reverse half on another thread where one is free. The route
+     * found is equally cheap, but ties between equally cheap routes may be broken differently.
+     */
+    private boolean bidirectional = false;
+
+    /**
+     * Highest ratio allowed between the cost of the route found and that of the cheapest route, at least {@code 1}.
+     * Above {@code 1}, the guided search is run as a weighted A* search, which expands fewer tiles the higher the
+     * ratio, and reports a proven lower bound on the cost of the cheapest route, see
+     * {@link Pathfinder#getLowerBound()}.
+     */
+    private double suboptimality = 1;
+
+    /**
+     * @param suboptimality Highest ratio allowed between the cost of the route found and that of the cheapest route
+     * @throws IllegalArgumentException if the ratio is below {@code 1} or not finite
+     */
+    public void setSuboptimality(double suboptimality) {
+        if (!(suboptimality >= 1) || Double.isInfinite(suboptimality)) {
+            throw new IllegalArgumentException("Suboptimality must be a finite number of at least 1: " + suboptimality);
+        }
+        this.suboptimality = suboptimality;
+    }
+
+    /**
+     * Time the search stops at, in milliseconds since the epoch, with the closest approximation found so far; the
+     * search can then be resumed, see {@link Pathfinder#resume(long)}.
+     */
+    private long deadlineMillis = Long.MAX_VALUE;
+
+    /**
+     * Highest number of nodes the search may expand; once reached, the search stops with the closest approximation
+     * found so far, see {@link Pathfinder#isTruncated()}.
+     */
+    private int maxExpandedNodes = Integer.MAX_VALUE;
+
+    /**
+     * Highest number of nodes the search may hold queued and not yet expanded.
+     */
+    private int maxOpenNodes = Integer.MAX_VALUE;
+
+    /**
+     * Highest number of bytes the search may hold in nodes and their queue entries, as estimated from their count.
+     */
+    private long maxRetainedBytes = Long.MAX_VALUE;
+
+    /**
+     * Computes a fingerprint of every option affecting the result of a search, used when caching results.
+     * <p>
+     * The other options are left out, as a route cached under them is also the route found without them: the
+     * precomputed data only speeds up a search without changing the cost of the route found, a weighted search only
+     * caches and reuses routes proven cheapest, and a search stopped by its deadline or a quota caches nothing. Routes
+     * of the default search prove no bound and are cached with none (see
+     * {@link com.pathfinder.pathfinding.cache.CachedRoute#getLowerBound()}), so a weighted search never reuses them.
+     *
+     * @return 64-bit fingerprint of the options
+     */
+    public long fingerprint() {
+        long result = 17;
+        result = 31 * result + maxRadius;
+        result = 31 * result + (useTeleports ? 1 : 0);
+        result = 31 * result + (guided ? 1 : 0);
+        result = 31 * result + (bidirectional ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOptions{" +
+                "maxRadius=" + maxRadius +
+                ", useTeleports=" + useTeleports +
+                ", guided=" + guided +
+                ", bidirectional=" + bidirectional +
+                ", suboptimality=" + suboptimality +
+                ", deadlineMillis=" + deadlineMillis +
+                ", maxExpandedNodes=" + maxExpandedNodes +
+                ", maxOpenNodes=" + maxOpenNodes +
+                ", maxRetainedBytes=" + maxRetainedBytes +
+                ", useArcFlags=" + useArcFlags +
+                ", usePathDatabase=" + usePathDatabase +
+                ", useShortestPathTrees=" + useShortestPathTrees +
+                ", useDeadEnds=" + useDeadEnds +
+                ", useEmptyRectangles=" + useEmptyRectangles +
+                '}';
+    }
+}
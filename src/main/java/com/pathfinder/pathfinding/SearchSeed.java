@@ -0,0 +1,42 @@
+package com.pathfinder.pathfinding;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A candidate starting point of a search with the cost already spent reaching it, such as the player's current tile
+ * ({@code 0}) or the arrival point of a home teleport.
+ * <p>
+ * A {@link Pathfinder} seeded with several of these finds the cheapest route from any of them in a single search.
+ */
+@Getter
+public class SearchSeed {
+    private final WorldPoint point;
+
+    /**
+     * Cost already spent reaching {@link #point}, added to the cost of every route starting there.
+     */
+    private final int initialCost;
+
+    /**
+     * Constructs a {@code SearchSeed}.
+     *
+     * @param point       The starting point
+     * @param initialCost Cost already spent reaching the point; must not be negative
+     */
+    public SearchSeed(WorldPoint point, int initialCost) {
+        if (initialCost < 0) {
+            throw new IllegalArgumentException("Initial cost must not be negative: " + initialCost);
+        }
+        this.point = point;
+        this.initialCost = initialCost;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchSeed{" +
+                "point=" + point +
+                ", initialCost=" + initialCost +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package com.pathfinder.pathfinding;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Walking steps of the collision map packed into 64-bit words, so that a search can step a whole region row of tiles
+ * at once.
+ * <p>
+ * For every region plane row there is one mask per {@link OrdinalDirection}, with bit {@code x} set if a walking step
+ * can be taken from local tile {@code x} in that direction according to {@link CollisionMap#canWalk}. Searches running
+ * backwards use incoming masks instead, with bit {@code x} set if a step in that direction reaches tile {@code x}. Rows
+ * are laid out like those of {@link VisitedTiles}: row {@code y + plane * REGION_SIZE} of the region. The masks of a
+ * region are built the first time they are needed and shared by every thread.
+ */
+public class StepMasks {
+    /**
+     * Number of masks per row, one per {@link OrdinalDirection}.
+     */
+    public static final int DIRECTIONS = OrdinalDirection.values().length;
+
+    private static final OrdinalDirection[] ORDINAL_VALUES = OrdinalDirection.values();
+
+    private final CollisionMap map;
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+    private final byte[] planes;
+
+    /**
+     * Outgoing and incoming masks of each region, {@code DIRECTIONS} per row; {@code null} until built.
+     */
+    private final AtomicReferenceArray<long[]> regionMasks;
+    private final AtomicReferenceArray<long[]> incomingRegionMasks;
+
+    /**
+     * Constructs the step masks of a collision map, building none of them yet.
+     *
+     * @param map The collision map
+     */
+    public StepMasks(CollisionMap map) {
+        this.map = map;
+        this.regionExtents = SplitFlagMap.getRegionExtents();
+        this.widthInclusive = regionExtents.getWidth() + 1;
+        this.planes = map.getPlanes();
+        this.regionMasks = new AtomicReferenceArray<>(planes.length);
+        this.incomingRegionMasks = new AtomicReferenceArray<>(planes.length);
+    }
+
+    /**
+     * Returns the masks of a region: the mask of direction {@code d} for row {@code row} is at index
+     * {@code row * DIRECTIONS + d}.
+     *
+     * @param region Index of the region, as by {@link VisitedTiles}
+     * @return The masks of the region, or {@code null} if it has no collision data
+     */
+    public long[] getRegion(int region) {
+        return getRegion(regionMasks, region, false);
+    }
+
+    /**
+     * Returns the incoming masks of a region, laid out like those of {@link #getRegion(int)}.
+     *
+     * @param region Index of the region, as by {@link VisitedTiles}
+     * @return The incoming masks of the region, or {@code null} if it has no collision data
+     */
+    public long[] getIncomingRegion(int region) {
+        return getRegion(incomingRegionMasks, region, true);
+    }
+
+    private long[] getRegion(AtomicReferenceArray<long[]> builtMasks, int region, boolean incoming) {
+        long[] masks = builtMasks.get(region);
+        if (masks == null && planes[region] > 0) {
+            masks = build(region, incoming);
+            if (!builtMasks.compareAndSet(region, null, masks)) {
+                masks = builtMasks.get(region);
+            }
+        }
+        return masks;
+    }
+
+    private long[] build(int region, boolean incoming) {
+        final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+        final int baseY = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE;
+        final long[] masks = new long[planes[region] * REGION_SIZE * DIRECTIONS];
+        for (int row = 0; row < planes[region] * REGION_SIZE; row++) {
+            final int y = baseY + row % REGION_SIZE;
+            final int z = row / REGION_SIZE;
+            for (int x = 0; x < REGION_SIZE; x++) {
+                for (int d = 0; d < DIRECTIONS; d++) {
+                    final OrdinalDirection direction = ORDINAL_VALUES[d];
+                    final boolean step = incoming
+                            ? map.canWalk(baseX + x - direction.getX(), y - direction.getY(), z, d)
+                            : map.canWalk(baseX + x, y, z, d);
+                    if (step) {
+                        masks[row * DIRECTIONS + d] |= 1L << x;
+                    }
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Returns the step masks of the collision map every configuration shares, creating them on first use.
+     *
+     * @param config Pathfinding configuration providing the collision map
+     * @return The shared step masks
+     */
+    public static StepMasks shared(PathfinderConfig config) {
+        StepMasks shared = Shared.instance;
+        if (shared == null) {
+            synchronized (Shared.class) {
+                shared = Shared.instance;
+                if (shared == null) {
+                    shared = new StepMasks(config.getMap());
+                    Shared.instance = shared;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Holder for the step masks created by {@link #shared(PathfinderConfig)}.
+     */
+    private static class Shared {
+        private static volatile StepMasks instance;
+    }
+}
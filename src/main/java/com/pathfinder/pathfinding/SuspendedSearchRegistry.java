@@ -0,0 +1,121 @@
+package com.pathfinder.pathfinding;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps {@link Pathfinder}s suspended at their deadline alive between requests, so that a follow-up request can
+ * resume one by its continuation token rather than search again from the start.
+ * <p>
+ * A suspended search holds its whole frontier and visited set, so the registry is kept small: once
+ * {@link #maxSearches} is reached the oldest search is dropped, and searches not resumed within
+ * {@link #idleTimeoutMillis} expire. A token can be used once; a search suspended again gets a new one.
+ */
+public class SuspendedSearchRegistry {
+    /**
+     * A suspended search with the request it answers.
+     */
+    private static class SuspendedSearch {
+        private final Pathfinder pathfinder;
+        private final Object key;
+        private final long suspendedMillis;
+
+        private SuspendedSearch(Pathfinder pathfinder, Object key) {
+            this.pathfinder = pathfinder;
+            this.key = key;
+            this.suspendedMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Maximum number of searches kept at once.
+     */
+    private final int maxSearches;
+
+    /**
+     * Time after which a search not resumed expires.
+     */
+    private final long idleTimeoutMillis;
+
+    /**
+     * Searches by continuation token, oldest first.
+     */
+    private final LinkedHashMap<String, SuspendedSearch> searches;
+
+    /**
+     * Constructs a new {@code SuspendedSearchRegistry}.
+     *
+     * @param maxSearches       Maximum number of searches kept at once
+     * @param idleTimeoutMillis Time after which a search not resumed expires
+     */
+    public SuspendedSearchRegistry(int maxSearches, long idleTimeoutMillis) {
+        this.maxSearches = maxSearches;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.searches = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SuspendedSearch> eldest) {
+                return size() > SuspendedSearchRegistry.this.maxSearches;
+            }
+        };
+    }
+
+    /**
+     * Keeps a suspended search until it is resumed.
+     *
+     * @param pathfinder The suspended search
+     * @param key        Identifies the request the search answers; the search is only handed back for an equal key
+     * @return Continuation token to resume the search with
+     * @throws IllegalArgumentException if the search is not suspended
+     */
+    public String suspend(Pathfinder pathfinder, Object key) {
+        if (!pathfinder.isSuspended()) {
+            throw new IllegalArgumentException("Only a suspended search can be kept");
+        }
+        String token = UUID.randomUUID().toString();
+        synchronized (searches) {
+            removeExpired();
+            searches.put(token, new SuspendedSearch(pathfinder, key));
+        }
+        return token;
+    }
+
+    /**
+     * Removes a suspended search so that it can be resumed.
+     *
+     * @param token Continuation token of the search
+     * @param key   Identifies the request to resume the search for
+     * @return The search, or {@code null} if the token is unknown or expired or was issued for another request
+     */
+    public Pathfinder take(String token, Object key) {
+        synchronized (searches) {
+            removeExpired();
+            SuspendedSearch search = searches.remove(token);
+            return search == null || !Objects.equals(search.key, key) ? null : search.pathfinder;
+        }
+    }
+
+    /**
+     * Drops every search, e.g. once the data they were searching has changed.
+     */
+    public void clear() {
+        synchronized (searches) {
+            searches.clear();
+        }
+    }
+
+    /**
+     * Drops every search suspended for longer than {@link #idleTimeoutMillis}.
+     */
+    private void removeExpired() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<SuspendedSearch> iterator = searches.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().suspendedMillis < cutoff) {
+                iterator.remove();
+            }
+        }
+    }
+}
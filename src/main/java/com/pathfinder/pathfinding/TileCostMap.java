@@ -0,0 +1,133 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Stores an {@code int} per tile (e.g. a cost or distance) using the same region layout as {@link VisitedTiles}.
+ * <p>
+ * Storage for a region is only allocated once a value is written into it, so searches touching a small part of the
+ * world stay cheap. Tiles without a stored value, including those outside the map, report {@link #defaultValue}.
+ */
+public class TileCostMap {
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+
+    /**
+     * One array per map region, holding {@code planeCount * REGION_SIZE * REGION_SIZE} values.
+     */
+    private final int[][] regionValues;
+
+    /**
+     * Stores the number of planes per region as retrieved from the {@link CollisionMap}.
+     */
+    private final byte[] regionPlanes;
+
+    /**
+     * Value reported for tiles that have not been written to.
+     */
+    private final int defaultValue;
+
+    /**
+     * Number of bytes allocated for the regions written to.
+     */
+    @Getter
+    private long allocatedBytes;
+
+    /**
+     * Initialises a new tile value store based on the provided collision map.
+     *
+     * @param map          The collision map, used to get region plane counts.
+     * @param defaultValue Value reported for tiles that have not been written to.
+     */
+    public TileCostMap(CollisionMap map, int defaultValue) {
+        regionExtents = SplitFlagMap.getRegionExtents();
+        widthInclusive = regionExtents.getWidth() + 1;
+        final int heightInclusive = regionExtents.getHeight() + 1;
+
+        regionValues = new int[widthInclusive * heightInclusive][];
+        regionPlanes = map.getPlanes();
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Returns the value stored for a tile.
+     *
+     * @param packedPoint The 32-bit integer representation of a tile.
+     * @return The stored value, or the default value if none has been stored.
+     */
+    public int get(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        final int regionIndex = getRegionIndex(x / REGION_SIZE, y / REGION_SIZE);
+        if (regionIndex < 0 || regionIndex >= regionValues.length) {
+            return defaultValue;
+        }
+
+        final int[] values = regionValues[regionIndex];
+        if (values == null || plane >= regionPlanes[regionIndex]) {
+            return defaultValue;
+        }
+
+        return values[tileIndex(x, y, plane)];
+    }
+
+    /**
+     * Stores a value for a tile. Writes to tiles outside the map are ignored.
+     *
+     * @param packedPoint The 32-bit integer representation of a tile.
+     * @param value       The value to store.
+     */
+    public void set(int packedPoint, int value) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        final int regionIndex = getRegionIndex(x / REGION_SIZE, y / REGION_SIZE);
+        if (regionIndex < 0 || regionIndex >= regionValues.length || plane >= regionPlanes[regionIndex]) {
+            return;
+        }
+
+        int[] values = regionValues[regionIndex];
+        if (values == null) {
+            values = new int[regionPlanes[regionIndex] * REGION_SIZE * REGION_SIZE];
+            Arrays.fill(values, defaultValue);
+            regionValues[regionIndex] = values;
+            allocatedBytes += 4L * values.length;
+        }
+
+        values[tileIndex(x, y, plane)] = value;
+    }
+
+    /**
+     * Resets every tile to the default value.
+     */
+    public void clear() {
+        Arrays.fill(regionValues, null);
+        allocatedBytes = 0;
+    }
+
+    /**
+     * Computes the index of a tile within its region's array.
+     */
+    private static int tileIndex(int x, int y, int plane) {
+        return (plane * REGION_SIZE + y % REGION_SIZE) * REGION_SIZE + x % REGION_SIZE;
+    }
+
+    /**
+     * Computes the linear array index for a given region coordinate.
+     *
+     * @param regionX Region X index.
+     * @param regionY Region Y index.
+     * @return The 1D array index.
+     */
+    private int getRegionIndex(int regionX, int regionY) {
+        return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
+    }
+}
@@ -0,0 +1,817 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.pathfinding.transports.TransportNetwork;
+import com.pathfinder.util.PrimitiveMinHeap;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * A flood fill over walking steps and transports that expands a whole region row of tiles at a time.
+ * <p>
+ * Tiles are reached in order of cost, one cost level at a time. The tiles of a level are kept as 64-bit words per
+ * region plane row, laid out like {@link VisitedTiles}, and every walking step from them is taken at once by masking
+ * each word with the {@link StepMasks} of a direction and shifting it onto the row it steps to, carrying the bits that
+ * cross a region edge into the neighbouring region. Walking steps cost one, so they reach the next level. Only the
+ * tiles where a transport or network stop starts are looked at one by one; their destinations are queued for the level
+ * of their arrival cost.
+ * <p>
+ * Edges and costs are those of {@link CollisionMap#forEachNeighbor}, so the cost a tile is reached at is the cost of
+ * its cheapest route, as found by {@link com.pathfinder.pathfinding.precompute.GraphSearch}. Teleports usable from
+ * anywhere and the restrictions of {@link SearchOptions} are not applied.
+ * <p>
+ * Given a {@link ForkJoinPool}, large levels are expanded in parallel: their regions are split between the threads of
+ * the pool, which add the tiles they step onto to the words of the next level with atomic operations, as neighbouring
+ * regions step onto the same words. Levels are still settled one after another, so the tiles reached and their costs
+ * are the same either way. A search is not thread-safe, but several may run at once.
+ * <p>
+ * A reverse search follows every edge backwards, using the incoming {@link StepMasks} and the transports ending at a
+ * tile, so the cost a tile is reached at is the cost of its cheapest route to the seeds. Linked to an opposite search
+ * with {@link #linkOpposite}, a search keeps the cost of each tile it reaches and reports every edge it takes onto a
+ * tile the opposite search has reached, which may be running on another thread; {@link BidirectionalSearch} runs a
+ * forward and a reverse search this way, a level at a time through {@link #start} and {@link #advance}.
+ */
+public class WavefrontSearch {
+    private static final OrdinalDirection[] DIRECTIONS = OrdinalDirection.values();
+
+    /**
+     * The first four {@link OrdinalDirection}s are cardinal.
+     */
+    private static final int CARDINAL_DIRECTIONS = 4;
+
+    /**
+     * Index of the opposite of each {@link OrdinalDirection}.
+     */
+    private static final int[] OPPOSITE = {1, 0, 3, 2, 7, 6, 5, 4};
+
+    /**
+     * Fewest regions in a level for it to be expanded in parallel.
+     */
+    private static final int PARALLEL_MIN_REGIONS = 16;
+
+    /**
+     * Most regions a single task expands without splitting.
+     */
+    private static final int TASK_REGIONS = 4;
+
+    private static final VarHandle ROWS = MethodHandles.arrayElementVarHandle(long[][].class);
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle LISTED = MethodHandles.arrayElementVarHandle(boolean[].class);
+
+    /**
+     * Receives the tiles of each cost level as they are reached.
+     */
+    public interface WordVisitor {
+        /**
+         * @param cost  Cost of the cheapest route to the tiles
+         * @param x     World X coordinate of the tile of bit {@code 0}
+         * @param y     World Y coordinate of the tiles
+         * @param plane Plane of the tiles
+         * @param tiles Bit {@code i} set for each tile {@code (x + i, y, plane)} reached
+         */
+        void visit(int cost, int x, int y, int plane, long tiles);
+    }
+
+    /**
+     * Receives the edges a search takes onto tiles its opposite search has reached.
+     */
+    public interface MeetingVisitor {
+        /**
+         * @param packedPoint  32-bit integer representation of the tile the edge leads to
+         * @param cost         Cost of the route of this search to the tile over the edge
+         * @param oppositeCost Cost the opposite search reached the tile at
+         */
+        void meet(int packedPoint, int cost, int oppositeCost);
+    }
+
+    private final PathfinderConfig config;
+    private final ForkJoinPool pool;
+    private final boolean reverse;
+    private final StepMasks stepMasks;
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+    private final byte[] planes;
+
+    /**
+     * Per region, one mask per plane row of the tiles where a usable transport starts, or ends for a reverse search,
+     * and of the stops of usable networks; {@code null} for regions without any.
+     */
+    private final long[][] transportRows;
+
+    /**
+     * Per region, one mask per plane row of the blocked tiles that can be entered from their cardinal neighbours, see
+     * {@link CollisionMap#isEnterable}; {@code null} for regions without any.
+     */
+    private final long[][] enterableRows;
+
+    /**
+     * Per region, one mask per plane row of the tiles reached; {@code null} for regions without any.
+     */
+    private final long[][] reached;
+
+    /**
+     * Tiles of the level being expanded and of the level after it.
+     */
+    private Level current;
+    private Level next;
+
+    /**
+     * Transport destinations, keyed by arrival cost.
+     */
+    private final PrimitiveMinHeap arrivals = new PrimitiveMinHeap(256);
+
+    /**
+     * Cost of the next level to settle.
+     */
+    private int cost;
+
+    /**
+     * Cost of the level being expanded.
+     */
+    private int expandCost;
+
+    /**
+     * Lowest cost any tile not yet reached can be reached at, {@link Integer#MAX_VALUE} once there are none.
+     */
+    private volatile int nextCost;
+
+    /**
+     * Search whose reached tiles edges are reported onto, and where they are reported to; {@code null} if unlinked.
+     */
+    private WavefrontSearch opposite;
+    private MeetingVisitor meetingVisitor;
+
+    /**
+     * Cost of each tile reached, kept while linked to an opposite search; {@code null} otherwise.
+     */
+    private TileCostMap costs;
+
+    /**
+     * Number of tiles reached by the last search.
+     */
+    @Getter
+    private int reachedCount;
+
+    /**
+     * Constructs a {@code WavefrontSearch} running on the calling thread only.
+     *
+     * @param config Pathfinding configuration providing the map and the transports that may be used
+     */
+    public WavefrontSearch(PathfinderConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Constructs a {@code WavefrontSearch}.
+     *
+     * @param config Pathfinding configuration providing the map and the transports that may be used
+     * @param pool   Pool to expand large levels in, or {@code null} to run on the calling thread only
+     */
+    public WavefrontSearch(PathfinderConfig config, ForkJoinPool pool) {
+        this(config, pool, false);
+    }
+
+    /**
+     * Constructs a {@code WavefrontSearch}.
+     *
+     * @param config  Pathfinding configuration providing the map and the transports that may be used
+     * @param pool    Pool to expand large levels in, or {@code null} to run on the calling thread only
+     * @param reverse Whether to follow every edge backwards, finding routes to the seeds rather than from them
+     */
+    public WavefrontSearch(PathfinderConfig config, ForkJoinPool pool, boolean reverse) {
+        this.config = config;
+        this.pool = pool;
+        this.reverse = reverse;
+        this.stepMasks = StepMasks.shared(config);
+        this.regionExtents = SplitFlagMap.getRegionExtents();
+        this.widthInclusive = regionExtents.getWidth() + 1;
+        this.planes = config.getMap().getPlanes();
+        this.transportRows = new long[planes.length][];
+        this.enterableRows = new long[planes.length][];
+        this.reached = new long[planes.length][];
+        this.current = new Level(planes.length);
+        this.next = new Level(planes.length);
+
+        for (List<Transport> transports : config.getTransportGraph().getTransports().values()) {
+            for (Transport transport : transports) {
+                if (config.isUsable(transport)) {
+                    markOrigin(transport.getPackedOrigin());
+                    mark(transportRows, reverse ? transport.getPackedDestination() : transport.getPackedOrigin());
+                }
+            }
+        }
+        for (TransportNetwork network : config.getTransportGraph().getNetworks()) {
+            if (config.isUsable(network.getRequirementMask())) {
+                for (int stop = 0; stop < network.size(); stop++) {
+                    markOrigin(network.getPackedStop(stop));
+                    mark(transportRows, network.getPackedStop(stop));
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks a tile a usable transport or network stop starts at as enterable, if it is blocked.
+     */
+    private void markOrigin(int packedPoint) {
+        if (config.getMap().isBlocked(WorldPointUtil.unpackWorldX(packedPoint), WorldPointUtil.unpackWorldY(packedPoint),
+                WorldPointUtil.unpackWorldPlane(packedPoint))) {
+            mark(enterableRows, packedPoint);
+        }
+    }
+
+    private void mark(long[][] regionRows, int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final int region = getRegionIndex(x, y);
+        if (region < 0 || region >= planes.length || plane >= planes[region]) {
+            return;
+        }
+
+        if (regionRows[region] == null) {
+            regionRows[region] = new long[planes[region] * REGION_SIZE];
+        }
+        regionRows[region][y % REGION_SIZE + plane * REGION_SIZE] |= 1L << (x % REGION_SIZE);
+    }
+
+    /**
+     * Reaches every tile within a cost of the given tiles, in order of cost.
+     *
+     * @param packedSeeds 32-bit integer representations of the tiles to start from, at cost {@code 0}
+     * @param maxCost     Highest cost of the tiles to reach
+     * @param visitor     Receives the tiles reached, or {@code null}
+     * @return Cost of the last level with tiles reached, or {@code -1} if none were
+     */
+    public int run(int[] packedSeeds, int maxCost, WordVisitor visitor) {
+        start(packedSeeds);
+        int lastCost = -1;
+        for (int settled = advance(maxCost, visitor); settled >= 0; settled = advance(maxCost, visitor)) {
+            lastCost = settled;
+        }
+        return lastCost;
+    }
+
+    /**
+     * Starts a search from the given tiles, reaching none of them yet; see {@link #advance}.
+     *
+     * @param packedSeeds 32-bit integer representations of the tiles to start from, at cost {@code 0}
+     */
+    public void start(int[] packedSeeds) {
+        for (long[] rows : reached) {
+            if (rows != null) {
+                Arrays.fill(rows, 0);
+            }
+        }
+        if (costs != null) {
+            costs.clear();
+        }
+        reachedCount = 0;
+        current.clear();
+        next.clear();
+        arrivals.clear();
+
+        for (int packedSeed : packedSeeds) {
+            reach(current, packedSeed);
+        }
+        cost = 0;
+        nextCost = current.regionCount > 0 ? 0 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Reaches the tiles of the next cost level with any, and takes every edge from them.
+     *
+     * @param maxCost Highest cost of the tiles to reach
+     * @param visitor Receives the tiles reached, or {@code null}
+     * @return Cost of the level reached, or {@code -1} if no tiles are left within the cost
+     */
+    public int advance(int maxCost, WordVisitor visitor) {
+        while (cost <= maxCost && nextCost != Integer.MAX_VALUE) {
+            while (!arrivals.isEmpty() && arrivals.peekKey() == cost) {
+                reach(current, arrivals.poll());
+            }
+
+            if (!settle(cost, visitor)) {
+                if (arrivals.isEmpty()) {
+                    break;
+                }
+                // Nothing to walk from; continue at the next transport arrival
+                current.clear();
+                cost = (int) arrivals.peekKey();
+                continue;
+            }
+
+            final int settled = cost;
+            if (settled == maxCost) {
+                nextCost = Integer.MAX_VALUE;
+                return settled;
+            }
+            expand(settled, maxCost);
+            Level expanded = current;
+            current = next;
+            next = expanded;
+            next.clear();
+            cost++;
+            nextCost = current.regionCount > 0 ? cost
+                    : arrivals.isEmpty() ? Integer.MAX_VALUE : (int) arrivals.peekKey();
+            return settled;
+        }
+        nextCost = Integer.MAX_VALUE;
+        return -1;
+    }
+
+    /**
+     * @return Lowest cost a tile not yet reached can be reached at, {@link Integer#MAX_VALUE} if none can be; may be
+     * read from any thread
+     */
+    public int getNextCost() {
+        return nextCost;
+    }
+
+    /**
+     * Links this search to the search running the other way between the same endpoints, which may run on another
+     * thread. From the next {@link #start}, this search keeps the cost of each tile it reaches, publishes its reached
+     * tiles to the opposite search and reports every edge it takes onto a tile the opposite search has reached.
+     *
+     * @param opposite The opposite search, which should be linked back to this one
+     * @param visitor  Receives the edges onto tiles the opposite search has reached
+     */
+    public void linkOpposite(WavefrontSearch opposite, MeetingVisitor visitor) {
+        this.opposite = opposite;
+        this.meetingVisitor = visitor;
+        if (costs == null) {
+            costs = new TileCostMap(config.getMap(), -1);
+        }
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return Cost the tile was reached at, or {@code -1} if it was not reached
+     * @throws IllegalStateException if the search is not linked to an opposite search, so keeps no costs
+     */
+    public int getCost(int packedPoint) {
+        if (costs == null) {
+            throw new IllegalStateException("Costs are only kept by searches linked to an opposite search");
+        }
+        return costs.get(packedPoint);
+    }
+
+    /**
+     * Finds every tile within a cost of the given tiles. Tiles whose cheapest route costs more than the bound are
+     * never reached, and no transport arriving beyond it is taken.
+     *
+     * @param packedSeeds 32-bit integer representations of the tiles to start from, at cost {@code 0}
+     * @param maxCost     Highest cost of the tiles to include
+     * @param keepCosts   Whether to keep the cost of each tile reached, see {@link ReachableSet#getCost}
+     * @return The tiles reached
+     */
+    public ReachableSet reachable(int[] packedSeeds, int maxCost, boolean keepCosts) {
+        if (maxCost < 0) {
+            throw new IllegalArgumentException("Cost bound must not be negative: " + maxCost);
+        }
+
+        final CostLog log = keepCosts ? new CostLog() : null;
+        run(packedSeeds, maxCost, log);
+
+        final long[][] regionRows = new long[reached.length][];
+        final int[][] regionCosts = keepCosts ? new int[reached.length][] : null;
+        final int[][] regionRowOffsets = keepCosts ? new int[reached.length][] : null;
+        for (int region = 0; region < reached.length; region++) {
+            final long[] rows = reached[region];
+            if (rows == null) {
+                continue;
+            }
+
+            int count = 0;
+            final int[] offsets = new int[rows.length];
+            for (int row = 0; row < rows.length; row++) {
+                offsets[row] = count;
+                count += Long.bitCount(rows[row]);
+            }
+            if (count == 0) {
+                continue;
+            }
+            regionRows[region] = rows.clone();
+            if (keepCosts) {
+                regionRowOffsets[region] = offsets;
+                regionCosts[region] = new int[count];
+            }
+        }
+
+        if (keepCosts) {
+            for (int i = 0; i < log.size; i++) {
+                final int region = log.regions[i];
+                final int row = log.rows[i];
+                final long[] rows = regionRows[region];
+                final int offset = regionRowOffsets[region][row];
+                for (long remaining = log.tiles[i]; remaining != 0; remaining &= remaining - 1) {
+                    final long before = rows[row] & (Long.lowestOneBit(remaining) - 1);
+                    regionCosts[region][offset + Long.bitCount(before)] = log.costs[i];
+                }
+            }
+        }
+        return new ReachableSet(regionRows, regionCosts, regionRowOffsets, maxCost, reachedCount);
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return {@code true} if the last search reached the tile
+     */
+    public boolean isReached(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final int region = getRegionIndex(x, y);
+        if (region < 0 || region >= reached.length || reached[region] == null || plane >= planes[region]) {
+            return false;
+        }
+        return (reached[region][y % REGION_SIZE + plane * REGION_SIZE] & 1L << (x % REGION_SIZE)) != 0;
+    }
+
+    /**
+     * Adds a single tile to a level, if it has collision data.
+     */
+    private void reach(Level level, int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final int region = getRegionIndex(x, y);
+        if (region >= 0 && region < planes.length && plane < planes[region]) {
+            level.or(region, y % REGION_SIZE + plane * REGION_SIZE, 1L << (x % REGION_SIZE));
+        }
+    }
+
+    /**
+     * Drops the tiles of the current level that were reached before, marks the rest as reached and reports them. While
+     * linked to an opposite search, the costs of the tiles are stored before the tiles are published as reached.
+     *
+     * @return {@code true} if any tiles are left in the level
+     */
+    private boolean settle(int cost, WordVisitor visitor) {
+        boolean any = false;
+        for (int i = 0; i < current.regionCount; i++) {
+            final int region = current.regions[i];
+            final long[] rows = current.rows[region];
+            long[] reachedRows = reached[region];
+            if (reachedRows == null) {
+                reachedRows = new long[rows.length];
+                ROWS.setVolatile(reached, region, reachedRows);
+            }
+
+            final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+            final int baseY = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE;
+            for (int row = 0; row < rows.length; row++) {
+                final long tiles = rows[row] & ~reachedRows[row];
+                rows[row] = tiles;
+                if (tiles == 0) {
+                    continue;
+                }
+                any = true;
+                if (costs != null) {
+                    final int y = baseY + row % REGION_SIZE;
+                    for (long remaining = tiles; remaining != 0; remaining &= remaining - 1) {
+                        costs.set(WorldPointUtil.packWorldPoint(baseX + Long.numberOfTrailingZeros(remaining), y,
+                                row / REGION_SIZE), cost);
+                    }
+                    WORDS.setVolatile(reachedRows, row, reachedRows[row] | tiles);
+                } else {
+                    reachedRows[row] |= tiles;
+                }
+                reachedCount += Long.bitCount(tiles);
+                if (visitor != null) {
+                    visitor.visit(cost, baseX, baseY + row % REGION_SIZE, row / REGION_SIZE, tiles);
+                }
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Takes every walking step from the current level into the next, and queues every transport from it.
+     */
+    private void expand(int cost, int maxCost) {
+        expandCost = cost;
+        if (pool != null && current.regionCount >= PARALLEL_MIN_REGIONS) {
+            pool.invoke(new ExpandTask(0, current.regionCount, cost, maxCost));
+            next.publish();
+            return;
+        }
+        for (int i = 0; i < current.regionCount; i++) {
+            expandRegion(current.regions[i], cost, maxCost, false);
+        }
+    }
+
+    /**
+     * Expands the tiles of one region of the current level.
+     *
+     * @param concurrent Whether other regions are being expanded at the same time
+     */
+    private void expandRegion(int region, int cost, int maxCost, boolean concurrent) {
+        final long[] rows = current.rows[region];
+        final long[] masks = reverse ? stepMasks.getIncomingRegion(region) : stepMasks.getRegion(region);
+        final long[] transports = transportRows[region];
+        final long[] enterable = enterableRows[region];
+        for (int row = 0; row < rows.length; row++) {
+            final long tiles = rows[row];
+            if (tiles == 0) {
+                continue;
+            }
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                final long steps = tiles & masks[row * StepMasks.DIRECTIONS + d];
+                if (steps != 0) {
+                    step(region, row, DIRECTIONS[reverse ? OPPOSITE[d] : d], steps, null, concurrent);
+                }
+            }
+            if (!reverse) {
+                for (int d = 0; d < CARDINAL_DIRECTIONS; d++) {
+                    step(region, row, DIRECTIONS[d], tiles, enterableRows, concurrent);
+                }
+            } else if (enterable != null && (tiles & enterable[row]) != 0) {
+                // Blocked tiles a transport starts at can be entered from every cardinal neighbour
+                for (int d = 0; d < CARDINAL_DIRECTIONS; d++) {
+                    step(region, row, DIRECTIONS[d], tiles & enterable[row], null, concurrent);
+                }
+            }
+
+            if (transports != null && (tiles & transports[row]) != 0) {
+                queueTransports(region, row, tiles & transports[row], cost, maxCost, concurrent);
+            }
+        }
+    }
+
+    /**
+     * Moves tiles one step in a direction and adds them to the next level.
+     *
+     * @param filter     Per region masks of the tiles that may be stepped onto, {@code null} to allow any
+     * @param concurrent Whether other threads may add to the next level at the same time
+     */
+    private void step(int region, int row, OrdinalDirection direction, long tiles, long[][] filter,
+                      boolean concurrent) {
+        final int y = row % REGION_SIZE + direction.y;
+        int toRegion = region;
+        int toRow = row + direction.y;
+        if (y < 0) {
+            toRegion -= widthInclusive;
+            toRow += REGION_SIZE;
+        } else if (y >= REGION_SIZE) {
+            toRegion += widthInclusive;
+            toRow -= REGION_SIZE;
+        }
+        if (toRegion < 0 || toRegion >= planes.length) {
+            return;
+        }
+
+        final int regionX = toRegion % widthInclusive;
+        if (direction.x == 0) {
+            add(toRegion, toRow, tiles, filter, concurrent);
+        } else if (direction.x > 0) {
+            add(toRegion, toRow, tiles << 1, filter, concurrent);
+            if (tiles < 0 && regionX + 1 < widthInclusive) {
+                add(toRegion + 1, toRow, 1L, filter, concurrent);
+            }
+        } else {
+            add(toRegion, toRow, tiles >>> 1, filter, concurrent);
+            if ((tiles & 1) != 0 && regionX > 0) {
+                add(toRegion - 1, toRow, 1L << (REGION_SIZE - 1), filter, concurrent);
+            }
+        }
+    }
+
+    private void add(int region, int row, long tiles, long[][] filter, boolean concurrent) {
+        if (tiles == 0 || row / REGION_SIZE >= planes[region]) {
+            return;
+        }
+        if (filter != null) {
+            if (filter[region] == null) {
+                return;
+            }
+            tiles &= filter[region][row];
+        }
+        if (meetingVisitor != null && tiles != 0) {
+            meet(region, row, tiles, expandCost + 1);
+        }
+        if (reached[region] != null) {
+            tiles &= ~reached[region][row];
+        }
+        if (tiles != 0 && concurrent) {
+            next.orConcurrently(region, row, tiles);
+        } else if (tiles != 0) {
+            next.or(region, row, tiles);
+        }
+    }
+
+    /**
+     * Queues the destination of every usable transport and network journey starting at the given tiles.
+     */
+    private void queueTransports(int region, int row, long tiles, int cost, int maxCost, boolean concurrent) {
+        final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+        final int y = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE + row % REGION_SIZE;
+        final int plane = row / REGION_SIZE;
+        for (long remaining = tiles; remaining != 0; remaining &= remaining - 1) {
+            final int packedPoint = WorldPointUtil.packWorldPoint(baseX + Long.numberOfTrailingZeros(remaining), y, plane);
+            final EdgeVisitor queue = (packedTo, edgeCost, transport) -> {
+                // The current level is settled, so nothing can arrive in it; no transport is free anyway
+                final long arrival = (long) cost + Math.max(edgeCost, 1);
+                if (transport != null && meetingVisitor != null) {
+                    meet(packedTo, (int) arrival);
+                }
+                if (transport != null && arrival <= maxCost) {
+                    if (concurrent) {
+                        synchronized (arrivals) {
+                            arrivals.add(arrival, packedTo);
+                        }
+                    } else {
+                        arrivals.add(arrival, packedTo);
+                    }
+                }
+            };
+            if (reverse) {
+                config.getMap().forEachPredecessor(packedPoint, config, queue);
+            } else {
+                config.getMap().forEachNeighbor(packedPoint, config, queue);
+            }
+        }
+    }
+
+    /**
+     * Reports the tiles of a row an edge leads to that the opposite search has reached.
+     *
+     * @param cost Cost of the route of this search to the tiles over the edge
+     */
+    private void meet(int region, int row, long tiles, int cost) {
+        final long[] oppositeRows = (long[]) ROWS.getVolatile(opposite.reached, region);
+        if (oppositeRows == null) {
+            return;
+        }
+        final long met = tiles & (long) WORDS.getVolatile(oppositeRows, row);
+        if (met == 0) {
+            return;
+        }
+
+        final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+        final int y = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE + row % REGION_SIZE;
+        for (long remaining = met; remaining != 0; remaining &= remaining - 1) {
+            final int packedPoint = WorldPointUtil.packWorldPoint(baseX + Long.numberOfTrailingZeros(remaining), y,
+                    row / REGION_SIZE);
+            meetingVisitor.meet(packedPoint, cost, opposite.costs.get(packedPoint));
+        }
+    }
+
+    /**
+     * Reports a tile an edge leads to if the opposite search has reached it.
+     *
+     * @param cost Cost of the route of this search to the tile over the edge
+     */
+    private void meet(int packedPoint, int cost) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedPoint);
+        final int region = getRegionIndex(x, y);
+        if (region < 0 || region >= planes.length || plane >= planes[region]) {
+            return;
+        }
+
+        final long[] oppositeRows = (long[]) ROWS.getVolatile(opposite.reached, region);
+        if (oppositeRows != null && ((long) WORDS.getVolatile(oppositeRows, y % REGION_SIZE + plane * REGION_SIZE)
+                & 1L << (x % REGION_SIZE)) != 0) {
+            meetingVisitor.meet(packedPoint, cost, opposite.costs.get(packedPoint));
+        }
+    }
+
+    private int getRegionIndex(int x, int y) {
+        return (x / REGION_SIZE - regionExtents.getMinX()) + (y / REGION_SIZE - regionExtents.getMinY()) * widthInclusive;
+    }
+
+    /**
+     * The words reported by a search with their cost, kept to fill in the costs of a {@link ReachableSet}.
+     */
+    private final class CostLog implements WordVisitor {
+        private int[] regions = new int[1024];
+        private int[] rows = new int[1024];
+        private long[] tiles = new long[1024];
+        private int[] costs = new int[1024];
+        private int size;
+
+        @Override
+        public void visit(int cost, int x, int y, int plane, long tiles) {
+            if (size == regions.length) {
+                regions = Arrays.copyOf(regions, 2 * size);
+                rows = Arrays.copyOf(rows, 2 * size);
+                this.tiles = Arrays.copyOf(this.tiles, 2 * size);
+                costs = Arrays.copyOf(costs, 2 * size);
+            }
+            regions[size] = getRegionIndex(x, y);
+            rows[size] = y % REGION_SIZE + plane * REGION_SIZE;
+            this.tiles[size] = tiles;
+            costs[size] = cost;
+            size++;
+        }
+    }
+
+    /**
+     * Expands a range of the regions of the current level, splitting it between the threads of the pool.
+     */
+    private final class ExpandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int cost;
+        private final int maxCost;
+
+        ExpandTask(int from, int to, int cost, int maxCost) {
+            this.from = from;
+            this.to = to;
+            this.cost = cost;
+            this.maxCost = maxCost;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_REGIONS) {
+                for (int i = from; i < to; i++) {
+                    expandRegion(current.regions[i], cost, maxCost, true);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ExpandTask(from, middle, cost, maxCost), new ExpandTask(middle, to, cost, maxCost));
+        }
+    }
+
+    /**
+     * The tiles of one cost level, as region plane rows. The rows of a region are kept once allocated.
+     */
+    private final class Level {
+        private final long[][] rows;
+        private final boolean[] listed;
+        private final int[] regions;
+        private final AtomicInteger listedCount = new AtomicInteger();
+        private int regionCount;
+
+        Level(int regions) {
+            this.rows = new long[regions][];
+            this.listed = new boolean[regions];
+            this.regions = new int[regions];
+        }
+
+        void or(int region, int row, long tiles) {
+            if (!listed[region]) {
+                if (rows[region] == null) {
+                    rows[region] = new long[planes[region] * REGION_SIZE];
+                }
+                regions[regionCount++] = region;
+                listed[region] = true;
+            }
+            rows[region][row] |= tiles;
+        }
+
+        /**
+         * Like {@link #or}, but safe to call from several threads at once while the level is being filled from
+         * empty. {@link #regionCount} is only brought up to date by {@link #publish()}.
+         */
+        void orConcurrently(int region, int row, long tiles) {
+            long[] regionRows = (long[]) ROWS.getVolatile(rows, region);
+            if (regionRows == null) {
+                final long[] created = new long[planes[region] * REGION_SIZE];
+                regionRows = (long[]) ROWS.compareAndExchange(rows, region, null, created);
+                if (regionRows == null) {
+                    regionRows = created;
+                }
+            }
+            if (!listed[region] && LISTED.compareAndSet(listed, region, false, true)) {
+                regions[listedCount.getAndIncrement()] = region;
+            }
+            if ((regionRows[row] & tiles) != tiles) {
+                WORDS.getAndBitwiseOr(regionRows, row, tiles);
+            }
+        }
+
+        /**
+         * Counts the regions listed by {@link #orConcurrently} once every thread adding to the level is done.
+         */
+        void publish() {
+            regionCount = listedCount.get();
+        }
+
+        void clear() {
+            for (int i = 0; i < regionCount; i++) {
+                Arrays.fill(rows[regions[i]], 0);
+                listed[regions[i]] = false;
+            }
+            regionCount = 0;
+            listedCount.set(0);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.pathfinder.pathfinding.cache;
+
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A route stored in a cache as packed 32-bit integer points, rather than {@link WorldPoint} objects.
+ */
+public class CachedRoute {
+    /**
+     * 32-bit integer representations of the points on the path, from start to target.
+     */
+    private final int[] packedPath;
+
+    /**
+     * Cumulative cost at each point on the path, or {@code null} if only the total cost is known.
+     */
+    private final int[] pathCosts;
+
+    /**
+     * Cumulative cost of the path.
+     */
+    @Getter
+    private final int cost;
+
+    /**
+     * Lower bound proven on the cost of the cheapest route by the search that found this one, or {@code -1} if none
+     * was proven; equal to {@link #cost} if the route is proven cheapest.
+     */
+    @Getter
+    private final int lowerBound;
+
+    /**
+     * Constructs a new {@code CachedRoute} whose per-point costs are unknown.
+     *
+     * @param packedPath 32-bit integer representations of the points on the path
+     * @param cost       Cumulative cost of the path
+     */
+    public CachedRoute(int[] packedPath, int cost) {
+        this.packedPath = packedPath;
+        this.pathCosts = null;
+        this.cost = cost;
+        this.lowerBound = -1;
+    }
+
+    /**
+     * Constructs a new {@code CachedRoute} with the cumulative cost at each point, which allows it to be sliced, and
+     * no proven lower bound.
+     *
+     * @param packedPath 32-bit integer representations of the points on the path
+     * @param pathCosts  Cumulative cost at each point, starting at {@code 0}
+     */
+    public CachedRoute(int[] packedPath, int[] pathCosts) {
+        this(packedPath, pathCosts, -1);
+    }
+
+    /**
+     * Constructs a new {@code CachedRoute} with the cumulative cost at each point, which allows it to be sliced.
+     *
+     * @param packedPath 32-bit integer representations of the points on the path
+     * @param pathCosts  Cumulative cost at each point, starting at {@code 0}
+     * @param lowerBound Lower bound proven on the cost of the cheapest route, or {@code -1} if none was proven
+     */
+    public CachedRoute(int[] packedPath, int[] pathCosts, int lowerBound) {
+        if (packedPath.length != pathCosts.length) {
+            throw new IllegalArgumentException("Path has " + packedPath.length + " points but "
+                    + pathCosts.length + " costs");
+        }
+
+        this.packedPath = packedPath;
+        this.pathCosts = pathCosts;
+        this.cost = pathCosts.length == 0 ? 0 : pathCosts[pathCosts.length - 1] - pathCosts[0];
+        this.lowerBound = lowerBound;
+    }
+
+    /**
+     * Creates a cached route from a path of {@link WorldPoint}s.
+     *
+     * @param path The path, from start to target
+     * @param cost Cumulative cost of the path
+     * @return The packed route
+     */
+    public static CachedRoute of(List<WorldPoint> path, int cost) {
+        return new CachedRoute(pack(path), cost);
+    }
+
+    /**
+     * Creates a sliceable cached route from a path of {@link WorldPoint}s and the cumulative cost at each point.
+     *
+     * @param path      The path, from start to target
+     * @param pathCosts Cumulative cost at each point, e.g. from {@link com.pathfinder.pathfinding.Pathfinder#getPathCosts()}
+     * @return The packed route
+     */
+    public static CachedRoute of(List<WorldPoint> path, int[] pathCosts) {
+        return new CachedRoute(pack(path), pathCosts);
+    }
+
+    /**
+     * Creates a sliceable cached route from a path of {@link WorldPoint}s, the cumulative cost at each point and the
+     * lower bound proven on the cost of the cheapest route.
+     *
+     * @param path       The path, from start to target
+     * @param pathCosts  Cumulative cost at each point, e.g. from
+     *                   {@link com.pathfinder.pathfinding.Pathfinder#getPathCosts()}
+     * @param lowerBound Lower bound proven on the cost of the cheapest route, e.g. from
+     *                   {@link com.pathfinder.pathfinding.Pathfinder#getLowerBound()}, or {@code -1} if none was proven
+     * @return The packed route
+     */
+    public static CachedRoute of(List<WorldPoint> path, int[] pathCosts, int lowerBound) {
+        return new CachedRoute(pack(path), pathCosts, lowerBound);
+    }
+
+    /**
+     * @return {@code true} if the search that found the route proved it cheapest
+     */
+    public boolean isProvenCheapest() {
+        return lowerBound == cost;
+    }
+
+    /**
+     * @return Number of points on the path
+     */
+    public int length() {
+        return packedPath.length;
+    }
+
+    /**
+     * @param index Index of the point on the path
+     * @return 32-bit integer representation of the point
+     */
+    public int getPackedPoint(int index) {
+        return packedPath[index];
+    }
+
+    /**
+     * @param index Index of the point on the path
+     * @return Cumulative cost at the point; only available if the route {@link #isSliceable()}
+     */
+    int getCostAt(int index) {
+        return pathCosts[index];
+    }
+
+    /**
+     * @return {@code true} if the cumulative cost at each point is known, so {@link #slice(int, int)} may be used
+     */
+    public boolean isSliceable() {
+        return pathCosts != null;
+    }
+
+    /**
+     * Returns the part of this route between two of its points, with its costs rebased to start at {@code 0}. Every
+     * part of a route proven cheapest is itself proven cheapest; no bound is known for a part of any other route.
+     *
+     * @param from Index of the first point of the slice
+     * @param to   Index of the last point of the slice, inclusive
+     * @return The sliced route
+     */
+    public CachedRoute slice(int from, int to) {
+        if (pathCosts == null) {
+            throw new IllegalStateException("Route has no per-point costs");
+        }
+        if (from < 0 || to >= packedPath.length || from > to) {
+            throw new IllegalArgumentException("Invalid slice [" + from + ", " + to + "] of a route with "
+                    + packedPath.length + " points");
+        }
+
+        int[] slicedCosts = Arrays.copyOfRange(pathCosts, from, to + 1);
+        int base = slicedCosts[0];
+        for (int i = 0; i < slicedCosts.length; i++) {
+            slicedCosts[i] -= base;
+        }
+        int slicedCost = slicedCosts[slicedCosts.length - 1];
+        return new CachedRoute(Arrays.copyOfRange(packedPath, from, to + 1), slicedCosts,
+                isProvenCheapest() ? slicedCost : -1);
+    }
+
+    /**
+     * Unpacks the path into {@link WorldPoint}s.
+     *
+     * @return A new list of the points on the path
+     */
+    public List<WorldPoint> getPath() {
+        List<WorldPoint> path = new ArrayList<>(packedPath.length);
+        for (int packedPoint : packedPath) {
+            path.add(WorldPointUtil.unpackWorldPoint(packedPoint));
+        }
+        return path;
+    }
+
+    /**
+     * Packs a path of {@link WorldPoint}s into 32-bit integers.
+     */
+    private static int[] pack(List<WorldPoint> path) {
+        int[] packedPath = new int[path.size()];
+        for (int i = 0; i < packedPath.length; i++) {
+            packedPath[i] = WorldPointUtil.packWorldPoint(path.get(i));
+        }
+        return packedPath;
+    }
+}
@@ -0,0 +1,193 @@
+package com.pathfinder.pathfinding.cache;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe least-recently-used cache of computed routes, keyed by {@link RouteCacheKey}.
+ * <p>
+ * Entries are spread over several independently locked segments, each an access-ordered {@link LinkedHashMap}, so
+ * concurrent requests rarely contend. Each segment holds at most its share of {@link #maxEntries}; its least recently
+ * used entry is evicted when full.
+ * <p>
+ * When world data (collision map or transports) changes, {@link #invalidateAll()} empties the cache and advances its
+ * generation. Routes computed against the old data are rejected by {@link #put(RouteCacheKey, CachedRoute, long)}
+ * even if they finish after the invalidation.
+ */
+public class RouteCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Maximum number of entries across all segments.
+     */
+    @Getter
+    private final int maxEntries;
+
+    private final Segment[] segments;
+
+    /**
+     * Incremented on every invalidation.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@code RouteCache}.
+     *
+     * @param maxEntries Maximum number of routes held at once
+     */
+    public RouteCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+
+        this.maxEntries = maxEntries;
+        final int segmentCount = Math.min(SEGMENT_COUNT, maxEntries);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Spread the remainder so the segment capacities add up to maxEntries
+            int capacity = maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0);
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Looks up a cached route.
+     *
+     * @param key The key identifying the route request
+     * @return The cached route, or {@code null} if not present
+     */
+    public CachedRoute get(RouteCacheKey key) {
+        Segment segment = segmentFor(key);
+        CachedRoute route;
+        synchronized (segment) {
+            route = segment.get(key);
+        }
+
+        if (route == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return route;
+    }
+
+    /**
+     * Stores a route, unless the cache was invalidated after the route's computation started.
+     *
+     * @param key        The key identifying the route request
+     * @param route      The computed route
+     * @param generation The value of {@link #getGeneration()} read before the route was computed
+     * @return {@code true} if the route was stored
+     */
+    public boolean put(RouteCacheKey key, CachedRoute route, long generation) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            // Checked under the segment lock, which invalidateAll also takes after advancing the generation
+            if (generation != this.generation.get()) {
+                return false;
+            }
+            segment.put(key, route);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every cached route, e.g. after world data changed.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return The current generation; pass it to {@link #put(RouteCacheKey, CachedRoute, long)}
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @return A snapshot of the cache's size and hit, miss and eviction counts
+     */
+    public Stats getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new Stats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Selects the segment responsible for a key.
+     */
+    private Segment segmentFor(RouteCacheKey key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & 0x7FFFFFFF) % segments.length];
+    }
+
+    /**
+     * A single access-ordered segment of the cache. Callers synchronise on the segment.
+     */
+    private class Segment extends LinkedHashMap<RouteCacheKey, CachedRoute> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteCacheKey, CachedRoute> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Point-in-time metrics of a {@link RouteCache}.
+     */
+    @Getter
+    public static class Stats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        public Stats(int size, long hits, long misses, long evictions) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "size=" + size +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    '}';
+        }
+    }
+}
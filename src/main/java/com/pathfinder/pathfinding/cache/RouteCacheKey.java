@@ -0,0 +1,124 @@
+package com.pathfinder.pathfinding.cache;
+
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Identifies a route request for {@link RouteCache}: the packed start, the packed targets, a fingerprint of the
+ * search options and the player's compiled capability mask.
+ * <p>
+ * The capability mask is compared bit for bit rather than through a hash of it, so two players share cached routes
+ * only if they meet exactly the same transport requirements.
+ */
+public class RouteCacheKey {
+    private final int start;
+    private final int[] targets;
+    private final long optionsFingerprint;
+    private final long[] capabilityMask;
+    private final int hash;
+
+    /**
+     * Constructs a new {@code RouteCacheKey}.
+     *
+     * @param start              32-bit integer representation of the start
+     * @param targets            32-bit integer representations of the targets, in any order
+     * @param optionsFingerprint Fingerprint of the search options, see {@link SearchOptions#fingerprint()}
+     * @param capabilityMask     The player's capabilities, see {@link RequirementLayout#compile}
+     */
+    public RouteCacheKey(int start, int[] targets, long optionsFingerprint, long[] capabilityMask) {
+        this.start = start;
+        this.targets = targets.clone();
+        Arrays.sort(this.targets);
+        this.optionsFingerprint = optionsFingerprint;
+        this.capabilityMask = capabilityMask.clone();
+
+        int result = Integer.hashCode(start);
+        result = 31 * result + Arrays.hashCode(this.targets);
+        result = 31 * result + Long.hashCode(optionsFingerprint);
+        result = 31 * result + Arrays.hashCode(this.capabilityMask);
+        this.hash = result;
+    }
+
+    /**
+     * Creates a key for a route request.
+     *
+     * @param start            The starting world point
+     * @param targets          One or more target world points
+     * @param options          Per-request options for the search
+     * @param capabilityMask The player's capabilities, see {@link RequirementLayout#compile}
+     * @return The key identifying the request
+     */
+    public static RouteCacheKey of(WorldPoint start, List<WorldPoint> targets, SearchOptions options,
+                                   long[] capabilityMask) {
+        int[] packedTargets = new int[targets.size()];
+        for (int i = 0; i < packedTargets.length; i++) {
+            packedTargets[i] = WorldPointUtil.packWorldPoint(targets.get(i));
+        }
+        return new RouteCacheKey(WorldPointUtil.packWorldPoint(start), packedTargets,
+                options.fingerprint(), capabilityMask);
+    }
+
+    /**
+     * @return 32-bit integer representation of the start
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * @return Number of targets
+     */
+    int getTargetCount() {
+        return targets.length;
+    }
+
+    /**
+     * @param index Index of the target, in ascending packed order
+     * @return 32-bit integer representation of the target
+     */
+    int getTarget(int index) {
+        return targets[index];
+    }
+
+    long getOptionsFingerprint() {
+        return optionsFingerprint;
+    }
+
+    /**
+     * @return The player's capabilities; must not be modified
+     */
+    long[] getCapabilityMask() {
+        return capabilityMask;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof RouteCacheKey)) return false;
+        RouteCacheKey other = (RouteCacheKey) obj;
+        return start == other.start &&
+                optionsFingerprint == other.optionsFingerprint &&
+                Arrays.equals(targets, other.targets) &&
+                Arrays.equals(capabilityMask, other.capabilityMask);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteCacheKey{" +
+                "start=" + WorldPointUtil.unpackWorldPoint(start) +
+                ", targets=" + targets.length +
+                ", optionsFingerprint=" + optionsFingerprint +
+                ", capabilityMask=" + Arrays.toString(capabilityMask) +
+                '}';
+    }
+}
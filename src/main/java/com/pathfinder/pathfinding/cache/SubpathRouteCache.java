@@ -0,0 +1,286 @@
+package com.pathfinder.pathfinding.cache;
+
+import com.pathfinder.util.PrimitiveIntHashMap;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache that answers route requests from any stretch of a previously computed route.
+ * <p>
+ * Every point of a stored route is indexed (tile to route and position). A request is answered when its start and one
+ * of its targets both lie on a stored route, in that order, computed with the same search options and player
+ * capabilities; the answer is the slice of the route between them. As every part of a shortest route is itself a
+ * shortest route, one search along a popular corridor (e.g. Varrock to the Grand Exchange) serves every request
+ * along it.
+ * <p>
+ * That only holds for complete routes from searches that are not restricted relative to their start (such as a
+ * {@link com.pathfinder.pathfinding.SearchOptions#getMaxRadius() maximum radius}); callers must not store any
+ * other routes. Routes must carry their per-point costs (see {@link CachedRoute#isSliceable()}).
+ * <p>
+ * The cache holds at most {@link #maxPoints} indexed points; the least recently used routes are evicted, along with
+ * their index entries, to make room. Like {@link RouteCache}, it is emptied by {@link #invalidateAll()} whenever
+ * world data changes.
+ */
+public class SubpathRouteCache {
+    /**
+     * Longest route that can be stored, as slice positions are packed into 16 bits.
+     */
+    private static final int MAX_ROUTE_LENGTH = 0xFFFF;
+
+    /**
+     * Maximum number of route points indexed at once.
+     */
+    @Getter
+    private final int maxPoints;
+
+    /**
+     * Stored routes by ID, in access order.
+     */
+    private final LinkedHashMap<Integer, IndexedRoute> routes = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Stored routes by ID, for lookups that must not affect the access order.
+     */
+    private final PrimitiveIntHashMap<IndexedRoute> routesById = new PrimitiveIntHashMap<>(64);
+
+    /**
+     * Index from packed tile to the routes passing through it, each entry packed as {@code (routeId << 32) | position}.
+     */
+    private final PrimitiveIntHashMap<long[]> tileIndex = new PrimitiveIntHashMap<>(1 << 12);
+
+    /**
+     * Number of route points currently indexed.
+     */
+    private int indexedPoints;
+
+    private int nextRouteId;
+
+    /**
+     * Incremented on every invalidation.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@code SubpathRouteCache}.
+     *
+     * @param maxPoints Maximum number of route points indexed at once
+     */
+    public SubpathRouteCache(int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one point");
+        }
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Looks for a stored route passing through the request's start and then one of its targets.
+     *
+     * @param key The key identifying the route request
+     * @return The cheapest matching slice of a stored route, or {@code null} if there is none
+     */
+    public synchronized CachedRoute get(RouteCacheKey key) {
+        long match = findSlice(key);
+        if (match == -1) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        IndexedRoute indexed = routes.get(routeId(match)); // Marks the route as recently used
+        return indexed.route.slice(startPosition(match), endPosition(match));
+    }
+
+    /**
+     * Stores and indexes a route, unless the cache was invalidated after the route's computation started or the
+     * route is already covered by a stored one.
+     *
+     * @param key        The key of the request the route answers
+     * @param route      The computed route, complete and with per-point costs
+     * @param generation The value of {@link #getGeneration()} read before the route was computed
+     * @return {@code true} if the route was stored
+     */
+    public synchronized boolean put(RouteCacheKey key, CachedRoute route, long generation) {
+        if (!route.isSliceable()) {
+            throw new IllegalArgumentException("Only routes with per-point costs can be sliced");
+        }
+        if (generation != this.generation.get() || route.length() == 0
+                || route.length() > Math.min(maxPoints, MAX_ROUTE_LENGTH)) {
+            return false;
+        }
+
+        // A route whose endpoints already lie on a stored route adds nothing
+        RouteCacheKey endpoints = new RouteCacheKey(route.getPackedPoint(0),
+                new int[]{route.getPackedPoint(route.length() - 1)},
+                key.getOptionsFingerprint(), key.getCapabilityMask());
+        if (findSlice(endpoints) != -1) {
+            return false;
+        }
+
+        Iterator<IndexedRoute> eldest = routes.values().iterator();
+        while (indexedPoints + route.length() > maxPoints) {
+            IndexedRoute evicted = eldest.next();
+            eldest.remove();
+            routesById.remove(evicted.id);
+            unindex(evicted);
+            evictions.increment();
+        }
+
+        IndexedRoute indexed = new IndexedRoute(nextRouteId++, route,
+                key.getOptionsFingerprint(), key.getCapabilityMask());
+        routes.put(indexed.id, indexed);
+        routesById.put(indexed.id, indexed);
+        for (int position = 0; position < route.length(); position++) {
+            int tile = route.getPackedPoint(position);
+            long[] entries = tileIndex.get(tile);
+            long[] grown = entries == null ? new long[1] : Arrays.copyOf(entries, entries.length + 1);
+            grown[grown.length - 1] = ((long) indexed.id << 32) | position;
+            tileIndex.put(tile, grown);
+        }
+        indexedPoints += route.length();
+        return true;
+    }
+
+    /**
+     * Removes every stored route, e.g. after world data changed.
+     */
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        routes.clear();
+        routesById.clear();
+        tileIndex.clear();
+        indexedPoints = 0;
+    }
+
+    /**
+     * @return The current generation; pass it to {@link #put(RouteCacheKey, CachedRoute, long)}
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @return A snapshot of the number of stored routes and the hit, miss and eviction counts
+     */
+    public synchronized RouteCache.Stats getStats() {
+        return new RouteCache.Stats(routes.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * @return Number of route points currently indexed
+     */
+    public synchronized int getIndexedPoints() {
+        return indexedPoints;
+    }
+
+    /**
+     * Finds the cheapest slice answering a request, without affecting the access order.
+     *
+     * @return The slice packed as {@code (routeId << 32) | (startPosition << 16) | endPosition} with unsigned
+     *         positions, or {@code -1} if there is none
+     */
+    private long findSlice(RouteCacheKey key) {
+        long[] startEntries = tileIndex.get(key.getStart());
+        if (startEntries == null) {
+            return -1;
+        }
+
+        long best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int t = 0; t < key.getTargetCount(); t++) {
+            long[] targetEntries = tileIndex.get(key.getTarget(t));
+            if (targetEntries == null) {
+                continue;
+            }
+
+            for (long startEntry : startEntries) {
+                for (long targetEntry : targetEntries) {
+                    int id = (int) (startEntry >>> 32);
+                    int from = (int) startEntry;
+                    int to = (int) targetEntry;
+                    if ((int) (targetEntry >>> 32) != id || to < from) {
+                        continue;
+                    }
+
+                    IndexedRoute indexed = routesById.get(id);
+                    if (indexed.optionsFingerprint != key.getOptionsFingerprint()
+                            || !Arrays.equals(indexed.capabilityMask, key.getCapabilityMask())) {
+                        continue;
+                    }
+
+                    int cost = indexed.route.getCostAt(to) - indexed.route.getCostAt(from);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        best = ((long) id << 32) | ((long) from << 16) | to;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Removes a route's points from the tile index.
+     */
+    private void unindex(IndexedRoute indexed) {
+        CachedRoute route = indexed.route;
+        for (int position = 0; position < route.length(); position++) {
+            int tile = route.getPackedPoint(position);
+            long[] entries = tileIndex.get(tile);
+            if (entries == null) {
+                continue;
+            }
+
+            int kept = 0;
+            for (long entry : entries) {
+                if ((int) (entry >>> 32) != indexed.id) {
+                    entries[kept++] = entry;
+                }
+            }
+
+            if (kept == 0) {
+                tileIndex.remove(tile);
+            } else if (kept < entries.length) {
+                tileIndex.put(tile, Arrays.copyOf(entries, kept));
+            }
+        }
+        indexedPoints -= route.length();
+    }
+
+    private static int routeId(long slice) {
+        return (int) (slice >>> 32);
+    }
+
+    private static int startPosition(long slice) {
+        return (int) (slice >>> 16) & 0xFFFF;
+    }
+
+    private static int endPosition(long slice) {
+        return (int) slice & 0xFFFF;
+    }
+
+    /**
+     * A stored route with the search options fingerprint and capability mask it was computed under.
+     */
+    private static class IndexedRoute {
+        private final int id;
+        private final CachedRoute route;
+        private final long optionsFingerprint;
+        private final long[] capabilityMask;
+
+        IndexedRoute(int id, CachedRoute route, long optionsFingerprint, long[] capabilityMask) {
+            this.id = id;
+            this.route = route;
+            this.optionsFingerprint = optionsFingerprint;
+            this.capabilityMask = capabilityMask;
+        }
+    }
+}
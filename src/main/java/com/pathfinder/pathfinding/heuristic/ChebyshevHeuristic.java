@@ -0,0 +1,41 @@
+package com.pathfinder.pathfinding.heuristic;
+
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * A {@link Heuristic} estimating the Chebyshev distance to the nearest target, ignoring the plane.
+ * <p>
+ * Every walking step, transport and network edge costs at least the Chebyshev distance it covers (see
+ * {@link com.pathfinder.pathfinding.transports.Transport#getCost()}), so the estimate is admissible and consistent
+ * for routes without teleports.
+ */
+public class ChebyshevHeuristic implements Heuristic {
+    /**
+     * 32-bit integer representations of the targets.
+     */
+    private final int[] targetsPacked;
+
+    /**
+     * Constructs a {@code ChebyshevHeuristic} for the given targets.
+     *
+     * @param targets One or more targets of the search
+     */
+    public ChebyshevHeuristic(List<WorldPoint> targets) {
+        this.targetsPacked = new int[targets.size()];
+        for (int i = 0; i < targetsPacked.length; i++) {
+            targetsPacked[i] = WorldPointUtil.packWorldPoint(targets.get(i));
+        }
+    }
+
+    @Override
+    public int estimate(int packedPoint) {
+        int distance = Integer.MAX_VALUE;
+        for (int target : targetsPacked) {
+            distance = Math.min(distance, WorldPointUtil.distanceBetween(packedPoint, target));
+        }
+        return distance;
+    }
+}
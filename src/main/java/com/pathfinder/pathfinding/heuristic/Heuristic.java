@@ -0,0 +1,16 @@
+package com.pathfinder.pathfinding.heuristic;
+
+/**
+ * Estimates the cost remaining from a tile to the nearest target of a search, used to guide an A* search.
+ * <p>
+ * Estimates must be admissible (never above the true remaining cost) for the search to find the cheapest route,
+ * and consistent (an edge's cost is never below the drop in estimate along it) for each tile to be expanded once.
+ */
+@FunctionalInterface
+public interface Heuristic {
+    /**
+     * @param packedPoint 32-bit integer representation of the tile
+     * @return A lower bound on the cost from the tile to the nearest target
+     */
+    int estimate(int packedPoint);
+}
@@ -0,0 +1,80 @@
+package com.pathfinder.pathfinding.heuristic;
+
+import com.pathfinder.pathfinding.precompute.Landmarks;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * A {@link Heuristic} using the triangle inequality lower bounds of precomputed {@link Landmarks}, never below the
+ * Chebyshev distance.
+ * <p>
+ * Landmark costs account for walls, detours and transports, so on routes through dungeons or around obstacles the
+ * estimate is far closer to the true cost than the straight-line distance, and a guided search expands far fewer
+ * tiles. Both bounds are admissible and consistent for routes without teleports, and so is their maximum. Tiles
+ * the landmarks were not computed for fall back to the Chebyshev distance.
+ */
+public class LandmarkHeuristic implements Heuristic {
+    private final Landmarks landmarks;
+    private final TileIndex tileIndex;
+
+    /**
+     * 32-bit integer representations of the targets.
+     */
+    private final int[] targetsPacked;
+
+    /**
+     * Stored costs from each landmark to each target, and from each target to each landmark; {@code null} rows for
+     * targets the landmarks were not computed for.
+     */
+    private final int[][] targetForward;
+    private final int[][] targetReverse;
+
+    /**
+     * Constructs a {@code LandmarkHeuristic} for the given targets.
+     *
+     * @param landmarks The precomputed landmarks
+     * @param targets   One or more targets of the search
+     */
+    public LandmarkHeuristic(Landmarks landmarks, List<WorldPoint> targets) {
+        this.landmarks = landmarks;
+        this.tileIndex = landmarks.getTileIndex();
+        this.targetsPacked = new int[targets.size()];
+        this.targetForward = new int[targets.size()][];
+        this.targetReverse = new int[targets.size()][];
+        for (int i = 0; i < targetsPacked.length; i++) {
+            targetsPacked[i] = WorldPointUtil.packWorldPoint(targets.get(i));
+            int target = tileIndex.indexOf(targetsPacked[i]);
+            if (target < 0) {
+                continue;
+            }
+
+            targetForward[i] = new int[landmarks.getLandmarkCount()];
+            targetReverse[i] = new int[landmarks.getLandmarkCount()];
+            for (int landmark = 0; landmark < landmarks.getLandmarkCount(); landmark++) {
+                targetForward[i][landmark] = landmarks.getForward(landmark, target);
+                targetReverse[i][landmark] = landmarks.getReverse(landmark, target);
+            }
+        }
+    }
+
+    @Override
+    public int estimate(int packedPoint) {
+        final int tile = tileIndex.indexOf(packedPoint);
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < targetsPacked.length; i++) {
+            int bound = WorldPointUtil.distanceBetween(packedPoint, targetsPacked[i]);
+            if (tile >= 0 && targetForward[i] != null) {
+                for (int landmark = 0; landmark < targetForward[i].length; landmark++) {
+                    bound = Math.max(bound, landmarks.lowerBound(landmark,
+                            landmarks.getForward(landmark, tile), targetForward[i][landmark],
+                            landmarks.getReverse(landmark, tile), targetReverse[i][landmark]));
+                }
+            }
+            estimate = Math.min(estimate, bound);
+        }
+        return estimate;
+    }
+}
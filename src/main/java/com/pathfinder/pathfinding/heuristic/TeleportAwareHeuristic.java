@@ -0,0 +1,70 @@
+package com.pathfinder.pathfinding.heuristic;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.transports.Teleport;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * A {@link Heuristic} taking the cheaper of a route without teleports and a route through a teleport.
+ * <p>
+ * Teleports are the only edges cheaper than the distance they cover, so they are left out of the estimates of
+ * heuristics such as {@link ChebyshevHeuristic} or {@link LandmarkHeuristic}. As teleports can be cast from
+ * anywhere, the cheapest route through one costs at least the teleport plus the estimate from its destination,
+ * wherever the search is. The estimate is the lower of the two, which is admissible and consistent whenever the
+ * estimate without teleports is.
+ * <p>
+ * The teleport bound ignores the wilderness level a teleport may be cast from, which can only lower the estimate.
+ */
+public class TeleportAwareHeuristic implements Heuristic {
+    /**
+     * Estimate for routes without teleports.
+     */
+    private final Heuristic direct;
+
+    /**
+     * Lowest estimate of reaching a target through a usable teleport, from anywhere; {@link Integer#MAX_VALUE} if
+     * teleports are not used.
+     */
+    @Getter
+    private final int teleportBound;
+
+    /**
+     * Constructs a {@code TeleportAwareHeuristic} estimating routes without teleports by Chebyshev distance.
+     *
+     * @param config       Pathfinding configuration providing the teleports and the player's capabilities
+     * @param targets      One or more targets of the search
+     * @param useTeleports Whether the search may take teleports
+     */
+    public TeleportAwareHeuristic(PathfinderConfig config, List<WorldPoint> targets, boolean useTeleports) {
+        this(config, new ChebyshevHeuristic(targets), useTeleports);
+    }
+
+    /**
+     * Constructs a {@code TeleportAwareHeuristic}.
+     *
+     * @param config       Pathfinding configuration providing the teleports and the player's capabilities
+     * @param direct       Estimate for routes without teleports
+     * @param useTeleports Whether the search may take teleports
+     */
+    public TeleportAwareHeuristic(PathfinderConfig config, Heuristic direct, boolean useTeleports) {
+        this.direct = direct;
+
+        int bound = Integer.MAX_VALUE;
+        if (useTeleports) {
+            for (Teleport teleport : config.getTeleports()) {
+                if (config.isUsable(teleport.getRequirementMask())) {
+                    bound = Math.min(bound, teleport.getCost() + direct.estimate(teleport.getPackedDestination()));
+                }
+            }
+        }
+        this.teleportBound = bound;
+    }
+
+    @Override
+    public int estimate(int packedPoint) {
+        return Math.min(direct.estimate(packedPoint), teleportBound);
+    }
+}
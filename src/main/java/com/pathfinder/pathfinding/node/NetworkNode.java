@@ -0,0 +1,47 @@
+package com.pathfinder.pathfinding.node;
+
+import com.pathfinder.pathfinding.transports.TransportNetwork;
+import lombok.Getter;
+
+/**
+ * A {@code NetworkNode} is a {@link TransportNode} reached through a {@link TransportNetwork}, such as the fairy rings.
+ *
+ * <p>Rather than queueing a node for every destination of the network when a stop is expanded, a single
+ * {@code NetworkNode} is queued for the cheapest destination. Once it is taken from the queue, a node for the next
+ * cheapest destination takes its place, so the queue holds at most one entry per expanded stop. As with other
+ * transport nodes, its cost is the cost of the previous node plus {@link TransportNetwork#getCost(int, int)}.</p>
+ */
+@Getter
+public class NetworkNode extends TransportNode {
+    /**
+     * The network travelled through.
+     */
+    private final TransportNetwork network;
+
+    /**
+     * Index of the stop departed from, i.e. the stop at the previous node.
+     */
+    private final int origin;
+
+    /**
+     * Rank of this node's destination among the destinations of {@link #origin}, see
+     * {@link TransportNetwork#getDestination(int, int)}.
+     */
+    private final int rank;
+
+    /**
+     * Constructs a {@code NetworkNode} for the {@code rank}-th cheapest destination of a stop.
+     *
+     * @param network  The network travelled through
+     * @param origin   Index of the stop departed from
+     * @param rank     Rank of the destination among the destinations of {@code origin}
+     * @param previous The node at the stop departed from
+     */
+    public NetworkNode(TransportNetwork network, int origin, int rank, Node previous) {
+        super(network.getPackedStop(network.getDestination(origin, rank)), previous,
+                network.getTransportType().getAdditionalCost());
+        this.network = network;
+        this.origin = origin;
+        this.rank = rank;
+    }
+}
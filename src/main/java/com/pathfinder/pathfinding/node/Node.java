@@ -15,6 +15,8 @@ import java.util.List;
  * and performance. The path from start to current node can be reconstructed using the {@link #getPath()} method.</p>
  */
 public class Node {
+    private static final int[] NO_TILES = new int[0];
+
     /**
      * 32-bit integer representation of the {@link WorldPoint} associated with the node.
      */
@@ -91,12 +93,49 @@ public class Node {
         while (node != null) {
             WorldPoint position = WorldPointUtil.unpackWorldPoint(node.packedWP);
             path.add(0, position);
+            int[] skipped = node.getSkippedTiles();
+            for (int i = skipped.length - 1; i >= 0; i--) {
+                path.add(0, WorldPointUtil.unpackWorldPoint(skipped[i]));
+            }
             node = node.previous;
         }
 
         return new ArrayList<>(path);
     }
 
+    /**
+     * Returns the cumulative cost at every node of the path from the start node to this node, matching the points
+     * returned by {@link #getPath()}.
+     *
+     * @return Cumulative costs, from the start node ({@code 0} for a fresh search) to this node
+     */
+    public int[] getPathCosts() {
+        int length = 0;
+        for (Node node = this; node != null; node = node.previous) {
+            length += 1 + node.getSkippedTiles().length;
+        }
+
+        int[] costs = new int[length];
+        for (Node node = this; node != null; node = node.previous) {
+            costs[--length] = node.cost;
+            // Each skipped tile is one step further than the one before it
+            for (int i = node.getSkippedTiles().length; i > 0; i--) {
+                costs[--length] = node.previous.cost + i;
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Returns the tiles walked through between the previous node and this one, which are not nodes of their own.
+     * Nodes reached by a single step or by a transport skip no tiles.
+     *
+     * @return 32-bit integer representations of the skipped tiles, in the order they are walked through
+     */
+    protected int[] getSkippedTiles() {
+        return NO_TILES;
+    }
+
     /**
      * Calculates the cumulative cost to reach this node from the start node according to transport type.
      *
@@ -0,0 +1,32 @@
+package com.pathfinder.pathfinding.node;
+
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A {@code SeedNode} is the first node of a path, at one of the starting points of a search.
+ *
+ * <p>Its cost is the initial cost of the starting point rather than {@code 0}, so the routes from every starting
+ * point can be compared in a single search. It extends {@link TransportNode} so that seeds with a cost can wait in
+ * the priority queue alongside transports.</p>
+ */
+@Getter
+public class SeedNode extends TransportNode {
+    /**
+     * Index of the starting point among those of the search.
+     */
+    private final int seedIndex;
+
+    /**
+     * Constructs a {@code SeedNode}.
+     *
+     * @param position    The starting point
+     * @param initialCost Cost already spent reaching the starting point
+     * @param seedIndex   Index of the starting point among those of the search
+     */
+    public SeedNode(WorldPoint position, int initialCost, int seedIndex) {
+        super(WorldPointUtil.packWorldPoint(position), null, initialCost);
+        this.seedIndex = seedIndex;
+    }
+}
@@ -0,0 +1,39 @@
+package com.pathfinder.pathfinding.node;
+
+import com.pathfinder.util.WorldPointUtil;
+
+/**
+ * A {@code StraightNode} is reached by walking from the previous node in a straight line, diagonally and then along
+ * a row or column, through tiles known to be freely walkable, such as those of an empty rectangle.
+ *
+ * <p>Its cost is the cost of the previous node plus one per step, the distance between the two nodes. The tiles
+ * walked through are not nodes of their own, but are filled in by {@link #getPath()}.</p>
+ */
+public class StraightNode extends Node {
+    /**
+     * Constructs a {@code StraightNode} for a straight walk from the given node.
+     *
+     * @param packedWP 32-bit integer representation of the tile walked to
+     * @param previous The node walked from
+     */
+    public StraightNode(int packedWP, Node previous) {
+        super(packedWP, previous);
+    }
+
+    @Override
+    protected int[] getSkippedTiles() {
+        int x = WorldPointUtil.unpackWorldX(previous.packedWP);
+        int y = WorldPointUtil.unpackWorldY(previous.packedWP);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedWP);
+        final int targetX = WorldPointUtil.unpackWorldX(packedWP);
+        final int targetY = WorldPointUtil.unpackWorldY(packedWP);
+
+        int[] tiles = new int[Math.max(WorldPointUtil.distanceBetween(previous.packedWP, packedWP) - 1, 0)];
+        for (int i = 0; i < tiles.length; i++) {
+            x += Integer.signum(targetX - x);
+            y += Integer.signum(targetY - y);
+            tiles[i] = WorldPointUtil.packWorldPoint(x, y, plane);
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,32 @@
+package com.pathfinder.pathfinding.node;
+
+import com.pathfinder.pathfinding.transports.Teleport;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+/**
+ * A {@code TeleportNode} is a {@link TransportNode} reached by a {@link Teleport} cast at the previous node.
+ *
+ * <p>Its cost is the cost of the previous node plus the fixed {@link Teleport#getCost()}, regardless of the distance
+ * between the two nodes.</p>
+ */
+@Getter
+public class TeleportNode extends TransportNode {
+    /**
+     * The teleport taken.
+     */
+    private final Teleport teleport;
+
+    /**
+     * Constructs a {@code TeleportNode} for a teleport cast at the given node.
+     *
+     * @param teleport The teleport taken
+     * @param previous The node the teleport is cast from
+     */
+    public TeleportNode(Teleport teleport, Node previous) {
+        // Node adds the distance travelled to the additional cost, which a teleport does not pay
+        super(teleport.getPackedDestination(), previous,
+                teleport.getCost() - WorldPointUtil.distanceBetween(previous.packedWP, teleport.getPackedDestination()));
+        this.teleport = teleport;
+    }
+}
@@ -22,6 +22,18 @@ public class TransportNode extends Node implements Comparable<TransportNode> {
         super(worldPoint, previous, additionalCost);
     }
 
+    /**
+     * Constructs a {@code TransportNode} from a 32-bit integer representation of a {@link WorldPoint}, a reference
+     * to the previous {@link Node}, and an additional cost to travel to the node.
+     *
+     * @param packedWP       32-bit integer representation of this node's position
+     * @param previous       The previous node in the path; may be {@code null} if this is the starting node
+     * @param additionalCost The additional cost associated with this node
+     */
+    public TransportNode(int packedWP, Node previous, int additionalCost) {
+        super(packedWP, previous, additionalCost);
+    }
+
     /**
      * Compares this {@code TransportNode} to another based on cumulative pathfinding cost.
      *
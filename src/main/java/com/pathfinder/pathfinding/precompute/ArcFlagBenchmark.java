@@ -0,0 +1,101 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Offline tool measuring the speedup of {@link ArcFlags} on the routes of {@value #CORPUS}.
+ * <p>
+ * Every route is searched by the guided search with and without arc flags, with every requirement met. The costs
+ * must match; the time taken and the number of nodes expanded are printed for both. Arc flags are read from the
+ * {@link PrecomputedData} directory, as by any search.
+ */
+public class ArcFlagBenchmark {
+    private static final String CORPUS = "route-corpus.csv";
+
+    public static void main(String[] args) {
+        PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        ArcFlags arcFlags = ArcFlags.shared(config);
+        if (arcFlags == null || !arcFlags.isApplicable(config)) {
+            throw new IllegalStateException("No arc flags matching the benchmark's capabilities in "
+                    + PrecomputedData.getDataDirectory());
+        }
+
+        List<WorldPoint[]> routes = readCorpus();
+        long[] totalMillis = new long[2];
+        long[] totalExpanded = new long[2];
+        int mismatches = 0;
+        for (WorldPoint[] route : routes) {
+            Pathfinder[] results = new Pathfinder[2];
+            long[] millis = new long[2];
+            for (int i = 0; i < 2; i++) {
+                SearchOptions options = new SearchOptions();
+                options.setGuided(true);
+                options.setUseArcFlags(i == 1);
+                results[i] = new Pathfinder(config, route[0], List.of(route[1]), options);
+
+                long startNanos = System.nanoTime();
+                results[i].run();
+                millis[i] = (System.nanoTime() - startNanos) / 1_000_000;
+                totalMillis[i] += millis[i];
+                totalExpanded[i] += results[i].getExpandedNodes();
+            }
+
+            boolean match = results[0].getCost() == results[1].getCost()
+                    && results[0].isTargetReached() == results[1].isTargetReached();
+            if (!match) {
+                mismatches++;
+            }
+            System.out.println(route[0] + " -> " + route[1] + ": cost " + results[0].getCost()
+                    + (match ? "" : " (" + results[1].getCost() + " with arc flags)")
+                    + ", " + millis[0] + " ms / " + results[0].getExpandedNodes() + " expanded without arc flags"
+                    + ", " + millis[1] + " ms / " + results[1].getExpandedNodes() + " expanded with");
+        }
+
+        System.out.println(routes.size() + " routes, " + mismatches + " cost mismatches: "
+                + totalMillis[0] + " ms / " + totalExpanded[0] + " expanded without arc flags, "
+                + totalMillis[1] + " ms / " + totalExpanded[1] + " expanded with");
+    }
+
+    /**
+     * @return Start and target of every route in the corpus
+     */
+    private static List<WorldPoint[]> readCorpus() {
+        InputStream inputStream = Objects.requireNonNull(
+                ArcFlagBenchmark.class.getClassLoader().getResourceAsStream(CORPUS), CORPUS);
+        List<WorldPoint[]> routes = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.readLine(); // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                routes.add(new WorldPoint[]{parsePoint(fields[0]), parsePoint(fields[1])});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return routes;
+    }
+
+    private static WorldPoint parsePoint(String field) {
+        String[] coordinates = field.trim().split(" ");
+        return new WorldPoint(Integer.parseInt(coordinates[0]), Integer.parseInt(coordinates[1]),
+                Integer.parseInt(coordinates[2]));
+    }
+}
@@ -0,0 +1,187 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.CollisionMap;
+import com.pathfinder.pathfinding.OrdinalDirection;
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.transports.Transport;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline tool computing {@link ArcFlags} over partitions of {@value #GROUP_SIZE} by {@value #GROUP_SIZE} regions.
+ * <p>
+ * For each partition, every edge leaving one of its tiles is flagged, and a reverse search is run from each of its
+ * boundary tiles (those with an incoming edge from another partition): every edge on a cheapest route to that tile
+ * is flagged, ties included. A cheapest route into a partition enters it through a boundary tile, so every one of its
+ * edges is flagged.
+ * <p>
+ * That is one search over the whole map per boundary tile, which is far too slow to run on a whim, so partitions can
+ * be computed selectively. Partitions left out have every edge flagged, which is always correct but skips nothing.
+ * <p>
+ * Usage: {@code ArcFlagPrecompute [output directory] [partition...]}, defaulting to the {@link PrecomputedData}
+ * directory and every partition. Flags are computed with every requirement met.
+ */
+public class ArcFlagPrecompute {
+    /**
+     * Width and height of a partition, in regions.
+     */
+    private static final int GROUP_SIZE = 8;
+
+    private static final int DIRECTIONS = OrdinalDirection.values().length;
+
+    private final PathfinderConfig config;
+    private final CollisionMap map;
+    private final TileIndex tileIndex;
+    private final RegionPartition partition;
+    private final GraphSearch search;
+    private final int words;
+
+    /**
+     * Flag vector of each step, at {@code ((tile * 8) + direction) * words}.
+     */
+    private final long[] stepFlags;
+
+    /**
+     * Flag vector of the transports between each pair of tiles.
+     */
+    private final Map<Long, long[]> transportFlags = new HashMap<>();
+
+    private ArcFlagPrecompute(PathfinderConfig config) {
+        this.config = config;
+        this.map = config.getMap();
+        this.tileIndex = new TileIndex(map, config.getTransportGraph());
+        this.partition = RegionPartition.of(tileIndex, GROUP_SIZE);
+        this.search = new GraphSearch(config, tileIndex);
+        this.words = ArcFlags.wordsFor(partition);
+        this.stepFlags = new long[tileIndex.size() * DIRECTIONS * words];
+
+        for (int tile = 0; tile < tileIndex.size(); tile++) {
+            int packedTile = tileIndex.getPackedTile(tile);
+            map.forEachNeighbor(packedTile, config, (neighbor, cost, transport) -> {
+                if (transport != null) {
+                    transportFlags.putIfAbsent(ArcFlags.transportKey(packedTile, neighbor), new long[words]);
+                }
+            });
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+        Files.createDirectories(directory);
+
+        PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        ArcFlagPrecompute precompute = new ArcFlagPrecompute(config);
+        System.out.println("Indexed " + precompute.tileIndex.size() + " tiles in " + precompute.partition.size()
+                + " partitions");
+
+        boolean[] selected = new boolean[precompute.partition.size()];
+        for (int i = 1; i < args.length; i++) {
+            selected[Integer.parseInt(args[i])] = true;
+        }
+
+        long[] skipped = new long[precompute.words];
+        for (int p = 0; p < selected.length; p++) {
+            if (args.length > 1 && !selected[p]) {
+                skipped[p >>> 6] |= 1L << p;
+            } else {
+                precompute.computePartition(p);
+            }
+        }
+        precompute.flagEveryEdge(skipped);
+
+        ArcFlags.write(directory.resolve(ArcFlags.FILE_NAME), precompute.tileIndex, precompute.partition,
+                config.getCapabilityMask(), precompute.stepFlags, precompute.transportFlags);
+    }
+
+    /**
+     * Flags every edge on a cheapest route into a partition.
+     */
+    private void computePartition(int p) {
+        long startMillis = System.currentTimeMillis();
+        final long[] mask = new long[words];
+        mask[p >>> 6] = 1L << p;
+
+        int boundaryTiles = 0;
+        for (int tile = 0; tile < tileIndex.size(); tile++) {
+            final int packedTile = tileIndex.getPackedTile(tile);
+            if (partition.partitionOf(packedTile) != p) {
+                continue;
+            }
+
+            final int from = tile;
+            map.forEachNeighbor(packedTile, config, (neighbor, cost, transport) ->
+                    flag(from, packedTile, neighbor, transport, mask));
+
+            boolean[] boundary = {false};
+            map.forEachPredecessor(packedTile, config, (predecessor, cost, transport) ->
+                    boundary[0] |= partition.partitionOf(predecessor) != p);
+            if (boundary[0]) {
+                boundaryTiles++;
+                flagCheapestRoutesTo(packedTile, mask);
+            }
+        }
+
+        System.out.println("Partition " + p + ": " + boundaryTiles + " boundary tiles in "
+                + (System.currentTimeMillis() - startMillis) + " ms");
+    }
+
+    /**
+     * Flags every edge on a cheapest route to a tile.
+     */
+    private void flagCheapestRoutesTo(int packedTarget, long[] mask) {
+        final int[] distances = search.distances(packedTarget, true);
+        for (int tile = 0; tile < distances.length; tile++) {
+            final int distance = distances[tile];
+            if (distance == GraphSearch.UNREACHABLE) {
+                continue;
+            }
+
+            final int from = tile;
+            final int packedTile = tileIndex.getPackedTile(tile);
+            map.forEachNeighbor(packedTile, config, (neighbor, cost, transport) -> {
+                int to = tileIndex.indexOf(neighbor);
+                if (to >= 0 && distances[to] != GraphSearch.UNREACHABLE && distance == cost + distances[to]) {
+                    flag(from, packedTile, neighbor, transport, mask);
+                }
+            });
+        }
+    }
+
+    /**
+     * Flags every edge of the graph for the given partitions.
+     */
+    private void flagEveryEdge(long[] mask) {
+        for (int tile = 0; tile < tileIndex.size(); tile++) {
+            final int from = tile;
+            final int packedTile = tileIndex.getPackedTile(tile);
+            map.forEachNeighbor(packedTile, config, (neighbor, cost, transport) ->
+                    flag(from, packedTile, neighbor, transport, mask));
+        }
+    }
+
+    private void flag(int from, int packedFrom, int packedTo, Transport transport, long[] mask) {
+        long[] flags;
+        int offset;
+        if (transport != null) {
+            flags = transportFlags.get(ArcFlags.transportKey(packedFrom, packedTo));
+            offset = 0;
+        } else {
+            flags = stepFlags;
+            offset = (from * DIRECTIONS + ArcFlags.direction(packedFrom, packedTo)) * words;
+        }
+
+        for (int word = 0; word < words; word++) {
+            flags[offset + word] |= mask[word];
+        }
+    }
+}
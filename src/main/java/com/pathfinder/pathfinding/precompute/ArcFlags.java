@@ -0,0 +1,380 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.OrdinalDirection;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arc flags over a {@link RegionPartition}: for every walking step and transport, one bit per partition telling
+ * whether the edge lies on some cheapest route into that partition. A search for a target may skip every edge whose
+ * bit for the target's partition is unset, without changing the cost of the route it finds.
+ * <p>
+ * Flags are computed offline by {@link ArcFlagPrecompute} for one set of player capabilities, and only hold for
+ * searches over exactly that graph: a player who cannot use some transport, or a search avoiding the wilderness,
+ * may need edges that are never on a cheapest route of the full graph. See {@link #isApplicable(PathfinderConfig)}.
+ * <p>
+ * Flags are stored with two dictionaries: each distinct flag vector once, and each distinct combination of the
+ * vectors of a tile's eight steps once, so a tile takes a single combination number. The file is gzip-compressed.
+ */
+public class ArcFlags {
+    /**
+     * Name of the arc flag file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "arc-flags.bin.gz";
+
+    /**
+     * Loads the arc flags shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<ArcFlags> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "arc flags", ArcFlags::load,
+            arcFlags -> "arc flags for " + arcFlags.partition.size() + " partitions");
+
+    private static final int MAGIC = 0x41524331; // "ARC1"
+    private static final int VERSION = 1;
+    private static final int DIRECTIONS = OrdinalDirection.values().length;
+
+    /**
+     * Index in {@link OrdinalDirection#values()} of each step, by {@code (dy + 1) * 3 + (dx + 1)}.
+     */
+    private static final int[] DIRECTION_BY_DELTA = new int[9];
+
+    static {
+        Arrays.fill(DIRECTION_BY_DELTA, -1);
+        OrdinalDirection[] directions = OrdinalDirection.values();
+        for (int i = 0; i < directions.length; i++) {
+            DIRECTION_BY_DELTA[(directions[i].getY() + 1) * 3 + directions[i].getX() + 1] = i;
+        }
+    }
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    @Getter
+    private final RegionPartition partition;
+
+    /**
+     * Capabilities the flags were computed with.
+     */
+    private final long[] capabilityMask;
+
+    /**
+     * Number of 64-bit words in a flag vector.
+     */
+    private final int words;
+
+    /**
+     * Distinct flag vectors, {@link #words} words each.
+     */
+    private final long[] vectors;
+
+    /**
+     * Distinct combinations of the flag vectors of a tile's steps, {@link #DIRECTIONS} vector numbers each.
+     */
+    private final int[] combinations;
+
+    /**
+     * Combination number of each tile, by tile index.
+     */
+    private final int[] tileCombinations;
+
+    /**
+     * Flag vector number of each transport, keyed by {@link #transportKey(int, int)}.
+     */
+    private final Map<Long, Integer> transportVectors;
+
+    private ArcFlags(TileIndex tileIndex, RegionPartition partition, long[] capabilityMask, int words,
+                     long[] vectors, int[] combinations, int[] tileCombinations, Map<Long, Integer> transportVectors) {
+        this.tileIndex = tileIndex;
+        this.partition = partition;
+        this.capabilityMask = capabilityMask;
+        this.words = words;
+        this.vectors = vectors;
+        this.combinations = combinations;
+        this.tileCombinations = tileCombinations;
+        this.transportVectors = transportVectors;
+    }
+
+    /**
+     * Determines whether the flags hold for searches with the given configuration, i.e. whether it was computed
+     * with the same player capabilities. Callers must also not restrict the search in other ways, such as
+     * avoiding the wilderness or limiting its radius.
+     *
+     * @param config Pathfinding configuration of the search
+     * @return {@code true} if the flags may be used
+     */
+    public boolean isApplicable(PathfinderConfig config) {
+        return Arrays.equals(capabilityMask, config.getCapabilityMask());
+    }
+
+    /**
+     * Creates the mask of the partitions of a search's targets.
+     *
+     * @param targets One or more targets of the search
+     * @return The mask, or {@code null} if a target lies outside every partition and nothing may be skipped
+     */
+    public long[] targetMask(List<WorldPoint> targets) {
+        long[] mask = new long[words];
+        for (WorldPoint target : targets) {
+            int targetPartition = partition.partitionOf(WorldPointUtil.packWorldPoint(target));
+            if (targetPartition < 0) {
+                return null;
+            }
+            mask[targetPartition >>> 6] |= 1L << targetPartition;
+        }
+        return mask;
+    }
+
+    /**
+     * Determines whether an edge may lie on a cheapest route into a target's partition.
+     *
+     * @param packedFrom 32-bit integer representation of the tile departed from
+     * @param fromIndex  Index of that tile in {@link #getTileIndex()}, or {@code -1} if it is not indexed
+     * @param packedTo   32-bit integer representation of the tile arrived at
+     * @param transport  The transport used by the edge, or {@code null} if the edge is walked
+     * @param targetMask Mask of the targets' partitions, see {@link #targetMask(List)}
+     * @return {@code false} if the edge can be skipped
+     */
+    public boolean allows(int packedFrom, int fromIndex, int packedTo, Transport transport, long[] targetMask) {
+        int vector;
+        if (transport != null) {
+            Integer transportVector = transportVectors.get(transportKey(packedFrom, packedTo));
+            if (transportVector == null) {
+                return true;
+            }
+            vector = transportVector;
+        } else {
+            int direction = direction(packedFrom, packedTo);
+            if (fromIndex < 0 || direction < 0) {
+                return true;
+            }
+            vector = combinations[tileCombinations[fromIndex] * DIRECTIONS + direction];
+        }
+
+        for (int word = 0; word < words; word++) {
+            if ((vectors[vector * words + word] & targetMask[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Index in {@link OrdinalDirection#values()} of a step between adjacent tiles, or {@code -1}
+     */
+    static int direction(int packedFrom, int packedTo) {
+        int dx = WorldPointUtil.unpackWorldX(packedTo) - WorldPointUtil.unpackWorldX(packedFrom);
+        int dy = WorldPointUtil.unpackWorldY(packedTo) - WorldPointUtil.unpackWorldY(packedFrom);
+        if (dx < -1 || dx > 1 || dy < -1 || dy > 1) {
+            return -1;
+        }
+        return DIRECTION_BY_DELTA[(dy + 1) * 3 + dx + 1];
+    }
+
+    /**
+     * @return Key identifying the transports from one tile to another
+     */
+    static long transportKey(int packedOrigin, int packedDestination) {
+        return ((long) packedOrigin << 32) | (packedDestination & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads an arc flag file.
+     *
+     * @param file      The arc flag file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The arc flags
+     * @throws IllegalStateException if the file is not an arc flag file or was computed for other map data
+     */
+    public static ArcFlags load(Path file, TileIndex tileIndex) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException(file + " is not an arc flag file of version " + VERSION);
+            }
+            if (in.readInt() != tileIndex.size() || in.readLong() != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            final int groupSize = in.readInt();
+            int[] groupKeys = readInts(in, in.readInt());
+            long[] capabilityMask = readLongs(in, in.readInt());
+            final int words = in.readInt();
+            long[] vectors = readLongs(in, in.readInt() * words);
+            int[] combinations = readInts(in, in.readInt() * DIRECTIONS);
+            int[] tileCombinations = readInts(in, tileIndex.size());
+
+            final int transportCount = in.readInt();
+            Map<Long, Integer> transportVectors = new HashMap<>(transportCount * 2);
+            for (int i = 0; i < transportCount; i++) {
+                transportVectors.put(in.readLong(), in.readInt());
+            }
+
+            return new ArcFlags(tileIndex, new RegionPartition(groupSize, groupKeys), capabilityMask, words, vectors,
+                    combinations, tileCombinations, transportVectors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compresses and writes arc flags.
+     *
+     * @param file           The file to write, replaced if it exists
+     * @param tileIndex      Index of the tiles the flags are stored for
+     * @param partition      The partition the flags refer to
+     * @param capabilityMask Capabilities the flags were computed with
+     * @param stepFlags      Flag vector of each step, at {@code ((tile * 8) + direction) * words}
+     * @param transportFlags Flag vector of the transports between each pair of tiles, keyed by
+     *                       {@link #transportKey(int, int)}
+     */
+    public static void write(Path file, TileIndex tileIndex, RegionPartition partition, long[] capabilityMask,
+                             long[] stepFlags, Map<Long, long[]> transportFlags) {
+        final int words = wordsFor(partition);
+        Map<VectorKey, Integer> vectorNumbers = new HashMap<>();
+        Map<VectorKey, Integer> combinationNumbers = new HashMap<>();
+        int[] tileCombinations = new int[tileIndex.size()];
+        for (int tile = 0; tile < tileCombinations.length; tile++) {
+            long[] combination = new long[DIRECTIONS];
+            for (int direction = 0; direction < DIRECTIONS; direction++) {
+                int offset = (tile * DIRECTIONS + direction) * words;
+                combination[direction] = vectorNumber(vectorNumbers,
+                        Arrays.copyOfRange(stepFlags, offset, offset + words));
+            }
+            tileCombinations[tile] = combinationNumbers.computeIfAbsent(new VectorKey(combination),
+                    k -> combinationNumbers.size());
+        }
+
+        Map<Long, Integer> transportVectors = new HashMap<>();
+        for (Map.Entry<Long, long[]> entry : transportFlags.entrySet()) {
+            transportVectors.put(entry.getKey(), vectorNumber(vectorNumbers, entry.getValue()));
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file), 1 << 16)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tileIndex.size());
+            out.writeLong(tileIndex.getChecksum());
+
+            out.writeInt(partition.getGroupSize());
+            out.writeInt(partition.size());
+            for (int i = 0; i < partition.size(); i++) {
+                out.writeInt(partition.getGroupKey(i));
+            }
+            out.writeInt(capabilityMask.length);
+            for (long word : capabilityMask) {
+                out.writeLong(word);
+            }
+
+            out.writeInt(words);
+            out.writeInt(vectorNumbers.size());
+            long[][] vectors = new long[vectorNumbers.size()][];
+            vectorNumbers.forEach((key, number) -> vectors[number] = key.values);
+            for (long[] vector : vectors) {
+                for (long word : vector) {
+                    out.writeLong(word);
+                }
+            }
+
+            out.writeInt(combinationNumbers.size());
+            long[][] combinations = new long[combinationNumbers.size()][];
+            combinationNumbers.forEach((key, number) -> combinations[number] = key.values);
+            for (long[] combination : combinations) {
+                for (long vector : combination) {
+                    out.writeInt((int) vector);
+                }
+            }
+            for (int combination : tileCombinations) {
+                out.writeInt(combination);
+            }
+
+            out.writeInt(transportVectors.size());
+            for (Map.Entry<Long, Integer> entry : transportVectors.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            System.out.println("Wrote " + vectors.length + " flag vectors and " + combinations.length
+                    + " step combinations to " + file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Number of 64-bit words in a flag vector of the partition
+     */
+    static int wordsFor(RegionPartition partition) {
+        return (partition.size() + 63) >>> 6;
+    }
+
+    /**
+     * Returns the arc flags of the {@link PrecomputedData} directory, loading them on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the flags must match
+     * @return The shared arc flags, or {@code null} if there is no usable arc flag file
+     */
+    public static ArcFlags shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+
+    private static int vectorNumber(Map<VectorKey, Integer> vectorNumbers, long[] vector) {
+        return vectorNumbers.computeIfAbsent(new VectorKey(vector), k -> vectorNumbers.size());
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static long[] readLongs(DataInputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    /**
+     * Dictionary key comparing arrays by content.
+     */
+    private static class VectorKey {
+        private final long[] values;
+        private final int hash;
+
+        VectorKey(long[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof VectorKey && Arrays.equals(values, ((VectorKey) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.transports.Teleport;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline tool finding the {@link DeadEnds} of the map and writing their file.
+ * <p>
+ * Every edge, with every requirement met, is taken as undirected, and a single hub node is connected to every
+ * teleport destination and to every edge leaving the {@link TileIndex}. A depth-first search then finds the
+ * articulation points of this graph: a child {@code c} of a tile {@code g} whose subtree has no edge to any tile
+ * discovered before {@code g} is only connected to the rest of the graph through {@code g}, so its subtree is a dead
+ * end with gate {@code g}. Subtrees behind the hub are not kept, as teleports cannot be cast everywhere, and neither
+ * are subtrees behind the root of the search, which would span the rest of its component.
+ * <p>
+ * Teleports can be cast from any tile below their maximum wilderness level, which the undirected graph does not
+ * model. A route may enter a dead end only to cast a teleport there, so dead ends are only kept if their gate lies at
+ * or below the lowest wilderness level within them: every teleport cast inside can then be cast more cheaply at the
+ * gate.
+ * <p>
+ * Usage: {@code DeadEndPrecompute [output directory] [minimum tiles]}, defaulting to the {@link PrecomputedData}
+ * directory and dead ends of at least {@value #DEFAULT_MIN_TILES} tiles.
+ */
+public class DeadEndPrecompute {
+    private static final int DEFAULT_MIN_TILES = 8;
+
+    /**
+     * Tile the search starts from; it must be connected to most of the world.
+     */
+    private static final int SEARCH_START = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+
+    public static void main(String[] args) throws Exception {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+        int minTiles = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MIN_TILES;
+        Files.createDirectories(directory);
+
+        PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        System.out.println("Indexed " + tileIndex.size() + " tiles");
+
+        long startMillis = System.currentTimeMillis();
+        DeadEndPrecompute precompute = new DeadEndPrecompute(config, tileIndex);
+        precompute.search(tileIndex.indexOf(SEARCH_START), minTiles);
+        int[] tileRegions = new int[tileIndex.size()];
+        int[] parents = precompute.assignRegions(tileRegions);
+
+        int covered = 0;
+        for (int region : tileRegions) {
+            if (region != 0) {
+                covered++;
+            }
+        }
+        System.out.println("Found " + (parents.length - 1) + " dead ends covering " + covered + " tiles in "
+                + (System.currentTimeMillis() - startMillis) + " ms");
+        DeadEnds.write(directory.resolve(DeadEnds.FILE_NAME), tileIndex, parents, tileRegions);
+    }
+
+    /**
+     * Number of nodes: every tile, then the hub.
+     */
+    private final int nodeCount;
+    private final int hub;
+    private final TileIndex tileIndex;
+
+    /**
+     * Undirected adjacency lists: the neighbors of node {@code n} are {@code neighbors[offsets[n]]} up to
+     * {@code neighbors[offsets[n + 1]]}.
+     */
+    private final int[] offsets;
+    private final int[] neighbors;
+
+    /**
+     * Discovery time of each node, {@code -1} if undiscovered.
+     */
+    private final int[] discovery;
+
+    /**
+     * Node discovered at each time.
+     */
+    private final int[] order;
+
+    /**
+     * End of the dead end whose subtree starts at each discovery time, exclusive, or {@code 0} if there is none.
+     */
+    private final int[] regionEnds;
+
+    private DeadEndPrecompute(PathfinderConfig config, TileIndex tileIndex) {
+        this.nodeCount = tileIndex.size() + 1;
+        this.hub = tileIndex.size();
+        this.tileIndex = tileIndex;
+        this.offsets = new int[nodeCount + 1];
+
+        int leaving = addEdges(config, tileIndex, null);
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        this.neighbors = new int[offsets[nodeCount]];
+        addEdges(config, tileIndex, neighbors);
+        System.out.println("Built " + neighbors.length / 2 + " undirected edges, " + leaving
+                + " of which leave the tile index");
+
+        this.discovery = new int[nodeCount];
+        this.order = new int[nodeCount];
+        this.regionEnds = new int[nodeCount];
+    }
+
+    /**
+     * Enumerates every edge in both directions, counting the neighbors of each node into {@link #offsets} or, once
+     * the counts have been summed, filling them in, moving each offset to the start of the next node's list.
+     *
+     * @param neighbors {@code null} to count, or the array to fill
+     * @return Number of edges to tiles outside the tile index, which are connected to the hub instead
+     */
+    private int addEdges(PathfinderConfig config, TileIndex tileIndex, int[] neighbors) {
+        final int[] leaving = {0};
+        for (int tile = 0; tile < hub; tile++) {
+            final int from = tile;
+            config.getMap().forEachNeighbor(tileIndex.getPackedTile(tile), config, (packedTo, cost, transport) -> {
+                int to = tileIndex.indexOf(packedTo);
+                if (to < 0) {
+                    to = hub;
+                    leaving[0]++;
+                }
+                addEdge(from, to, neighbors);
+            });
+        }
+        for (Teleport teleport : config.getTeleports()) {
+            int destination = tileIndex.indexOf(teleport.getPackedDestination());
+            if (destination >= 0) {
+                addEdge(hub, destination, neighbors);
+            }
+        }
+
+        if (neighbors != null) {
+            // Each offset was moved to the end of its list; shift them back
+            System.arraycopy(offsets, 0, offsets, 1, nodeCount);
+            offsets[0] = 0;
+        }
+        return leaving[0];
+    }
+
+    private void addEdge(int from, int to, int[] neighbors) {
+        if (neighbors == null) {
+            offsets[from + 1]++;
+            offsets[to + 1]++;
+        } else {
+            neighbors[offsets[from]++] = to;
+            neighbors[offsets[to]++] = from;
+        }
+    }
+
+    /**
+     * Runs the depth-first search from every undiscovered node, the given start first, recording the dead ends of
+     * at least the given number of tiles in {@link #regionEnds}.
+     */
+    private void search(int start, int minTiles) {
+        Arrays.fill(discovery, -1);
+        final int[] low = new int[nodeCount];
+        final int[] next = new int[nodeCount];
+        final int[] stack = new int[nodeCount];
+        // Lowest wilderness level within the subtree of each node
+        final int[] lowestLevel = new int[nodeCount];
+        int time = 0;
+
+        for (int i = -1; i < nodeCount; i++) {
+            final int root = i < 0 ? start : i;
+            if (root < 0 || discovery[root] >= 0) {
+                continue;
+            }
+
+            int depth = 0;
+            stack[depth++] = root;
+            discovery[root] = low[root] = time;
+            lowestLevel[root] = wildernessLevel(root);
+            order[time++] = root;
+            next[root] = offsets[root];
+            while (depth > 0) {
+                final int node = stack[depth - 1];
+                if (next[node] < offsets[node + 1]) {
+                    final int neighbor = neighbors[next[node]++];
+                    if (discovery[neighbor] < 0) {
+                        discovery[neighbor] = low[neighbor] = time;
+                        lowestLevel[neighbor] = wildernessLevel(neighbor);
+                        order[time++] = neighbor;
+                        next[neighbor] = offsets[neighbor];
+                        stack[depth++] = neighbor;
+                    } else {
+                        // Edges back to the parent count too; they cannot lower the child below its parent
+                        low[node] = Math.min(low[node], discovery[neighbor]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth == 0) {
+                    continue;
+                }
+                final int gate = stack[depth - 1];
+                low[gate] = Math.min(low[gate], low[node]);
+                lowestLevel[gate] = Math.min(lowestLevel[gate], lowestLevel[node]);
+                if (low[node] >= discovery[gate] && gate != root && gate != hub
+                        && lowestLevel[node] >= wildernessLevel(gate) && time - discovery[node] >= minTiles) {
+                    regionEnds[discovery[node]] = time;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Wilderness level of a node; the hub has none
+     */
+    private int wildernessLevel(int node) {
+        return node == hub ? Integer.MAX_VALUE : PathfinderConfig.getWildernessLevel(tileIndex.getPackedTile(node));
+    }
+
+    /**
+     * Numbers the dead ends in discovery order, so that each is numbered after the dead end enclosing it, and
+     * assigns each tile its innermost dead end.
+     *
+     * @param tileRegions Receives the innermost dead end of each tile, {@code 0} for none
+     * @return The enclosing dead end of each dead end, {@code 0} for none; entry {@code 0} is unused
+     */
+    private int[] assignRegions(int[] tileRegions) {
+        int[] parents = new int[16];
+        int[] ends = new int[16];
+        int[] open = new int[16];
+        int depth = 0;
+        int regionCount = 0;
+
+        for (int time = 0; time < nodeCount; time++) {
+            while (depth > 0 && ends[open[depth - 1]] <= time) {
+                depth--;
+            }
+            if (regionEnds[time] != 0) {
+                regionCount++;
+                if (regionCount == parents.length) {
+                    parents = Arrays.copyOf(parents, 2 * regionCount);
+                    ends = Arrays.copyOf(ends, 2 * regionCount);
+                }
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, 2 * depth);
+                }
+                parents[regionCount] = depth == 0 ? 0 : open[depth - 1];
+                ends[regionCount] = regionEnds[time];
+                open[depth++] = regionCount;
+            }
+
+            final int node = order[time];
+            if (node != hub) {
+                tileRegions[node] = depth == 0 ? 0 : open[depth - 1];
+            }
+        }
+        return Arrays.copyOf(parents, regionCount + 1);
+    }
+}
@@ -0,0 +1,183 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Dead-end regions of the map: sets of tiles, such as cul-de-sac buildings, closed dungeons and enclosed gardens,
+ * whose every edge to the rest of the map passes through a single gate tile outside the region.
+ * <p>
+ * A route between two tiles outside a dead end that entered it would have to leave it through the gate it came in
+ * by, visiting the gate twice, so it can never be a cheapest route. Searches may therefore skip every dead end that
+ * contains neither their start nor a target.
+ * <p>
+ * Dead ends are found offline by {@link DeadEndPrecompute} on the graph with every transport and teleport. Taking
+ * away transports only takes away edges, which cannot connect a dead end to anything else, so they hold for any
+ * player and any search restriction.
+ * <p>
+ * Dead ends nest: a closed room within a dungeon that is itself a dead end is a dead end of its own. Each tile
+ * stores its innermost dead end, or {@code 0} for none, and each dead end its enclosing one. The file starts with a
+ * header: magic, version, tile count, {@link TileIndex#getChecksum()} and the number of dead ends, followed by the
+ * enclosing dead end of each and then the innermost dead end of each tile, which is memory-mapped.
+ */
+public class DeadEnds {
+    /**
+     * Name of the dead end file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "dead-ends.bin";
+
+    /**
+     * Loads the dead ends shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<DeadEnds> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "dead ends", DeadEnds::load,
+            deadEnds -> deadEnds.getRegionCount() + " dead ends");
+
+    private static final int MAGIC = 0x44454e44; // "DEND"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    /**
+     * Enclosing dead end of each dead end, {@code 0} for none; entry {@code 0} is unused.
+     */
+    private final int[] parents;
+
+    /**
+     * Innermost dead end of each tile, by tile index.
+     */
+    private final IntBuffer tileRegions;
+
+    private DeadEnds(TileIndex tileIndex, int[] parents, IntBuffer tileRegions) {
+        this.tileIndex = tileIndex;
+        this.parents = parents;
+        this.tileRegions = tileRegions;
+    }
+
+    /**
+     * @return Number of dead ends
+     */
+    public int getRegionCount() {
+        return parents.length - 1;
+    }
+
+    /**
+     * @param tile Index of a tile
+     * @return The innermost dead end containing the tile, from {@code 1}, or {@code 0} if there is none
+     */
+    public int getRegion(int tile) {
+        return tileRegions.get(tile);
+    }
+
+    /**
+     * Finds the dead ends a search must not skip: those containing one of its endpoints.
+     *
+     * @param packedEndpoints 32-bit integer representations of the search's starts and targets
+     * @return The dead ends containing an endpoint
+     */
+    public BitSet regionsContaining(int... packedEndpoints) {
+        BitSet regions = new BitSet();
+        for (int packedEndpoint : packedEndpoints) {
+            int tile = tileIndex.indexOf(packedEndpoint);
+            for (int region = tile < 0 ? 0 : getRegion(tile); region != 0; region = parents[region]) {
+                regions.set(region);
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Determines whether a search may skip a tile.
+     *
+     * @param packedTile  32-bit integer representation of the tile
+     * @param openRegions The dead ends containing one of the search's endpoints, see {@link #regionsContaining}
+     * @return {@code true} if the tile lies in a dead end containing no endpoint
+     */
+    public boolean isSkipped(int packedTile, BitSet openRegions) {
+        int tile = tileIndex.indexOf(packedTile);
+        if (tile < 0) {
+            return false;
+        }
+        int region = getRegion(tile);
+        return region != 0 && !openRegions.get(region);
+    }
+
+    /**
+     * Memory-maps a dead end file.
+     *
+     * @param file      The dead end file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The dead ends
+     * @throws IllegalStateException if the file is not a dead end file or was computed for other map data
+     */
+    public static DeadEnds load(Path file, TileIndex tileIndex) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES));
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException(file + " is not a dead end file of version " + VERSION);
+            }
+            if (header.getInt() != tileIndex.size() || header.getLong() != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            final int regionCount = header.getInt();
+            final long tilesOffset = HEADER_BYTES + 4L * (regionCount + 1);
+            if (channel.size() < tilesOffset + 4L * tileIndex.size()) {
+                throw new IllegalStateException("Dead end file is truncated");
+            }
+
+            int[] parents = new int[regionCount + 1];
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, 4L * parents.length).asIntBuffer().get(parents);
+            IntBuffer tileRegions = channel.map(FileChannel.MapMode.READ_ONLY, tilesOffset, 4L * tileIndex.size())
+                    .asIntBuffer();
+            return new DeadEnds(tileIndex, parents, tileRegions);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a dead end file.
+     *
+     * @param file        The file to write, replaced if it exists
+     * @param tileIndex   Index of the tiles the dead ends are stored for
+     * @param parents     Enclosing dead end of each dead end, {@code 0} for none; entry {@code 0} is unused
+     * @param tileRegions Innermost dead end of each tile by tile index, {@code 0} for none
+     */
+    public static void write(Path file, TileIndex tileIndex, int[] parents, int[] tileRegions) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * (parents.length + tileRegions.length));
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(tileIndex.size()).putLong(tileIndex.getChecksum())
+                    .putInt(parents.length - 1);
+            buffer.asIntBuffer().put(parents).put(tileRegions);
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the dead ends of the {@link PrecomputedData} directory, loading them on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the dead ends must match
+     * @return The shared dead ends, or {@code null} if there is no usable dead end file
+     */
+    public static DeadEnds shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+}
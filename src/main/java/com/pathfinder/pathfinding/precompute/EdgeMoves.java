@@ -0,0 +1,115 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.CollisionMap;
+import com.pathfinder.pathfinding.EdgeVisitor;
+import com.pathfinder.pathfinding.OrdinalDirection;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.util.WorldPointUtil;
+
+/**
+ * Compact codes for the edges of a tile, used by precomputed routes to store one move per tile in a byte.
+ * <p>
+ * A move is the {@link OrdinalDirection} of a walking step, or {@value #STEP_MOVES} plus the ordinal of a transport
+ * among the tile's transports, in the fixed order {@link CollisionMap#forEachNeighbor} (or, for incoming edges,
+ * {@link CollisionMap#forEachPredecessor}) enumerates them in. As that order depends on which transports can be used,
+ * moves only hold for the capabilities they were computed with.
+ */
+public class EdgeMoves {
+    /**
+     * Move of tiles without one, e.g. tiles without a route.
+     */
+    public static final int NO_MOVE = 0xFF;
+
+    /**
+     * Number of moves that are walking steps, one per {@link OrdinalDirection}.
+     */
+    private static final int STEP_MOVES = 8;
+
+    /**
+     * Follows a move from a tile.
+     *
+     * @param config     Pathfinding configuration providing the transports
+     * @param packedTile 32-bit integer representation of the tile
+     * @param move       The move
+     * @param incoming   {@code false} for a move along an outgoing edge, {@code true} for one along an incoming
+     *                   edge, back to the tile it starts from
+     * @param visitor    Receives the edge the move takes, with the tile at its other end
+     * @return {@code false} if the tile has no such edge
+     */
+    public static boolean follow(PathfinderConfig config, int packedTile, int move, boolean incoming,
+                                 EdgeVisitor visitor) {
+        final int[] transportOrdinal = {0};
+        final boolean[] found = {false};
+        forEachEdge(config, packedTile, incoming, (other, cost, transport) -> {
+            if (!found[0] && moveOf(packedTile, other, transport, transportOrdinal[0], incoming) == move) {
+                found[0] = true;
+                visitor.visit(other, cost, transport);
+            }
+            if (transport != null) {
+                transportOrdinal[0]++;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * Finds the move of a tile along a cheapest route, given the cost of every tile: the first edge to a tile whose
+     * cost plus the edge's cost equals the tile's own.
+     *
+     * @param config    Pathfinding configuration providing the transports
+     * @param tileIndex Index of the tiles the costs are stored for
+     * @param costs     Cost of every tile by tile index, e.g. from a {@link GraphSearch}; costs to a target for
+     *                  outgoing moves, costs from a source for incoming moves
+     * @param tile      Index of the tile
+     * @param incoming  {@code false} to find an outgoing move, {@code true} for an incoming move
+     * @param preferred Move returned if it lies on a cheapest route too, or {@link #NO_MOVE}
+     * @return The move, or {@link #NO_MOVE} if the tile's cost is {@code 0} or unreachable
+     */
+    static int cheapestMove(PathfinderConfig config, TileIndex tileIndex, int[] costs, int tile, boolean incoming,
+                            int preferred) {
+        final int cost = costs[tile];
+        if (cost == 0 || cost == GraphSearch.UNREACHABLE) {
+            return NO_MOVE;
+        }
+
+        final int packedTile = tileIndex.getPackedTile(tile);
+        final int[] move = {NO_MOVE, 0}; // Move found, and ordinal of the next transport
+        forEachEdge(config, packedTile, incoming, (other, edgeCost, transport) -> {
+            int edgeMove = moveOf(packedTile, other, transport, move[1], incoming);
+            if (transport != null) {
+                move[1]++;
+            }
+            int otherIndex = tileIndex.indexOf(other);
+            if ((move[0] == NO_MOVE || edgeMove == preferred) && otherIndex >= 0
+                    && costs[otherIndex] != GraphSearch.UNREACHABLE && cost == edgeCost + costs[otherIndex]) {
+                move[0] = edgeMove;
+            }
+        });
+
+        if (move[0] >= NO_MOVE) {
+            throw new IllegalStateException("Too many transports to encode the move of "
+                    + WorldPointUtil.unpackWorldPoint(packedTile));
+        }
+        return move[0];
+    }
+
+    private static void forEachEdge(PathfinderConfig config, int packedTile, boolean incoming, EdgeVisitor visitor) {
+        if (incoming) {
+            config.getMap().forEachPredecessor(packedTile, config, visitor);
+        } else {
+            config.getMap().forEachNeighbor(packedTile, config, visitor);
+        }
+    }
+
+    /**
+     * @return The move along an edge between a tile and another tile
+     */
+    private static int moveOf(int packedTile, int packedOther, Transport transport, int transportOrdinal,
+                              boolean incoming) {
+        if (transport != null) {
+            return STEP_MOVES + transportOrdinal;
+        }
+        return incoming ? ArcFlags.direction(packedOther, packedTile) : ArcFlags.direction(packedTile, packedOther);
+    }
+}
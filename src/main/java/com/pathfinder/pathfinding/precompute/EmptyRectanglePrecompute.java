@@ -0,0 +1,214 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.transports.Teleport;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline tool decomposing the map into {@link EmptyRectangles} and writing their file.
+ * <p>
+ * Tiles are taken in index order. Each free tile not yet in a rectangle starts one, grown by a column to the east
+ * and a row to the north in turn, as long as every new tile is free, lies at the same wilderness level and can step
+ * to and from each neighbouring tile already in the rectangle. Rectangles less than three tiles wide or high have no
+ * tiles inside them to skip and are dropped, leaving their tiles free to start other rectangles. A free tile is one
+ * that is not blocked and that no transport, network stop or teleport starts or ends at.
+ * <p>
+ * Usage: {@code EmptyRectanglePrecompute [output directory] [maximum side]}, defaulting to the
+ * {@link PrecomputedData} directory and sides of at most {@value #DEFAULT_MAX_SIDE} tiles. Searches cross a
+ * rectangle by queueing every tile of its perimeter, so larger rectangles skip more tiles but cost more to cross.
+ */
+public class EmptyRectanglePrecompute {
+    private static final int DEFAULT_MAX_SIDE = 16;
+    private static final int MIN_SIDE = 3;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+        int maxSide = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SIDE;
+        if (maxSide < MIN_SIDE) {
+            throw new IllegalArgumentException("Rectangles must be allowed at least " + MIN_SIDE + " tiles per side");
+        }
+        Files.createDirectories(directory);
+
+        PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        System.out.println("Indexed " + tileIndex.size() + " tiles");
+
+        long startMillis = System.currentTimeMillis();
+        EmptyRectanglePrecompute precompute = new EmptyRectanglePrecompute(config, tileIndex, maxSide);
+        for (int tile = 0; tile < tileIndex.size(); tile++) {
+            precompute.grow(tile);
+        }
+
+        int skipped = 0;
+        for (int rectangle = 1; rectangle <= precompute.rectangleCount; rectangle++) {
+            int southWest = precompute.corners[2 * rectangle];
+            int northEast = precompute.corners[2 * rectangle + 1];
+            skipped += (WorldPointUtil.unpackWorldX(northEast) - WorldPointUtil.unpackWorldX(southWest) - 1)
+                    * (WorldPointUtil.unpackWorldY(northEast) - WorldPointUtil.unpackWorldY(southWest) - 1);
+        }
+        System.out.println("Found " + precompute.rectangleCount + " empty rectangles with " + skipped
+                + " tiles inside them in " + (System.currentTimeMillis() - startMillis) + " ms");
+        EmptyRectangles.write(directory.resolve(EmptyRectangles.FILE_NAME), tileIndex,
+                Arrays.copyOf(precompute.corners, 2 * (precompute.rectangleCount + 1)), precompute.tileRectangles);
+    }
+
+    private final TileIndex tileIndex;
+    private final int maxSide;
+
+    /**
+     * Directions a walking step can be taken in from each tile, one bit per {@link
+     * com.pathfinder.pathfinding.OrdinalDirection}; {@code -1} for tiles that may not be part of a rectangle.
+     */
+    private final int[] stepMasks;
+
+    /**
+     * Rectangle of each tile, by tile index.
+     */
+    private final int[] tileRectangles;
+
+    /**
+     * South-west and north-east corner of each rectangle, packed, as pairs; the first pair is unused.
+     */
+    private int[] corners = new int[1024];
+    private int rectangleCount;
+
+    private EmptyRectanglePrecompute(PathfinderConfig config, TileIndex tileIndex, int maxSide) {
+        this.tileIndex = tileIndex;
+        this.maxSide = maxSide;
+        this.stepMasks = new int[tileIndex.size()];
+        this.tileRectangles = new int[tileIndex.size()];
+
+        for (int tile = 0; tile < tileIndex.size(); tile++) {
+            final int packedTile = tileIndex.getPackedTile(tile);
+            final int x = WorldPointUtil.unpackWorldX(packedTile);
+            final int y = WorldPointUtil.unpackWorldY(packedTile);
+            final int plane = WorldPointUtil.unpackWorldPlane(packedTile);
+            if (config.getMap().isBlocked(x, y, plane)
+                    || config.getTransportsPacked().get(packedTile) != null
+                    || config.getTransportsByDestinationPacked().get(packedTile) != null
+                    || config.getNetworkStopsPacked().get(packedTile) != null) {
+                stepMasks[tile] = -1;
+                continue;
+            }
+
+            final int[] mask = {0};
+            config.getMap().forEachNeighbor(packedTile, config, (neighbor, cost, transport) -> {
+                if (transport == null) {
+                    mask[0] |= 1 << ArcFlags.direction(packedTile, neighbor);
+                }
+            });
+            stepMasks[tile] = mask[0];
+        }
+
+        for (Teleport teleport : config.getTeleports()) {
+            int destination = tileIndex.indexOf(teleport.getPackedDestination());
+            if (destination >= 0) {
+                stepMasks[destination] = -1;
+            }
+        }
+    }
+
+    /**
+     * Grows a rectangle from a tile, keeping it if it is large enough.
+     */
+    private void grow(int tile) {
+        if (stepMasks[tile] < 0 || tileRectangles[tile] != 0) {
+            return;
+        }
+
+        final int packedTile = tileIndex.getPackedTile(tile);
+        final int minX = WorldPointUtil.unpackWorldX(packedTile);
+        final int minY = WorldPointUtil.unpackWorldY(packedTile);
+        final int plane = WorldPointUtil.unpackWorldPlane(packedTile);
+        final int level = PathfinderConfig.getWildernessLevel(packedTile);
+
+        int maxX = minX;
+        int maxY = minY;
+        boolean growEast = true;
+        boolean growNorth = true;
+        while (growEast || growNorth) {
+            growEast = growEast && maxX - minX + 1 < maxSide && columnFits(maxX + 1, minY, maxY, plane, level);
+            if (growEast) {
+                maxX++;
+            }
+            growNorth = growNorth && maxY - minY + 1 < maxSide && rowFits(minX, maxX, maxY + 1, plane, level);
+            if (growNorth) {
+                maxY++;
+            }
+        }
+        if (maxX - minX + 1 < MIN_SIDE || maxY - minY + 1 < MIN_SIDE) {
+            return;
+        }
+
+        rectangleCount++;
+        if (2 * rectangleCount + 1 >= corners.length) {
+            corners = Arrays.copyOf(corners, 2 * corners.length);
+        }
+        corners[2 * rectangleCount] = WorldPointUtil.packWorldPoint(minX, minY, plane);
+        corners[2 * rectangleCount + 1] = WorldPointUtil.packWorldPoint(maxX, maxY, plane);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                tileRectangles[tileIndex.indexOf(WorldPointUtil.packWorldPoint(x, y, plane))] = rectangleCount;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if a column can be added to the east of a rectangle spanning the given rows
+     */
+    private boolean columnFits(int x, int minY, int maxY, int plane, int level) {
+        for (int y = minY; y <= maxY; y++) {
+            if (!fits(x, y, plane, level) || !linked(x, y, x - 1, y, plane)
+                    || y > minY && (!linked(x, y, x, y - 1, plane) || !linked(x, y, x - 1, y - 1, plane))
+                    || y < maxY && !linked(x, y, x - 1, y + 1, plane)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a row can be added to the north of a rectangle spanning the given columns
+     */
+    private boolean rowFits(int minX, int maxX, int y, int plane, int level) {
+        for (int x = minX; x <= maxX; x++) {
+            if (!fits(x, y, plane, level) || !linked(x, y, x, y - 1, plane)
+                    || x > minX && (!linked(x, y, x - 1, y, plane) || !linked(x, y, x - 1, y - 1, plane))
+                    || x < maxX && !linked(x, y, x + 1, y - 1, plane)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a tile is free, not yet part of a rectangle and at the given wilderness level
+     */
+    private boolean fits(int x, int y, int plane, int level) {
+        final int packedTile = WorldPointUtil.packWorldPoint(x, y, plane);
+        final int tile = tileIndex.indexOf(packedTile);
+        return tile >= 0 && stepMasks[tile] >= 0 && tileRectangles[tile] == 0
+                && PathfinderConfig.getWildernessLevel(packedTile) == level;
+    }
+
+    /**
+     * @return {@code true} if a step can be taken both ways between two neighbouring free tiles
+     */
+    private boolean linked(int x, int y, int otherX, int otherY, int plane) {
+        final int packedTile = WorldPointUtil.packWorldPoint(x, y, plane);
+        final int packedOther = WorldPointUtil.packWorldPoint(otherX, otherY, plane);
+        return (stepMasks[tileIndex.indexOf(packedTile)] & 1 << ArcFlags.direction(packedTile, packedOther)) != 0
+                && (stepMasks[tileIndex.indexOf(packedOther)] & 1 << ArcFlags.direction(packedOther, packedTile)) != 0;
+    }
+}
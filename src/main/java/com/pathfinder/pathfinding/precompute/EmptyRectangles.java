@@ -0,0 +1,210 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * A decomposition of the map into empty rectangles: disjoint rectangles of freely walkable tiles, each at least
+ * three tiles wide and high, within which every step between neighbouring tiles is possible.
+ * <p>
+ * Any two tiles of an empty rectangle are therefore joined by a straight walk, diagonally and then along a row or
+ * column, costing their distance, which no route between them can beat. A search can cross a rectangle from any tile
+ * straight to each tile of its perimeter without expanding the tiles inside it, as every route leaving the rectangle
+ * does so from its perimeter. Tiles a transport or teleport starts or ends at are never part of a rectangle, and each
+ * rectangle lies at a single wilderness level, so crossing one never changes which transports or teleports can be
+ * taken.
+ * <p>
+ * Rectangles are found offline by {@link EmptyRectanglePrecompute}. As they only depend on the collision data and
+ * where transports are, they hold for any player. The file starts with a header: magic, version, tile count,
+ * {@link TileIndex#getChecksum()} and the number of rectangles, followed by the corners of each rectangle and the
+ * rectangle of each tile, which is memory-mapped.
+ */
+public class EmptyRectangles {
+    /**
+     * Name of the empty rectangle file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "empty-rectangles.bin";
+
+    /**
+     * Loads the empty rectangles shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<EmptyRectangles> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "empty rectangles", EmptyRectangles::load,
+            rectangles -> rectangles.getRectangleCount() + " empty rectangles");
+
+    private static final int MAGIC = 0x45524543; // "EREC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    /**
+     * South-west and north-east corner of each rectangle, packed, as pairs; the first pair is unused.
+     */
+    private final int[] corners;
+
+    /**
+     * Rectangle of each tile, by tile index.
+     */
+    private final IntBuffer tileRectangles;
+
+    private EmptyRectangles(TileIndex tileIndex, int[] corners, IntBuffer tileRectangles) {
+        this.tileIndex = tileIndex;
+        this.corners = corners;
+        this.tileRectangles = tileRectangles;
+    }
+
+    /**
+     * @return Number of rectangles
+     */
+    public int getRectangleCount() {
+        return corners.length / 2 - 1;
+    }
+
+    /**
+     * @param packedTile 32-bit integer representation of a tile
+     * @return The rectangle containing the tile, from {@code 1}, or {@code 0} if there is none
+     */
+    public int getRectangle(int packedTile) {
+        int tile = tileIndex.indexOf(packedTile);
+        return tile < 0 ? 0 : tileRectangles.get(tile);
+    }
+
+    /**
+     * @param rectangle  A rectangle
+     * @param packedTile 32-bit integer representation of a tile
+     * @return {@code true} if the tile lies within the rectangle
+     */
+    public boolean contains(int rectangle, int packedTile) {
+        final int southWest = corners[2 * rectangle];
+        final int northEast = corners[2 * rectangle + 1];
+        final int x = WorldPointUtil.unpackWorldX(packedTile);
+        final int y = WorldPointUtil.unpackWorldY(packedTile);
+        return WorldPointUtil.unpackWorldPlane(packedTile) == WorldPointUtil.unpackWorldPlane(southWest)
+                && x >= WorldPointUtil.unpackWorldX(southWest) && x <= WorldPointUtil.unpackWorldX(northEast)
+                && y >= WorldPointUtil.unpackWorldY(southWest) && y <= WorldPointUtil.unpackWorldY(northEast);
+    }
+
+    /**
+     * Enumerates the tiles on the perimeter of a rectangle, once each.
+     *
+     * @param rectangle A rectangle
+     * @param consumer  Receives the 32-bit integer representation of each tile
+     */
+    public void forEachPerimeterTile(int rectangle, IntConsumer consumer) {
+        final int southWest = corners[2 * rectangle];
+        final int northEast = corners[2 * rectangle + 1];
+        final int minX = WorldPointUtil.unpackWorldX(southWest);
+        final int minY = WorldPointUtil.unpackWorldY(southWest);
+        final int maxX = WorldPointUtil.unpackWorldX(northEast);
+        final int maxY = WorldPointUtil.unpackWorldY(northEast);
+        final int plane = WorldPointUtil.unpackWorldPlane(southWest);
+
+        for (int x = minX; x <= maxX; x++) {
+            consumer.accept(WorldPointUtil.packWorldPoint(x, minY, plane));
+            consumer.accept(WorldPointUtil.packWorldPoint(x, maxY, plane));
+        }
+        for (int y = minY + 1; y < maxY; y++) {
+            consumer.accept(WorldPointUtil.packWorldPoint(minX, y, plane));
+            consumer.accept(WorldPointUtil.packWorldPoint(maxX, y, plane));
+        }
+    }
+
+    /**
+     * Finds the rectangles a search must not cross, as tiles inside them are endpoints of the search.
+     *
+     * @param packedEndpoints 32-bit integer representations of the search's starts and targets
+     * @return The rectangles containing an endpoint
+     */
+    public BitSet rectanglesContaining(int... packedEndpoints) {
+        BitSet rectangles = new BitSet();
+        for (int packedEndpoint : packedEndpoints) {
+            int rectangle = getRectangle(packedEndpoint);
+            if (rectangle != 0) {
+                rectangles.set(rectangle);
+            }
+        }
+        return rectangles;
+    }
+
+    /**
+     * Memory-maps an empty rectangle file.
+     *
+     * @param file      The empty rectangle file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The empty rectangles
+     * @throws IllegalStateException if the file is not an empty rectangle file or was computed for other map data
+     */
+    public static EmptyRectangles load(Path file, TileIndex tileIndex) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES));
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException(file + " is not an empty rectangle file of version " + VERSION);
+            }
+            if (header.getInt() != tileIndex.size() || header.getLong() != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            final int rectangleCount = header.getInt();
+            final long tilesOffset = HEADER_BYTES + 8L * (rectangleCount + 1);
+            if (channel.size() < tilesOffset + 4L * tileIndex.size()) {
+                throw new IllegalStateException("Empty rectangle file is truncated");
+            }
+
+            int[] corners = new int[2 * (rectangleCount + 1)];
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, 4L * corners.length).asIntBuffer().get(corners);
+            IntBuffer tileRectangles = channel.map(FileChannel.MapMode.READ_ONLY, tilesOffset, 4L * tileIndex.size())
+                    .asIntBuffer();
+            return new EmptyRectangles(tileIndex, corners, tileRectangles);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes an empty rectangle file.
+     *
+     * @param file           The file to write, replaced if it exists
+     * @param tileIndex      Index of the tiles the rectangles are stored for
+     * @param corners        South-west and north-east corner of each rectangle, packed, as pairs; the first pair is
+     *                       unused
+     * @param tileRectangles Rectangle of each tile by tile index, {@code 0} for none
+     */
+    public static void write(Path file, TileIndex tileIndex, int[] corners, int[] tileRectangles) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * (corners.length + tileRectangles.length));
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(tileIndex.size()).putLong(tileIndex.getChecksum())
+                    .putInt(corners.length / 2 - 1);
+            buffer.asIntBuffer().put(corners).put(tileRectangles);
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the empty rectangles of the {@link PrecomputedData} directory, loading them on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the rectangles must match
+     * @return The shared empty rectangles, or {@code null} if there is no usable empty rectangle file
+     */
+    public static EmptyRectangles shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.CollisionMap;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.util.PrimitiveMinHeap;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Exact single-source shortest path costs over every tile of a {@link TileIndex}, walking and transports alike,
+ * for offline preprocessing.
+ * <p>
+ * Edges are those of {@link CollisionMap#forEachNeighbor}, so costs match the costs a search accumulates.
+ * Teleports usable from anywhere are not part of the graph.
+ */
+public class GraphSearch {
+    /**
+     * Cost reported for tiles that cannot be reached.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final PathfinderConfig config;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    private final PrimitiveMinHeap open = new PrimitiveMinHeap(1 << 16);
+
+    /**
+     * Constructs a {@code GraphSearch}.
+     *
+     * @param config    Pathfinding configuration providing the map and the transports that may be used
+     * @param tileIndex Index of the tiles of the map
+     */
+    public GraphSearch(PathfinderConfig config, TileIndex tileIndex) {
+        this.config = config;
+        this.tileIndex = tileIndex;
+    }
+
+    /**
+     * Computes the cost of the cheapest route between a tile and every other tile.
+     *
+     * @param packedSource 32-bit integer representation of the source tile
+     * @param reverse      {@code false} for costs from the source, {@code true} for costs to the source
+     * @return Costs by tile index, {@link #UNREACHABLE} for tiles without a route
+     */
+    public int[] distances(int packedSource, boolean reverse) {
+        int source = tileIndex.indexOf(packedSource);
+        if (source < 0) {
+            throw new IllegalArgumentException("Source tile is not indexed: " + packedSource);
+        }
+
+        final int[] distances = new int[tileIndex.size()];
+        Arrays.fill(distances, UNREACHABLE);
+        final boolean[] settled = new boolean[distances.length];
+        final CollisionMap map = config.getMap();
+
+        distances[source] = 0;
+        open.clear();
+        open.add(0, source);
+        while (!open.isEmpty()) {
+            final int tile = open.poll();
+            if (settled[tile]) {
+                continue;
+            }
+            settled[tile] = true;
+
+            final int distance = distances[tile];
+            final int packedTile = tileIndex.getPackedTile(tile);
+            if (reverse) {
+                map.forEachPredecessor(packedTile, config, (other, cost, transport) -> relax(distances, distance, other, cost));
+            } else {
+                map.forEachNeighbor(packedTile, config, (other, cost, transport) -> relax(distances, distance, other, cost));
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Lowers the cost of a tile if the edge reaching it gives a cheaper route.
+     */
+    private void relax(int[] distances, int distance, int packedOther, int cost) {
+        int other = tileIndex.indexOf(packedOther);
+        if (other >= 0 && distance + cost < distances[other]) {
+            distances[other] = distance + cost;
+            open.add(distance + cost, other);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Offline tool selecting landmarks and writing their {@link Landmarks} file.
+ * <p>
+ * Landmarks are picked by farthest-point selection: the first is the tile farthest from Lumbridge, and each next one
+ * the tile farthest from every landmark picked so far. Landmarks therefore end up at the edges of the world, on
+ * different planes and in dungeons, where they give the tightest bounds for routes heading towards or away from
+ * them. Costs are computed with every requirement met.
+ * <p>
+ * Usage: {@code LandmarkPrecompute [output directory] [landmark count]}, defaulting to the {@link PrecomputedData}
+ * directory and {@value #DEFAULT_LANDMARK_COUNT} landmarks. Each landmark takes two searches over the whole map.
+ */
+public class LandmarkPrecompute {
+    private static final int DEFAULT_LANDMARK_COUNT = 32;
+
+    /**
+     * Tile the selection starts from; it must be connected to most of the world.
+     */
+    private static final int SELECTION_START = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+
+    public static void main(String[] args) throws Exception {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+        int landmarkCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_LANDMARK_COUNT;
+        Files.createDirectories(directory);
+
+        PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        GraphSearch search = new GraphSearch(config, tileIndex);
+        System.out.println("Indexed " + tileIndex.size() + " tiles");
+
+        // Cost from the nearest landmark so far; tiles not reachable from the start are never picked
+        int[] nearest = search.distances(SELECTION_START, false);
+        Path file = directory.resolve(Landmarks.FILE_NAME);
+        try (Landmarks.Writer writer = new Landmarks.Writer(file, tileIndex, landmarkCount)) {
+            for (int i = 0; i < landmarkCount; i++) {
+                int landmark = farthest(nearest);
+                int packedLandmark = tileIndex.getPackedTile(landmark);
+                long startMillis = System.currentTimeMillis();
+                int[] forward = search.distances(packedLandmark, false);
+                int[] reverse = search.distances(packedLandmark, true);
+                writer.add(packedLandmark, forward, reverse);
+
+                for (int tile = 0; tile < nearest.length; tile++) {
+                    nearest[tile] = Math.min(nearest[tile], forward[tile]);
+                }
+                System.out.println("Landmark " + (i + 1) + "/" + landmarkCount + ": "
+                        + WorldPointUtil.unpackWorldPoint(packedLandmark) + " in "
+                        + (System.currentTimeMillis() - startMillis) + " ms");
+            }
+        }
+        System.out.println("Wrote " + file);
+    }
+
+    /**
+     * @return Index of the reachable tile with the highest cost
+     */
+    private static int farthest(int[] costs) {
+        int farthest = 0;
+        for (int tile = 1; tile < costs.length; tile++) {
+            if (costs[tile] != GraphSearch.UNREACHABLE
+                    && (costs[farthest] == GraphSearch.UNREACHABLE || costs[tile] > costs[farthest])) {
+                farthest = tile;
+            }
+        }
+        return farthest;
+    }
+}
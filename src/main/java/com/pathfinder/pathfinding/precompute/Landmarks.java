@@ -0,0 +1,316 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exact route costs from and to a set of landmark tiles, for every tile of a {@link TileIndex}, used for ALT
+ * (A*, landmarks and triangle inequality) lower bounds.
+ * <p>
+ * For any landmark {@code L}, the cost of a route from {@code v} to {@code t} is at least
+ * {@code d(L, t) - d(L, v)} and {@code d(v, L) - d(t, L)}. Unlike the straight-line distance, these bounds account
+ * for walls, detours and transports.
+ * <p>
+ * Costs are computed offline by {@link LandmarkPrecompute} with every requirement met, so the bounds hold for any
+ * player, whose routes only use a subset of those transports. Each cost is quantised to 16 bits, rounding so that
+ * the bounds stay admissible, and the file is memory-mapped rather than read onto the heap.
+ * <p>
+ * The file starts with a header: magic, version, tile count and {@link TileIndex#getChecksum()}, then the tile and
+ * quanta of each landmark. The costs follow as one section per landmark and direction: costs from the landmark,
+ * then costs to it.
+ */
+public class Landmarks {
+    /**
+     * Name of the landmark file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "landmarks.bin";
+
+    /**
+     * Loads the landmarks shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<Landmarks> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "landmarks", Landmarks::load,
+            landmarks -> landmarks.getLandmarkCount() + " landmarks");
+
+    /**
+     * Stored value of tiles that cannot be reached.
+     */
+    static final int UNREACHABLE_VALUE = 0xFFFF;
+
+    private static final int MAGIC = 0x414C5431; // "ALT1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int LANDMARK_HEADER_BYTES = 12;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    private final int[] landmarkTiles;
+    private final int[] forwardQuanta;
+    private final int[] reverseQuanta;
+    private final ShortBuffer[] forward;
+    private final ShortBuffer[] reverse;
+
+    private Landmarks(TileIndex tileIndex, int[] landmarkTiles, int[] forwardQuanta, int[] reverseQuanta,
+                      ShortBuffer[] forward, ShortBuffer[] reverse) {
+        this.tileIndex = tileIndex;
+        this.landmarkTiles = landmarkTiles;
+        this.forwardQuanta = forwardQuanta;
+        this.reverseQuanta = reverseQuanta;
+        this.forward = forward;
+        this.reverse = reverse;
+    }
+
+    /**
+     * @return Number of landmarks
+     */
+    public int getLandmarkCount() {
+        return landmarkTiles.length;
+    }
+
+    /**
+     * @param landmark Index of the landmark
+     * @return 32-bit integer representation of the landmark's tile
+     */
+    public int getLandmarkTile(int landmark) {
+        return landmarkTiles[landmark];
+    }
+
+    /**
+     * Returns a lower bound on the cost of a route between two tiles.
+     *
+     * @param from Index of the tile departed from
+     * @param to   Index of the tile arrived at
+     * @return A lower bound on the cost, at least {@code 0}
+     */
+    public int lowerBound(int from, int to) {
+        int bound = 0;
+        for (int landmark = 0; landmark < landmarkTiles.length; landmark++) {
+            bound = Math.max(bound, lowerBound(landmark, getForward(landmark, from), getForward(landmark, to),
+                    getReverse(landmark, from), getReverse(landmark, to)));
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the lower bound given by one landmark, from the stored values of both tiles; callers bounding many
+     * routes to the same tile can read its values once.
+     *
+     * @param landmark    Index of the landmark
+     * @param fromForward Stored cost from the landmark to the tile departed from
+     * @param toForward   Stored cost from the landmark to the tile arrived at
+     * @param fromReverse Stored cost from the tile departed from to the landmark
+     * @param toReverse   Stored cost from the tile arrived at to the landmark
+     * @return A lower bound on the cost, at least {@code 0}
+     */
+    public int lowerBound(int landmark, int fromForward, int toForward, int fromReverse, int toReverse) {
+        int bound = 0;
+        // d(v, t) >= d(L, t) - d(L, v), rounded down by up to a quantum
+        if (fromForward != UNREACHABLE_VALUE && toForward != UNREACHABLE_VALUE && toForward > fromForward) {
+            int quantum = forwardQuanta[landmark];
+            bound = quantum * (toForward - fromForward) - (quantum - 1);
+        }
+        // d(v, t) >= d(v, L) - d(t, L)
+        if (fromReverse != UNREACHABLE_VALUE && toReverse != UNREACHABLE_VALUE && fromReverse > toReverse) {
+            int quantum = reverseQuanta[landmark];
+            bound = Math.max(bound, quantum * (fromReverse - toReverse) - (quantum - 1));
+        }
+        return bound;
+    }
+
+    /**
+     * @param landmark Index of the landmark
+     * @param tile     Index of the tile
+     * @return Quantised cost from the landmark to the tile, or {@link #UNREACHABLE_VALUE}
+     */
+    public int getForward(int landmark, int tile) {
+        return forward[landmark].get(tile) & 0xFFFF;
+    }
+
+    /**
+     * @param landmark Index of the landmark
+     * @param tile     Index of the tile
+     * @return Quantised cost from the tile to the landmark, or {@link #UNREACHABLE_VALUE}
+     */
+    public int getReverse(int landmark, int tile) {
+        return reverse[landmark].get(tile) & 0xFFFF;
+    }
+
+    /**
+     * Memory-maps a landmark file.
+     *
+     * @param file      The landmark file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The landmarks
+     * @throws IllegalStateException if the file is not a landmark file or was computed for other map data
+     */
+    public static Landmarks load(Path file, TileIndex tileIndex) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException(file + " is not a landmark file of version " + VERSION);
+            }
+            if (header.getInt(8) != tileIndex.size() || header.getLong(12) != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            final int count = header.getInt(20);
+            ByteBuffer landmarkHeader = ByteBuffer.allocate(count * LANDMARK_HEADER_BYTES);
+            readFully(channel, landmarkHeader, HEADER_BYTES);
+
+            int[] landmarkTiles = new int[count];
+            int[] forwardQuanta = new int[count];
+            int[] reverseQuanta = new int[count];
+            ShortBuffer[] forward = new ShortBuffer[count];
+            ShortBuffer[] reverse = new ShortBuffer[count];
+            final long sectionBytes = 2L * tileIndex.size();
+            for (int i = 0; i < count; i++) {
+                landmarkTiles[i] = landmarkHeader.getInt(i * LANDMARK_HEADER_BYTES);
+                forwardQuanta[i] = landmarkHeader.getInt(i * LANDMARK_HEADER_BYTES + 4);
+                reverseQuanta[i] = landmarkHeader.getInt(i * LANDMARK_HEADER_BYTES + 8);
+                forward[i] = channel.map(FileChannel.MapMode.READ_ONLY, sectionOffset(count, tileIndex, 2 * i),
+                        sectionBytes).asShortBuffer();
+                reverse[i] = channel.map(FileChannel.MapMode.READ_ONLY, sectionOffset(count, tileIndex, 2 * i + 1),
+                        sectionBytes).asShortBuffer();
+            }
+            return new Landmarks(tileIndex, landmarkTiles, forwardQuanta, reverseQuanta, forward, reverse);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the landmarks of the {@link PrecomputedData} directory, loading them on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the landmarks must match
+     * @return The shared landmarks, or {@code null} if there is no usable landmark file
+     */
+    public static Landmarks shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+
+    /**
+     * Offset of a section of costs within the file.
+     */
+    private static long sectionOffset(int landmarkCount, TileIndex tileIndex, int section) {
+        long dataOffset = (HEADER_BYTES + (long) landmarkCount * LANDMARK_HEADER_BYTES + 7) & ~7L;
+        return dataOffset + section * 2L * tileIndex.size();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalStateException("Landmark file is truncated");
+            }
+        }
+    }
+
+    /**
+     * Writes a landmark file one landmark at a time, so costs never need to be held for every landmark at once.
+     */
+    public static class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final TileIndex tileIndex;
+        private final int landmarkCount;
+        private int written;
+
+        /**
+         * Creates the file and writes its header.
+         *
+         * @param file          The file to write, replaced if it exists
+         * @param tileIndex     Index of the tiles the costs are stored for
+         * @param landmarkCount Number of landmarks that will be added
+         */
+        public Writer(Path file, TileIndex tileIndex, int landmarkCount) {
+            this.tileIndex = tileIndex;
+            this.landmarkCount = landmarkCount;
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(tileIndex.size()).putLong(tileIndex.getChecksum())
+                        .putInt(landmarkCount).flip();
+                writeFully(header, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Quantises and writes the costs of the next landmark.
+         *
+         * @param packedTile 32-bit integer representation of the landmark's tile
+         * @param forward    Costs from the landmark by tile index, {@link GraphSearch#UNREACHABLE} if unreachable
+         * @param reverse    Costs to the landmark by tile index, {@link GraphSearch#UNREACHABLE} if unreachable
+         */
+        public void add(int packedTile, int[] forward, int[] reverse) {
+            if (written == landmarkCount) {
+                throw new IllegalStateException("All " + landmarkCount + " landmarks were already added");
+            }
+
+            try {
+                int forwardQuantum = quantum(forward);
+                int reverseQuantum = quantum(reverse);
+                writeFully(quantise(forward, forwardQuantum), sectionOffset(landmarkCount, tileIndex, 2 * written));
+                writeFully(quantise(reverse, reverseQuantum), sectionOffset(landmarkCount, tileIndex, 2 * written + 1));
+
+                ByteBuffer landmarkHeader = ByteBuffer.allocate(LANDMARK_HEADER_BYTES);
+                landmarkHeader.putInt(packedTile).putInt(forwardQuantum).putInt(reverseQuantum).flip();
+                writeFully(landmarkHeader, HEADER_BYTES + (long) written * LANDMARK_HEADER_BYTES);
+                written++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (written != landmarkCount) {
+                throw new IllegalStateException("Only " + written + " of " + landmarkCount + " landmarks were added");
+            }
+        }
+
+        /**
+         * Smallest quantum that fits every reachable cost below {@link #UNREACHABLE_VALUE}.
+         */
+        private static int quantum(int[] costs) {
+            int max = 0;
+            for (int cost : costs) {
+                if (cost != GraphSearch.UNREACHABLE) {
+                    max = Math.max(max, cost);
+                }
+            }
+            final int maxValue = UNREACHABLE_VALUE - 1;
+            return Math.max(1, (max + maxValue - 1) / maxValue);
+        }
+
+        private static ByteBuffer quantise(int[] costs, int quantum) {
+            ByteBuffer buffer = ByteBuffer.allocate(costs.length * 2);
+            for (int cost : costs) {
+                buffer.putShort((short) (cost == GraphSearch.UNREACHABLE ? UNREACHABLE_VALUE : cost / quantum));
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private void writeFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        }
+    }
+}
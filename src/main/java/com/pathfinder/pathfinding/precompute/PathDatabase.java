@@ -0,0 +1,281 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.util.PrimitiveIntHashMap;
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compressed path database: for each of a set of destinations, the first move of a cheapest route to it from
+ * every tile of a {@link TileIndex}. A route to a destination is extracted by looking up the first move of each tile
+ * in turn, without any search.
+ * <p>
+ * Moves are {@link EdgeMoves}, with {@link EdgeMoves#NO_MOVE} at the destination and at tiles without a route to
+ * it. Like the moves, the database only holds for searches with the capabilities it was computed with; see
+ * {@link #isApplicable(PathfinderConfig)}.
+ * <p>
+ * Tiles are numbered region by region, so neighbouring tiles mostly share their first move and each table is
+ * run-length encoded: the first tile of each run and its move. The file is memory-mapped, so only the runs read by
+ * lookups are ever loaded. It starts with a header: magic, version, tile count, {@link TileIndex#getChecksum()} and
+ * the capability mask, then the tile, first run and run count of each destination, the first tile of every run and
+ * the move of every run.
+ */
+public class PathDatabase {
+    /**
+     * Name of the path database file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "path-database.bin";
+
+    /**
+     * Loads the path database shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<PathDatabase> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "path database", PathDatabase::load,
+            pathDatabase -> "a path database of " + pathDatabase.getDestinationCount() + " destinations");
+
+    private static final int MAGIC = 0x43504431; // "CPD1"
+    private static final int VERSION = 1;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    /**
+     * Capabilities the database was computed with.
+     */
+    private final long[] capabilityMask;
+
+    private final int[] destinationTiles;
+    private final int[] firstRuns;
+    private final int[] runCounts;
+
+    /**
+     * Destination number by packed tile.
+     */
+    private final PrimitiveIntHashMap<Integer> destinationsByTile;
+
+    /**
+     * First tile of every run, by run number.
+     */
+    private final IntBuffer runStarts;
+
+    /**
+     * Move of every run, by run number.
+     */
+    private final ByteBuffer runMoves;
+
+    private PathDatabase(TileIndex tileIndex, long[] capabilityMask, int[] destinationTiles, int[] firstRuns,
+                         int[] runCounts, IntBuffer runStarts, ByteBuffer runMoves) {
+        this.tileIndex = tileIndex;
+        this.capabilityMask = capabilityMask;
+        this.destinationTiles = destinationTiles;
+        this.firstRuns = firstRuns;
+        this.runCounts = runCounts;
+        this.runStarts = runStarts;
+        this.runMoves = runMoves;
+        this.destinationsByTile = new PrimitiveIntHashMap<>(Math.max(destinationTiles.length, 1));
+        for (int i = 0; i < destinationTiles.length; i++) {
+            destinationsByTile.put(destinationTiles[i], i);
+        }
+    }
+
+    /**
+     * @return Number of destinations
+     */
+    public int getDestinationCount() {
+        return destinationTiles.length;
+    }
+
+    /**
+     * @param destination Number of the destination
+     * @return 32-bit integer representation of the destination's tile
+     */
+    public int getDestinationTile(int destination) {
+        return destinationTiles[destination];
+    }
+
+    /**
+     * @param packedTile 32-bit integer representation of a tile
+     * @return Number of the destination at the tile, or {@code -1} if the database has no table for it
+     */
+    public int destinationOf(int packedTile) {
+        Integer destination = destinationsByTile.get(packedTile);
+        return destination == null ? -1 : destination;
+    }
+
+    /**
+     * Determines whether the database holds for searches with the given configuration, i.e. whether it was
+     * computed with the same player capabilities. Callers must also not restrict the search in other ways, such as
+     * avoiding the wilderness or limiting its radius.
+     *
+     * @param config Pathfinding configuration of the search
+     * @return {@code true} if the database may be used
+     */
+    public boolean isApplicable(PathfinderConfig config) {
+        return Arrays.equals(capabilityMask, config.getCapabilityMask());
+    }
+
+    /**
+     * Looks up the first move of a cheapest route from a tile to a destination.
+     *
+     * @param destination Number of the destination
+     * @param tile        Index of the tile departed from
+     * @return The move to make, or {@link EdgeMoves#NO_MOVE}
+     */
+    public int getFirstMove(int destination, int tile) {
+        // Last run starting at or before the tile
+        int low = firstRuns[destination];
+        int high = low + runCounts[destination] - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (runStarts.get(mid) <= tile) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return runMoves.get(low) & 0xFF;
+    }
+
+    /**
+     * Memory-maps a path database file.
+     *
+     * @param file      The path database file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The path database
+     * @throws IllegalStateException if the file is not a path database or was computed for other map data
+     */
+    public static PathDatabase load(Path file, TileIndex tileIndex) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 20 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException(file + " is not a path database of version " + VERSION);
+            }
+            if (buffer.getInt() != tileIndex.size() || buffer.getLong() != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            long[] capabilityMask = new long[buffer.getInt()];
+            for (int i = 0; i < capabilityMask.length; i++) {
+                capabilityMask[i] = buffer.getLong();
+            }
+
+            final int count = buffer.getInt();
+            int[] destinationTiles = new int[count];
+            int[] firstRuns = new int[count];
+            int[] runCounts = new int[count];
+            int totalRuns = 0;
+            for (int i = 0; i < count; i++) {
+                destinationTiles[i] = buffer.getInt();
+                firstRuns[i] = buffer.getInt();
+                runCounts[i] = buffer.getInt();
+                totalRuns = Math.max(totalRuns, firstRuns[i] + runCounts[i]);
+            }
+
+            IntBuffer runStarts = buffer.slice().asIntBuffer();
+            runStarts.limit(totalRuns);
+            buffer.position(buffer.position() + totalRuns * 4);
+            ByteBuffer runMoves = buffer.slice();
+            if (runMoves.remaining() < totalRuns) {
+                throw new IllegalStateException("Path database file is truncated");
+            }
+            return new PathDatabase(tileIndex, capabilityMask, destinationTiles, firstRuns, runCounts, runStarts,
+                    runMoves);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a path database file.
+     *
+     * @param file             The file to write, replaced if it exists
+     * @param tileIndex        Index of the tiles the moves are stored for
+     * @param capabilityMask   Capabilities the moves were computed with
+     * @param destinationTiles 32-bit integer representations of the destinations
+     * @param tables           Run-length encoded table of each destination, see {@link #encode(byte[])}
+     */
+    public static void write(Path file, TileIndex tileIndex, long[] capabilityMask, int[] destinationTiles,
+                             List<int[]> tables) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tileIndex.size());
+            out.writeLong(tileIndex.getChecksum());
+            out.writeInt(capabilityMask.length);
+            for (long word : capabilityMask) {
+                out.writeLong(word);
+            }
+
+            out.writeInt(destinationTiles.length);
+            int firstRun = 0;
+            for (int i = 0; i < destinationTiles.length; i++) {
+                int runCount = tables.get(i).length / 2;
+                out.writeInt(destinationTiles[i]);
+                out.writeInt(firstRun);
+                out.writeInt(runCount);
+                firstRun += runCount;
+            }
+
+            for (int[] table : tables) {
+                for (int run = 0; run < table.length; run += 2) {
+                    out.writeInt(table[run]);
+                }
+            }
+            for (int[] table : tables) {
+                for (int run = 1; run < table.length; run += 2) {
+                    out.writeByte(table[run]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("Wrote " + destinationTiles.length + " destinations to " + file);
+    }
+
+    /**
+     * Run-length encodes the first moves of every tile towards one destination.
+     *
+     * @param moves First move of each tile, by tile index
+     * @return The runs, as pairs of first tile and move
+     */
+    public static int[] encode(byte[] moves) {
+        int runs = 0;
+        for (int tile = 0; tile < moves.length; tile++) {
+            if (tile == 0 || moves[tile] != moves[tile - 1]) {
+                runs++;
+            }
+        }
+
+        int[] table = new int[runs * 2];
+        for (int tile = 0, run = 0; tile < moves.length; tile++) {
+            if (tile == 0 || moves[tile] != moves[tile - 1]) {
+                table[run++] = tile;
+                table[run++] = moves[tile] & 0xFF;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the path database of the {@link PrecomputedData} directory, loading it on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the database must match
+     * @return The shared path database, or {@code null} if there is no usable path database file
+     */
+    public static PathDatabase shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool computing the {@link PathDatabase} of the destinations listed in
+ * {@value PrecomputedData#HOT_DESTINATIONS}, or in a file in the same format.
+ * <p>
+ * Each destination takes one reverse search over the whole map, giving the cost from every tile to it; the first
+ * move of a tile is then an edge on a cheapest route. Destinations are computed in parallel. Moves are computed with
+ * the same capabilities as the other precomputed data, and only hold for them.
+ * <p>
+ * Usage: {@code PathDatabasePrecompute [output directory] [destination file]}, defaulting to the
+ * {@link PrecomputedData} directory and {@value PrecomputedData#HOT_DESTINATIONS}.
+ */
+public class PathDatabasePrecompute {
+    public static void main(String[] args) {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+
+        final PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        final TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        final int[] destinations = PrecomputedData.readEndpoints(args.length > 1 ? Paths.get(args[1]) : null);
+        System.out.println("Indexed " + tileIndex.size() + " tiles");
+
+        long startMillis = System.currentTimeMillis();
+        List<int[]> tables = IntStream.range(0, destinations.length).parallel()
+                .mapToObj(i -> {
+                    int[] table = PathDatabase.encode(firstMoves(config, tileIndex, destinations[i]));
+                    System.out.println(WorldPointUtil.unpackWorldPoint(destinations[i]) + ": " + table.length / 2
+                            + " runs");
+                    return table;
+                })
+                .collect(Collectors.toList());
+        System.out.println("Computed " + destinations.length + " destinations in "
+                + (System.currentTimeMillis() - startMillis) + " ms");
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        PathDatabase.write(directory.resolve(PathDatabase.FILE_NAME), tileIndex, config.getCapabilityMask(),
+                destinations, tables);
+    }
+
+    /**
+     * Computes the first move of a cheapest route from every tile to a destination. Where several edges start a
+     * cheapest route, the move of the previous tile is kept if possible, so that runs are as long as possible.
+     *
+     * @return Move of each tile by tile index, {@link EdgeMoves#NO_MOVE} if there is none
+     */
+    private static byte[] firstMoves(PathfinderConfig config, TileIndex tileIndex, int packedDestination) {
+        final int[] distances = new GraphSearch(config, tileIndex).distances(packedDestination, true);
+        final byte[] moves = new byte[distances.length];
+        int previousMove = EdgeMoves.NO_MOVE;
+        for (int tile = 0; tile < distances.length; tile++) {
+            previousMove = EdgeMoves.cheapestMove(config, tileIndex, distances, tile, false, previousMove);
+            moves[tile] = (byte) previousMove;
+        }
+        return moves;
+    }
+}
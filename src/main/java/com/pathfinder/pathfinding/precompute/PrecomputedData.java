@@ -0,0 +1,165 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Locates the directory holding data precomputed offline, such as {@link Landmarks}.
+ * <p>
+ * The directory is taken from the {@value #DATA_DIR_PROPERTY} system property, or else the {@value #DATA_DIR_ENV}
+ * environment variable. Precomputed data is optional: when neither is set, or a file is missing, searches fall back
+ * to what they can compute on their own.
+ */
+public class PrecomputedData {
+    /**
+     * System property naming the data directory.
+     */
+    public static final String DATA_DIR_PROPERTY = "pathfinder.dataDir";
+
+    /**
+     * Environment variable naming the data directory, used if the system property is not set.
+     */
+    public static final String DATA_DIR_ENV = "PATHFINDER_DATA_DIR";
+
+    /**
+     * Resource listing the most requested route endpoints, one {@code x y plane} tile per line after a header.
+     */
+    public static final String HOT_DESTINATIONS = "hot-destinations.csv";
+
+    /**
+     * @return The configured data directory, or {@code null} if none is configured
+     */
+    public static Path getDataDirectory() {
+        String directory = System.getProperty(DATA_DIR_PROPERTY);
+        if (directory == null || directory.isEmpty()) {
+            directory = System.getenv(DATA_DIR_ENV);
+        }
+        return directory == null || directory.isEmpty() ? null : Paths.get(directory);
+    }
+
+    /**
+     * @param fileName Name of a file in the data directory
+     * @return Path of the file, or {@code null} if no data directory is configured or the file does not exist
+     */
+    public static Path findFile(String fileName) {
+        Path directory = getDataDirectory();
+        if (directory == null) {
+            return null;
+        }
+
+        Path file = directory.resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Reads a list of route endpoints, such as {@value #HOT_DESTINATIONS}: a header line, then one endpoint per line,
+     * its tile as {@code x y plane} in the first column. Blank lines and lines starting with {@code #} are ignored.
+     *
+     * @param file The file to read, or {@code null} for the {@value #HOT_DESTINATIONS} resource
+     * @return 32-bit integer representations of the endpoints
+     */
+    public static int[] readEndpoints(Path file) {
+        List<Integer> endpoints = new ArrayList<>();
+        try (BufferedReader reader = file != null ? Files.newBufferedReader(file, StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(Objects.requireNonNull(PrecomputedData.class
+                .getClassLoader().getResourceAsStream(HOT_DESTINATIONS), HOT_DESTINATIONS), StandardCharsets.UTF_8))) {
+            reader.readLine(); // Header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.isBlank()) {
+                    continue;
+                }
+                String[] coordinates = line.split(",")[0].trim().split(" ");
+                endpoints.add(WorldPointUtil.packWorldPoint(Integer.parseInt(coordinates[0]),
+                        Integer.parseInt(coordinates[1]), Integer.parseInt(coordinates[2])));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return endpoints.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Loads one kind of precomputed data from the data directory on first use and shares it, or its absence, with
+     * every later caller. A file that does not match the map and transports of the configuration is ignored.
+     *
+     * @param <T> Type of the data loaded
+     */
+    public static class SharedLoader<T> {
+        private final String fileName;
+        private final String description;
+        private final BiFunction<Path, TileIndex, T> load;
+        private final Function<T, String> summary;
+
+        /**
+         * Whether {@link #data} has been loaded; written after it, so that it is visible once this is set.
+         */
+        private volatile boolean loaded;
+        private T data;
+
+        /**
+         * Constructs a new {@code SharedLoader}.
+         *
+         * @param fileName    Name of the file in the data directory
+         * @param description What the file holds, for the message logged when it is ignored
+         * @param load        Reads the file, throwing {@link IllegalStateException} or {@link UncheckedIOException}
+         *                    if it is unusable
+         * @param summary     Describes the data read, for the message logged once it is loaded
+         */
+        public SharedLoader(String fileName, String description, BiFunction<Path, TileIndex, T> load,
+                            Function<T, String> summary) {
+            this.fileName = fileName;
+            this.description = description;
+            this.load = load;
+            this.summary = summary;
+        }
+
+        /**
+         * Returns the shared data, loading it on first use.
+         *
+         * @param config Pathfinding configuration providing the map and transports the data must match
+         * @return The shared data, or {@code null} if there is no usable file
+         */
+        public T get(PathfinderConfig config) {
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) {
+                        data = load(config);
+                        loaded = true;
+                    }
+                }
+            }
+            return data;
+        }
+
+        private T load(PathfinderConfig config) {
+            Path file = findFile(fileName);
+            if (file == null) {
+                return null;
+            }
+
+            try {
+                T loadedData = load.apply(file, new TileIndex(config.getMap(), config.getTransportGraph()));
+                System.out.println("Loaded " + summary.apply(loadedData) + " from " + file);
+                return loadedData;
+            } catch (IllegalStateException | UncheckedIOException e) {
+                System.err.println("Ignoring " + description + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
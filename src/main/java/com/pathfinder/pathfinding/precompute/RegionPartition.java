@@ -0,0 +1,108 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.SplitFlagMap;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.util.Arrays;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * Divides the map into partitions, each a square group of {@link #groupSize} by {@link #groupSize} map regions of
+ * the {@link SplitFlagMap} grid, across every plane.
+ * <p>
+ * Only groups holding indexed tiles become partitions; they are numbered in the order of their group keys.
+ */
+public class RegionPartition {
+    /**
+     * Width and height of a group, in regions.
+     */
+    private final int groupSize;
+
+    /**
+     * Group key of each partition, packed as {@code groupX | groupY << 16}.
+     */
+    private final int[] groupKeys;
+
+    /**
+     * Partition of each group, by {@code groupX + groupY * gridWidth}; {@code -1} for groups without tiles.
+     */
+    private final int[] partitions;
+
+    private final int gridWidth;
+
+    /**
+     * Constructs a {@code RegionPartition} from the groups holding tiles.
+     *
+     * @param groupSize Width and height of a group, in regions
+     * @param groupKeys Group key of each partition, packed as {@code groupX | groupY << 16}
+     */
+    public RegionPartition(int groupSize, int[] groupKeys) {
+        this.groupSize = groupSize;
+        this.groupKeys = groupKeys.clone();
+
+        SplitFlagMap.RegionExtent extents = SplitFlagMap.getRegionExtents();
+        final int tilesPerGroup = groupSize * REGION_SIZE;
+        this.gridWidth = (extents.getMaxX() + 1) * REGION_SIZE / tilesPerGroup + 1;
+        final int gridHeight = (extents.getMaxY() + 1) * REGION_SIZE / tilesPerGroup + 1;
+        this.partitions = new int[gridWidth * gridHeight];
+        Arrays.fill(partitions, -1);
+        for (int partition = 0; partition < groupKeys.length; partition++) {
+            int groupX = groupKeys[partition] & 0xFFFF;
+            int groupY = groupKeys[partition] >>> 16;
+            partitions[groupX + groupY * gridWidth] = partition;
+        }
+    }
+
+    /**
+     * Creates the partition of every group holding at least one tile of an index.
+     *
+     * @param tileIndex The tiles to partition
+     * @param groupSize Width and height of a group, in regions
+     * @return The partition
+     */
+    public static RegionPartition of(TileIndex tileIndex, int groupSize) {
+        final int tilesPerGroup = groupSize * REGION_SIZE;
+        int[] keys = new int[tileIndex.size()];
+        for (int tile = 0; tile < keys.length; tile++) {
+            int packedTile = tileIndex.getPackedTile(tile);
+            keys[tile] = WorldPointUtil.unpackWorldX(packedTile) / tilesPerGroup
+                    | WorldPointUtil.unpackWorldY(packedTile) / tilesPerGroup << 16;
+        }
+        return new RegionPartition(groupSize, Arrays.stream(keys).distinct().sorted().toArray());
+    }
+
+    /**
+     * @return Width and height of a group, in regions
+     */
+    public int getGroupSize() {
+        return groupSize;
+    }
+
+    /**
+     * @return Number of partitions
+     */
+    public int size() {
+        return groupKeys.length;
+    }
+
+    /**
+     * @param partition Index of a partition
+     * @return Group key of the partition, packed as {@code groupX | groupY << 16}
+     */
+    public int getGroupKey(int partition) {
+        return groupKeys[partition];
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return Partition of the tile, or {@code -1} if its group holds no indexed tiles
+     */
+    public int partitionOf(int packedPoint) {
+        final int tilesPerGroup = groupSize * REGION_SIZE;
+        final int groupX = WorldPointUtil.unpackWorldX(packedPoint) / tilesPerGroup;
+        final int groupY = WorldPointUtil.unpackWorldY(packedPoint) / tilesPerGroup;
+        final int group = groupX + groupY * gridWidth;
+        return groupX >= gridWidth || group >= partitions.length ? -1 : partitions[group];
+    }
+}
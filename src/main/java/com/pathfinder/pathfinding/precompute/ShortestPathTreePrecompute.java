@@ -0,0 +1,77 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.util.WorldPointUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Offline tool computing the {@link ShortestPathTrees} of the endpoints listed in
+ * {@value PrecomputedData#HOT_DESTINATIONS}, or in a file in the same format.
+ * <p>
+ * Each endpoint takes a forward and a reverse search over the whole map; the move of a tile is then an edge on a
+ * cheapest route from or to the endpoint. Endpoints are computed in parallel, with the same capabilities as the
+ * other precomputed data, and the trees only hold for them. Trees take two bytes per indexed tile and endpoint.
+ * <p>
+ * Usage: {@code ShortestPathTreePrecompute [output directory] [endpoint file]}, defaulting to the
+ * {@link PrecomputedData} directory and {@value PrecomputedData#HOT_DESTINATIONS}.
+ */
+public class ShortestPathTreePrecompute {
+    public static void main(String[] args) throws Exception {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : PrecomputedData.getDataDirectory();
+        if (directory == null) {
+            throw new IllegalArgumentException("No output directory given and " + PrecomputedData.DATA_DIR_PROPERTY
+                    + " is not set");
+        }
+        Files.createDirectories(directory);
+
+        final PathfinderConfig config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        final TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        final int[] endpoints = PrecomputedData.readEndpoints(args.length > 1 ? Paths.get(args[1]) : null);
+        System.out.println("Indexed " + tileIndex.size() + " tiles");
+
+        long startMillis = System.currentTimeMillis();
+        List<byte[][]> trees = IntStream.range(0, endpoints.length).parallel()
+                .mapToObj(i -> {
+                    GraphSearch search = new GraphSearch(config, tileIndex);
+                    byte[][] endpointTrees = {
+                            tree(config, tileIndex, search.distances(endpoints[i], false), true),
+                            tree(config, tileIndex, search.distances(endpoints[i], true), false)
+                    };
+                    System.out.println("Computed the trees of " + WorldPointUtil.unpackWorldPoint(endpoints[i]));
+                    return endpointTrees;
+                })
+                .collect(Collectors.toList());
+        System.out.println("Computed " + endpoints.length + " endpoints in "
+                + (System.currentTimeMillis() - startMillis) + " ms");
+
+        Path file = directory.resolve(ShortestPathTrees.FILE_NAME);
+        try (ShortestPathTrees.Writer writer = new ShortestPathTrees.Writer(file, tileIndex,
+                config.getCapabilityMask(), endpoints)) {
+            for (byte[][] endpointTrees : trees) {
+                writer.add(endpointTrees[0], endpointTrees[1]);
+            }
+        }
+        System.out.println("Wrote " + file);
+    }
+
+    /**
+     * @param costs    Cost of every tile from the endpoint for a forward tree, or to it for a reverse tree
+     * @param incoming {@code true} for a forward tree
+     * @return Move of each tile by tile index
+     */
+    private static byte[] tree(PathfinderConfig config, TileIndex tileIndex, int[] costs, boolean incoming) {
+        byte[] moves = new byte[costs.length];
+        for (int tile = 0; tile < costs.length; tile++) {
+            moves[tile] = (byte) EdgeMoves.cheapestMove(config, tileIndex, costs, tile, incoming, EdgeMoves.NO_MOVE);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,283 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.util.PrimitiveIntHashMap;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Full shortest-path trees of a set of endpoints, for every tile of a {@link TileIndex}, so that any route starting
+ * or ending at an endpoint is found by walking a tree, in time proportional to the length of the route.
+ * <p>
+ * Each endpoint has two trees of one {@link EdgeMoves move} per tile. The forward tree holds the incoming move of
+ * every tile on a cheapest route from the endpoint, leading back to its parent; the reverse tree holds the outgoing
+ * move on a cheapest route to the endpoint. The endpoint itself and tiles without a route have
+ * {@link EdgeMoves#NO_MOVE}. Like the moves, the trees only hold for searches with the capabilities they were
+ * computed with; see {@link #isApplicable(PathfinderConfig)}.
+ * <p>
+ * Unlike the {@link PathDatabase}, moves are not compressed, so each lookup is a single read of the memory-mapped
+ * file. The file starts with a header: magic, version, tile count, {@link TileIndex#getChecksum()}, the capability
+ * mask and the endpoint tiles. The moves follow as one section per endpoint and direction: the forward tree, then
+ * the reverse tree.
+ */
+public class ShortestPathTrees {
+    /**
+     * Name of the shortest-path tree file in the {@link PrecomputedData} directory.
+     */
+    public static final String FILE_NAME = "shortest-path-trees.bin";
+
+    /**
+     * Loads the shortest-path trees shared by {@link #shared(PathfinderConfig)}.
+     */
+    private static final PrecomputedData.SharedLoader<ShortestPathTrees> SHARED = new PrecomputedData.SharedLoader<>(
+            FILE_NAME, "shortest-path trees", ShortestPathTrees::load,
+            trees -> "shortest-path trees of " + trees.getEndpointCount() + " endpoints");
+
+    private static final int MAGIC = 0x53505431; // "SPT1"
+    private static final int VERSION = 1;
+
+    @Getter
+    private final TileIndex tileIndex;
+
+    /**
+     * Capabilities the trees were computed with.
+     */
+    private final long[] capabilityMask;
+
+    private final int[] endpointTiles;
+
+    /**
+     * Endpoint number by packed tile.
+     */
+    private final PrimitiveIntHashMap<Integer> endpointsByTile;
+
+    private final ByteBuffer[] forward;
+    private final ByteBuffer[] reverse;
+
+    private ShortestPathTrees(TileIndex tileIndex, long[] capabilityMask, int[] endpointTiles, ByteBuffer[] forward,
+                              ByteBuffer[] reverse) {
+        this.tileIndex = tileIndex;
+        this.capabilityMask = capabilityMask;
+        this.endpointTiles = endpointTiles;
+        this.forward = forward;
+        this.reverse = reverse;
+        this.endpointsByTile = new PrimitiveIntHashMap<>(Math.max(endpointTiles.length, 1));
+        for (int i = 0; i < endpointTiles.length; i++) {
+            endpointsByTile.put(endpointTiles[i], i);
+        }
+    }
+
+    /**
+     * @return Number of endpoints
+     */
+    public int getEndpointCount() {
+        return endpointTiles.length;
+    }
+
+    /**
+     * @param endpoint Number of the endpoint
+     * @return 32-bit integer representation of the endpoint's tile
+     */
+    public int getEndpointTile(int endpoint) {
+        return endpointTiles[endpoint];
+    }
+
+    /**
+     * @param packedTile 32-bit integer representation of a tile
+     * @return Number of the endpoint at the tile, or {@code -1} if there are no trees for it
+     */
+    public int endpointOf(int packedTile) {
+        Integer endpoint = endpointsByTile.get(packedTile);
+        return endpoint == null ? -1 : endpoint;
+    }
+
+    /**
+     * Determines whether the trees hold for searches with the given configuration, i.e. whether they were computed
+     * with the same player capabilities. Callers must also not restrict the search in other ways, such as avoiding
+     * the wilderness or limiting its radius.
+     *
+     * @param config Pathfinding configuration of the search
+     * @return {@code true} if the trees may be used
+     */
+    public boolean isApplicable(PathfinderConfig config) {
+        return Arrays.equals(capabilityMask, config.getCapabilityMask());
+    }
+
+    /**
+     * @param endpoint Number of the endpoint
+     * @param tile     Index of a tile
+     * @return Incoming move of the tile on a cheapest route from the endpoint, or {@link EdgeMoves#NO_MOVE}
+     */
+    public int getForwardMove(int endpoint, int tile) {
+        return forward[endpoint].get(tile) & 0xFF;
+    }
+
+    /**
+     * @param endpoint Number of the endpoint
+     * @param tile     Index of a tile
+     * @return Outgoing move of the tile on a cheapest route to the endpoint, or {@link EdgeMoves#NO_MOVE}
+     */
+    public int getReverseMove(int endpoint, int tile) {
+        return reverse[endpoint].get(tile) & 0xFF;
+    }
+
+    /**
+     * Memory-maps a shortest-path tree file.
+     *
+     * @param file      The shortest-path tree file
+     * @param tileIndex Index of the tiles of the current map, which the file must have been computed with
+     * @return The shortest-path trees
+     * @throws IllegalStateException if the file is not a shortest-path tree file or was computed for other map data
+     */
+    public static ShortestPathTrees load(Path file, TileIndex tileIndex) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 1 << 16));
+            if (header.remaining() < 24 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalStateException(file + " is not a shortest-path tree file of version " + VERSION);
+            }
+            if (header.getInt() != tileIndex.size() || header.getLong() != tileIndex.getChecksum()) {
+                throw new IllegalStateException(file + " was computed for different map data");
+            }
+
+            long[] capabilityMask = new long[header.getInt()];
+            for (int i = 0; i < capabilityMask.length; i++) {
+                capabilityMask[i] = header.getLong();
+            }
+            int[] endpointTiles = new int[header.getInt()];
+            for (int i = 0; i < endpointTiles.length; i++) {
+                endpointTiles[i] = header.getInt();
+            }
+
+            final int count = endpointTiles.length;
+            if (channel.size() < sectionOffset(capabilityMask.length, count, tileIndex, 2 * count)) {
+                throw new IllegalStateException("Shortest-path tree file is truncated");
+            }
+            ByteBuffer[] forward = new ByteBuffer[count];
+            ByteBuffer[] reverse = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                forward[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        sectionOffset(capabilityMask.length, count, tileIndex, 2 * i), tileIndex.size());
+                reverse[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        sectionOffset(capabilityMask.length, count, tileIndex, 2 * i + 1), tileIndex.size());
+            }
+            return new ShortestPathTrees(tileIndex, capabilityMask, endpointTiles, forward, reverse);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the shortest-path trees of the {@link PrecomputedData} directory, loading them on first use.
+     *
+     * @param config Pathfinding configuration providing the map and transports the trees must match
+     * @return The shared shortest-path trees, or {@code null} if there is no usable shortest-path tree file
+     */
+    public static ShortestPathTrees shared(PathfinderConfig config) {
+        return SHARED.get(config);
+    }
+
+    /**
+     * Size of the header, up to the first section.
+     */
+    private static long headerBytes(int capabilityWords, int endpointCount) {
+        return 28 + 8L * capabilityWords + 4L * endpointCount;
+    }
+
+    /**
+     * Offset of a section of moves within the file.
+     */
+    private static long sectionOffset(int capabilityWords, int endpointCount, TileIndex tileIndex, int section) {
+        return headerBytes(capabilityWords, endpointCount) + (long) section * tileIndex.size();
+    }
+
+    /**
+     * Writes a shortest-path tree file one endpoint at a time, so moves never need to be held for every endpoint at
+     * once.
+     */
+    public static class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final TileIndex tileIndex;
+        private final int capabilityWords;
+        private final int endpointCount;
+        private int written;
+
+        /**
+         * Creates the file and writes its header.
+         *
+         * @param file           The file to write, replaced if it exists
+         * @param tileIndex      Index of the tiles the moves are stored for
+         * @param capabilityMask Capabilities the moves are computed with
+         * @param endpointTiles  32-bit integer representations of the endpoints, in the order they will be added
+         */
+        public Writer(Path file, TileIndex tileIndex, long[] capabilityMask, int[] endpointTiles) {
+            this.tileIndex = tileIndex;
+            this.capabilityWords = capabilityMask.length;
+            this.endpointCount = endpointTiles.length;
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                ByteBuffer header = ByteBuffer.allocate((int) headerBytes(capabilityWords, endpointCount));
+                header.putInt(MAGIC).putInt(VERSION).putInt(tileIndex.size()).putLong(tileIndex.getChecksum())
+                        .putInt(capabilityWords);
+                for (long word : capabilityMask) {
+                    header.putLong(word);
+                }
+                header.putInt(endpointCount);
+                for (int endpointTile : endpointTiles) {
+                    header.putInt(endpointTile);
+                }
+                header.flip();
+                writeFully(header, 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Writes the trees of the next endpoint.
+         *
+         * @param forward Forward tree, the incoming move of each tile by tile index
+         * @param reverse Reverse tree, the outgoing move of each tile by tile index
+         */
+        public void add(byte[] forward, byte[] reverse) {
+            if (written == endpointCount) {
+                throw new IllegalStateException("All " + endpointCount + " endpoints were already added");
+            }
+
+            try {
+                writeFully(ByteBuffer.wrap(forward),
+                        sectionOffset(capabilityWords, endpointCount, tileIndex, 2 * written));
+                writeFully(ByteBuffer.wrap(reverse),
+                        sectionOffset(capabilityWords, endpointCount, tileIndex, 2 * written + 1));
+                written++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (written != endpointCount) {
+                throw new IllegalStateException("Only " + written + " of " + endpointCount + " endpoints were added");
+            }
+        }
+
+        private void writeFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        }
+    }
+}
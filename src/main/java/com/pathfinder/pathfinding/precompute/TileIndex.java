@@ -0,0 +1,225 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.CollisionMap;
+import com.pathfinder.pathfinding.SplitFlagMap;
+import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.pathfinding.transports.TransportGraph;
+import com.pathfinder.pathfinding.transports.TransportNetwork;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.util.List;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+
+/**
+ * A dense numbering of every tile a search can stand on, from {@code 0} to {@link #size()} {@code - 1}, so that
+ * per-tile data for the whole world can be stored in flat arrays.
+ * <p>
+ * A tile is indexed if it is not fully blocked, or if a transport or network stop starts or ends there (such tiles
+ * may only be entered through the transport). Like {@link com.pathfinder.pathfinding.VisitedTiles}, each region
+ * plane row is a 64-bit mask; the index of a tile is the number of indexed tiles before it, found from a per-row
+ * offset and a bit count.
+ * <p>
+ * The numbering only depends on the collision data and transports, so precomputed data can be checked against it
+ * with {@link #getChecksum()}.
+ */
+public class TileIndex {
+    private final SplitFlagMap.RegionExtent regionExtents;
+    private final int widthInclusive;
+
+    /**
+     * Per region, one mask of indexed tiles per plane row; {@code null} for regions without data.
+     */
+    private final long[][] regionRows;
+
+    /**
+     * Per region, the index of the first indexed tile of each plane row.
+     */
+    private final int[][] regionRowOffsets;
+
+    /**
+     * Number of indexed tiles.
+     */
+    private final int size;
+
+    /**
+     * Checksum of the indexed tiles, in index order.
+     */
+    @Getter
+    private final long checksum;
+
+    /**
+     * Packed tiles by index, built on first use.
+     */
+    private volatile int[] packedTiles;
+
+    /**
+     * Builds the index of the tiles of a collision map.
+     *
+     * @param map            The collision map
+     * @param transportGraph Transports whose endpoints are indexed even if fully blocked
+     */
+    public TileIndex(CollisionMap map, TransportGraph transportGraph) {
+        regionExtents = SplitFlagMap.getRegionExtents();
+        widthInclusive = regionExtents.getWidth() + 1;
+        final int heightInclusive = regionExtents.getHeight() + 1;
+        final byte[] planes = map.getPlanes();
+
+        regionRows = new long[widthInclusive * heightInclusive][];
+        regionRowOffsets = new int[regionRows.length][];
+        for (int region = 0; region < regionRows.length; region++) {
+            if (planes[region] > 0) {
+                regionRows[region] = new long[planes[region] * REGION_SIZE];
+            }
+        }
+
+        for (int region = 0; region < regionRows.length; region++) {
+            long[] rows = regionRows[region];
+            if (rows == null) {
+                continue;
+            }
+
+            final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+            final int baseY = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE;
+            for (int row = 0; row < rows.length; row++) {
+                final int y = baseY + row % REGION_SIZE;
+                final int z = row / REGION_SIZE;
+                for (int x = 0; x < REGION_SIZE; x++) {
+                    if (!map.isBlocked(baseX + x, y, z)) {
+                        rows[row] |= 1L << x;
+                    }
+                }
+            }
+        }
+
+        for (List<Transport> transports : transportGraph.getTransports().values()) {
+            for (Transport transport : transports) {
+                mark(transport.getPackedOrigin());
+                mark(transport.getPackedDestination());
+            }
+        }
+        for (TransportNetwork network : transportGraph.getNetworks()) {
+            for (int stop = 0; stop < network.size(); stop++) {
+                mark(network.getPackedStop(stop));
+            }
+        }
+
+        int offset = 0;
+        long hash = 17;
+        for (int region = 0; region < regionRows.length; region++) {
+            long[] rows = regionRows[region];
+            if (rows == null) {
+                continue;
+            }
+
+            int[] offsets = new int[rows.length];
+            for (int row = 0; row < rows.length; row++) {
+                offsets[row] = offset;
+                offset += Long.bitCount(rows[row]);
+                hash = 31 * hash + rows[row];
+            }
+            regionRowOffsets[region] = offsets;
+            hash = 31 * hash + region;
+        }
+        this.size = offset;
+        this.checksum = 31 * hash + offset;
+    }
+
+    /**
+     * @return Number of indexed tiles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param packedPoint 32-bit integer representation of a tile
+     * @return Index of the tile, or {@code -1} if it is not indexed
+     */
+    public int indexOf(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        final int region = getRegionIndex(x / REGION_SIZE, y / REGION_SIZE);
+        if (region < 0 || region >= regionRows.length || regionRows[region] == null) {
+            return -1;
+        }
+
+        final long[] rows = regionRows[region];
+        final int row = z * REGION_SIZE + y % REGION_SIZE;
+        if (row >= rows.length) {
+            return -1;
+        }
+
+        final long bit = 1L << (x % REGION_SIZE);
+        if ((rows[row] & bit) == 0) {
+            return -1;
+        }
+        return regionRowOffsets[region][row] + Long.bitCount(rows[row] & (bit - 1));
+    }
+
+    /**
+     * @param index Index of a tile
+     * @return 32-bit integer representation of the tile
+     */
+    public int getPackedTile(int index) {
+        int[] tiles = packedTiles;
+        if (tiles == null) {
+            tiles = buildPackedTiles();
+            packedTiles = tiles;
+        }
+        return tiles[index];
+    }
+
+    /**
+     * Lists every indexed tile in index order.
+     */
+    private int[] buildPackedTiles() {
+        int[] tiles = new int[size];
+        int index = 0;
+        for (int region = 0; region < regionRows.length; region++) {
+            long[] rows = regionRows[region];
+            if (rows == null) {
+                continue;
+            }
+
+            final int baseX = (region % widthInclusive + regionExtents.getMinX()) * REGION_SIZE;
+            final int baseY = (region / widthInclusive + regionExtents.getMinY()) * REGION_SIZE;
+            for (int row = 0; row < rows.length; row++) {
+                for (long bits = rows[row]; bits != 0; bits &= bits - 1) {
+                    tiles[index++] = WorldPointUtil.packWorldPoint(baseX + Long.numberOfTrailingZeros(bits),
+                            baseY + row % REGION_SIZE, row / REGION_SIZE);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Marks a tile as indexed, if it lies within the map.
+     */
+    private void mark(int packedPoint) {
+        final int x = WorldPointUtil.unpackWorldX(packedPoint);
+        final int y = WorldPointUtil.unpackWorldY(packedPoint);
+        final int z = WorldPointUtil.unpackWorldPlane(packedPoint);
+
+        final int region = getRegionIndex(x / REGION_SIZE, y / REGION_SIZE);
+        if (region < 0 || region >= regionRows.length || regionRows[region] == null) {
+            return;
+        }
+
+        final int row = z * REGION_SIZE + y % REGION_SIZE;
+        if (row < regionRows[region].length) {
+            regionRows[region][row] |= 1L << (x % REGION_SIZE);
+        }
+    }
+
+    /**
+     * Computes the linear array index for a given region coordinate.
+     */
+    private int getRegionIndex(int regionX, int regionY) {
+        return (regionX - regionExtents.getMinX()) + (regionY - regionExtents.getMinY()) * widthInclusive;
+    }
+}
@@ -0,0 +1,493 @@
+package com.pathfinder.pathfinding.replanning;
+
+import com.pathfinder.pathfinding.CollisionMap;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.TileCostMap;
+import com.pathfinder.pathfinding.transports.Transport;
+import com.pathfinder.util.PrimitiveMinHeap;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incremental pathfinder based on D* Lite (Koenig &amp; Likhachev).
+ * <p>
+ * The search runs backwards from the goal and keeps its state between calls to {@link #computePath()}. When tiles
+ * become blocked, transports become unusable (or either is restored), or the start moves along the path, only the
+ * affected part of the search is repaired rather than searching again from scratch.
+ * <p>
+ * Edge costs are the same as those of {@link com.pathfinder.pathfinding.Pathfinder}, so the Chebyshev distance is an
+ * admissible and consistent heuristic. Instances are not thread-safe.
+ */
+public class IncrementalPathfinder {
+    /**
+     * Cost of an unreachable tile or an unusable edge.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of steps taken when walking the computed costs back into a path.
+     */
+    private static final int MAX_PATH_LENGTH = 100_000;
+
+    /**
+     * Configuration used to control pathfinding behaviour.
+     */
+    private final PathfinderConfig config;
+
+    /**
+     * The map providing collision data.
+     */
+    private final CollisionMap map;
+
+    /**
+     * 32-bit integer representation of the goal.
+     */
+    private final int goal;
+
+    /**
+     * 32-bit integer representation of the current start, which moves as the player progresses.
+     */
+    private int start;
+
+    /**
+     * Start used when the queue keys were last computed.
+     */
+    private int lastStart;
+
+    /**
+     * Key modifier accumulating heuristic changes caused by moving the start.
+     */
+    private int keyModifier = 0;
+
+    /**
+     * Current cost estimate from each tile to the goal.
+     */
+    private final TileCostMap g;
+
+    /**
+     * One-step lookahead cost from each tile to the goal.
+     */
+    private final TileCostMap rhs;
+
+    /**
+     * Both halves of the key each tile was last queued with, or {@link #INFINITY} if not queued.
+     * Heap entries not matching these are stale and skipped.
+     */
+    private final TileCostMap queuedPrimaryKey;
+    private final TileCostMap queuedSecondaryKey;
+
+    /**
+     * Priority queue of inconsistent tiles.
+     */
+    private final PrimitiveMinHeap open = new PrimitiveMinHeap(4096);
+
+    /**
+     * Tiles that may not be entered or left.
+     */
+    private final Set<Integer> blockedTiles = new HashSet<>();
+
+    /**
+     * Transports that may not be used, keyed by {@link #transportKey(int, int)}.
+     */
+    private final Set<Long> disabledTransports = new HashSet<>();
+
+    /**
+     * Maximum number of tiles expanded by a single call to {@link #computePath()}.
+     */
+    private final int maxExpansions;
+
+    /**
+     * Number of tiles expanded by the most recent call to {@link #computePath()}.
+     */
+    @Getter
+    private int lastExpansions;
+
+    /**
+     * Whether the most recent call to {@link #computePath()} stopped at {@link #maxExpansions} before the costs
+     * converged, so that no path is known; a later call carries on from there.
+     */
+    @Getter
+    private boolean truncated;
+
+    /**
+     * Reusable buffers holding the predecessors of the tile being expanded.
+     */
+    private int[] predecessorPoints = new int[16];
+    private int[] predecessorCosts = new int[16];
+    private int predecessorCount;
+
+    /**
+     * Scratch value used while scanning successors.
+     */
+    private int bestSuccessorCost;
+    private int bestSuccessor;
+
+    /**
+     * Constructs a new {@code IncrementalPathfinder}. No searching is done until {@link #computePath()} is called.
+     *
+     * @param config        Pathfinding configuration
+     * @param start         The starting world point
+     * @param goal          The goal world point
+     * @param maxExpansions Maximum number of tiles expanded per call to {@link #computePath()}
+     */
+    public IncrementalPathfinder(PathfinderConfig config, WorldPoint start, WorldPoint goal, int maxExpansions) {
+        this.config = config;
+        this.map = config.getMap();
+        this.start = WorldPointUtil.packWorldPoint(start);
+        this.lastStart = this.start;
+        this.goal = WorldPointUtil.packWorldPoint(goal);
+        this.maxExpansions = maxExpansions;
+
+        g = new TileCostMap(map, INFINITY);
+        rhs = new TileCostMap(map, INFINITY);
+        queuedPrimaryKey = new TileCostMap(map, INFINITY);
+        queuedSecondaryKey = new TileCostMap(map, INFINITY);
+
+        rhs.set(this.goal, 0);
+        enqueue(this.goal);
+    }
+
+    /**
+     * Computes or repairs the shortest path from the current start to the goal.
+     *
+     * @return {@code true} if the goal is reachable, {@code false} if it is not or the expansion limit was hit, see
+     * {@link #isTruncated()}
+     */
+    public boolean computePath() {
+        lastExpansions = 0;
+        truncated = false;
+
+        while (!open.isEmpty()) {
+            final long topKey = open.peekKey();
+            final int u = open.peekValue();
+            if (isStale(u, topKey)) {
+                open.poll();
+                continue;
+            }
+
+            if (topKey >= calculateKey(start) && rhs.get(start) == g.get(start)) {
+                break;
+            }
+
+            if (++lastExpansions > maxExpansions) {
+                truncated = true;
+                return false;
+            }
+
+            final long newKey = calculateKey(u);
+            if (topKey < newKey) {
+                open.poll();
+                enqueue(u, newKey);
+            } else if (g.get(u) > rhs.get(u)) {
+                // Overconsistent: the tile's cost improved, propagate to predecessors
+                open.poll();
+                dequeue(u);
+                final int gu = rhs.get(u);
+                g.set(u, gu);
+
+                collectPredecessors(u);
+                for (int i = 0; i < predecessorCount; i++) {
+                    final int s = predecessorPoints[i];
+                    if (s != goal) {
+                        rhs.set(s, Math.min(rhs.get(s), add(predecessorCosts[i], gu)));
+                        updateVertex(s);
+                    }
+                }
+            } else {
+                // Underconsistent: the tile's cost got worse, re-derive everything that depended on it
+                open.poll();
+                dequeue(u);
+                final int gOld = g.get(u);
+                g.set(u, INFINITY);
+
+                collectPredecessors(u);
+                for (int i = 0; i < predecessorCount; i++) {
+                    final int s = predecessorPoints[i];
+                    if (s != goal && rhs.get(s) == add(predecessorCosts[i], gOld)) {
+                        rhs.set(s, computeRhs(s));
+                    }
+                    updateVertex(s);
+                }
+                if (u != goal) {
+                    rhs.set(u, computeRhs(u));
+                }
+                updateVertex(u);
+            }
+        }
+
+        return g.get(start) != INFINITY;
+    }
+
+    /**
+     * Returns the path from the current start to the goal according to the most recent computation.
+     *
+     * @return List of {@link WorldPoint} from start to goal, or an empty list if the goal is unreachable or the
+     * computation was {@link #isTruncated() truncated}
+     */
+    public List<WorldPoint> getPath() {
+        List<WorldPoint> path = new ArrayList<>();
+        if (truncated || g.get(start) == INFINITY) {
+            return path;
+        }
+
+        int current = start;
+        path.add(WorldPointUtil.unpackWorldPoint(current));
+        while (current != goal && path.size() < MAX_PATH_LENGTH) {
+            findBestSuccessor(current);
+            if (bestSuccessorCost == INFINITY) {
+                return new ArrayList<>();
+            }
+            current = bestSuccessor;
+            path.add(WorldPointUtil.unpackWorldPoint(current));
+        }
+
+        return path;
+    }
+
+    /**
+     * @return Cost of the path from the current start to the goal, or {@link Integer#MAX_VALUE} if unreachable or
+     * the computation was {@link #isTruncated() truncated}
+     */
+    public int getCost() {
+        return truncated ? INFINITY : g.get(start);
+    }
+
+    /**
+     * Estimates the memory held by the search state: the per-tile costs and keys of every region reached, and the
+     * queue.
+     *
+     * @return Estimated number of bytes retained
+     */
+    public long getRetainedBytes() {
+        return g.getAllocatedBytes() + rhs.getAllocatedBytes() + queuedPrimaryKey.getAllocatedBytes()
+                + queuedSecondaryKey.getAllocatedBytes() + 12L * open.size();
+    }
+
+    /**
+     * Moves the start, e.g. after the player progressed along the path or drifted off it.
+     *
+     * @param newStart The player's current position
+     */
+    public void moveStart(WorldPoint newStart) {
+        start = WorldPointUtil.packWorldPoint(newStart);
+        keyModifier += heuristic(lastStart, start);
+        lastStart = start;
+    }
+
+    /**
+     * Marks a tile as impassable, e.g. a temporary obstacle.
+     *
+     * @param point The tile to block
+     */
+    public void blockTile(WorldPoint point) {
+        if (blockedTiles.add(WorldPointUtil.packWorldPoint(point))) {
+            tileCostsChanged(WorldPointUtil.packWorldPoint(point));
+        }
+    }
+
+    /**
+     * Removes a tile previously blocked with {@link #blockTile(WorldPoint)}.
+     *
+     * @param point The tile to unblock
+     */
+    public void unblockTile(WorldPoint point) {
+        if (blockedTiles.remove(WorldPointUtil.packWorldPoint(point))) {
+            tileCostsChanged(WorldPointUtil.packWorldPoint(point));
+        }
+    }
+
+    /**
+     * Marks every transport from {@code origin} to {@code destination} as unusable, e.g. a locked door.
+     *
+     * @param origin      Origin of the transport
+     * @param destination Destination of the transport
+     */
+    public void disableTransport(WorldPoint origin, WorldPoint destination) {
+        final int packedOrigin = WorldPointUtil.packWorldPoint(origin);
+        if (disabledTransports.add(transportKey(packedOrigin, WorldPointUtil.packWorldPoint(destination)))) {
+            successorCostsChanged(packedOrigin);
+        }
+    }
+
+    /**
+     * Restores transports previously disabled with {@link #disableTransport(WorldPoint, WorldPoint)}.
+     *
+     * @param origin      Origin of the transport
+     * @param destination Destination of the transport
+     */
+    public void enableTransport(WorldPoint origin, WorldPoint destination) {
+        final int packedOrigin = WorldPointUtil.packWorldPoint(origin);
+        if (disabledTransports.remove(transportKey(packedOrigin, WorldPointUtil.packWorldPoint(destination)))) {
+            successorCostsChanged(packedOrigin);
+        }
+    }
+
+    /**
+     * Repairs the lookahead costs of a tile whose edges, in and out, all changed cost.
+     */
+    private void tileCostsChanged(int tile) {
+        successorCostsChanged(tile);
+        collectPredecessors(tile);
+        for (int i = 0; i < predecessorCount; i++) {
+            successorCostsChanged(predecessorPoints[i]);
+        }
+    }
+
+    /**
+     * Repairs the lookahead cost of a tile whose outgoing edges changed cost.
+     */
+    private void successorCostsChanged(int tile) {
+        if (tile != goal) {
+            rhs.set(tile, computeRhs(tile));
+        }
+        updateVertex(tile);
+    }
+
+    /**
+     * Queues a tile if it is inconsistent, otherwise removes it from the queue.
+     */
+    private void updateVertex(int tile) {
+        if (g.get(tile) != rhs.get(tile)) {
+            enqueue(tile);
+        } else {
+            dequeue(tile);
+        }
+    }
+
+    /**
+     * Queues a tile with its current key.
+     */
+    private void enqueue(int tile) {
+        enqueue(tile, calculateKey(tile));
+    }
+
+    /**
+     * Queues a tile with the given key, superseding any earlier entry for it.
+     */
+    private void enqueue(int tile, long key) {
+        final int primary = (int) (key >>> 32);
+        final int secondary = (int) key;
+        if (queuedPrimaryKey.get(tile) == primary && queuedSecondaryKey.get(tile) == secondary) {
+            return;
+        }
+
+        queuedPrimaryKey.set(tile, primary);
+        queuedSecondaryKey.set(tile, secondary);
+        open.add(key, tile);
+    }
+
+    /**
+     * Marks a tile as no longer queued; its remaining heap entries become stale.
+     */
+    private void dequeue(int tile) {
+        if (queuedPrimaryKey.get(tile) != INFINITY) {
+            queuedPrimaryKey.set(tile, INFINITY);
+            queuedSecondaryKey.set(tile, INFINITY);
+        }
+    }
+
+    /**
+     * @return {@code true} if a heap entry no longer reflects the key its tile is queued with
+     */
+    private boolean isStale(int tile, long key) {
+        return queuedPrimaryKey.get(tile) != (int) (key >>> 32) || queuedSecondaryKey.get(tile) != (int) key;
+    }
+
+    /**
+     * Calculates the D* Lite key of a tile, packed into a {@code long} so that keys compare lexicographically.
+     */
+    private long calculateKey(int tile) {
+        final int cost = Math.min(g.get(tile), rhs.get(tile));
+        if (cost == INFINITY) {
+            return ((long) INFINITY << 32) | INFINITY;
+        }
+
+        final int primary = add(add(cost, heuristic(start, tile)), keyModifier);
+        return ((long) primary << 32) | cost;
+    }
+
+    /**
+     * Computes the lowest cost to the goal through any successor of a tile.
+     */
+    private int computeRhs(int tile) {
+        findBestSuccessor(tile);
+        return bestSuccessorCost;
+    }
+
+    /**
+     * Finds the successor of a tile with the lowest edge cost plus cost to goal, storing it in
+     * {@link #bestSuccessor} and {@link #bestSuccessorCost}.
+     */
+    private void findBestSuccessor(int tile) {
+        bestSuccessorCost = INFINITY;
+        bestSuccessor = tile;
+        map.forEachNeighbor(tile, config, (neighbor, cost, transport) -> {
+            final int total = add(edgeCost(tile, neighbor, cost, transport), g.get(neighbor));
+            if (total < bestSuccessorCost) {
+                bestSuccessorCost = total;
+                bestSuccessor = neighbor;
+            }
+        });
+    }
+
+    /**
+     * Fills the predecessor buffers with every tile that has an edge into {@code tile}, and the edge cost.
+     */
+    private void collectPredecessors(int tile) {
+        predecessorCount = 0;
+        map.forEachPredecessor(tile, config, (predecessor, cost, transport) -> {
+            if (predecessorCount == predecessorPoints.length) {
+                predecessorPoints = Arrays.copyOf(predecessorPoints, predecessorCount * 2);
+                predecessorCosts = Arrays.copyOf(predecessorCosts, predecessorCount * 2);
+            }
+            predecessorPoints[predecessorCount] = predecessor;
+            predecessorCosts[predecessorCount] = edgeCost(predecessor, tile, cost, transport);
+            predecessorCount++;
+        });
+    }
+
+    /**
+     * Applies the current obstacles to the cost of an edge.
+     */
+    private int edgeCost(int from, int to, int cost, Transport transport) {
+        if (blockedTiles.contains(from) || blockedTiles.contains(to)) {
+            return INFINITY;
+        }
+        if (transport != null && disabledTransports.contains(transportKey(from, to))) {
+            return INFINITY;
+        }
+        return cost;
+    }
+
+    /**
+     * Chebyshev distance between two tiles, ignoring plane. Never exceeds the true cost since walking costs 1 per
+     * tile and transports cost at least the distance they cover.
+     */
+    private static int heuristic(int from, int to) {
+        return WorldPointUtil.distanceBetween(from, to);
+    }
+
+    /**
+     * Adds two costs, saturating at {@link #INFINITY}.
+     */
+    private static int add(int a, int b) {
+        if (a == INFINITY || b == INFINITY) {
+            return INFINITY;
+        }
+        return a + b;
+    }
+
+    /**
+     * Packs a transport's origin and destination into a single key.
+     */
+    private static long transportKey(int packedOrigin, int packedDestination) {
+        return ((long) packedOrigin << 32) | (packedDestination & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,123 @@
+package com.pathfinder.pathfinding.replanning;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * A registered route whose search state is kept between requests, so that obstacle changes and player movement
+ * only repair the affected part of the search.
+ * <p>
+ * All methods are synchronised, as requests for the same session may arrive concurrently.
+ */
+public class ReplanningSession {
+    /**
+     * Identifier handed to the client to refer to this session.
+     */
+    @Getter
+    private final String id;
+
+    /**
+     * The incremental search backing this session.
+     */
+    private final IncrementalPathfinder pathfinder;
+
+    /**
+     * Time the session was last used, in milliseconds since the epoch.
+     */
+    private volatile long lastAccessMillis;
+
+    /**
+     * Estimated memory held by the search, as of the end of the last replan; read without the session's lock.
+     */
+    private volatile long retainedBytes;
+
+    /**
+     * Constructs a new session around an incremental search.
+     *
+     * @param id         Identifier of the session
+     * @param pathfinder The incremental search for the session's route
+     */
+    public ReplanningSession(String id, IncrementalPathfinder pathfinder) {
+        this.id = id;
+        this.pathfinder = pathfinder;
+        touch();
+    }
+
+    /**
+     * Applies obstacle changes and the player's current position, then repairs the route.
+     *
+     * @param position            The player's current position, or {@code null} if unchanged
+     * @param blockedTiles        Tiles that became impassable
+     * @param clearedTiles        Previously blocked tiles that became passable again
+     * @param blockedTransports   Transports that became unusable, as origin and destination pairs
+     * @param clearedTransports   Previously unusable transports that can be used again
+     * @return The repaired path from the current position to the goal, or an empty list if unreachable or the
+     * repair was {@link #isTruncated() truncated}
+     */
+    public synchronized List<WorldPoint> replan(WorldPoint position,
+                                                List<WorldPoint> blockedTiles,
+                                                List<WorldPoint> clearedTiles,
+                                                List<WorldPoint[]> blockedTransports,
+                                                List<WorldPoint[]> clearedTransports) {
+        touch();
+
+        if (position != null) {
+            pathfinder.moveStart(position);
+        }
+        for (WorldPoint tile : blockedTiles) {
+            pathfinder.blockTile(tile);
+        }
+        for (WorldPoint tile : clearedTiles) {
+            pathfinder.unblockTile(tile);
+        }
+        for (WorldPoint[] transport : blockedTransports) {
+            pathfinder.disableTransport(transport[0], transport[1]);
+        }
+        for (WorldPoint[] transport : clearedTransports) {
+            pathfinder.enableTransport(transport[0], transport[1]);
+        }
+
+        pathfinder.computePath();
+        retainedBytes = pathfinder.getRetainedBytes();
+        return pathfinder.getPath();
+    }
+
+    /**
+     * @return Cost of the current route, or {@link Integer#MAX_VALUE} if the goal is unreachable or the last repair
+     * was truncated
+     */
+    public synchronized int getCost() {
+        return pathfinder.getCost();
+    }
+
+    /**
+     * @return {@code true} if the last repair hit its expansion limit before converging, so no route is known; the
+     * next replan carries on from there
+     */
+    public synchronized boolean isTruncated() {
+        return pathfinder.isTruncated();
+    }
+
+    /**
+     * @return Estimated number of bytes held by the session's search, as of the end of the last replan
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * @return Time the session was last used, in milliseconds since the epoch
+     */
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    /**
+     * Records that the session has just been used.
+     */
+    private void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,129 @@
+package com.pathfinder.pathfinding.replanning;
+
+import com.pathfinder.pathfinding.PathfinderConfig;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps {@link ReplanningSession}s alive between requests.
+ * <p>
+ * The registry is bounded: once {@link #maxSessions} is reached, or the sessions together hold more than
+ * {@link #maxBytes} of search state, the least recently used sessions are dropped, and sessions idle for longer than
+ * {@link #idleTimeoutMillis} expire. A session grows as it replans, so the byte budget is applied whenever the
+ * registry is used, to the sizes the sessions had at the end of their last replan.
+ */
+public class ReplanningSessionRegistry {
+    /**
+     * Maximum number of tiles expanded when a session computes or repairs its route.
+     */
+    private static final int MAX_EXPANSIONS = 500_000;
+
+    /**
+     * Maximum number of sessions kept at once.
+     */
+    private final int maxSessions;
+
+    /**
+     * Maximum estimated bytes of search state held by all sessions together.
+     */
+    private final long maxBytes;
+
+    /**
+     * Time after which an unused session expires.
+     */
+    private final long idleTimeoutMillis;
+
+    /**
+     * Sessions by identifier, in access order.
+     */
+    private final LinkedHashMap<String, ReplanningSession> sessions;
+
+    /**
+     * Constructs a new {@code ReplanningSessionRegistry}.
+     *
+     * @param maxSessions       Maximum number of sessions kept at once
+     * @param maxBytes          Maximum estimated bytes of search state held by all sessions together
+     * @param idleTimeoutMillis Time after which an unused session expires
+     */
+    public ReplanningSessionRegistry(int maxSessions, long maxBytes, long idleTimeoutMillis) {
+        this.maxSessions = maxSessions;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReplanningSession> eldest) {
+                return size() > ReplanningSessionRegistry.this.maxSessions;
+            }
+        };
+    }
+
+    /**
+     * Registers a new route; its path is computed by the first {@link ReplanningSession#replan}.
+     *
+     * @param config Pathfinding configuration for the player
+     * @param start  The starting world point
+     * @param goal   The goal world point
+     * @return The new session
+     */
+    public ReplanningSession register(PathfinderConfig config, WorldPoint start, WorldPoint goal) {
+        IncrementalPathfinder pathfinder = new IncrementalPathfinder(config, start, goal, MAX_EXPANSIONS);
+        ReplanningSession session = new ReplanningSession(UUID.randomUUID().toString(), pathfinder);
+        synchronized (sessions) {
+            trim();
+            sessions.put(session.getId(), session);
+        }
+        return session;
+    }
+
+    /**
+     * Looks up a session by its identifier.
+     *
+     * @param id Identifier of the session
+     * @return The session, or {@code null} if it does not exist or has expired
+     */
+    public ReplanningSession get(String id) {
+        synchronized (sessions) {
+            trim();
+            return sessions.get(id);
+        }
+    }
+
+    /**
+     * Removes a session, e.g. once the player has arrived.
+     *
+     * @param id Identifier of the session
+     */
+    public void remove(String id) {
+        synchronized (sessions) {
+            sessions.remove(id);
+        }
+    }
+
+    /**
+     * Drops every session that has been idle for longer than {@link #idleTimeoutMillis}, then the least recently
+     * used sessions until the rest fit in {@link #maxBytes}.
+     */
+    private void trim() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        long totalBytes = 0;
+        Iterator<ReplanningSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            ReplanningSession session = iterator.next();
+            if (session.getLastAccessMillis() < cutoff) {
+                iterator.remove();
+            } else {
+                totalBytes += session.getRetainedBytes();
+            }
+        }
+
+        iterator = sessions.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().getRetainedBytes();
+            iterator.remove();
+        }
+    }
+}
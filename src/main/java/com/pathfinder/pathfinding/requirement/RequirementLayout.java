@@ -0,0 +1,156 @@
+package com.pathfinder.pathfinding.requirement;
+
+import com.pathfinder.pathfinding.PlayerProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns a bit to every distinct requirement used by a set of transports, so that requirements can be compiled into
+ * bitmasks once and checked per player with a few AND instructions.
+ * <p>
+ * Requirements are {@link SkillReq}s (one bit per distinct skill and level threshold), {@link QuestReq}s,
+ * {@link DiaryReq}s and {@link UnlockReq}s. A transport's requirements compile into a mask with
+ * {@link Builder#mask(Iterable)}; a player's capabilities compile into a mask with {@link #compile(PlayerProperties)}.
+ * The transport is usable if {@link #isMet(long[], long[])}, i.e. every bit of its mask is set in the player's.
+ */
+public class RequirementLayout {
+    /**
+     * Mask of a transport without any requirements.
+     */
+    public static final long[] NO_REQUIREMENTS = new long[0];
+
+    /**
+     * Requirement assigned to each bit.
+     */
+    private final List<Object> requirements;
+
+    private RequirementLayout(List<Object> requirements) {
+        this.requirements = Collections.unmodifiableList(requirements);
+    }
+
+    /**
+     * @return Number of 64-bit words in a compiled player mask
+     */
+    public int getWordCount() {
+        return (requirements.size() + 63) >>> 6;
+    }
+
+    /**
+     * @return Number of distinct requirements
+     */
+    public int size() {
+        return requirements.size();
+    }
+
+    /**
+     * Compiles a player's capabilities into a mask with a bit set for every requirement they meet.
+     * <p>
+     * Kinds of properties the player did not supply (e.g. no skill levels at all) are assumed to be met.
+     *
+     * @param playerProperties The player's properties for pathfinding such as quests and skills
+     * @return The player's capability mask
+     */
+    public long[] compile(PlayerProperties playerProperties) {
+        long[] mask = new long[getWordCount()];
+        for (int bit = 0; bit < requirements.size(); bit++) {
+            if (isMet(playerProperties, requirements.get(bit))) {
+                mask[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Checks a compiled requirement mask against a compiled player mask.
+     *
+     * @param requirementMask The transport's requirement mask
+     * @param capabilityMask  The player's capability mask, compiled with the same layout
+     * @return {@code true} if every requirement is met
+     */
+    public static boolean isMet(long[] requirementMask, long[] capabilityMask) {
+        for (int i = 0; i < requirementMask.length; i++) {
+            if ((requirementMask[i] & ~capabilityMask[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks a single requirement against the player's properties.
+     */
+    private static boolean isMet(PlayerProperties playerProperties, Object requirement) {
+        if (requirement instanceof SkillReq) {
+            SkillReq skillReq = (SkillReq) requirement;
+            return playerProperties.getSkillLevels() == null
+                    || playerProperties.getSkillLevel(skillReq.getSkill()) >= skillReq.getLevel();
+        }
+        if (requirement instanceof QuestReq) {
+            return playerProperties.getQuestsCompleted() == null
+                    || playerProperties.getQuestCompleted(((QuestReq) requirement).getQuest());
+        }
+        if (requirement instanceof DiaryReq) {
+            return playerProperties.getDiariesCompleted() == null
+                    || playerProperties.getDiaryCompleted(((DiaryReq) requirement).getDiary());
+        }
+
+        switch ((UnlockReq) requirement) {
+            case FAIRY_RINGS:
+                return playerProperties.isFairyRingsUnlocked();
+            case SPIRIT_TREES:
+                return playerProperties.isSpiritTreesUnlocked();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Assigns bits to requirements as transports are loaded. Not thread-safe.
+     */
+    public static class Builder {
+        private final List<Object> requirements = new ArrayList<>();
+        private final Map<Object, Integer> bits = new HashMap<>();
+
+        /**
+         * Compiles a transport's requirements into a mask, assigning bits to requirements not seen before.
+         *
+         * @param transportRequirements {@link SkillReq}s, {@link QuestReq}s, {@link DiaryReq}s or
+         *                              {@link UnlockReq}s; {@code null} entries are ignored
+         * @return The requirement mask
+         */
+        public long[] mask(Iterable<?> transportRequirements) {
+            long[] mask = NO_REQUIREMENTS;
+            for (Object requirement : transportRequirements) {
+                if (requirement == null) {
+                    continue;
+                }
+                if (!(requirement instanceof SkillReq || requirement instanceof QuestReq
+                        || requirement instanceof DiaryReq || requirement instanceof UnlockReq)) {
+                    throw new IllegalArgumentException("Unsupported requirement: " + requirement);
+                }
+
+                int bit = bits.computeIfAbsent(requirement, k -> {
+                    requirements.add(k);
+                    return requirements.size() - 1;
+                });
+                if (mask.length <= bit >>> 6) {
+                    mask = Arrays.copyOf(mask, (bit >>> 6) + 1);
+                }
+                mask[bit >>> 6] |= 1L << bit;
+            }
+            return mask;
+        }
+
+        /**
+         * @return The layout of every requirement assigned so far
+         */
+        public RequirementLayout build() {
+            return new RequirementLayout(new ArrayList<>(requirements));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.pathfinder.pathfinding.requirement;
+
+/**
+ * Represents a requirement for a transport network to be unlocked, independent of any single quest or diary.
+ */
+public enum UnlockReq {
+    FAIRY_RINGS,
+    SPIRIT_TREES,
+}
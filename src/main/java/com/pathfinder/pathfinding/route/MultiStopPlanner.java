@@ -0,0 +1,114 @@
+package com.pathfinder.pathfinding.route;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Plans a route visiting several stops (e.g. a farming run) in the cheapest order.
+ * <p>
+ * Every stop-to-stop leg is searched once with the regular {@link Pathfinder}, spread across all cores, to build a
+ * cost matrix. The visiting order is then solved with {@link TourSolver} and the leg paths are stitched together.
+ */
+public class MultiStopPlanner {
+    /**
+     * Shared, read-only configuration used by every leg search.
+     */
+    private final PathfinderConfig config;
+
+    /**
+     * Constructs a {@code MultiStopPlanner} using the given configuration.
+     *
+     * @param config Pathfinding configuration with its transport data already refreshed
+     */
+    public MultiStopPlanner(PathfinderConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Plans a route starting at the first stop and visiting every other stop once.
+     *
+     * @param stops The stops to visit; the first entry is the starting point
+     * @return The planned route
+     */
+    public MultiStopRoute plan(List<WorldPoint> stops) {
+        final int n = stops.size();
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one stop is required");
+        }
+
+        long[][] costs = new long[n][n];
+        List<List<List<WorldPoint>>> legs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<List<WorldPoint>> row = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                row.add(i == j ? List.of(stops.get(i)) : null);
+            }
+            legs.add(row);
+        }
+
+        // Each leg is independent; Pathfinder instances are created inside the worker so they pick up
+        // the worker's thread-local CollisionMap
+        IntStream.range(0, n * n).parallel().forEach(index -> {
+            final int from = index / n;
+            final int to = index % n;
+            if (from == to) {
+                return;
+            }
+
+            Pathfinder pathfinder = new Pathfinder(config, stops.get(from), List.of(stops.get(to)));
+            pathfinder.run();
+
+            costs[from][to] = pathfinder.isTargetReached() ? pathfinder.getCost() : TourSolver.UNREACHABLE;
+            legs.get(from).set(to, pathfinder.getPath());
+        });
+
+        int[] order = TourSolver.solve(costs);
+        return new MultiStopRoute(order, TourSolver.tourCost(costs, order), stitch(order, costs, legs),
+                countStopsReached(order, costs));
+    }
+
+    /**
+     * Joins the leg paths of a tour into one continuous path, dropping the duplicated point at each join. Stitching
+     * stops at the first leg whose destination could not be reached, after the part of that leg leading towards it.
+     *
+     * @param order Stop indices in visiting order
+     * @param costs Stop-to-stop cost matrix
+     * @param legs  Leg paths indexed by origin and destination stop
+     * @return The full path, or the path up to the first unreachable stop
+     */
+    private static List<WorldPoint> stitch(int[] order, long[][] costs, List<List<List<WorldPoint>>> legs) {
+        List<WorldPoint> path = new ArrayList<>(legs.get(order[0]).get(order[0]));
+        for (int i = 1; i < order.length; i++) {
+            List<WorldPoint> leg = legs.get(order[i - 1]).get(order[i]);
+            if (leg.isEmpty()) {
+                break;
+            }
+
+            path.addAll(leg.subList(1, leg.size()));
+            if (costs[order[i - 1]][order[i]] >= TourSolver.UNREACHABLE) {
+                break;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Counts the stops of a tour reached before its first unreachable leg.
+     *
+     * @param order Stop indices in visiting order
+     * @param costs Stop-to-stop cost matrix
+     * @return Number of leading stops of {@code order} the stitched path visits, including the first
+     */
+    private static int countStopsReached(int[] order, long[][] costs) {
+        int reached = 1;
+        while (reached < order.length && costs[order[reached - 1]][order[reached]] < TourSolver.UNREACHABLE) {
+            reached++;
+        }
+        return reached;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pathfinder.pathfinding.route;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * Result of planning a multi-stop route with {@link MultiStopPlanner}.
+ */
+@Getter
+public class MultiStopRoute {
+    /**
+     * Indices into the requested stops, in the order they are visited.
+     */
+    private final int[] order;
+
+    /**
+     * Total cost of the route; at least {@link TourSolver#UNREACHABLE} if any stop could not be reached.
+     */
+    private final long cost;
+
+    /**
+     * The stitched path visiting every stop, or only the stops up to the first unreachable one.
+     */
+    private final List<WorldPoint> path;
+
+    /**
+     * Number of leading stops of {@link #order} the path visits; all of them if the route is complete.
+     */
+    private final int stopsReached;
+
+    public MultiStopRoute(int[] order, long cost, List<WorldPoint> path, int stopsReached) {
+        this.order = order;
+        this.cost = cost;
+        this.path = path;
+        this.stopsReached = stopsReached;
+    }
+
+    /**
+     * @return {@code true} if every stop in the route could be reached
+     */
+    public boolean isComplete() {
+        return cost < TourSolver.UNREACHABLE;
+    }
+}
@@ -0,0 +1,140 @@
+package com.pathfinder.pathfinding.route;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.SearchOptions;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconnects a player who drifted off a previously returned path back onto it.
+ * <p>
+ * Rather than searching the whole route again, a small local search bounded by {@link #searchRadius} looks for the
+ * nearest (by travel cost) point on the remaining path, and the local detour is spliced onto the rest of the previous
+ * path. Only a fixed-size window of the previous path is considered, so the cost of a rejoin does not depend on the
+ * length of the route.
+ */
+public class RejoinPlanner {
+    /**
+     * Default maximum Chebyshev distance the local search may move away from the player.
+     */
+    public static final int DEFAULT_SEARCH_RADIUS = 24;
+
+    /**
+     * Number of points ahead of the player's progress on the previous path considered as rejoin targets.
+     */
+    public static final int DEFAULT_LOOKAHEAD = 128;
+
+    /**
+     * Configuration used by the local search.
+     */
+    private final PathfinderConfig config;
+
+    /**
+     * Maximum Chebyshev distance the local search may move away from the player.
+     */
+    private final int searchRadius;
+
+    /**
+     * Number of points ahead of the player's progress considered as rejoin targets.
+     */
+    private final int lookahead;
+
+    /**
+     * Constructs a {@code RejoinPlanner} with the default search radius and lookahead.
+     *
+     * @param config Pathfinding configuration with its transport data already refreshed
+     */
+    public RejoinPlanner(PathfinderConfig config) {
+        this(config, DEFAULT_SEARCH_RADIUS, DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * Constructs a {@code RejoinPlanner}.
+     *
+     * @param config       Pathfinding configuration with its transport data already refreshed
+     * @param searchRadius Maximum Chebyshev distance the local search may move away from the player
+     * @param lookahead    Number of points ahead of the player's progress considered as rejoin targets
+     */
+    public RejoinPlanner(PathfinderConfig config, int searchRadius, int lookahead) {
+        this.config = config;
+        this.searchRadius = searchRadius;
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * Finds a route from the player's position back onto the remaining part of a previous path.
+     *
+     * @param previousPath  The previously returned path
+     * @param progressIndex Index in {@code previousPath} the player last reached, or a negative value if unknown, in
+     *                      which case the point nearest to the player is used
+     * @param position      The player's current position
+     * @return The rejoin result; {@link RejoinResult#isRejoined()} is {@code false} if no point of the remaining path
+     * could be reached within the search radius
+     */
+    public RejoinResult rejoin(List<WorldPoint> previousPath, int progressIndex, WorldPoint position) {
+        if (previousPath.isEmpty()) {
+            return RejoinResult.notRejoined();
+        }
+
+        final int from = progressIndex >= 0
+                ? Math.min(progressIndex, previousPath.size() - 1)
+                : nearestIndex(previousPath, position);
+        final int to = (int) Math.min(previousPath.size(), (long) from + lookahead + 1);
+
+        // Later occurrences win, so a path crossing itself is rejoined as far along as possible
+        Map<WorldPoint, Integer> candidateIndices = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            WorldPoint point = previousPath.get(i);
+            if (point.getPlane() == position.getPlane() && point.distanceTo(position) <= searchRadius) {
+                candidateIndices.put(point, i);
+            }
+        }
+
+        if (candidateIndices.isEmpty()) {
+            return RejoinResult.notRejoined();
+        }
+
+        SearchOptions options = new SearchOptions();
+        options.setMaxRadius(searchRadius);
+        Pathfinder pathfinder = new Pathfinder(config, position, new ArrayList<>(candidateIndices.keySet()), options);
+        pathfinder.run();
+
+        if (!pathfinder.isTargetReached()) {
+            return RejoinResult.notRejoined();
+        }
+
+        List<WorldPoint> detour = pathfinder.getPath();
+        final int joinIndex = candidateIndices.get(detour.get(detour.size() - 1));
+
+        List<WorldPoint> path = new ArrayList<>(detour.size() + previousPath.size() - joinIndex);
+        path.addAll(detour);
+        path.addAll(previousPath.subList(joinIndex + 1, previousPath.size()));
+        return new RejoinResult(true, joinIndex, pathfinder.getCost(), path);
+    }
+
+    /**
+     * Finds the index of the point on the path closest to the given position, preferring points on the same plane.
+     */
+    private static int nearestIndex(List<WorldPoint> path, WorldPoint position) {
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < path.size(); i++) {
+            WorldPoint point = path.get(i);
+            if (point.getPlane() != position.getPlane()) {
+                continue;
+            }
+
+            int distance = point.distanceTo(position);
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
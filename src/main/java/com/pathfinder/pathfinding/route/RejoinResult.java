@@ -0,0 +1,46 @@
+package com.pathfinder.pathfinding.route;
+
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * Result of reconnecting to a previous path with {@link RejoinPlanner}.
+ */
+@Getter
+public class RejoinResult {
+    /**
+     * Whether a point on the previous path was reached by the local search.
+     */
+    private final boolean rejoined;
+
+    /**
+     * Index in the previous path at which the detour joins it, or {@code -1} if not rejoined.
+     */
+    private final int joinIndex;
+
+    /**
+     * Cost of the detour from the player's position to the join point.
+     */
+    private final int detourCost;
+
+    /**
+     * The detour followed by the remainder of the previous path.
+     */
+    private final List<WorldPoint> path;
+
+    public RejoinResult(boolean rejoined, int joinIndex, int detourCost, List<WorldPoint> path) {
+        this.rejoined = rejoined;
+        this.joinIndex = joinIndex;
+        this.detourCost = detourCost;
+        this.path = path;
+    }
+
+    /**
+     * @return A result indicating that the previous path could not be rejoined locally
+     */
+    public static RejoinResult notRejoined() {
+        return new RejoinResult(false, -1, 0, List.of());
+    }
+}
@@ -0,0 +1,238 @@
+package com.pathfinder.pathfinding.route;
+
+import java.util.Arrays;
+
+/**
+ * Solves the visiting order of a multi-stop route from a stop-to-stop cost matrix.
+ * <p>
+ * The tour always begins at stop {@code 0} and may end at any stop. The matrix does not need to be symmetric, since
+ * transports are one-directional. Small tours are solved exactly with the Held-Karp dynamic programme, larger ones
+ * with a nearest-neighbour construction improved by segment reversal (2-opt) and segment relocation (or-opt).
+ */
+public class TourSolver {
+    /**
+     * Cost used for a leg whose destination could not be reached.
+     * Kept well below {@link Long#MAX_VALUE} so that summing a full tour of unreachable legs cannot overflow.
+     */
+    public static final long UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Largest number of stops (including the start) solved exactly. Held-Karp needs
+     * {@code 2^(n-1) * (n-1)} states, which is roughly 50k at this limit.
+     */
+    public static final int EXACT_MAX_STOPS = 13;
+
+    /**
+     * Finds a visiting order for the given cost matrix, using the exact solver when the tour is small enough.
+     *
+     * @param costs Square matrix where {@code costs[i][j]} is the cost of travelling from stop {@code i} to {@code j}
+     * @return Stop indices in visiting order, starting with {@code 0}
+     */
+    public static int[] solve(long[][] costs) {
+        if (costs.length <= EXACT_MAX_STOPS) {
+            return solveExact(costs);
+        }
+        return solveHeuristic(costs);
+    }
+
+    /**
+     * Finds the optimal visiting order using the Held-Karp dynamic programme.
+     *
+     * @param costs Square cost matrix with at most {@link #EXACT_MAX_STOPS} rows
+     * @return Stop indices in visiting order, starting with {@code 0}
+     */
+    public static int[] solveExact(long[][] costs) {
+        final int n = costs.length;
+        if (n > EXACT_MAX_STOPS) {
+            throw new IllegalArgumentException("Too many stops for exact solving: " + n);
+        }
+        if (n <= 2) {
+            return identityOrder(n);
+        }
+
+        // Stops 1..n-1 are mapped to bits 0..m-1; stop 0 is always the start
+        final int m = n - 1;
+        final int fullMask = (1 << m) - 1;
+        long[][] best = new long[1 << m][m];
+        int[][] parent = new int[1 << m][m];
+        for (long[] row : best) {
+            Arrays.fill(row, Long.MAX_VALUE);
+        }
+
+        for (int j = 0; j < m; j++) {
+            best[1 << j][j] = costs[0][j + 1];
+            parent[1 << j][j] = -1;
+        }
+
+        for (int mask = 1; mask <= fullMask; mask++) {
+            for (int last = 0; last < m; last++) {
+                long current = best[mask][last];
+                if (current == Long.MAX_VALUE || (mask & (1 << last)) == 0) {
+                    continue;
+                }
+
+                for (int next = 0; next < m; next++) {
+                    if ((mask & (1 << next)) != 0) {
+                        continue;
+                    }
+
+                    int nextMask = mask | (1 << next);
+                    long candidate = current + costs[last + 1][next + 1];
+                    if (candidate < best[nextMask][next]) {
+                        best[nextMask][next] = candidate;
+                        parent[nextMask][next] = last;
+                    }
+                }
+            }
+        }
+
+        int last = 0;
+        for (int j = 1; j < m; j++) {
+            if (best[fullMask][j] < best[fullMask][last]) {
+                last = j;
+            }
+        }
+
+        int[] order = new int[n];
+        int mask = fullMask;
+        for (int i = n - 1; i >= 1; i--) {
+            order[i] = last + 1;
+            int previous = parent[mask][last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        order[0] = 0;
+        return order;
+    }
+
+    /**
+     * Finds a good (not necessarily optimal) visiting order using a nearest-neighbour tour followed by
+     * 2-opt and or-opt local search until no improving move remains.
+     *
+     * @param costs Square cost matrix
+     * @return Stop indices in visiting order, starting with {@code 0}
+     */
+    public static int[] solveHeuristic(long[][] costs) {
+        final int n = costs.length;
+        if (n <= 2) {
+            return identityOrder(n);
+        }
+
+        int[] order = nearestNeighbour(costs);
+        long bestCost = tourCost(costs, order);
+
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+
+            // 2-opt: reverse order[i..j]. The matrix may be asymmetric, so the whole tour is re-costed.
+            for (int i = 1; i < n - 1 && !improved; i++) {
+                for (int j = i + 1; j < n && !improved; j++) {
+                    reverse(order, i, j);
+                    long cost = tourCost(costs, order);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        improved = true;
+                    } else {
+                        reverse(order, i, j);
+                    }
+                }
+            }
+
+            // Or-opt: move a single stop to another position
+            for (int i = 1; i < n && !improved; i++) {
+                for (int j = 1; j < n && !improved; j++) {
+                    if (i == j) {
+                        continue;
+                    }
+
+                    int[] candidate = relocate(order, i, j);
+                    long cost = tourCost(costs, candidate);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        order = candidate;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Calculates the total cost of visiting stops in the given order.
+     *
+     * @param costs Square cost matrix
+     * @param order Stop indices in visiting order
+     * @return Sum of all leg costs
+     */
+    public static long tourCost(long[][] costs, int[] order) {
+        long total = 0;
+        for (int i = 1; i < order.length; i++) {
+            total += costs[order[i - 1]][order[i]];
+        }
+        return total;
+    }
+
+    /**
+     * Builds a tour by always travelling to the cheapest unvisited stop.
+     */
+    private static int[] nearestNeighbour(long[][] costs) {
+        final int n = costs.length;
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+
+        for (int i = 1; i < n; i++) {
+            int current = order[i - 1];
+            int nearest = -1;
+            for (int j = 0; j < n; j++) {
+                if (!visited[j] && (nearest == -1 || costs[current][j] < costs[current][nearest])) {
+                    nearest = j;
+                }
+            }
+            order[i] = nearest;
+            visited[nearest] = true;
+        }
+
+        return order;
+    }
+
+    /**
+     * Reverses the elements of {@code order} between indices {@code i} and {@code j} inclusive.
+     */
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            int tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
+    }
+
+    /**
+     * Returns a copy of {@code order} with the element at index {@code from} moved to index {@code to}.
+     */
+    private static int[] relocate(int[] order, int from, int to) {
+        int[] result = order.clone();
+        int stop = result[from];
+        if (from < to) {
+            System.arraycopy(result, from + 1, result, from, to - from);
+        } else {
+            System.arraycopy(result, to, result, to + 1, from - to);
+        }
+        result[to] = stop;
+        return result;
+    }
+
+    /**
+     * Returns the order {@code 0, 1, ..., n-1}.
+     */
+    private static int[] identityOrder(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+}
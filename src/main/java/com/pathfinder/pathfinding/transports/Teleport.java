@@ -0,0 +1,58 @@
+package com.pathfinder.pathfinding.transports;
+
+import com.pathfinder.enums.TransportType;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A teleport usable from any tile, such as a spell, leading to a fixed destination.
+ * <p>
+ * Unlike a {@link Transport} it has no origin, and its cost does not depend on the distance travelled.
+ */
+@Getter
+public class Teleport {
+    private final WorldPoint destination;
+    private final String menuOption;
+    private final String name;
+
+    /**
+     * 32-bit integer representation of {@link #destination}.
+     */
+    private final int packedDestination;
+
+    /**
+     * Requirements for using the teleport, compiled like {@link Transport#getRequirementMask()}.
+     */
+    private final long[] requirementMask;
+
+    /**
+     * Deepest wilderness level the teleport can be used from.
+     */
+    private final int maxWildernessLevel;
+
+    /**
+     * Cost of taking the teleport, from anywhere.
+     */
+    private final int cost;
+
+    public Teleport(WorldPoint destination, String menuOption, String name, long[] requirementMask,
+                    int maxWildernessLevel) {
+        this.destination = destination;
+        this.menuOption = menuOption;
+        this.name = name;
+        this.packedDestination = WorldPointUtil.packWorldPoint(destination);
+        this.requirementMask = requirementMask;
+        this.maxWildernessLevel = maxWildernessLevel;
+        this.cost = TransportType.TELEPORT.getAdditionalCost();
+    }
+
+    @Override
+    public String toString() {
+        return "Teleport{" +
+                "name='" + name + '\'' +
+                ", destination=" + destination +
+                ", maxWildernessLevel=" + maxWildernessLevel +
+                '}';
+    }
+}
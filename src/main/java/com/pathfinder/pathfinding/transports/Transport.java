@@ -1,10 +1,13 @@
 package com.pathfinder.pathfinding.transports;
 
 import com.pathfinder.enums.TransportType;
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
+import com.pathfinder.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -18,16 +21,56 @@ public class Transport {
     private final Integer objectID;
     private final String menuOption;
 
+    /**
+     * 32-bit integer representations of {@link #origin} and {@link #destination}.
+     */
+    private final int packedOrigin;
+    private final int packedDestination;
+
+    /**
+     * Cost of taking the transport, matching the cost a {@link com.pathfinder.pathfinding.node.TransportNode}
+     * accumulates: the distance travelled plus the additional cost of the transport type.
+     */
+    private final int cost;
+
+    /**
+     * Requirements for using the transport, compiled with the {@link RequirementLayout} of the graph holding it.
+     */
+    private final long[] requirementMask;
+
     public Transport(TransportType transportType,
                      WorldPoint destination,
                      WorldPoint origin,
                      @Nullable Integer objectID,
                      @Nullable String menuOption) {
+        this(transportType, destination, origin, objectID, menuOption, RequirementLayout.NO_REQUIREMENTS);
+    }
+
+    public Transport(TransportType transportType,
+                     WorldPoint destination,
+                     WorldPoint origin,
+                     @Nullable Integer objectID,
+                     @Nullable String menuOption,
+                     long[] requirementMask) {
         this.transportType = transportType;
         this.destination = destination;
         this.origin = origin;
         this.objectID = objectID;
         this.menuOption = menuOption;
+        this.packedOrigin = WorldPointUtil.packWorldPoint(origin);
+        this.packedDestination = WorldPointUtil.packWorldPoint(destination);
+        this.cost = WorldPointUtil.distanceBetween(origin, destination) + transportType.getAdditionalCost();
+        this.requirementMask = requirementMask;
+    }
+
+    /**
+     * Checks whether a player can use the transport.
+     *
+     * @param capabilityMask The player's capabilities, compiled with the same {@link RequirementLayout}
+     * @return {@code true} if every requirement of the transport is met
+     */
+    public boolean isUsable(long[] capabilityMask) {
+        return RequirementLayout.isMet(requirementMask, capabilityMask);
     }
 
     @Override
@@ -39,7 +82,8 @@ public class Transport {
                 destination.equals(other.destination) &&
                 origin.equals(other.origin) &&
                 (Objects.equals(objectID, other.objectID)) &&
-                (Objects.equals(menuOption, other.menuOption));
+                (Objects.equals(menuOption, other.menuOption)) &&
+                Arrays.equals(requirementMask, other.requirementMask);
     }
 
     @Override
@@ -49,6 +93,7 @@ public class Transport {
         result = 31 * result + origin.hashCode();
         result = 31 * result + (objectID != null ? objectID.hashCode() : 0);
         result = 31 * result + (menuOption != null ? menuOption.hashCode() : 0);
+        result = 31 * result + Arrays.hashCode(requirementMask);
         return result;
     }
 
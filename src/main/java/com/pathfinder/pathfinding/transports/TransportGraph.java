@@ -0,0 +1,128 @@
+package com.pathfinder.pathfinding.transports;
+
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
+import com.pathfinder.util.PrimitiveIntHashMap;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of {@link Transport}s, indexed by origin and by destination.
+ * <p>
+ * Once constructed a graph is never modified, so a single instance can be shared by any number of concurrent
+ * searches. Duplicate transports are collapsed when the graph is built.
+ * <p>
+ * Networks such as the fairy rings, where every stop connects to every other, are held as
+ * {@link TransportNetwork}s rather than as a {@link Transport} per pair of stops.
+ * <p>
+ * A graph holds transports regardless of their requirements; each transport carries a requirement mask compiled with
+ * the graph's {@link #requirementLayout}, and searches skip those the player cannot use.
+ */
+public class TransportGraph {
+    /**
+     * Transports keyed by origin {@link WorldPoint}.
+     */
+    @Getter
+    private final Map<WorldPoint, List<Transport>> transports;
+
+    /**
+     * Transports keyed by the 32-bit integer representation of their origin.
+     */
+    @Getter
+    private final PrimitiveIntHashMap<List<Transport>> transportsPacked;
+
+    /**
+     * Transports keyed by the 32-bit integer representation of their destination.
+     */
+    @Getter
+    private final PrimitiveIntHashMap<List<Transport>> transportsByDestinationPacked;
+
+    /**
+     * Networks where every stop connects to every other stop, e.g. fairy rings.
+     */
+    @Getter
+    private final List<TransportNetwork> networks;
+
+    /**
+     * Network stops keyed by the 32-bit integer representation of their location.
+     */
+    @Getter
+    private final PrimitiveIntHashMap<List<TransportNetwork.Stop>> networkStopsPacked;
+
+    /**
+     * Teleports usable from any tile, e.g. spells.
+     */
+    @Getter
+    private final List<Teleport> teleports;
+
+    /**
+     * Layout of the bits in the transports' requirement masks.
+     */
+    @Getter
+    private final RequirementLayout requirementLayout;
+
+    /**
+     * Number of distinct transports in the graph.
+     */
+    @Getter
+    private final int size;
+
+    /**
+     * Constructs a {@code TransportGraph} from the given transports.
+     *
+     * @param transports        The transports; duplicates are ignored
+     * @param networks          Networks of transports between every pair of their stops
+     * @param teleports         Teleports usable from any tile
+     * @param requirementLayout Layout the transports' requirement masks were compiled with
+     */
+    public TransportGraph(Collection<Transport> transports, List<TransportNetwork> networks, List<Teleport> teleports,
+                          RequirementLayout requirementLayout) {
+        this.requirementLayout = requirementLayout;
+        this.networks = List.copyOf(networks);
+        this.teleports = List.copyOf(teleports);
+        Map<WorldPoint, List<Transport>> byOrigin = new LinkedHashMap<>();
+        Collection<Transport> distinct = new LinkedHashSet<>(transports);
+        for (Transport transport : distinct) {
+            byOrigin.computeIfAbsent(transport.getOrigin(), k -> new ArrayList<>()).add(transport);
+        }
+
+        this.transportsPacked = new PrimitiveIntHashMap<>(Math.max(byOrigin.size(), 1));
+        for (Map.Entry<WorldPoint, List<Transport>> entry : byOrigin.entrySet()) {
+            List<Transport> outgoing = Collections.unmodifiableList(entry.getValue());
+            entry.setValue(outgoing);
+            transportsPacked.put(outgoing.get(0).getPackedOrigin(), outgoing);
+        }
+
+        Map<Integer, List<Transport>> byDestination = new HashMap<>();
+        for (Transport transport : distinct) {
+            byDestination.computeIfAbsent(transport.getPackedDestination(), k -> new ArrayList<>(2)).add(transport);
+        }
+        this.transportsByDestinationPacked = new PrimitiveIntHashMap<>(Math.max(byDestination.size(), 1));
+        for (Map.Entry<Integer, List<Transport>> entry : byDestination.entrySet()) {
+            transportsByDestinationPacked.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+
+        Map<Integer, List<TransportNetwork.Stop>> stops = new HashMap<>();
+        for (TransportNetwork network : networks) {
+            for (int i = 0; i < network.size(); i++) {
+                stops.computeIfAbsent(network.getPackedStop(i), k -> new ArrayList<>(1))
+                        .add(new TransportNetwork.Stop(network, i));
+            }
+        }
+        this.networkStopsPacked = new PrimitiveIntHashMap<>(Math.max(stops.size(), 1));
+        for (Map.Entry<Integer, List<TransportNetwork.Stop>> entry : stops.entrySet()) {
+            networkStopsPacked.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+
+        this.transports = Collections.unmodifiableMap(byOrigin);
+        this.size = distinct.size();
+    }
+}
@@ -1,19 +1,23 @@
 package com.pathfinder.pathfinding.transports;
 
 import com.pathfinder.enums.TransportType;
-import com.pathfinder.pathfinding.PlayerProperties;
-import com.pathfinder.pathfinding.WorldPointPair;
-import com.pathfinder.pathfinding.node.NodeEdge;
 import com.pathfinder.pathfinding.requirement.DiaryReq;
 import com.pathfinder.pathfinding.requirement.QuestReq;
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
 import com.pathfinder.pathfinding.requirement.SkillReq;
+import com.pathfinder.pathfinding.requirement.UnlockReq;
 import com.pathfinder.util.Util;
-import lombok.Setter;
 import net.runelite.api.coords.WorldPoint;
 
 import java.io.InputStream;
 import java.util.*;
 
+/**
+ * Loads transports from resources into an immutable {@link TransportGraph}.
+ * <p>
+ * Requirements are not applied while loading: every transport is kept, with its skill, quest, diary and unlock
+ * requirements compiled into a bitmask, so one graph serves every player. The graph is loaded once and shared.
+ */
 public class TransportHandler {
     /**
      * File name used for reading in transports (located in resources).
@@ -21,52 +25,47 @@ public class TransportHandler {
     private static final String TRANSPORTS_DIR = "transports.csv";
 
     /**
-     * Properties of player (e.g., skills, quests, diaries)
+     * File name used for reading in teleports usable from anywhere (located in resources).
      */
-    @Setter
-    private static PlayerProperties playerProperties;
+    private static final String TELEPORTS_DIR = "teleports.csv";
 
     /**
-     * Transport which are possible, key representing source {@link WorldPoint}
-     */
-    private static final HashMap<WorldPoint, List<Transport>> transports = new HashMap<>();
-
-    /**
-     * Mapping of {@link WorldPointPair} containing source and destination {@link WorldPoint}s against
-     * value of {@link NodeEdge} containing source and destination {@link WorldPoint}s with additional cost.
-     */
-    public static Map<WorldPointPair, NodeEdge> worldPointPairs = new HashMap<>();
-
-    /**
-     * Loads all transport data from the {@code transports.csv} resource and constructs the full transport map.
+     * Returns the shared graph of all transports, loading it on first use.
      *
-     * @return A {@link HashMap} containing all transports, keyed by origin {@link WorldPoint}
+     * @return The shared, immutable transport graph
      */
-    public static HashMap<WorldPoint, List<Transport>> loadAllFromResources() {
-        addCsvTransports();
-        addFairyRings();
-        addSpiritTrees();
-
-        return transports;
+    public static TransportGraph loadGraph() {
+        return SharedGraph.GRAPH;
     }
 
     /**
-     * Add transport to transports arraylist.
+     * Loads all transport data from the {@code transports.csv} and {@code teleports.csv} resources and constructs a new transport graph,
+     * bypassing the graph shared by {@link #loadGraph()}.
      *
-     * @param sourceWP      The origin {@link WorldPoint} of the transport
-     * @param destinationWP The destination {@link WorldPoint} of the transport
-     * @param transport     Contains source & destination {@link WorldPoint}s, as well as transport type
+     * @return A new {@link TransportGraph} of every transport
      */
-    private static void addTransport(WorldPoint sourceWP, WorldPoint destinationWP, Transport transport) {
-        transports.computeIfAbsent(sourceWP, k -> new ArrayList<>()).add(transport);
-        worldPointPairs.putIfAbsent(new WorldPointPair(sourceWP, destinationWP),
-                new NodeEdge(sourceWP, destinationWP, TransportType.TRANSPORT));
+    public static TransportGraph loadAllFromResources() {
+        RequirementLayout.Builder requirements = new RequirementLayout.Builder();
+        List<Transport> transports = new ArrayList<>();
+        addCsvTransports(transports, requirements);
+
+        List<TransportNetwork> networks = new ArrayList<>();
+        networks.add(createFairyRings(requirements));
+        networks.add(createSpiritTrees(requirements));
+
+        List<Teleport> teleports = new ArrayList<>();
+        addCsvTeleports(teleports, requirements);
+
+        return new TransportGraph(transports, networks, teleports, requirements.build());
     }
 
     /**
-     * Parses the transports from the internal CSV resource file and populates the given maps.
+     * Parses the transports from the internal CSV resource file.
+     *
+     * @param transports   The transports loaded so far
+     * @param requirements Builder compiling the requirements of each transport
      */
-    private static void addCsvTransports() {
+    private static void addCsvTransports(List<Transport> transports, RequirementLayout.Builder requirements) {
         InputStream inputStream = Transport.class.getClassLoader().getResourceAsStream(TRANSPORTS_DIR);
         if (inputStream == null) {
             return;
@@ -76,17 +75,20 @@ public class TransportHandler {
         scanner.nextLine(); // Skip first line
         while (scanner.hasNextLine()) {
             String transportLine = scanner.nextLine();
-            addCsvTransport(transportLine);
+            addCsvTransport(transports, requirements, transportLine);
         }
         scanner.close();
     }
 
     /**
-     * Parses a single line from the transport CSV and adds the transport entry to the relevant maps.
+     * Parses a single line from the transport CSV and adds the transport.
      *
+     * @param transports    The transports loaded so far
+     * @param requirements  Builder compiling the requirements of each transport
      * @param transportLine The raw CSV line describing the transport
      */
-    private static void addCsvTransport(String transportLine) {
+    private static void addCsvTransport(List<Transport> transports, RequirementLayout.Builder requirements,
+                                        String transportLine) {
         if (transportLine.isEmpty() || transportLine.contains("#") || transportLine.equals(",,,,,,,,")) {
             return;
         }
@@ -101,73 +103,124 @@ public class TransportHandler {
         QuestReq questReq = Util.getQuestReq(splitString[6]);
         DiaryReq diaryReq = Util.getDiaryReq(splitString[6]);
 
-        // End early if skill reqs not met
-        boolean skillReqsMet = Util.isSkillReqsMet(playerProperties, skillReqs);
-        if (!skillReqsMet) {
-            return;
+        List<Object> transportRequirements = new ArrayList<>();
+        if (skillReqs != null) {
+            transportRequirements.addAll(skillReqs);
         }
+        transportRequirements.add(questReq);
+        transportRequirements.add(diaryReq);
+        long[] requirementMask = requirements.mask(transportRequirements);
 
-        // End early if quest reqs not met
-        boolean questReqsMet = Util.isQuestReqMet(playerProperties, questReq);
-        if (!questReqsMet) {
-            return;
-        }
+        transports.add(new Transport(TransportType.TRANSPORT, destinationWP, sourceWP, objectID, menuOption,
+                requirementMask));
+    }
 
-        // End early if diary reqs not met
-        boolean diaryReqsMet = Util.isDiaryReqMet(playerProperties, diaryReq);
-        if (!diaryReqsMet) {
+    /**
+     * Parses the teleports from the internal CSV resource file.
+     *
+     * @param teleports    The teleports loaded so far
+     * @param requirements Builder compiling the requirements of each teleport
+     */
+    private static void addCsvTeleports(List<Teleport> teleports, RequirementLayout.Builder requirements) {
+        InputStream inputStream = Teleport.class.getClassLoader().getResourceAsStream(TELEPORTS_DIR);
+        if (inputStream == null) {
             return;
         }
 
-        Transport transport = new Transport(TransportType.TRANSPORT, destinationWP, sourceWP, objectID, menuOption);
-        addTransport(sourceWP, destinationWP, transport);
+        Scanner scanner = new Scanner(inputStream);
+        scanner.nextLine(); // Skip first line
+        while (scanner.hasNextLine()) {
+            String teleportLine = scanner.nextLine();
+            addCsvTeleport(teleports, requirements, teleportLine);
+        }
+        scanner.close();
     }
 
     /**
-     * Add fairy rings to transports
+     * Parses a single line from the teleport CSV and adds the teleport.
+     *
+     * @param teleports    The teleports loaded so far
+     * @param requirements Builder compiling the requirements of each teleport
+     * @param teleportLine The raw CSV line describing the teleport
      */
-    private static void addFairyRings() {
-        // End early if quest reqs not met
-        if (!playerProperties.isFairyRingsUnlocked()) {
+    private static void addCsvTeleport(List<Teleport> teleports, RequirementLayout.Builder requirements,
+                                       String teleportLine) {
+        if (teleportLine.isEmpty() || teleportLine.startsWith("#")) {
             return;
         }
 
-        // TODO: Add dramen staff check
-        for (FairyRing fairyRingSource : FairyRing.values()) {
-            for (FairyRing fairyRingDestination : FairyRing.values()) {
-                if (fairyRingSource.equals(fairyRingDestination)) {
-                    continue;
-                }
-
-                WorldPoint sourceWP = fairyRingSource.getWorldPoint();
-                WorldPoint destinationWP = fairyRingDestination.getWorldPoint();
-                Transport transport = new Transport(TransportType.FAIRY_RING, destinationWP, sourceWP, null, null);
-                addTransport(sourceWP, destinationWP, transport);
-            }
+        String[] splitString = teleportLine.split(",", -1);
+
+        WorldPoint destinationWP = Util.getWorldPoint(splitString[0]);
+        String menuOption = splitString[1];
+        String name = splitString[2];
+        Set<SkillReq> skillReqs = Util.getSkillReqs(splitString[3]);
+        QuestReq questReq = Util.getQuestReq(splitString[4]);
+        DiaryReq diaryReq = Util.getDiaryReq(splitString[4]);
+        int maxWildernessLevel = Integer.parseInt(splitString[5]);
+
+        List<Object> teleportRequirements = new ArrayList<>();
+        if (skillReqs != null) {
+            teleportRequirements.addAll(skillReqs);
         }
+        teleportRequirements.add(questReq);
+        teleportRequirements.add(diaryReq);
+        long[] requirementMask = requirements.mask(teleportRequirements);
+
+        teleports.add(new Teleport(destinationWP, menuOption, name, requirementMask, maxWildernessLevel));
     }
 
     /**
-     * Add spirit trees to transports
+     * Create the network of fairy rings
+     *
+     * @param requirements Builder compiling the requirements of each transport
+     * @return The fairy ring network
      */
-    private static void addSpiritTrees() {
-        // End early if quest reqs not met
-        if (!playerProperties.isSpiritTreesUnlocked()) {
-            return;
+    private static TransportNetwork createFairyRings(RequirementLayout.Builder requirements) {
+        List<WorldPoint> stops = new ArrayList<>();
+        List<long[]> arrivalMasks = new ArrayList<>();
+        // TODO: Add dramen staff check
+        for (FairyRing fairyRing : FairyRing.values()) {
+            stops.add(fairyRing.getWorldPoint());
+
+            // Some rings can only be reached once a quest is complete
+            QuestReq questReq = fairyRing.getQuestReq() == null ? null : new QuestReq(fairyRing.getQuestReq());
+            arrivalMasks.add(requirements.mask(Arrays.asList(UnlockReq.FAIRY_RINGS, questReq)));
         }
 
+        List<Integer> objectIDs = Collections.nCopies(stops.size(), null);
+        List<String> menuOptions = Collections.nCopies(stops.size(), null);
+        return new TransportNetwork(TransportType.FAIRY_RING, stops, objectIDs, menuOptions,
+                requirements.mask(List.of(UnlockReq.FAIRY_RINGS)), arrivalMasks);
+    }
+
+    /**
+     * Create the network of spirit trees
+     *
+     * @param requirements Builder compiling the requirements of each transport
+     * @return The spirit tree network
+     */
+    private static TransportNetwork createSpiritTrees(RequirementLayout.Builder requirements) {
+        long[] requirementMask = requirements.mask(List.of(UnlockReq.SPIRIT_TREES));
+
+        List<WorldPoint> stops = new ArrayList<>();
+        List<Integer> objectIDs = new ArrayList<>();
+        List<String> menuOptions = new ArrayList<>();
         // TODO: Add POH tree check
-        for (SpiritTree spiritTreeSource : SpiritTree.values()) {
-            for (SpiritTree spiritTreeDestination : SpiritTree.values()) {
-                if (spiritTreeSource.equals(spiritTreeDestination)) {
-                    continue;
-                }
-
-                WorldPoint sourceWP = spiritTreeSource.getWorldPoint();
-                WorldPoint destinationWP = spiritTreeDestination.getWorldPoint();
-                Transport transport = new Transport(TransportType.SPIRIT_TREE, destinationWP, sourceWP, spiritTreeSource.getId(), spiritTreeSource.getMenuOption());
-                addTransport(sourceWP, destinationWP, transport);
-            }
+        for (SpiritTree spiritTree : SpiritTree.values()) {
+            stops.add(spiritTree.getWorldPoint());
+            objectIDs.add(spiritTree.getId());
+            menuOptions.add(spiritTree.getMenuOption());
         }
+
+        return new TransportNetwork(TransportType.SPIRIT_TREE, stops, objectIDs, menuOptions, requirementMask,
+                Collections.nCopies(stops.size(), requirementMask));
+    }
+
+    /**
+     * Holder for the shared graph, loaded by the class loader on first access.
+     */
+    private static class SharedGraph {
+        private static final TransportGraph GRAPH = loadAllFromResources();
     }
 }
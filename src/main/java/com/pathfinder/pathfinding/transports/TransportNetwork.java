@@ -0,0 +1,192 @@
+package com.pathfinder.pathfinding.transports;
+
+import com.pathfinder.enums.TransportType;
+import com.pathfinder.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A network of transports where every stop connects to every other stop, such as the fairy rings or spirit trees.
+ * <p>
+ * Rather than as one {@link Transport} per pair of stops in the graph's transport maps, the network is stored once
+ * as a hub: its stops, what is required to use the network, and what is required to arrive at each stop. Travelling from stop {@code i} to stop
+ * {@code j} costs the same as the equivalent {@code Transport}: the distance between the stops plus the additional
+ * cost of the {@link TransportType}.
+ * <p>
+ * As costs grow with distance, the destinations of each stop are also kept sorted by cost, so a search can take
+ * them one at a time, cheapest first, instead of queueing every destination at once. Costs depend on both stops, so
+ * callers enumerating every edge still see one per pair of stops; the equivalent {@code Transport}s are built once
+ * for them, see {@link #toTransport(int, int)}.
+ */
+public class TransportNetwork {
+    /**
+     * Type of every transport in the network.
+     */
+    @Getter
+    private final TransportType transportType;
+
+    private final WorldPoint[] stops;
+    private final int[] packedStops;
+
+    /**
+     * Requirements for using the network at all, compiled like {@link Transport#getRequirementMask()}.
+     */
+    @Getter
+    private final long[] requirementMask;
+
+    /**
+     * Requirements for arriving at each stop, including {@link #requirementMask}.
+     */
+    private final long[][] arrivalMasks;
+
+    /**
+     * For each stop, the indices of every other stop in ascending order of cost.
+     */
+    private final short[][] destinationOrder;
+
+    /**
+     * The {@link Transport} equivalent to each journey, indexed by {@code from * size() + to}; built once, so that
+     * enumerating the edges of the network allocates nothing.
+     */
+    private final Transport[] transports;
+
+    /**
+     * Constructs a {@code TransportNetwork}.
+     *
+     * @param transportType   Type of every transport in the network
+     * @param stops           Location of each stop
+     * @param objectIDs       Object used to depart from each stop; {@code null} entries if not applicable
+     * @param menuOptions     Menu option used to depart from each stop; {@code null} entries if not applicable
+     * @param requirementMask Requirements for using the network at all
+     * @param arrivalMasks    Requirements for arriving at each stop, including {@code requirementMask}
+     */
+    public TransportNetwork(TransportType transportType,
+                            List<WorldPoint> stops,
+                            List<Integer> objectIDs,
+                            List<String> menuOptions,
+                            long[] requirementMask,
+                            List<long[]> arrivalMasks) {
+        final int n = stops.size();
+        if (n > Short.MAX_VALUE || objectIDs.size() != n || menuOptions.size() != n || arrivalMasks.size() != n) {
+            throw new IllegalArgumentException("Every stop needs an object ID, menu option and arrival mask");
+        }
+
+        this.transportType = transportType;
+        this.stops = stops.toArray(new WorldPoint[0]);
+        this.requirementMask = requirementMask;
+        this.arrivalMasks = arrivalMasks.toArray(new long[0][]);
+        this.packedStops = new int[n];
+        for (int i = 0; i < n; i++) {
+            packedStops[i] = WorldPointUtil.packWorldPoint(this.stops[i]);
+        }
+
+        this.destinationOrder = new short[n][];
+        for (int i = 0; i < n; i++) {
+            final int from = i;
+            Integer[] order = new Integer[n - 1];
+            for (int j = 0, k = 0; j < n; j++) {
+                if (j != from) {
+                    order[k++] = j;
+                }
+            }
+            Arrays.sort(order, Comparator.comparingInt((Integer j) -> getCost(from, j)).thenComparingInt(j -> j));
+
+            destinationOrder[i] = new short[n - 1];
+            for (int k = 0; k < order.length; k++) {
+                destinationOrder[i][k] = order[k].shortValue();
+            }
+        }
+
+        this.transports = new Transport[n * n];
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                if (to != from) {
+                    transports[from * n + to] = new Transport(transportType, this.stops[to], this.stops[from],
+                            objectIDs.get(from), menuOptions.get(from), this.arrivalMasks[to]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of stops in the network
+     */
+    public int size() {
+        return stops.length;
+    }
+
+    /**
+     * @param stop Index of the stop
+     * @return Location of the stop
+     */
+    public WorldPoint getStop(int stop) {
+        return stops[stop];
+    }
+
+    /**
+     * @param stop Index of the stop
+     * @return 32-bit integer representation of the stop's location
+     */
+    public int getPackedStop(int stop) {
+        return packedStops[stop];
+    }
+
+    /**
+     * @param stop Index of the stop
+     * @return Requirements for arriving at the stop, compiled like {@link Transport#getRequirementMask()}
+     */
+    public long[] getArrivalMask(int stop) {
+        return arrivalMasks[stop];
+    }
+
+    /**
+     * Returns the cost of travelling between two stops, matching the cost of the equivalent {@link Transport}.
+     *
+     * @param from Index of the stop departed from
+     * @param to   Index of the stop arrived at
+     * @return The cost of the journey
+     */
+    public int getCost(int from, int to) {
+        return WorldPointUtil.distanceBetween(packedStops[from], packedStops[to]) + transportType.getAdditionalCost();
+    }
+
+    /**
+     * Returns the {@code rank}-th cheapest destination from a stop.
+     *
+     * @param from Index of the stop departed from
+     * @param rank Rank of the destination, from {@code 0} (cheapest) to {@code size() - 2}
+     * @return Index of the destination stop
+     */
+    public int getDestination(int from, int rank) {
+        return destinationOrder[from][rank];
+    }
+
+    /**
+     * Returns the {@link Transport} equivalent to travelling between two stops.
+     *
+     * @param from Index of the stop departed from
+     * @param to   Index of the stop arrived at, other than {@code from}
+     * @return The transport from {@code from} to {@code to}, shared by every caller
+     */
+    public Transport toTransport(int from, int to) {
+        return transports[from * stops.length + to];
+    }
+
+    /**
+     * A stop of a network, as found at a tile.
+     */
+    @Getter
+    public static class Stop {
+        private final TransportNetwork network;
+        private final int index;
+
+        public Stop(TransportNetwork network, int index) {
+            this.network = network;
+            this.index = index;
+        }
+    }
+}
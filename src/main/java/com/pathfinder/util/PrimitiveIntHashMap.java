@@ -130,6 +130,34 @@ public class PrimitiveIntHashMap<V> {
         incrementSize();
     }
 
+    /**
+     * Removes the value for the given key, if present.
+     *
+     * @param key The integer key
+     * @return The removed value, or {@code null} if the key was not present
+     */
+    public V remove(int key) {
+        int bucketIndex = getBucket(key);
+        int index = bucketIndex(key, bucketIndex);
+        if (index == -1) {
+            return null;
+        }
+
+        IntNode<V>[] bucket = buckets[bucketIndex];
+        V previous = bucket[index].value;
+
+        // Keep the bucket densely packed, as lookups stop at the first empty slot
+        int last = index;
+        while (last + 1 < bucket.length && bucket[last + 1] != null) {
+            last++;
+        }
+        bucket[index] = bucket[last];
+        bucket[last] = null;
+
+        size--;
+        return previous;
+    }
+
     /**
      * Clears all entries in the map.
      */
@@ -265,7 +293,6 @@ public class PrimitiveIntHashMap<V> {
 
                     if (bInd >= newBucket.length) {
                         growBucket(bucketIndex)[newBucket.length] = vIntNode;
-                        return;
                     }
                 }
             }
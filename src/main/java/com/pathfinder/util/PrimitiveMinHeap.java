@@ -0,0 +1,136 @@
+package com.pathfinder.util;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of {@code long} priorities paired with {@code int} values, avoiding the boxing and per-entry
+ * objects of a {@link java.util.PriorityQueue}.
+ * <p>
+ * There is no decrease-key operation; callers re-insert an entry with its new priority and skip stale entries when
+ * they are removed.
+ */
+public class PrimitiveMinHeap {
+    private static final int MINIMUM_SIZE = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructs a new {@code PrimitiveMinHeap} with the specified initial capacity.
+     *
+     * @param initialSize Initial number of entries the heap can hold before growing
+     */
+    public PrimitiveMinHeap(int initialSize) {
+        int capacity = Math.max(initialSize, MINIMUM_SIZE);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * @return The number of entries currently in the heap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the heap holds no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts a value with the given priority.
+     *
+     * @param key   The priority; lower keys are removed first
+     * @param value The value stored with the priority
+     */
+    public void add(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[index] = keys[parent];
+            values[index] = values[parent];
+            index = parent;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * @return The lowest priority in the heap
+     * @throws IllegalStateException if the heap is empty
+     */
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    /**
+     * @return The value stored with the lowest priority
+     * @throws IllegalStateException if the heap is empty
+     */
+    public int peekValue() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    /**
+     * Removes the entry with the lowest priority.
+     *
+     * @return The value stored with the removed entry
+     * @throws IllegalStateException if the heap is empty
+     */
+    public int poll() {
+        int top = peekValue();
+        size--;
+        if (size > 0) {
+            siftDown(keys[size], values[size]);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all entries from the heap.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Places an entry at the root and moves it down until the heap order is restored.
+     */
+    private void siftDown(long key, int value) {
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[index] = keys[child];
+            values[index] = values[child];
+            index = child;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+}
@@ -1,7 +1,6 @@
 package com.pathfinder.util;
 
 import com.pathfinder.enums.Diary;
-import com.pathfinder.pathfinding.PlayerProperties;
 import com.pathfinder.pathfinding.requirement.DiaryReq;
 import com.pathfinder.pathfinding.requirement.QuestReq;
 import com.pathfinder.pathfinding.requirement.SkillReq;
@@ -166,72 +165,4 @@ public class Util {
         }
         return null;
     }
-
-    /**
-     * Check if the player meets the skill requirements.
-     *
-     * @param playerProperties The player's properties containing data such as quests and skills.
-     * @param skillReqs        The skill requirements to check.
-     * @return {@code true} if the player meets all skill requirements, {@code false} otherwise.
-     */
-    public static boolean isSkillReqsMet(PlayerProperties playerProperties, Set<SkillReq> skillReqs) {
-        if (skillReqs == null) {
-            return true;
-        }
-
-//        for (SkillReq skillReq : skillReqs) {
-//            if (playerProperties.getSkillLevel(skillReq.getSkill()) < skillReq.getLevel()) {
-//                return false;
-//            }
-//        }
-        return true;
-    }
-
-    /**
-     * Check if the player meets the quest requirements.
-     *
-     * @param playerProperties The player's properties containing data such as quests and skills.
-     * @param questReq         The quest requirement to check.
-     * @return {@code true} if the player meets the quest requirements, {@code false} otherwise.
-     */
-    public static boolean isQuestReqMet(PlayerProperties playerProperties, QuestReq questReq) {
-        if (questReq == null) {
-            return true;
-        }
-
-//        return playerProperties.getQuestCompleted(questReq.getQuest());
-        return true;
-    }
-
-    /**
-     * Check if the player meets the quest requirements.
-     *
-     * @param playerProperties The player's properties containing data such as quests and skills.
-     * @param quest            The quest to check.
-     * @return {@code true} if the player meets the quest requirements, {@code false} otherwise.
-     */
-    public static boolean isQuestReqMet(PlayerProperties playerProperties, Quest quest) {
-        if (quest == null) {
-            return true;
-        }
-
-//        return playerProperties.getQuestCompleted(quest);
-        return true;
-    }
-
-    /**
-     * Check if the player meets the diary requirements.
-     *
-     * @param playerProperties The player's properties containing data such as quests and skills.
-     * @param diaryReq         The diary requirement to check.
-     * @return {@code true} if the player meets the diary requirements, {@code false} otherwise.
-     */
-    public static boolean isDiaryReqMet(PlayerProperties playerProperties, DiaryReq diaryReq) {
-        if (diaryReq == null) {
-            return true;
-        }
-
-//        return playerProperties.getDiaryCompleted(diaryReq.getDiary());
-        return true;
-    }
-}
\ No newline at end of file
+}
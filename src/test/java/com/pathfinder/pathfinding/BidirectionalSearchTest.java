@@ -0,0 +1,89 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.precompute.GraphSearch;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BidirectionalSearchTest {
+    private static final int LUMBRIDGE = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+    private static final int[] TARGETS = {
+            WorldPointUtil.packWorldPoint(3093, 3244, 0),
+            WorldPointUtil.packWorldPoint(3164, 3487, 0),
+            WorldPointUtil.packWorldPoint(3208, 3220, 2),
+            WorldPointUtil.packWorldPoint(2965, 3380, 0),
+            WorldPointUtil.packWorldPoint(2662, 3305, 0),
+    };
+
+    private static PathfinderConfig config;
+    private static int[] costs;
+    private static TileIndex tileIndex;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        costs = new GraphSearch(config, tileIndex).distances(LUMBRIDGE, false);
+    }
+
+    private static void assertCheapestRoute(BidirectionalSearch.Route route, int packedTarget) {
+        int[] tiles = route.getTiles();
+        int[] routeCosts = route.getCosts();
+        assertEquals(costs[tileIndex.indexOf(packedTarget)], route.getCost(), "Route to " + packedTarget);
+        assertEquals(LUMBRIDGE, tiles[0]);
+        assertEquals(packedTarget, tiles[tiles.length - 1]);
+        assertEquals(0, routeCosts[0]);
+
+        // Every step is an edge of the graph at its cost
+        for (int i = 1; i < tiles.length; i++) {
+            int to = tiles[i];
+            int step = routeCosts[i] - routeCosts[i - 1];
+            boolean[] found = {false};
+            config.getMap().forEachNeighbor(tiles[i - 1], config, (neighbor, cost, transport) ->
+                    found[0] |= neighbor == to && cost == step);
+            assertTrue(found[0], "No edge onto " + to + " at cost " + step);
+        }
+    }
+
+    @Test
+    public void testRoutesMatchGraphSearch() {
+        BidirectionalSearch sequential = new BidirectionalSearch(config, null);
+        BidirectionalSearch parallel = new BidirectionalSearch(config, BidirectionalSearch.sharedExecutor());
+        for (int target : TARGETS) {
+            assertCheapestRoute(sequential.search(LUMBRIDGE, target), target);
+            assertCheapestRoute(parallel.search(LUMBRIDGE, target), target);
+        }
+    }
+
+    @Test
+    public void testUnreachableTargetHasNoRoute() {
+        // An island east of Morytania that cannot be reached from the mainland
+        int island = WorldPointUtil.packWorldPoint(3752, 3035, 0);
+        assertNull(new BidirectionalSearch(config, BidirectionalSearch.sharedExecutor()).search(LUMBRIDGE, island));
+    }
+
+    @Test
+    public void testPathfinderUsesBidirectionalSearch() {
+        SearchOptions options = new SearchOptions();
+        options.setBidirectional(true);
+        for (int target : TARGETS) {
+            WorldPoint targetPoint = WorldPointUtil.unpackWorldPoint(target);
+            Pathfinder pathfinder = new Pathfinder(config, WorldPointUtil.unpackWorldPoint(LUMBRIDGE),
+                    List.of(targetPoint), options);
+            pathfinder.run();
+
+            List<WorldPoint> path = pathfinder.getPath();
+            assertTrue(pathfinder.isTargetReached());
+            assertEquals(costs[tileIndex.indexOf(target)], pathfinder.getCost());
+            assertEquals(targetPoint, path.get(path.size() - 1));
+        }
+    }
+}
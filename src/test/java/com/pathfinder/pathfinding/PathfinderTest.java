@@ -0,0 +1,225 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.heuristic.Heuristic;
+import com.pathfinder.pathfinding.heuristic.TeleportAwareHeuristic;
+import com.pathfinder.pathfinding.precompute.GraphSearch;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.pathfinding.transports.Teleport;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathfinderTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final List<WorldPoint> TARGETS = List.of(
+            new WorldPoint(3093, 3244, 0),
+            new WorldPoint(3164, 3487, 0),
+            new WorldPoint(3133, 3509, 0),
+            new WorldPoint(2965, 3380, 0),
+            new WorldPoint(2662, 3305, 0),
+            new WorldPoint(2801, 3003, 0));
+
+    private static PathfinderConfig config;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+    }
+
+    private static Pathfinder run(List<SearchSeed> seeds, WorldPoint target, SearchOptions options) {
+        Pathfinder pathfinder = new Pathfinder(config, seeds, List.of(target), options);
+        pathfinder.run();
+        assertTrue(pathfinder.isTargetReached(), "Route to " + target);
+        return pathfinder;
+    }
+
+    @Test
+    public void testTeleportsMatchSeededSearch() {
+        assertFalse(config.getTeleports().isEmpty());
+        List<SearchSeed> seeds = new ArrayList<>();
+        seeds.add(new SearchSeed(LUMBRIDGE, 0));
+        for (Teleport teleport : config.getTeleports()) {
+            if (config.isUsable(teleport.getRequirementMask())) {
+                seeds.add(new SearchSeed(teleport.getDestination(), teleport.getCost()));
+            }
+        }
+
+        SearchOptions teleports = new SearchOptions();
+        teleports.setUseTeleports(true);
+        boolean teleported = false;
+        for (WorldPoint target : TARGETS) {
+            Pathfinder withTeleports = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, teleports);
+            Pathfinder seeded = run(seeds, target, new SearchOptions());
+            Pathfinder walking = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, new SearchOptions());
+
+            assertEquals(seeded.getCost(), withTeleports.getCost(), "Route to " + target);
+            assertTrue(withTeleports.getCost() <= walking.getCost());
+            teleported |= withTeleports.getCost() < walking.getCost();
+        }
+        assertTrue(teleported);
+    }
+
+    @Test
+    public void testSeedsMatchCheapestSingleSearch() {
+        List<SearchSeed> seeds = List.of(
+                new SearchSeed(LUMBRIDGE, 0),
+                new SearchSeed(new WorldPoint(3212, 3424, 0), 40),
+                new SearchSeed(new WorldPoint(2965, 3380, 0), 120));
+
+        for (WorldPoint target : TARGETS) {
+            Pathfinder seeded = run(seeds, target, new SearchOptions());
+            // A seed's initial cost is included in the cost of every route from it
+            int cheapest = Integer.MAX_VALUE;
+            for (SearchSeed seed : seeds) {
+                cheapest = Math.min(cheapest, run(List.of(seed), target, new SearchOptions()).getCost());
+            }
+
+            assertEquals(cheapest, seeded.getCost(), "Route to " + target);
+            SearchSeed seed = seeded.getSeed();
+            assertEquals(seed.getPoint(), seeded.getPath().get(0));
+            assertEquals(seed.getInitialCost(), seeded.getPathCosts()[0]);
+        }
+    }
+
+    @Test
+    public void testGuidedSearchMatchesDefault() {
+        for (boolean useTeleports : new boolean[]{false, true}) {
+            SearchOptions options = new SearchOptions();
+            options.setUseTeleports(useTeleports);
+            SearchOptions guided = new SearchOptions();
+            guided.setUseTeleports(useTeleports);
+            guided.setGuided(true);
+
+            for (WorldPoint target : TARGETS) {
+                Pathfinder expected = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, options);
+                Pathfinder actual = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, guided);
+                assertEquals(expected.getCost(), actual.getCost(), "Route to " + target);
+
+                // The estimate from the start never exceeds the cost of the route found
+                Heuristic heuristic = new TeleportAwareHeuristic(config, List.of(target), useTeleports);
+                assertTrue(heuristic.estimate(WorldPointUtil.packWorldPoint(LUMBRIDGE)) <= expected.getCost());
+            }
+        }
+    }
+
+    @Test
+    public void testWeightedSearchStaysWithinSuboptimality() {
+        TileIndex tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        int[] costs = new GraphSearch(config, tileIndex).distances(WorldPointUtil.packWorldPoint(LUMBRIDGE), false);
+
+        for (double suboptimality : new double[]{1, 1.5, 3}) {
+            SearchOptions options = new SearchOptions();
+            options.setGuided(true);
+            options.setUsePathDatabase(false);
+            options.setUseShortestPathTrees(false);
+            options.setSuboptimality(suboptimality);
+
+            for (WorldPoint target : TARGETS) {
+                int cheapest = costs[tileIndex.indexOf(WorldPointUtil.packWorldPoint(target))];
+                Pathfinder pathfinder = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, options);
+                assertTrue(pathfinder.getCost() <= suboptimality * cheapest, "Route to " + target);
+                assertTrue(pathfinder.getLowerBound() >= 0 && pathfinder.getLowerBound() <= cheapest);
+                assertTrue(pathfinder.getCost() <= suboptimality * pathfinder.getLowerBound());
+                if (suboptimality == 1) {
+                    assertEquals(cheapest, pathfinder.getCost());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultSearchProvesNoLowerBound() {
+        SearchOptions options = new SearchOptions();
+        options.setUsePathDatabase(false);
+        options.setUseShortestPathTrees(false);
+        Pathfinder pathfinder = run(List.of(new SearchSeed(LUMBRIDGE, 0)), TARGETS.get(0), options);
+        assertEquals(-1, pathfinder.getLowerBound());
+
+        assertThrows(IllegalArgumentException.class, () -> options.setSuboptimality(0.5));
+        assertThrows(IllegalArgumentException.class, () -> options.setSuboptimality(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> options.setSuboptimality(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testResumedSearchMatchesUninterrupted() {
+        for (boolean guided : new boolean[]{false, true}) {
+            SearchOptions options = new SearchOptions();
+            options.setGuided(guided);
+            options.setUsePathDatabase(false);
+            options.setUseShortestPathTrees(false);
+            WorldPoint target = TARGETS.get(3);
+            Pathfinder expected = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, options);
+
+            // A deadline already passed suspends the search before it expands anything
+            options.setDeadlineMillis(0);
+            Pathfinder resumed = new Pathfinder(config, LUMBRIDGE, List.of(target), options);
+            resumed.run();
+            assertTrue(resumed.isSuspended());
+            assertEquals(0, resumed.getExpandedNodes());
+
+            int slices = 0;
+            while (resumed.isSuspended()) {
+                resumed.resume(System.currentTimeMillis() + 1);
+                slices++;
+            }
+            assertTrue(slices > 1, "Search was not sliced");
+            assertTrue(resumed.isTargetReached());
+            assertFalse(resumed.isTruncated());
+            assertEquals(expected.getCost(), resumed.getCost());
+            assertEquals(expected.getPath(), resumed.getPath());
+            assertThrows(IllegalStateException.class, () -> resumed.resume(Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testQuotasTruncateSearch() {
+        WorldPoint target = TARGETS.get(4);
+        for (boolean guided : new boolean[]{false, true}) {
+            List<SearchOptions> quotas = new ArrayList<>();
+            for (int quota = 0; quota < 3; quota++) {
+                SearchOptions options = new SearchOptions();
+                options.setGuided(guided);
+                options.setUsePathDatabase(false);
+                options.setUseShortestPathTrees(false);
+                quotas.add(options);
+            }
+            quotas.get(0).setMaxExpandedNodes(500);
+            quotas.get(1).setMaxOpenNodes(50);
+            quotas.get(2).setMaxRetainedBytes(10_000);
+
+            for (SearchOptions options : quotas) {
+                Pathfinder pathfinder = new Pathfinder(config, LUMBRIDGE, List.of(target), options);
+                pathfinder.run();
+                assertTrue(pathfinder.isTruncated(), "Guided: " + guided);
+                assertFalse(pathfinder.isTargetReached());
+                assertFalse(pathfinder.isSuspended());
+                assertTrue(pathfinder.getExpandedNodes() <= options.getMaxExpandedNodes());
+                // The path leads to the closest approximation found before the quota was hit
+                List<WorldPoint> path = pathfinder.getPath();
+                assertEquals(LUMBRIDGE, path.get(0));
+                assertTrue(path.get(path.size() - 1).distanceTo(target) < LUMBRIDGE.distanceTo(target));
+            }
+
+            // Quotas the search stays within leave its route unchanged
+            SearchOptions generous = quotas.get(0);
+            generous.setMaxExpandedNodes(Integer.MAX_VALUE);
+            Pathfinder expected = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, generous);
+            generous.setMaxExpandedNodes(expected.getExpandedNodes() + 1);
+            generous.setMaxOpenNodes(1_000_000);
+            generous.setMaxRetainedBytes(1L << 30);
+            Pathfinder actual = run(List.of(new SearchSeed(LUMBRIDGE, 0)), target, generous);
+            assertFalse(actual.isTruncated());
+            assertEquals(expected.getCost(), actual.getCost());
+            assertEquals(expected.getPath(), actual.getPath());
+        }
+    }
+}
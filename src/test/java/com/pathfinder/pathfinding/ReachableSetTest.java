@@ -0,0 +1,86 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.precompute.GraphSearch;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.util.WorldPointUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static net.runelite.api.Constants.REGION_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReachableSetTest {
+    private static final int LUMBRIDGE = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+    private static final int MAX_COST = 100;
+
+    private static PathfinderConfig config;
+    private static TileIndex tileIndex;
+    private static int[] costs;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        costs = new GraphSearch(config, tileIndex).distances(LUMBRIDGE, false);
+    }
+
+    @Test
+    public void testSetMatchesGraphSearch() {
+        ReachableSet reachable = new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, MAX_COST, true);
+        assertTrue(reachable.hasCosts());
+        assertEquals(MAX_COST, reachable.getMaxCost());
+
+        int withinBound = 0;
+        for (int tile = 0; tile < costs.length; tile++) {
+            int packedTile = tileIndex.getPackedTile(tile);
+            boolean expected = costs[tile] <= MAX_COST;
+            assertEquals(expected, reachable.contains(packedTile), "Tile " + packedTile);
+            assertEquals(expected ? costs[tile] : -1, reachable.getCost(packedTile), "Tile " + packedTile);
+            withinBound += expected ? 1 : 0;
+        }
+        assertEquals(withinBound, reachable.getSize());
+    }
+
+    @Test
+    public void testRegionsHoldEveryTile() {
+        ReachableSet reachable = new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, MAX_COST, true);
+        int[] tiles = {0};
+        reachable.forEachRegion((regionX, regionY, rows, regionCosts) -> {
+            int regionTiles = 0;
+            for (int row = 0; row < rows.length; row++) {
+                for (long remaining = rows[row]; remaining != 0; remaining &= remaining - 1) {
+                    int x = regionX * REGION_SIZE + Long.numberOfTrailingZeros(remaining);
+                    int packedTile = WorldPointUtil.packWorldPoint(x, regionY * REGION_SIZE + row % REGION_SIZE,
+                            row / REGION_SIZE);
+                    assertEquals(reachable.getCost(packedTile), regionCosts[regionTiles++]);
+                }
+            }
+            assertEquals(regionCosts.length, regionTiles);
+            tiles[0] += regionTiles;
+        });
+        assertEquals(reachable.getSize(), tiles[0]);
+    }
+
+    @Test
+    public void testCostsAreOnlyKeptOnRequest() {
+        ReachableSet withCosts = new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, MAX_COST, true);
+        ReachableSet reachable = new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, MAX_COST, false);
+        assertFalse(reachable.hasCosts());
+        assertEquals(withCosts.getSize(), reachable.getSize());
+        assertTrue(reachable.contains(LUMBRIDGE));
+        assertThrows(IllegalStateException.class, () -> reachable.getCost(LUMBRIDGE));
+    }
+
+    @Test
+    public void testBoundMustNotBeNegative() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, -1, false));
+
+        ReachableSet start = new WavefrontSearch(config).reachable(new int[]{LUMBRIDGE}, 0, true);
+        assertEquals(1, start.getSize());
+        assertEquals(0, start.getCost(LUMBRIDGE));
+    }
+}
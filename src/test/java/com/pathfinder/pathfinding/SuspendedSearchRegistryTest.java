@@ -0,0 +1,76 @@
+package com.pathfinder.pathfinding;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SuspendedSearchRegistryTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+
+    private static PathfinderConfig config;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+    }
+
+    private static Pathfinder suspendedSearch() {
+        SearchOptions options = new SearchOptions();
+        // Routes looked up from precomputed data finish at once, so only the search itself can be suspended
+        options.setUsePathDatabase(false);
+        options.setUseShortestPathTrees(false);
+        options.setDeadlineMillis(0);
+        Pathfinder pathfinder = new Pathfinder(config, LUMBRIDGE, List.of(DRAYNOR), options);
+        pathfinder.run();
+        return pathfinder;
+    }
+
+    @Test
+    public void testTokenIsUsedOnce() {
+        SuspendedSearchRegistry registry = new SuspendedSearchRegistry(4, Long.MAX_VALUE);
+        Pathfinder pathfinder = suspendedSearch();
+        String token = registry.suspend(pathfinder, "request");
+        assertNotEquals(token, registry.suspend(suspendedSearch(), "request"));
+
+        assertSame(pathfinder, registry.take(token, "request"));
+        assertNull(registry.take(token, "request"));
+    }
+
+    @Test
+    public void testSearchIsOnlyHandedBackForItsRequest() {
+        SuspendedSearchRegistry registry = new SuspendedSearchRegistry(4, Long.MAX_VALUE);
+        String token = registry.suspend(suspendedSearch(), "request");
+        assertNull(registry.take(token, "another request"));
+        assertNull(registry.take("unknown", "request"));
+    }
+
+    @Test
+    public void testOldestSearchIsDropped() {
+        SuspendedSearchRegistry registry = new SuspendedSearchRegistry(2, Long.MAX_VALUE);
+        String oldest = registry.suspend(suspendedSearch(), "request");
+        String middle = registry.suspend(suspendedSearch(), "request");
+        Pathfinder newest = suspendedSearch();
+        String newestToken = registry.suspend(newest, "request");
+
+        assertNull(registry.take(oldest, "request"));
+        assertSame(newest, registry.take(newestToken, "request"));
+        registry.clear();
+        assertNull(registry.take(middle, "request"));
+    }
+
+    @Test
+    public void testOnlySuspendedSearchesAreKept() {
+        Pathfinder finished = new Pathfinder(config, LUMBRIDGE, List.of(DRAYNOR));
+        finished.run();
+        assertThrows(IllegalArgumentException.class,
+                () -> new SuspendedSearchRegistry(4, Long.MAX_VALUE).suspend(finished, "request"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.pathfinder.pathfinding;
+
+import com.pathfinder.pathfinding.precompute.GraphSearch;
+import com.pathfinder.pathfinding.precompute.TileIndex;
+import com.pathfinder.util.WorldPointUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WavefrontSearchTest {
+    private static final int LUMBRIDGE = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+    private static final int MAX_COST = 250;
+
+    private static PathfinderConfig config;
+    private static TileIndex tileIndex;
+    private static GraphSearch graphSearch;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        graphSearch = new GraphSearch(config, tileIndex);
+    }
+
+    /**
+     * @return The cost each tile was reached at, by packed tile
+     */
+    private static Map<Integer, Integer> flood(WavefrontSearch search, int[] packedSeeds) {
+        Map<Integer, Integer> costs = new HashMap<>();
+        search.run(packedSeeds, MAX_COST, (cost, x, y, plane, tiles) -> {
+            for (long remaining = tiles; remaining != 0; remaining &= remaining - 1) {
+                int packedTile = WorldPointUtil.packWorldPoint(x + Long.numberOfTrailingZeros(remaining), y, plane);
+                assertNull(costs.put(packedTile, cost), "Reached twice: " + packedTile);
+            }
+        });
+        return costs;
+    }
+
+    private static void assertMatchesGraphSearch(Map<Integer, Integer> costs, int[] expected) {
+        int withinBound = 0;
+        for (int tile = 0; tile < expected.length; tile++) {
+            if (expected[tile] <= MAX_COST) {
+                withinBound++;
+                int packedTile = tileIndex.getPackedTile(tile);
+                assertEquals(expected[tile], costs.get(packedTile), "Cost of " + packedTile);
+            }
+        }
+
+        // Fully blocked tiles are not indexed, but may still be stepped out of
+        int indexed = 0;
+        for (int packedTile : costs.keySet()) {
+            if (tileIndex.indexOf(packedTile) >= 0) {
+                indexed++;
+            } else {
+                assertTrue(config.getMap().isBlocked(WorldPointUtil.unpackWorldX(packedTile),
+                        WorldPointUtil.unpackWorldY(packedTile), WorldPointUtil.unpackWorldPlane(packedTile)));
+            }
+        }
+        assertEquals(withinBound, indexed);
+    }
+
+    @Test
+    public void testCostsMatchGraphSearch() {
+        Map<Integer, Integer> costs = flood(new WavefrontSearch(config), new int[]{LUMBRIDGE});
+        assertEquals(0, costs.get(LUMBRIDGE));
+        assertMatchesGraphSearch(costs, graphSearch.distances(LUMBRIDGE, false));
+    }
+
+    @Test
+    public void testReverseCostsMatchGraphSearch() {
+        Map<Integer, Integer> costs = flood(new WavefrontSearch(config, null, true), new int[]{LUMBRIDGE});
+        assertMatchesGraphSearch(costs, graphSearch.distances(LUMBRIDGE, true));
+    }
+
+    @Test
+    public void testSeedsAreReachedAtNoCost() {
+        int draynor = WorldPointUtil.packWorldPoint(3093, 3244, 0);
+        Map<Integer, Integer> costs = flood(new WavefrontSearch(config), new int[]{LUMBRIDGE, draynor});
+        assertEquals(0, costs.get(draynor));
+
+        int[] fromLumbridge = graphSearch.distances(LUMBRIDGE, false);
+        int[] fromDraynor = graphSearch.distances(draynor, false);
+        for (Map.Entry<Integer, Integer> entry : costs.entrySet()) {
+            int tile = tileIndex.indexOf(entry.getKey());
+            assertEquals(Math.min(fromLumbridge[tile], fromDraynor[tile]), entry.getValue());
+        }
+        assertTrue(costs.size() > flood(new WavefrontSearch(config), new int[]{LUMBRIDGE}).size());
+    }
+
+    @Test
+    public void testParallelSearchMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (boolean reverse : new boolean[]{false, true}) {
+                int[] seeds = {LUMBRIDGE, WorldPointUtil.packWorldPoint(3212, 3424, 0)};
+                assertEquals(flood(new WavefrontSearch(config, null, reverse), seeds),
+                        flood(new WavefrontSearch(config, pool, reverse), seeds));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
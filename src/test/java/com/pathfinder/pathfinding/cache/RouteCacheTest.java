@@ -0,0 +1,73 @@
+package com.pathfinder.pathfinding.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteCacheTest {
+    private static RouteCacheKey key(int start) {
+        return new RouteCacheKey(start, new int[]{100, 200}, 1, new long[]{2});
+    }
+
+    @Test
+    public void testKeyIgnoresTargetOrder() {
+        RouteCacheKey a = new RouteCacheKey(1, new int[]{5, 3, 9}, 7, new long[]{8});
+        RouteCacheKey b = new RouteCacheKey(1, new int[]{9, 5, 3}, 7, new long[]{8});
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+
+    @Test
+    public void testKeyComparesCapabilityMaskExactly() {
+        RouteCacheKey a = new RouteCacheKey(1, new int[]{5}, 7, new long[]{0b1010L, 1L});
+        RouteCacheKey b = new RouteCacheKey(1, new int[]{5}, 7, new long[]{0b1010L, 1L});
+        RouteCacheKey c = new RouteCacheKey(1, new int[]{5}, 7, new long[]{0b1011L, 1L});
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    public void testHitsAndMissesAreCounted() {
+        RouteCache cache = new RouteCache(4);
+        CachedRoute route = new CachedRoute(new int[]{1, 2, 3}, 2);
+
+        assertNull(cache.get(key(1)));
+        assertTrue(cache.put(key(1), route, cache.getGeneration()));
+        assertSame(route, cache.get(key(1)));
+
+        RouteCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getSize());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        // A single segment makes the eviction order observable
+        RouteCache cache = new RouteCache(1);
+        cache.put(key(1), new CachedRoute(new int[]{1}, 0), cache.getGeneration());
+        cache.put(key(2), new CachedRoute(new int[]{2}, 0), cache.getGeneration());
+
+        assertNull(cache.get(key(1)));
+        assertNotNull(cache.get(key(2)));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testInvalidationRejectsStaleRoutes() {
+        RouteCache cache = new RouteCache(8);
+        long generation = cache.getGeneration();
+        cache.put(key(1), new CachedRoute(new int[]{1}, 0), generation);
+
+        cache.invalidateAll();
+        assertNull(cache.get(key(1)));
+        assertFalse(cache.put(key(2), new CachedRoute(new int[]{2}, 0), generation));
+        assertTrue(cache.put(key(2), new CachedRoute(new int[]{2}, 0), cache.getGeneration()));
+    }
+}
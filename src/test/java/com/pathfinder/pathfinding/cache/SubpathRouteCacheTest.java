@@ -0,0 +1,100 @@
+package com.pathfinder.pathfinding.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SubpathRouteCacheTest {
+    private static RouteCacheKey key(int start, int target) {
+        return new RouteCacheKey(start, new int[]{target}, 1, new long[]{2});
+    }
+
+    private static CachedRoute route(int first, int length) {
+        return route(first, length, -1);
+    }
+
+    private static CachedRoute route(int first, int length, int lowerBound) {
+        int[] path = new int[length];
+        int[] costs = new int[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = first + i;
+            costs[i] = i * 2;
+        }
+        return new CachedRoute(path, costs, lowerBound);
+    }
+
+    private static int[] points(CachedRoute route) {
+        int[] points = new int[route.length()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = route.getPackedPoint(i);
+        }
+        return points;
+    }
+
+    @Test
+    public void testQueryAlongStoredRouteIsSliced() {
+        SubpathRouteCache cache = new SubpathRouteCache(100);
+        assertTrue(cache.put(key(10, 19), route(10, 10), cache.getGeneration()));
+
+        CachedRoute slice = cache.get(key(12, 15));
+        assertNotNull(slice);
+        assertArrayEquals(new int[]{12, 13, 14, 15}, points(slice));
+        assertEquals(6, slice.getCost());
+
+        // Against the direction of the route, or with other capabilities, nothing matches
+        assertNull(cache.get(key(15, 12)));
+        assertNull(cache.get(new RouteCacheKey(12, new int[]{15}, 1, new long[]{3})));
+    }
+
+    @Test
+    public void testSlicesOfProvenRoutesKeepTheirBound() {
+        CachedRoute proven = route(10, 10, 18);
+        CachedRoute unproven = route(10, 10);
+        assertTrue(proven.isProvenCheapest());
+        assertFalse(unproven.isProvenCheapest());
+
+        SubpathRouteCache cache = new SubpathRouteCache(100);
+        cache.put(key(10, 19), proven, cache.getGeneration());
+        CachedRoute slice = cache.get(key(12, 15));
+        assertEquals(6, slice.getLowerBound());
+        assertTrue(slice.isProvenCheapest());
+        assertEquals(-1, unproven.slice(2, 5).getLowerBound());
+    }
+
+    @Test
+    public void testCoveredRoutesAreNotStoredTwice() {
+        SubpathRouteCache cache = new SubpathRouteCache(100);
+        cache.put(key(10, 19), route(10, 10), cache.getGeneration());
+
+        assertFalse(cache.put(key(12, 15), route(12, 4), cache.getGeneration()));
+        assertEquals(10, cache.getIndexedPoints());
+    }
+
+    @Test
+    public void testEvictionRemovesIndexEntries() {
+        SubpathRouteCache cache = new SubpathRouteCache(15);
+        cache.put(key(10, 19), route(10, 10), cache.getGeneration());
+        cache.put(key(100, 109), route(100, 10), cache.getGeneration());
+
+        assertNull(cache.get(key(12, 15)));
+        assertNotNull(cache.get(key(102, 105)));
+        assertEquals(10, cache.getIndexedPoints());
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testInvalidationRejectsStaleRoutes() {
+        SubpathRouteCache cache = new SubpathRouteCache(100);
+        long generation = cache.getGeneration();
+        cache.put(key(10, 19), route(10, 10), generation);
+
+        cache.invalidateAll();
+        assertNull(cache.get(key(12, 15)));
+        assertFalse(cache.put(key(10, 19), route(10, 10), generation));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the flags the test task computes for partition 6 only (islands east of Morytania), with every edge flagged
+ * for the other partitions.
+ */
+public class ArcFlagsTest {
+    private static final List<WorldPoint> PARTITION_6 = List.of(
+            new WorldPoint(3752, 3035, 0),
+            new WorldPoint(3771, 2948, 0),
+            new WorldPoint(3699, 3017, 0),
+            new WorldPoint(3815, 3043, 0),
+            new WorldPoint(3616, 2770, 0));
+    private static final List<WorldPoint> MAINLAND = List.of(
+            new WorldPoint(3222, 3218, 0),
+            new WorldPoint(3093, 3244, 0),
+            new WorldPoint(3164, 3487, 0));
+
+    private static PathfinderConfig config;
+    private static ArcFlags arcFlags;
+
+    @BeforeAll
+    public static void loadArcFlags() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        arcFlags = ArcFlags.shared(config);
+        assumeTrue(arcFlags != null, "No arc flags in " + PrecomputedData.getDataDirectory());
+    }
+
+    private static void assertSameRoute(WorldPoint start, WorldPoint target) {
+        SearchOptions flagged = new SearchOptions();
+        flagged.setGuided(true);
+        SearchOptions unflagged = new SearchOptions();
+        unflagged.setGuided(true);
+        unflagged.setUseArcFlags(false);
+
+        Pathfinder expected = new Pathfinder(config, start, List.of(target), unflagged);
+        expected.run();
+        Pathfinder actual = new Pathfinder(config, start, List.of(target), flagged);
+        actual.run();
+        assertEquals(expected.isTargetReached(), actual.isTargetReached(), start + " to " + target);
+        assertEquals(expected.getCost(), actual.getCost(), start + " to " + target);
+    }
+
+    @Test
+    public void testFlagsOnlyApplyToTheirCapabilities() {
+        assertTrue(arcFlags.isApplicable(config));
+        assertFalse(arcFlags.isApplicable(Pathfinder.createConfig(new PlayerProperties(false, false))));
+        assertNotNull(arcFlags.targetMask(PARTITION_6));
+    }
+
+    @Test
+    public void testFlaggedSearchMatchesUnflagged() {
+        for (WorldPoint start : List.of(PARTITION_6.get(0), PARTITION_6.get(4))) {
+            for (WorldPoint target : PARTITION_6) {
+                assertSameRoute(start, target);
+            }
+        }
+        // The islands cannot be reached from the mainland; the closest approximation must not change either
+        assertSameRoute(MAINLAND.get(0), PARTITION_6.get(0));
+        for (WorldPoint target : MAINLAND) {
+            assertSameRoute(MAINLAND.get(1), target);
+        }
+    }
+}
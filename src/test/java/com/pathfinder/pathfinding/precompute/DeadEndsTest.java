@@ -0,0 +1,91 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class DeadEndsTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+
+    private static PathfinderConfig config;
+    private static DeadEnds deadEnds;
+
+    /**
+     * A few tiles in dead ends around Lumbridge.
+     */
+    private static List<WorldPoint> insideDeadEnds;
+
+    @BeforeAll
+    public static void loadDeadEnds() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        deadEnds = DeadEnds.shared(config);
+        assumeTrue(deadEnds != null, "No dead ends in " + PrecomputedData.getDataDirectory());
+
+        TileIndex tileIndex = deadEnds.getTileIndex();
+        insideDeadEnds = new ArrayList<>();
+        int lastRegion = 0;
+        for (int tile = 0; tile < tileIndex.size() && insideDeadEnds.size() < 3; tile++) {
+            WorldPoint point = WorldPointUtil.unpackWorldPoint(tileIndex.getPackedTile(tile));
+            int region = deadEnds.getRegion(tile);
+            if (region != 0 && region != lastRegion && point.getPlane() == 0 && point.distanceTo(LUMBRIDGE) < 40) {
+                insideDeadEnds.add(point);
+                lastRegion = region;
+            }
+        }
+    }
+
+    private static Pathfinder run(WorldPoint start, WorldPoint target, boolean useDeadEnds) {
+        SearchOptions options = new SearchOptions();
+        options.setUseDeadEnds(useDeadEnds);
+        options.setUsePathDatabase(false);
+        options.setUseShortestPathTrees(false);
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(target), options);
+        pathfinder.run();
+        return pathfinder;
+    }
+
+    private static Pathfinder assertSameRoute(WorldPoint start, WorldPoint target) {
+        Pathfinder expected = run(start, target, false);
+        Pathfinder actual = run(start, target, true);
+        assertEquals(expected.isTargetReached(), actual.isTargetReached(), start + " to " + target);
+        assertEquals(expected.getCost(), actual.getCost(), start + " to " + target);
+        return actual;
+    }
+
+    @Test
+    public void testEndpointRegionsStayOpen() {
+        assertFalse(insideDeadEnds.isEmpty());
+        for (WorldPoint point : insideDeadEnds) {
+            int packedPoint = WorldPointUtil.packWorldPoint(point);
+            assertTrue(deadEnds.isSkipped(packedPoint, deadEnds.regionsContaining(
+                    WorldPointUtil.packWorldPoint(LUMBRIDGE))));
+            assertFalse(deadEnds.isSkipped(packedPoint, deadEnds.regionsContaining(packedPoint)));
+        }
+    }
+
+    @Test
+    public void testPrunedSearchMatchesUnpruned() {
+        Pathfinder pruned = assertSameRoute(LUMBRIDGE, DRAYNOR);
+        assertTrue(pruned.getExpandedNodes() <= run(LUMBRIDGE, DRAYNOR, false).getExpandedNodes());
+
+        for (WorldPoint point : insideDeadEnds) {
+            assertSameRoute(LUMBRIDGE, point);
+            assertSameRoute(point, DRAYNOR);
+        }
+        assertSameRoute(insideDeadEnds.get(0), insideDeadEnds.get(insideDeadEnds.size() - 1));
+    }
+}
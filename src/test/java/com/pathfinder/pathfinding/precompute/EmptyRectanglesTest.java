@@ -0,0 +1,103 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class EmptyRectanglesTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+
+    private static PathfinderConfig config;
+    private static EmptyRectangles rectangles;
+
+    /**
+     * A tile inside each of a few rectangles around Lumbridge.
+     */
+    private static List<WorldPoint> insideRectangles;
+
+    @BeforeAll
+    public static void loadRectangles() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        rectangles = EmptyRectangles.shared(config);
+        assumeTrue(rectangles != null, "No empty rectangles in " + PrecomputedData.getDataDirectory());
+
+        insideRectangles = new ArrayList<>();
+        List<Integer> found = new ArrayList<>();
+        for (int dx = -60; dx <= 60 && insideRectangles.size() < 3; dx += 7) {
+            for (int dy = -60; dy <= 60 && insideRectangles.size() < 3; dy += 7) {
+                WorldPoint point = new WorldPoint(LUMBRIDGE.getX() + dx, LUMBRIDGE.getY() + dy, 0);
+                int rectangle = rectangles.getRectangle(WorldPointUtil.packWorldPoint(point));
+                if (rectangle != 0 && !found.contains(rectangle)) {
+                    found.add(rectangle);
+                    insideRectangles.add(point);
+                }
+            }
+        }
+    }
+
+    private static void assertSameRoute(WorldPoint start, WorldPoint target) {
+        SearchOptions crossing = new SearchOptions();
+        crossing.setGuided(true);
+        SearchOptions expanding = new SearchOptions();
+        expanding.setGuided(true);
+        expanding.setUseEmptyRectangles(false);
+
+        Pathfinder expected = new Pathfinder(config, start, List.of(target), expanding);
+        expected.run();
+        Pathfinder actual = new Pathfinder(config, start, List.of(target), crossing);
+        actual.run();
+        assertEquals(expected.isTargetReached(), actual.isTargetReached(), start + " to " + target);
+        assertEquals(expected.getCost(), actual.getCost(), start + " to " + target);
+
+        // Crossed rectangles are filled back in, so the path still moves one tile at a time
+        List<WorldPoint> path = actual.getPath();
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(path.get(i - 1).distanceTo(path.get(i)) <= 1
+                    || config.getTransports().containsKey(path.get(i - 1)), "Gap after " + path.get(i - 1));
+        }
+    }
+
+    @Test
+    public void testPerimeterIsReachedInAStraightLine() {
+        assertFalse(insideRectangles.isEmpty());
+        TileIndex tileIndex = rectangles.getTileIndex();
+        GraphSearch search = new GraphSearch(config, tileIndex);
+        for (WorldPoint point : insideRectangles) {
+            int packedPoint = WorldPointUtil.packWorldPoint(point);
+            int rectangle = rectangles.getRectangle(packedPoint);
+            assertTrue(rectangles.contains(rectangle, packedPoint));
+
+            int[] costs = search.distances(packedPoint, false);
+            rectangles.forEachPerimeterTile(rectangle, packedTile -> {
+                assertEquals(rectangle, rectangles.getRectangle(packedTile));
+                assertEquals(WorldPointUtil.distanceBetween(packedPoint, packedTile),
+                        costs[tileIndex.indexOf(packedTile)]);
+            });
+        }
+    }
+
+    @Test
+    public void testCrossingSearchMatchesExpandingSearch() {
+        assertSameRoute(LUMBRIDGE, DRAYNOR);
+        assertSameRoute(new WorldPoint(3212, 3424, 0), new WorldPoint(3164, 3487, 0));
+        for (WorldPoint point : insideRectangles) {
+            assertSameRoute(point, DRAYNOR);
+            assertSameRoute(DRAYNOR, point);
+        }
+        assertSameRoute(insideRectangles.get(0), insideRectangles.get(insideRectangles.size() - 1));
+    }
+}
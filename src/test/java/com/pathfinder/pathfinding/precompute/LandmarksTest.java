@@ -0,0 +1,72 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.util.WorldPointUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class LandmarksTest {
+    private static final int LUMBRIDGE = WorldPointUtil.packWorldPoint(3222, 3218, 0);
+
+    /**
+     * Only every so many tiles are checked, to keep the test quick.
+     */
+    private static final int SAMPLE_STRIDE = 101;
+
+    private static PathfinderConfig config;
+    private static Landmarks landmarks;
+    private static TileIndex tileIndex;
+    private static GraphSearch search;
+
+    @BeforeAll
+    public static void loadLandmarks() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        landmarks = Landmarks.shared(config);
+        assumeTrue(landmarks != null, "No landmarks in " + PrecomputedData.getDataDirectory());
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        search = new GraphSearch(config, tileIndex);
+    }
+
+    @Test
+    public void testStoredCostsMatchGraphSearch() {
+        for (int landmark = 0; landmark < landmarks.getLandmarkCount(); landmark++) {
+            int packedLandmark = landmarks.getLandmarkTile(landmark);
+            assertEquals(0, landmarks.getForward(landmark, tileIndex.indexOf(packedLandmark)));
+
+            // Costs are quantised by rounding down, and kept unreachable exactly where they are
+            int[] forward = search.distances(packedLandmark, false);
+            for (int tile = 0; tile < forward.length; tile += SAMPLE_STRIDE) {
+                int stored = landmarks.getForward(landmark, tile);
+                assertEquals(forward[tile] == GraphSearch.UNREACHABLE, stored == Landmarks.UNREACHABLE_VALUE);
+                assertTrue(forward[tile] == GraphSearch.UNREACHABLE || stored <= forward[tile]);
+            }
+        }
+    }
+
+    @Test
+    public void testLowerBoundsAreAdmissible() {
+        int start = tileIndex.indexOf(LUMBRIDGE);
+        int[] fromStart = search.distances(LUMBRIDGE, false);
+        int[] toStart = search.distances(LUMBRIDGE, true);
+
+        boolean informative = false;
+        for (int tile = 0; tile < fromStart.length; tile += SAMPLE_STRIDE) {
+            if (fromStart[tile] != GraphSearch.UNREACHABLE) {
+                int bound = landmarks.lowerBound(start, tile);
+                assertTrue(bound <= fromStart[tile], "Bound to " + tileIndex.getPackedTile(tile));
+                informative |= bound > 0;
+            }
+            if (toStart[tile] != GraphSearch.UNREACHABLE) {
+                assertTrue(landmarks.lowerBound(tile, start) <= toStart[tile],
+                        "Bound from " + tileIndex.getPackedTile(tile));
+            }
+        }
+        assertTrue(informative);
+    }
+}
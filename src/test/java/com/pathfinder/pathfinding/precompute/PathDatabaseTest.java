@@ -0,0 +1,79 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class PathDatabaseTest {
+    private static final List<WorldPoint> STARTS = List.of(
+            new WorldPoint(3212, 3424, 0),
+            new WorldPoint(3093, 3244, 0),
+            new WorldPoint(2965, 3380, 0),
+            new WorldPoint(2662, 3305, 0),
+            new WorldPoint(3208, 3220, 2));
+
+    private static PathfinderConfig config;
+    private static PathDatabase pathDatabase;
+    private static TileIndex tileIndex;
+
+    @BeforeAll
+    public static void loadPathDatabase() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        pathDatabase = PathDatabase.shared(config);
+        assumeTrue(pathDatabase != null, "No path database in " + PrecomputedData.getDataDirectory());
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+    }
+
+    private static Pathfinder run(WorldPoint start, WorldPoint target, boolean usePathDatabase) {
+        SearchOptions options = new SearchOptions();
+        options.setUsePathDatabase(usePathDatabase);
+        options.setUseShortestPathTrees(false);
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(target), options);
+        pathfinder.run();
+        assertTrue(pathfinder.isTargetReached(), start + " to " + target);
+        return pathfinder;
+    }
+
+    @Test
+    public void testExtractedPathsAreCheapest() {
+        assertTrue(pathDatabase.isApplicable(config));
+        GraphSearch search = new GraphSearch(config, tileIndex);
+        for (int destination = 0; destination < pathDatabase.getDestinationCount(); destination++) {
+            int packedTarget = pathDatabase.getDestinationTile(destination);
+            WorldPoint target = WorldPointUtil.unpackWorldPoint(packedTarget);
+            int[] costs = search.distances(packedTarget, true);
+
+            for (WorldPoint start : STARTS) {
+                Pathfinder extracted = run(start, target, true);
+                List<WorldPoint> path = extracted.getPath();
+                int[] pathCosts = extracted.getPathCosts();
+
+                assertEquals(0, extracted.getExpandedNodes());
+                assertEquals(costs[tileIndex.indexOf(WorldPointUtil.packWorldPoint(start))], extracted.getCost());
+                assertEquals(start, path.get(0));
+                assertEquals(target, path.get(path.size() - 1));
+                assertEquals(extracted.getCost(), pathCosts[pathCosts.length - 1]);
+
+                // The default search may settle for a slightly dearer route around some transports
+                assertTrue(extracted.getCost() <= run(start, target, false).getCost());
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyAppliesToItsCapabilities() {
+        assertFalse(pathDatabase.isApplicable(Pathfinder.createConfig(new PlayerProperties(false, false))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pathfinder.pathfinding.precompute;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SearchOptions;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ShortestPathTreesTest {
+    private static final List<WorldPoint> POINTS = List.of(
+            new WorldPoint(3212, 3424, 0),
+            new WorldPoint(3093, 3244, 0),
+            new WorldPoint(2965, 3380, 0),
+            new WorldPoint(2662, 3305, 0),
+            new WorldPoint(3208, 3220, 2));
+
+    private static PathfinderConfig config;
+    private static ShortestPathTrees trees;
+    private static TileIndex tileIndex;
+    private static GraphSearch search;
+
+    @BeforeAll
+    public static void loadTrees() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        trees = ShortestPathTrees.shared(config);
+        assumeTrue(trees != null, "No shortest-path trees in " + PrecomputedData.getDataDirectory());
+        tileIndex = new TileIndex(config.getMap(), config.getTransportGraph());
+        search = new GraphSearch(config, tileIndex);
+    }
+
+    private static Pathfinder run(WorldPoint start, WorldPoint target, boolean useShortestPathTrees) {
+        SearchOptions options = new SearchOptions();
+        options.setUsePathDatabase(false);
+        options.setUseShortestPathTrees(useShortestPathTrees);
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(target), options);
+        pathfinder.run();
+        assertTrue(pathfinder.isTargetReached(), start + " to " + target);
+        return pathfinder;
+    }
+
+    private static void assertCheapest(WorldPoint start, WorldPoint target, int cost) {
+        Pathfinder extracted = run(start, target, true);
+        List<WorldPoint> path = extracted.getPath();
+        int[] pathCosts = extracted.getPathCosts();
+
+        assertEquals(0, extracted.getExpandedNodes());
+        assertEquals(cost, extracted.getCost(), start + " to " + target);
+        assertEquals(start, path.get(0));
+        assertEquals(target, path.get(path.size() - 1));
+        assertEquals(cost, pathCosts[pathCosts.length - 1]);
+
+        // The default search may settle for a slightly dearer route around some transports
+        assertTrue(cost <= run(start, target, false).getCost());
+    }
+
+    @Test
+    public void testExtractedPathsAreCheapest() {
+        assertTrue(trees.isApplicable(config));
+        for (int endpoint = 0; endpoint < trees.getEndpointCount(); endpoint++) {
+            int packedEndpoint = trees.getEndpointTile(endpoint);
+            assertEquals(endpoint, trees.endpointOf(packedEndpoint));
+            WorldPoint endpointPoint = WorldPointUtil.unpackWorldPoint(packedEndpoint);
+            int[] fromEndpoint = search.distances(packedEndpoint, false);
+            int[] toEndpoint = search.distances(packedEndpoint, true);
+
+            for (WorldPoint point : POINTS) {
+                int index = tileIndex.indexOf(WorldPointUtil.packWorldPoint(point));
+                assertCheapest(endpointPoint, point, fromEndpoint[index]);
+                assertCheapest(point, endpointPoint, toEndpoint[index]);
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyAppliesToItsCapabilities() {
+        assertFalse(trees.isApplicable(Pathfinder.createConfig(new PlayerProperties(false, false))));
+    }
+}
@@ -0,0 +1,130 @@
+package com.pathfinder.pathfinding.replanning;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IncrementalPathfinderTest {
+    private static final int MAX_EXPANSIONS = 500_000;
+
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+    // Top floor of Lumbridge castle, reached by either of its staircases
+    private static final WorldPoint CASTLE_TOP_FLOOR = new WorldPoint(3208, 3220, 2);
+    private static final WorldPoint STAIRCASE = new WorldPoint(3205, 3209, 0);
+
+    private static PathfinderConfig config;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+    }
+
+    private static IncrementalPathfinder computed(WorldPoint start, WorldPoint goal) {
+        IncrementalPathfinder pathfinder = new IncrementalPathfinder(config, start, goal, MAX_EXPANSIONS);
+        assertTrue(pathfinder.computePath());
+        return pathfinder;
+    }
+
+    private static int searchCost(WorldPoint start, WorldPoint goal) {
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(goal));
+        pathfinder.run();
+        assertTrue(pathfinder.isTargetReached());
+        return pathfinder.getCost();
+    }
+
+    @Test
+    public void testPathMatchesPathfinder() {
+        for (WorldPoint goal : List.of(DRAYNOR, CASTLE_TOP_FLOOR)) {
+            IncrementalPathfinder pathfinder = computed(LUMBRIDGE, goal);
+            List<WorldPoint> path = pathfinder.getPath();
+
+            assertEquals(searchCost(LUMBRIDGE, goal), pathfinder.getCost());
+            assertEquals(LUMBRIDGE, path.get(0));
+            assertEquals(goal, path.get(path.size() - 1));
+        }
+    }
+
+    @Test
+    public void testBlockedTileMatchesSearchFromScratch() {
+        IncrementalPathfinder pathfinder = computed(LUMBRIDGE, DRAYNOR);
+        int unblockedCost = pathfinder.getCost();
+        WorldPoint blocked = pathfinder.getPath().get(pathfinder.getPath().size() / 2);
+
+        pathfinder.blockTile(blocked);
+        assertTrue(pathfinder.computePath());
+        IncrementalPathfinder fromScratch = new IncrementalPathfinder(config, LUMBRIDGE, DRAYNOR, MAX_EXPANSIONS);
+        fromScratch.blockTile(blocked);
+        assertTrue(fromScratch.computePath());
+
+        assertEquals(fromScratch.getCost(), pathfinder.getCost());
+        assertFalse(pathfinder.getPath().contains(blocked));
+
+        pathfinder.unblockTile(blocked);
+        assertTrue(pathfinder.computePath());
+        assertEquals(unblockedCost, pathfinder.getCost());
+    }
+
+    @Test
+    public void testDisabledTransportMatchesSearchFromScratch() {
+        IncrementalPathfinder pathfinder = computed(LUMBRIDGE, CASTLE_TOP_FLOOR);
+        int enabledCost = pathfinder.getCost();
+        WorldPoint staircaseTop = new WorldPoint(STAIRCASE.getX(), STAIRCASE.getY(), 1);
+        assertTrue(pathfinder.getPath().contains(STAIRCASE));
+
+        pathfinder.disableTransport(STAIRCASE, staircaseTop);
+        assertTrue(pathfinder.computePath());
+        IncrementalPathfinder fromScratch = new IncrementalPathfinder(config, LUMBRIDGE, CASTLE_TOP_FLOOR,
+                MAX_EXPANSIONS);
+        fromScratch.disableTransport(STAIRCASE, staircaseTop);
+        assertTrue(fromScratch.computePath());
+
+        assertEquals(fromScratch.getCost(), pathfinder.getCost());
+        assertFalse(pathfinder.getPath().contains(STAIRCASE));
+
+        pathfinder.enableTransport(STAIRCASE, staircaseTop);
+        assertTrue(pathfinder.computePath());
+        assertEquals(enabledCost, pathfinder.getCost());
+    }
+
+    @Test
+    public void testMovedStartMatchesSearchFromScratch() {
+        IncrementalPathfinder pathfinder = computed(LUMBRIDGE, DRAYNOR);
+        List<WorldPoint> path = pathfinder.getPath();
+        WorldPoint progressed = path.get(path.size() / 3);
+        WorldPoint offPath = new WorldPoint(progressed.getX(), progressed.getY() + 2, 0);
+
+        for (WorldPoint position : List.of(progressed, offPath)) {
+            pathfinder.moveStart(position);
+            assertTrue(pathfinder.computePath());
+            assertEquals(computed(position, DRAYNOR).getCost(), pathfinder.getCost());
+            assertEquals(position, pathfinder.getPath().get(0));
+        }
+    }
+
+    @Test
+    public void testTruncatedComputationCarriesOn() {
+        IncrementalPathfinder pathfinder = new IncrementalPathfinder(config, LUMBRIDGE, DRAYNOR, 1000);
+        assertFalse(pathfinder.computePath());
+        assertTrue(pathfinder.isTruncated());
+        assertTrue(pathfinder.getPath().isEmpty());
+        assertEquals(Integer.MAX_VALUE, pathfinder.getCost());
+
+        int calls = 1;
+        while (!pathfinder.computePath()) {
+            assertTrue(pathfinder.isTruncated());
+            assertTrue(++calls < 1000);
+        }
+        assertFalse(pathfinder.isTruncated());
+        assertEquals(searchCost(LUMBRIDGE, DRAYNOR), pathfinder.getCost());
+    }
+}
@@ -0,0 +1,101 @@
+package com.pathfinder.pathfinding.requirement;
+
+import com.pathfinder.enums.Diary;
+import com.pathfinder.pathfinding.PlayerProperties;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequirementLayoutTest {
+    private static final SkillReq AGILITY_50 = new SkillReq(Skill.AGILITY, 50);
+    private static final SkillReq AGILITY_70 = new SkillReq(Skill.AGILITY, 70);
+    private static final QuestReq REGICIDE = new QuestReq(Quest.REGICIDE);
+    private static final DiaryReq ARDOUGNE_EASY = new DiaryReq(Diary.ARDOUGNE_EASY);
+
+    @Test
+    public void testEqualRequirementsShareABit() {
+        RequirementLayout.Builder builder = new RequirementLayout.Builder();
+        long[] first = builder.mask(List.of(AGILITY_50, REGICIDE));
+        long[] second = builder.mask(Arrays.asList(new QuestReq(Quest.REGICIDE), null));
+
+        assertArrayEquals(new long[]{0b11}, first);
+        assertArrayEquals(new long[]{0b10}, second);
+        assertArrayEquals(RequirementLayout.NO_REQUIREMENTS, builder.mask(List.of()));
+        assertEquals(2, builder.build().size());
+    }
+
+    @Test
+    public void testUnsupportedRequirementIsRejected() {
+        RequirementLayout.Builder builder = new RequirementLayout.Builder();
+        assertThrows(IllegalArgumentException.class, () -> builder.mask(List.of("Agility 50")));
+    }
+
+    @Test
+    public void testCompiledMasksMatchPlayerProperties() {
+        RequirementLayout.Builder builder = new RequirementLayout.Builder();
+        long[] agility50 = builder.mask(List.of(AGILITY_50));
+        long[] agility70 = builder.mask(List.of(AGILITY_70));
+        long[] regicide = builder.mask(List.of(REGICIDE));
+        long[] diary = builder.mask(List.of(ARDOUGNE_EASY));
+        long[] fairyRings = builder.mask(List.of(UnlockReq.FAIRY_RINGS));
+        long[] spiritTrees = builder.mask(List.of(UnlockReq.SPIRIT_TREES));
+        long[] all = builder.mask(List.of(AGILITY_70, REGICIDE, ARDOUGNE_EASY, UnlockReq.FAIRY_RINGS));
+        RequirementLayout layout = builder.build();
+
+        PlayerProperties properties = new PlayerProperties(true, false);
+        properties.setSkillLevels(Map.of(Skill.AGILITY, 60));
+        properties.setQuestsCompleted(Set.of(Quest.REGICIDE));
+        properties.setDiariesCompleted(Set.of());
+        long[] capabilities = layout.compile(properties);
+
+        assertTrue(RequirementLayout.isMet(agility50, capabilities));
+        assertFalse(RequirementLayout.isMet(agility70, capabilities));
+        assertTrue(RequirementLayout.isMet(regicide, capabilities));
+        assertFalse(RequirementLayout.isMet(diary, capabilities));
+        assertTrue(RequirementLayout.isMet(fairyRings, capabilities));
+        assertFalse(RequirementLayout.isMet(spiritTrees, capabilities));
+        assertFalse(RequirementLayout.isMet(all, capabilities));
+        assertTrue(RequirementLayout.isMet(RequirementLayout.NO_REQUIREMENTS, capabilities));
+    }
+
+    @Test
+    public void testMissingPropertiesAreAssumedMet() {
+        RequirementLayout.Builder builder = new RequirementLayout.Builder();
+        long[] mask = builder.mask(List.of(AGILITY_70, REGICIDE, ARDOUGNE_EASY));
+        long[] spiritTrees = builder.mask(List.of(UnlockReq.SPIRIT_TREES));
+        long[] capabilities = builder.build().compile(new PlayerProperties(false, false));
+
+        assertTrue(RequirementLayout.isMet(mask, capabilities));
+        assertFalse(RequirementLayout.isMet(spiritTrees, capabilities));
+    }
+
+    @Test
+    public void testMasksSpanSeveralWords() {
+        RequirementLayout.Builder builder = new RequirementLayout.Builder();
+        List<long[]> masks = new ArrayList<>();
+        for (int level = 1; level <= 99; level++) {
+            masks.add(builder.mask(List.of(new SkillReq(Skill.WOODCUTTING, level))));
+        }
+        RequirementLayout layout = builder.build();
+        assertEquals(2, layout.getWordCount());
+
+        PlayerProperties properties = new PlayerProperties(true, true);
+        properties.setSkillLevels(Map.of(Skill.WOODCUTTING, 80));
+        long[] capabilities = layout.compile(properties);
+        for (int level = 1; level <= 99; level++) {
+            assertEquals(level <= 80, RequirementLayout.isMet(masks.get(level - 1), capabilities));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.pathfinder.pathfinding.route;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultiStopPlannerTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+    private static final WorldPoint VARROCK = new WorldPoint(3212, 3424, 0);
+    private static final WorldPoint GRAND_EXCHANGE = new WorldPoint(3164, 3487, 0);
+    // An island east of Morytania that cannot be reached from the mainland
+    private static final WorldPoint ISLAND = new WorldPoint(3752, 3035, 0);
+
+    private static PathfinderConfig config;
+
+    @BeforeAll
+    public static void loadConfig() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+    }
+
+    private static Pathfinder search(WorldPoint start, WorldPoint target) {
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(target));
+        pathfinder.run();
+        return pathfinder;
+    }
+
+    private static boolean isEdge(WorldPoint from, WorldPoint to) {
+        int packedTo = WorldPointUtil.packWorldPoint(to);
+        boolean[] found = {false};
+        config.getMap().forEachNeighbor(WorldPointUtil.packWorldPoint(from), config, (neighbor, cost, transport) ->
+                found[0] |= neighbor == packedTo);
+        return found[0];
+    }
+
+    /**
+     * Checks that the stitched path visits the stops in order, each step following an edge of the graph.
+     */
+    private static void assertStitched(List<WorldPoint> stops, MultiStopRoute route) {
+        List<WorldPoint> path = route.getPath();
+        int[] order = route.getOrder();
+        assertEquals(stops.get(order[0]), path.get(0));
+
+        int visited = 1;
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(isEdge(path.get(i - 1), path.get(i)), "Gap after " + path.get(i - 1));
+            if (visited < route.getStopsReached() && path.get(i).equals(stops.get(order[visited]))) {
+                visited++;
+            }
+        }
+        assertEquals(route.getStopsReached(), visited);
+    }
+
+    @Test
+    public void testReachableTourIsStitched() {
+        List<WorldPoint> stops = List.of(LUMBRIDGE, GRAND_EXCHANGE, DRAYNOR, VARROCK);
+        MultiStopRoute route = new MultiStopPlanner(config).plan(stops);
+
+        int[] order = route.getOrder();
+        assertEquals(stops.size(), order.length);
+        assertEquals(0, order[0]);
+        assertTrue(route.isComplete());
+        assertEquals(stops.size(), route.getStopsReached());
+        assertStitched(stops, route);
+
+        List<WorldPoint> path = route.getPath();
+        assertEquals(stops.get(order[order.length - 1]), path.get(path.size() - 1));
+
+        long legCosts = 0;
+        for (int i = 1; i < order.length; i++) {
+            legCosts += search(stops.get(order[i - 1]), stops.get(order[i])).getCost();
+        }
+        assertEquals(legCosts, route.getCost());
+    }
+
+    @Test
+    public void testTourStopsAtUnreachableStop() {
+        List<WorldPoint> stops = List.of(LUMBRIDGE, ISLAND, DRAYNOR);
+        MultiStopRoute route = new MultiStopPlanner(config).plan(stops);
+
+        assertFalse(route.isComplete());
+        assertTrue(route.getCost() >= TourSolver.UNREACHABLE);
+        int[] order = route.getOrder();
+        int stopsReached = route.getStopsReached();
+        assertTrue(stopsReached < order.length);
+        assertEquals(1, order[stopsReached], "Stopped before a reachable stop");
+        assertStitched(stops, route);
+
+        // The path ends at the closest approximation of the island, after the reachable stops before it
+        List<WorldPoint> path = route.getPath();
+        WorldPoint end = path.get(path.size() - 1);
+        assertNotEquals(ISLAND, end);
+        List<WorldPoint> towardsIsland = search(stops.get(order[stopsReached - 1]), ISLAND).getPath();
+        assertEquals(towardsIsland.get(towardsIsland.size() - 1), end);
+    }
+}
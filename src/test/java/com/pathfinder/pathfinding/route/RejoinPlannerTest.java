@@ -0,0 +1,83 @@
+package com.pathfinder.pathfinding.route;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RejoinPlannerTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+
+    private static PathfinderConfig config;
+    private static List<WorldPoint> previousPath;
+
+    @BeforeAll
+    public static void computePreviousPath() {
+        config = Pathfinder.createConfig(new PlayerProperties(true, true));
+        Pathfinder pathfinder = new Pathfinder(config, LUMBRIDGE, List.of(DRAYNOR));
+        pathfinder.run();
+        previousPath = pathfinder.getPath();
+    }
+
+    private static int searchCost(WorldPoint start, WorldPoint target) {
+        Pathfinder pathfinder = new Pathfinder(config, start, List.of(target));
+        pathfinder.run();
+        assertTrue(pathfinder.isTargetReached());
+        return pathfinder.getCost();
+    }
+
+    @Test
+    public void testNearbyPositionRejoinsAhead() {
+        int progressIndex = 40;
+        WorldPoint onPath = previousPath.get(progressIndex);
+        WorldPoint position = new WorldPoint(onPath.getX(), onPath.getY() + 3, 0);
+
+        RejoinResult result = new RejoinPlanner(config).rejoin(previousPath, progressIndex, position);
+        assertTrue(result.isRejoined());
+        assertTrue(result.getJoinIndex() >= progressIndex);
+
+        List<WorldPoint> path = result.getPath();
+        assertEquals(position, path.get(0));
+        assertEquals(DRAYNOR, path.get(path.size() - 1));
+        assertEquals(previousPath.get(result.getJoinIndex()), path.get(path.size() - previousPath.size()
+                + result.getJoinIndex()));
+
+        // The detour is a shortest path to its join point, and no further than walking back to the progress point
+        assertEquals(searchCost(position, previousPath.get(result.getJoinIndex())), result.getDetourCost());
+        assertTrue(result.getDetourCost() <= searchCost(position, onPath));
+    }
+
+    @Test
+    public void testUnknownProgressUsesNearestPoint() {
+        WorldPoint onPath = previousPath.get(previousPath.size() / 2);
+        WorldPoint position = new WorldPoint(onPath.getX() + 2, onPath.getY(), 0);
+
+        RejoinResult result = new RejoinPlanner(config).rejoin(previousPath, -1, position);
+        assertTrue(result.isRejoined());
+        assertTrue(result.getJoinIndex() >= previousPath.size() / 2 - 3);
+    }
+
+    @Test
+    public void testDistantPositionIsNotRejoined() {
+        WorldPoint varrock = new WorldPoint(3212, 3424, 0);
+
+        RejoinResult result = new RejoinPlanner(config).rejoin(previousPath, 0, varrock);
+        assertFalse(result.isRejoined());
+        assertEquals(-1, result.getJoinIndex());
+        assertTrue(result.getPath().isEmpty());
+    }
+
+    @Test
+    public void testEmptyPathIsNotRejoined() {
+        assertFalse(new RejoinPlanner(config).rejoin(List.of(), 0, LUMBRIDGE).isRejoined());
+    }
+}
@@ -0,0 +1,61 @@
+package com.pathfinder.pathfinding.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TourSolverTest {
+    @Test
+    public void testExactSolverFindsCheapestOrder() {
+        // Stops on a line: 0 -- 2 -- 1 -- 3, so the best open tour from 0 is 0, 2, 1, 3
+        int[] positions = {0, 20, 10, 30};
+        long[][] costs = new long[positions.length][positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            for (int j = 0; j < positions.length; j++) {
+                costs[i][j] = Math.abs(positions[i] - positions[j]);
+            }
+        }
+
+        int[] order = TourSolver.solveExact(costs);
+        assertArrayEquals(new int[]{0, 2, 1, 3}, order);
+        assertEquals(30, TourSolver.tourCost(costs, order));
+    }
+
+    @Test
+    public void testExactSolverRespectsAsymmetricCosts() {
+        long[][] costs = {
+                {0, 1, 100},
+                {100, 0, 1},
+                {1, 100, 0},
+        };
+
+        assertArrayEquals(new int[]{0, 1, 2}, TourSolver.solveExact(costs));
+    }
+
+    @Test
+    public void testHeuristicSolverIsCloseToExact() {
+        Random random = new Random(26);
+        int n = TourSolver.EXACT_MAX_STOPS;
+        int[][] points = new int[n][2];
+        for (int[] point : points) {
+            point[0] = random.nextInt(1000);
+            point[1] = random.nextInt(1000);
+        }
+
+        long[][] costs = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i][j] = Math.max(Math.abs(points[i][0] - points[j][0]), Math.abs(points[i][1] - points[j][1]));
+            }
+        }
+
+        long exact = TourSolver.tourCost(costs, TourSolver.solveExact(costs));
+        long heuristic = TourSolver.tourCost(costs, TourSolver.solveHeuristic(costs));
+        assertTrue(heuristic >= exact);
+        assertTrue(heuristic <= exact * 3 / 2, "Heuristic tour " + heuristic + " too far from optimal " + exact);
+    }
+}
@@ -0,0 +1,101 @@
+package com.pathfinder.pathfinding.transports;
+
+import com.pathfinder.enums.TransportType;
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.requirement.RequirementLayout;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TransportGraphTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final WorldPoint LUMBRIDGE_UPSTAIRS = new WorldPoint(3222, 3218, 1);
+    private static final WorldPoint DRAYNOR = new WorldPoint(3093, 3244, 0);
+    private static final RequirementLayout NO_REQUIREMENTS = new RequirementLayout.Builder().build();
+
+    @Test
+    public void testGraphIsLoadedOnce() {
+        TransportGraph graph = TransportHandler.loadGraph();
+        assertSame(graph, TransportHandler.loadGraph());
+
+        // Requirements are compiled per player, so players with different properties share the graph
+        assertSame(graph, Pathfinder.createConfig(new PlayerProperties(true, true)).getTransportGraph());
+        assertSame(graph, Pathfinder.createConfig(new PlayerProperties(false, false)).getTransportGraph());
+    }
+
+    @Test
+    public void testReloadingAddsNoDuplicates() {
+        TransportGraph graph = TransportHandler.loadGraph();
+        TransportGraph reloaded = TransportHandler.loadAllFromResources();
+        assertNotSame(graph, reloaded);
+        assertEquals(graph.getSize(), reloaded.getSize());
+        assertEquals(graph.getTransports().keySet(), reloaded.getTransports().keySet());
+        for (Map.Entry<WorldPoint, List<Transport>> entry : graph.getTransports().entrySet()) {
+            assertEquals(entry.getValue(), reloaded.getTransports().get(entry.getKey()));
+        }
+        assertEquals(graph.getTeleports().size(), reloaded.getTeleports().size());
+        assertEquals(graph.getNetworks().size(), reloaded.getNetworks().size());
+    }
+
+    @Test
+    public void testDuplicateTransportsAreCollapsed() {
+        Transport stairs = new Transport(TransportType.TRANSPORT, LUMBRIDGE_UPSTAIRS, LUMBRIDGE, 1, "Climb-up");
+        Transport walk = new Transport(TransportType.TRANSPORT, DRAYNOR, LUMBRIDGE, 2, "Walk");
+        List<Transport> transports = List.of(stairs, walk,
+                new Transport(TransportType.TRANSPORT, LUMBRIDGE_UPSTAIRS, LUMBRIDGE, 1, "Climb-up"), walk);
+
+        TransportGraph graph = new TransportGraph(transports, List.of(), List.of(), NO_REQUIREMENTS);
+        assertEquals(2, graph.getSize());
+        assertEquals(List.of(stairs, walk), graph.getTransports().get(LUMBRIDGE));
+        assertEquals(List.of(stairs, walk), graph.getTransportsPacked().get(stairs.getPackedOrigin()));
+        assertEquals(List.of(stairs), graph.getTransportsByDestinationPacked().get(stairs.getPackedDestination()));
+    }
+
+    @Test
+    public void testCollectionsAreUnmodifiable() {
+        TransportGraph graph = TransportHandler.loadGraph();
+        assertFalse(graph.getTransports().isEmpty());
+        assertFalse(graph.getNetworks().isEmpty());
+        assertFalse(graph.getTeleports().isEmpty());
+
+        Map.Entry<WorldPoint, List<Transport>> entry = graph.getTransports().entrySet().iterator().next();
+        Transport transport = entry.getValue().get(0);
+        assertThrows(UnsupportedOperationException.class, () -> graph.getTransports().put(LUMBRIDGE, List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getTransports().remove(entry.getKey()));
+        assertThrows(UnsupportedOperationException.class, () -> entry.getValue().add(transport));
+        assertThrows(UnsupportedOperationException.class,
+                () -> graph.getTransportsPacked().get(transport.getPackedOrigin()).add(transport));
+        assertThrows(UnsupportedOperationException.class,
+                () -> graph.getTransportsByDestinationPacked().get(transport.getPackedDestination()).add(transport));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getNetworks().remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> graph.getTeleports().remove(0));
+
+        TransportNetwork network = graph.getNetworks().get(0);
+        List<TransportNetwork.Stop> stops = graph.getNetworkStopsPacked().get(network.getPackedStop(0));
+        assertThrows(UnsupportedOperationException.class, () -> stops.add(new TransportNetwork.Stop(network, 0)));
+    }
+
+    @Test
+    public void testGraphCopiesItsInput() {
+        List<Transport> transports = new ArrayList<>();
+        transports.add(new Transport(TransportType.TRANSPORT, DRAYNOR, LUMBRIDGE, 2, "Walk"));
+        List<TransportNetwork> networks = new ArrayList<>(TransportHandler.loadGraph().getNetworks());
+        TransportGraph graph = new TransportGraph(transports, networks, List.of(), NO_REQUIREMENTS);
+
+        transports.add(new Transport(TransportType.TRANSPORT, LUMBRIDGE_UPSTAIRS, LUMBRIDGE, 1, "Climb-up"));
+        networks.clear();
+        assertEquals(1, graph.getSize());
+        assertEquals(1, graph.getTransports().get(LUMBRIDGE).size());
+        assertFalse(graph.getNetworks().isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package com.pathfinder.pathfinding.transports;
+
+import com.pathfinder.pathfinding.Pathfinder;
+import com.pathfinder.pathfinding.PathfinderConfig;
+import com.pathfinder.pathfinding.PlayerProperties;
+import com.pathfinder.pathfinding.SplitFlagMap;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransportNetworkTest {
+    private static final WorldPoint LUMBRIDGE = new WorldPoint(3222, 3218, 0);
+    private static final List<WorldPoint> TARGETS = List.of(
+            new WorldPoint(2801, 3003, 0),
+            new WorldPoint(2662, 3305, 0),
+            new WorldPoint(2540, 3170, 0),
+            new WorldPoint(2440, 3090, 0),
+            new WorldPoint(3430, 3490, 0));
+
+    private static TransportGraph graph;
+    private static SplitFlagMap map;
+
+    @BeforeAll
+    public static void loadGraph() {
+        graph = TransportHandler.loadGraph();
+        map = SplitFlagMap.fromResources();
+    }
+
+    /**
+     * Builds a graph holding a transport for every pair of network stops instead of the networks themselves.
+     */
+    private static TransportGraph expandNetworks(TransportGraph graph) {
+        List<Transport> transports = new ArrayList<>();
+        graph.getTransports().values().forEach(transports::addAll);
+        for (TransportNetwork network : graph.getNetworks()) {
+            for (int from = 0; from < network.size(); from++) {
+                for (int to = 0; to < network.size(); to++) {
+                    if (from != to) {
+                        transports.add(network.toTransport(from, to));
+                    }
+                }
+            }
+        }
+        return new TransportGraph(transports, List.of(), graph.getTeleports(), graph.getRequirementLayout());
+    }
+
+    /**
+     * @return The cost of the route to the target, or {@code -1} if it is unreachable
+     */
+    private static int searchCost(PathfinderConfig config, WorldPoint target) {
+        Pathfinder pathfinder = new Pathfinder(config, LUMBRIDGE, List.of(target));
+        pathfinder.run();
+        return pathfinder.isTargetReached() ? pathfinder.getCost() : -1;
+    }
+
+    @Test
+    public void testDestinationsAreOrderedByCost() {
+        assertFalse(graph.getNetworks().isEmpty());
+        for (TransportNetwork network : graph.getNetworks()) {
+            for (int from = 0; from < network.size(); from++) {
+                int previousCost = 0;
+                for (int rank = 0; rank < network.size() - 1; rank++) {
+                    int to = network.getDestination(from, rank);
+                    int cost = network.getCost(from, to);
+                    assertTrue(to != from && cost >= previousCost);
+                    assertEquals(network.toTransport(from, to).getCost(), cost);
+                    // Every edge of a journey reuses the same transport
+                    assertSame(network.toTransport(from, to), network.toTransport(from, to));
+                    assertEquals(network.getStop(from), network.toTransport(from, to).getOrigin());
+                    assertEquals(network.getStop(to), network.toTransport(from, to).getDestination());
+                    previousCost = cost;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNetworksMatchPairwiseTransports() {
+        for (PlayerProperties properties : List.of(new PlayerProperties(true, true),
+                new PlayerProperties(true, false), new PlayerProperties(false, false))) {
+            PathfinderConfig hubs = new PathfinderConfig(map, graph, properties);
+            PathfinderConfig pairwise = new PathfinderConfig(map, expandNetworks(graph), properties);
+            for (WorldPoint target : TARGETS) {
+                assertEquals(searchCost(pairwise, target), searchCost(hubs, target), "Route to " + target);
+            }
+        }
+    }
+}